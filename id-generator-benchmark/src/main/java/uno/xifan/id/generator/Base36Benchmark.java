@@ -0,0 +1,72 @@
+package uno.xifan.id.generator;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uno.xifan.id.base.Base32;
+import uno.xifan.id.base.Base36;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Threads(16)
+@Fork(value = 1, warmups = 0)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 1, time = 1)
+public class Base36Benchmark {
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(Base36Benchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    private byte[] TEST_BYTES;
+    private long TEST_LONG;
+    private String BASE36_STRING;
+    private String BASE32_STRING;
+
+    private final char[] buffer = new char[Base36.LENGTH_128];
+
+    @Setup
+    public void setup() {
+        TEST_BYTES = new byte[16];
+        new java.security.SecureRandom().nextBytes(TEST_BYTES);
+        TEST_LONG = new java.security.SecureRandom().nextLong();
+        BASE36_STRING = Base36.encode(TEST_BYTES);
+        BASE32_STRING = Base32.encode(TEST_BYTES);
+    }
+
+    @Benchmark
+    public String base32Encode() {
+        return Base32.encode(TEST_BYTES);
+    }
+
+    @Benchmark
+    public String base36Encode() {
+        return Base36.encode(TEST_BYTES);
+    }
+
+    @Benchmark
+    public String jdkBase36Long() {
+        return Long.toUnsignedString(TEST_LONG, 36);
+    }
+
+    @Benchmark
+    public char[] base36EncodeLong() {
+        Base36.encodeLong(TEST_LONG, buffer, 0);
+        return buffer;
+    }
+
+    @Benchmark
+    public byte[] base32Decode() {
+        return Base32.decode(BASE32_STRING);
+    }
+
+    @Benchmark
+    public byte[] base36Decode() {
+        return Base36.decode(BASE36_STRING);
+    }
+}
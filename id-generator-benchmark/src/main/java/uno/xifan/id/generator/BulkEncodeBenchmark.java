@@ -0,0 +1,88 @@
+package uno.xifan.id.generator;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uno.xifan.id.base.BulkEncoder;
+import uno.xifan.id.base.Encoding;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量编码与逐个编码的对比，每次调用编码一批ID
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Threads(16)
+@Fork(value = 1, warmups = 0)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 1, time = 1)
+public class BulkEncodeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(BulkEncodeBenchmark.class.getSimpleName()).build();
+        new Runner(opt).run();
+    }
+
+    @Param({"1024"})
+    private int size;
+
+    @Param({"BASE16", "BASE32", "BASE64"})
+    private Encoding encoding;
+
+    private long[] highs;
+    private long[] lows;
+    private byte[] output;
+
+    @Setup
+    public void setUp() {
+        highs = new long[size];
+        lows = new long[size];
+        for (int i = 0; i < size; i++) {
+            highs[i] = ThreadLocalRandom.current().nextLong();
+            lows[i] = ThreadLocalRandom.current().nextLong();
+        }
+        output = new byte[size * BulkEncoder.width128(encoding)];
+    }
+
+    @Benchmark
+    public byte[] perIdLong() {
+        for (int i = 0, p = 0; i < size; i++) {
+            p += encoding.encode(highs[i], output, p);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public byte[] bulkLong() {
+        BulkEncoder.encode(encoding, highs, 0, size, output, 0);
+        return output;
+    }
+
+    @Benchmark
+    public byte[] perId128() {
+        byte[] bytes = new byte[16];
+        for (int i = 0, p = 0; i < size; i++) {
+            putLong(bytes, 0, highs[i]);
+            putLong(bytes, 8, lows[i]);
+            p += encoding.encode(bytes, 0, 16, output, p);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public byte[] bulk128() {
+        BulkEncoder.encode(encoding, highs, lows, 0, size, output, 0);
+        return output;
+    }
+
+    private static void putLong(byte[] dst, int off, long value) {
+        for (int i = off + 7; i >= off; i--) {
+            dst[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
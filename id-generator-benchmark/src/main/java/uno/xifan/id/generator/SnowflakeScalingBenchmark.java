@@ -0,0 +1,65 @@
+package uno.xifan.id.generator;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uno.xifan.id.generator.snowflake.LockFreeSnowflakeIdGenerator;
+import uno.xifan.id.generator.snowflake.SnowflakeIdGenerator;
+import uno.xifan.id.generator.snowflake.StripedSnowflakeIdGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * synchronized、无锁和分道Snowflake生成器在不同线程数下的吞吐量对比
+ * <p>
+ * 每种生成器共享同一个实例（{@link Scope#Benchmark}），线程数从1递增到64。
+ * 单节点每毫秒最多4096个ID，线程较多时都会触及这一上限，此时对比的是等待下一毫秒时的争用开销。
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, warmups = 0)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class SnowflakeScalingBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) throws Exception {
+        for (int threads : THREADS) {
+            Options opt = new OptionsBuilder()
+                    .include(SnowflakeScalingBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(opt).run();
+        }
+    }
+
+    private SnowflakeIdGenerator synchronizedGenerator;
+    private LockFreeSnowflakeIdGenerator lockFreeGenerator;
+    private StripedSnowflakeIdGenerator stripedGenerator;
+
+    @Setup
+    public void setUp() {
+        synchronizedGenerator = new SnowflakeIdGenerator(1);
+        lockFreeGenerator = new LockFreeSnowflakeIdGenerator(1);
+        stripedGenerator = new StripedSnowflakeIdGenerator(1);
+    }
+
+    @Benchmark
+    public long synchronizedNext() {
+        return synchronizedGenerator.nextLong();
+    }
+
+    @Benchmark
+    public long lockFreeNext() {
+        return lockFreeGenerator.nextLong();
+    }
+
+    @Benchmark
+    public long stripedNext() {
+        return stripedGenerator.nextLong();
+    }
+}
@@ -0,0 +1,212 @@
+package uno.xifan.id.base;
+
+import uno.xifan.id.util.AsciiUtils;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * 无符号十进制格式化
+ * <p>
+ * 将字节数组视为大端无符号整数输出十进制字符串，不带前导零。
+ * 不超过16字节的数值直接用long运算，不经过 {@link BigInteger}。
+ * </p>
+ */
+public class Base10 {
+
+    /**
+     * 64位无符号数的最大十进制位数
+     */
+    public static final int MAX_LONG_LENGTH = 20;
+    /**
+     * 128位无符号数的最大十进制位数
+     */
+    public static final int MAX_LENGTH_128 = 39;
+
+    /** 10^9，小于2^30，每次除以它可以一次得到9位数字 */
+    private static final long CHUNK = 1_000_000_000L;
+    private static final int CHUNK_DIGITS = 9;
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    public static String encode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return "0";
+        }
+        return encode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 将字节数组的指定区间视为大端无符号整数，格式化为十进制字符串
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    字节数
+     * @return 十进制字符串
+     */
+    public static String encode(byte[] src, int srcOff, int len) {
+        if (len <= 8) {
+            return toString(readLong(src, srcOff, len));
+        }
+        if (len <= 16) {
+            return toString(readLong(src, srcOff, len - 8), readLong(src, srcOff + len - 8, 8));
+        }
+        return new BigInteger(1, Arrays.copyOfRange(src, srcOff, srcOff + len)).toString();
+    }
+
+    /**
+     * 将64位无符号数格式化为十进制字符串
+     *
+     * @param value 按无符号处理的数值
+     * @return 十进制字符串
+     */
+    public static String toString(long value) {
+        byte[] ascii = AsciiUtils.buffer(MAX_LONG_LENGTH);
+        return AsciiUtils.newString(ascii, 0, encode(value, ascii, 0));
+    }
+
+    /**
+     * 将128位无符号数格式化为十进制字符串
+     *
+     * @param high 高64位
+     * @param low  低64位
+     * @return 十进制字符串
+     */
+    public static String toString(long high, long low) {
+        byte[] ascii = AsciiUtils.buffer(MAX_LENGTH_128);
+        return AsciiUtils.newString(ascii, 0, encode(high, low, ascii, 0));
+    }
+
+    /**
+     * 将64位无符号数的十进制形式写入字符数组
+     *
+     * @param value  按无符号处理的数值
+     * @param dst    目标字符数组，剩余空间不少于{@value #MAX_LONG_LENGTH}
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数
+     */
+    public static int encode(long value, char[] dst, int dstOff) {
+        byte[] digits = CodecBuffers.work(MAX_LONG_LENGTH);
+        return widen(digits, encode(value, digits, 0), dst, dstOff);
+    }
+
+    /**
+     * 将64位无符号数的十进制形式以ASCII字节写入目标数组
+     *
+     * @param value  按无符号处理的数值
+     * @param dst    目标字节数组，剩余空间不少于{@value #MAX_LONG_LENGTH}
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     */
+    public static int encode(long value, byte[] dst, int dstOff) {
+        if (value < 0) {
+            // 无符号除以10：先右移一位做有符号除法，再补回最低位
+            long quotient = (value >>> 1) / 5;
+            int length = length(quotient) + 1;
+            dst[dstOff + length - 1] = (byte) ('0' + (value - quotient * 10));
+            putDigits(quotient, dst, dstOff + length - 1);
+            return length;
+        }
+        int length = length(value);
+        putDigits(value, dst, dstOff + length);
+        return length;
+    }
+
+    /**
+     * 将128位无符号数的十进制形式写入字符数组
+     *
+     * @param high   高64位
+     * @param low    低64位
+     * @param dst    目标字符数组，剩余空间不少于{@value #MAX_LENGTH_128}
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数
+     */
+    public static int encode(long high, long low, char[] dst, int dstOff) {
+        byte[] digits = CodecBuffers.work(MAX_LENGTH_128);
+        return widen(digits, encode(high, low, digits, 0), dst, dstOff);
+    }
+
+    /**
+     * 将128位无符号数的十进制形式以ASCII字节写入目标数组
+     *
+     * @param high   高64位
+     * @param low    低64位
+     * @param dst    目标字节数组，剩余空间不少于{@value #MAX_LENGTH_128}
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     */
+    public static int encode(long high, long low, byte[] dst, int dstOff) {
+        if (high == 0) {
+            return encode(low, dst, dstOff);
+        }
+
+        // 以32位为一段除以10^9，直到剩余值能放进一个long，每轮得到9位数字（从低到高）
+        long l0 = high >>> 32;
+        long l1 = high & INT_MASK;
+        long l2 = low >>> 32;
+        long l3 = low & INT_MASK;
+        int pos = dstOff + MAX_LENGTH_128;
+        while (l0 != 0 || l1 != 0) {
+            long t = l0;
+            l0 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l1;
+            l1 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l2;
+            l2 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l3;
+            l3 = t / CHUNK;
+            int chunk = (int) (t % CHUNK);
+            for (int i = 0; i < CHUNK_DIGITS; i++) {
+                dst[--pos] = (byte) ('0' + chunk % 10);
+                chunk /= 10;
+            }
+        }
+        int lowDigits = dstOff + MAX_LENGTH_128 - pos;
+
+        // 剩余部分不足64位且不为0，写在最左侧后把已写好的低位紧接着前移
+        int length = encode(l2 << 32 | l3, dst, dstOff);
+        System.arraycopy(dst, pos, dst, dstOff + length, lowDigits);
+        return length + lowDigits;
+    }
+
+    /**
+     * 计算非负数的十进制位数
+     */
+    private static int length(long value) {
+        long limit = 10;
+        for (int length = 1; length < 19; length++) {
+            if (value < limit) {
+                return length;
+            }
+            limit *= 10;
+        }
+        return 19;
+    }
+
+    /**
+     * 从pos向左写入非负数的各位数字
+     */
+    private static void putDigits(long value, byte[] dst, int pos) {
+        do {
+            dst[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+    }
+
+    private static int widen(byte[] src, int len, char[] dst, int dstOff) {
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (char) src[i];
+        }
+        return len;
+    }
+
+    /**
+     * 以大端序读取src[from, from + len)，len不超过8
+     */
+    private static long readLong(byte[] src, int from, int len) {
+        long value = 0;
+        for (int i = from, end = from + len; i < end; i++) {
+            value = value << 8 | (src[i] & 0xFF);
+        }
+        return value;
+    }
+}
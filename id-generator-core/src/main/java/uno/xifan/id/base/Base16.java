@@ -1,5 +1,7 @@
 package uno.xifan.id.base;
 
+import uno.xifan.id.util.AsciiUtils;
+
 import java.util.Arrays;
 
 public class Base16 {
@@ -34,12 +36,47 @@ public class Base16 {
             return "";
         }
 
-        StringBuilder result = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            result.append((char) ENCODE_MAP[(b >> 4) & 0x0F]);
-            result.append((char) ENCODE_MAP[b & 0x0F]);
+        byte[] result = AsciiUtils.buffer(bytes.length * 2);
+        int length = encode(bytes, 0, bytes.length, result, 0);
+        return AsciiUtils.newString(result, 0, length);
+    }
+
+    /**
+     * 将字节数组的指定区间编码后写入字符数组
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数
+     */
+    public static int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            int b = src[i];
+            dst[dstOff++] = (char) ENCODE_MAP[(b >> 4) & 0x0F];
+            dst[dstOff++] = (char) ENCODE_MAP[b & 0x0F];
+        }
+        return len * 2;
+    }
+
+    /**
+     * 将字节数组的指定区间编码后以ASCII字节写入目标数组
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     */
+    public static int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            int b = src[i];
+            dst[dstOff++] = ENCODE_MAP[(b >> 4) & 0x0F];
+            dst[dstOff++] = ENCODE_MAP[b & 0x0F];
         }
-        return result.toString();
+        return len * 2;
     }
 
     public static byte[] decode(String str) {
@@ -1,11 +1,36 @@
 package uno.xifan.id.base;
 
+import uno.xifan.id.util.AsciiUtils;
+
 import java.util.Arrays;
 
 /**
  * 使用Crockford Base32进行编码
+ * <p>
+ * {@link #encode(byte[])} 把字节按位流从高到低每5位取一个字符，末尾不足5位时补0；
+ * 定长编码（{@link #encodeLong}、{@link #encode80}、{@link #encode128}）把数值右对齐，在最高位补0，
+ * 与ULID的格式相同，可以直接从long编码和解码，不经过字节数组。80位恰好是5的倍数，两种方式结果一致。
+ * 解码时使用覆盖Latin-1的256项查找表，兼容小写字母及I、L、O等易混淆字符。
+ * </p>
  */
 public class Base32 {
+
+    /**
+     * 64位数值定长编码的字符数，最高位字符只占4位
+     */
+    public static final int LONG_LENGTH = 13;
+    /**
+     * 80位数值定长编码的字符数，适用于CosId等10字节ID
+     */
+    public static final int LENGTH_80 = 16;
+    /**
+     * 128位数值定长编码的字符数，与ULID相同，最高位字符只占3位
+     */
+    public static final int LENGTH_128 = 26;
+
+    /** 一个long最多无损容纳的字符数 */
+    private static final int MAX_VALUE_LENGTH = 12;
+
     private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
 
     private static final byte[] ENCODE_MAP;
@@ -13,7 +38,7 @@ public class Base32 {
 
     static {
         ENCODE_MAP = ALPHABET.getBytes();
-        DECODE_MAP = new byte[128];
+        DECODE_MAP = new byte[256];
         Arrays.fill(DECODE_MAP, (byte) -1);
         for (int i = 0; i < ENCODE_MAP.length; i++) {
             DECODE_MAP[ENCODE_MAP[i]] = (byte) i;
@@ -38,25 +63,268 @@ public class Base32 {
         if (bytes == null || bytes.length == 0) {
             return "";
         }
-        StringBuilder result = new StringBuilder();
+        byte[] result = AsciiUtils.buffer(encodedLength(bytes.length));
+        int length = encode(bytes, 0, bytes.length, result, 0);
+        return AsciiUtils.newString(result, 0, length);
+    }
+
+    /**
+     * 计算编码指定字节数后的字符数
+     *
+     * @param byteLength 字节数
+     * @return 编码后的字符数
+     */
+    public static int encodedLength(int byteLength) {
+        return (byteLength * 8 + 4) / 5;
+    }
+
+    /**
+     * 将字节数组的指定区间编码后写入字符数组
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数
+     */
+    public static int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+        int start = dstOff;
+        int buffer = 0;
+        int bitsLeft = 0;
+
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            buffer = (buffer << 8) | (src[i] & 0xff);
+            bitsLeft += 8;
+            while (bitsLeft >= 5) {
+                dst[dstOff++] = (char) ENCODE_MAP[(buffer >> (bitsLeft - 5)) & 0x1f];
+                bitsLeft -= 5;
+            }
+        }
+
+        if (bitsLeft > 0) {
+            buffer <<= (5 - bitsLeft);
+            dst[dstOff++] = (char) ENCODE_MAP[buffer & 0x1f];
+        }
+
+        return dstOff - start;
+    }
+
+    /**
+     * 将字节数组的指定区间编码后以ASCII字节写入目标数组
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     */
+    public static int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        int start = dstOff;
         int buffer = 0;
         int bitsLeft = 0;
 
-        for (byte b : bytes) {
-            buffer = (buffer << 8) | (b & 0xff);
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            buffer = (buffer << 8) | (src[i] & 0xff);
             bitsLeft += 8;
             while (bitsLeft >= 5) {
-                result.append((char) ENCODE_MAP[(buffer >> (bitsLeft - 5)) & 0x1f]);
+                dst[dstOff++] = ENCODE_MAP[(buffer >> (bitsLeft - 5)) & 0x1f];
                 bitsLeft -= 5;
             }
         }
 
         if (bitsLeft > 0) {
             buffer <<= (5 - bitsLeft);
-            result.append((char) ENCODE_MAP[buffer & 0x1f]);
+            dst[dstOff++] = ENCODE_MAP[buffer & 0x1f];
+        }
+
+        return dstOff - start;
+    }
+
+    /**
+     * 将64位无符号数定长编码为{@value #LONG_LENGTH}个字符，不足时左侧补'0'
+     *
+     * @param value  要编码的数值，按无符号处理
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数，固定为{@value #LONG_LENGTH}
+     */
+    public static int encodeLong(long value, char[] dst, int dstOff) {
+        byte[] digits = CodecBuffers.work(LONG_LENGTH);
+        encodeLong(value, digits, 0);
+        return widen(digits, LONG_LENGTH, dst, dstOff);
+    }
+
+    /**
+     * 将64位无符号数定长编码为{@value #LONG_LENGTH}个ASCII字节，不足时左侧补'0'
+     *
+     * @param value  要编码的数值，按无符号处理
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数，固定为{@value #LONG_LENGTH}
+     */
+    public static int encodeLong(long value, byte[] dst, int dstOff) {
+        putDigits(value, dst, dstOff + 1, MAX_VALUE_LENGTH);
+        dst[dstOff] = ENCODE_MAP[(int) (value >>> 60)];
+        return LONG_LENGTH;
+    }
+
+    /**
+     * 将80位无符号数定长编码为{@value #LENGTH_80}个字符
+     *
+     * @param high   高16位，放在long的低位
+     * @param low    低64位
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数，固定为{@value #LENGTH_80}
+     */
+    public static int encode80(long high, long low, char[] dst, int dstOff) {
+        byte[] digits = CodecBuffers.work(LENGTH_80);
+        encode80(high, low, digits, 0);
+        return widen(digits, LENGTH_80, dst, dstOff);
+    }
+
+    /**
+     * 将80位无符号数定长编码为{@value #LENGTH_80}个ASCII字节
+     *
+     * @param high   高16位，放在long的低位
+     * @param low    低64位
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数，固定为{@value #LENGTH_80}
+     */
+    public static int encode80(long high, long low, byte[] dst, int dstOff) {
+        // 低64位的最高4位与高16位的最低1位拼成第4个字符
+        putDigits(low, dst, dstOff + 4, MAX_VALUE_LENGTH);
+        dst[dstOff + 3] = ENCODE_MAP[(int) (low >>> 60 | high << 4) & 0x1F];
+        putDigits(high >>> 1, dst, dstOff, 3);
+        return LENGTH_80;
+    }
+
+    /**
+     * 将128位无符号数定长编码为{@value #LENGTH_128}个字符，适用于ULID、UUID等
+     *
+     * @param high   高64位
+     * @param low    低64位
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数，固定为{@value #LENGTH_128}
+     */
+    public static int encode128(long high, long low, char[] dst, int dstOff) {
+        byte[] digits = CodecBuffers.work(LENGTH_128);
+        encode128(high, low, digits, 0);
+        return widen(digits, LENGTH_128, dst, dstOff);
+    }
+
+    /**
+     * 将128位无符号数定长编码为{@value #LENGTH_128}个ASCII字节，适用于ULID、UUID等
+     *
+     * @param high   高64位
+     * @param low    低64位
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数，固定为{@value #LENGTH_128}
+     */
+    public static int encode128(long high, long low, byte[] dst, int dstOff) {
+        // 低64位的最高4位与高64位的最低1位拼成第14个字符
+        putDigits(low, dst, dstOff + 14, MAX_VALUE_LENGTH);
+        dst[dstOff + 13] = ENCODE_MAP[(int) (low >>> 60 | high << 4) & 0x1F];
+        putDigits(high >>> 1, dst, dstOff + 1, MAX_VALUE_LENGTH);
+        dst[dstOff] = ENCODE_MAP[(int) (high >>> 61)];
+        return LENGTH_128;
+    }
+
+    /**
+     * 解码不超过12个字符的定长编码，得到不超过60位的数值
+     *
+     * @param src 源字符序列
+     * @param off 起始下标
+     * @param len 字符数，1到12
+     * @return 解码后的数值
+     * @throws IllegalArgumentException 当包含非法字符或长度超出范围时抛出
+     */
+    public static long decodeValue(CharSequence src, int off, int len) {
+        if (len < 1 || len > MAX_VALUE_LENGTH) {
+            throw new IllegalArgumentException("Base32 value length must be between 1 and 12: " + len);
+        }
+        long value = 0;
+        for (int i = off, end = off + len; i < end; i++) {
+            value = value << 5 | digit(src.charAt(i));
+        }
+        return value;
+    }
+
+    /**
+     * 解码{@value #LONG_LENGTH}个字符的定长编码，得到64位无符号数
+     *
+     * @param src 源字符序列
+     * @param off 起始下标
+     * @return 解码后的数值
+     * @throws IllegalArgumentException 当包含非法字符或数值超出64位时抛出
+     */
+    public static long decodeLong(CharSequence src, int off) {
+        int first = digit(src.charAt(off));
+        if (first > 0xF) {
+            throw new IllegalArgumentException("Base32 value out of range for 64 bits");
+        }
+        return (long) first << 60 | decodeValue(src, off + 1, MAX_VALUE_LENGTH);
+    }
+
+    /**
+     * 解码{@value #LENGTH_80}个字符的定长编码，以大端序写入10字节
+     *
+     * @param src    源字符序列
+     * @param off    起始下标
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @throws IllegalArgumentException 当包含非法字符时抛出
+     */
+    public static void decode80(CharSequence src, int off, byte[] dst, int dstOff) {
+        long top = decodeValue(src, off, 4);
+        long low = (top & 0xF) << 60 | decodeValue(src, off + 4, MAX_VALUE_LENGTH);
+        dst[dstOff] = (byte) (top >>> 12);
+        dst[dstOff + 1] = (byte) (top >>> 4);
+        putLong(dst, dstOff + 2, low);
+    }
+
+    /**
+     * 解码{@value #LENGTH_128}个字符的定长编码，以大端序写入16字节
+     *
+     * @param src    源字符序列
+     * @param off    起始下标
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @throws IllegalArgumentException 当包含非法字符或数值超出128位时抛出
+     */
+    public static void decode128(CharSequence src, int off, byte[] dst, int dstOff) {
+        int first = digit(src.charAt(off));
+        if (first > 0x7) {
+            throw new IllegalArgumentException("Base32 value out of range for 128 bits");
         }
+        long middle = decodeValue(src, off + 1, MAX_VALUE_LENGTH);
+        int cross = digit(src.charAt(off + 13));
+        long low = decodeValue(src, off + 14, MAX_VALUE_LENGTH);
+        putLong(dst, dstOff, (long) first << 61 | middle << 1 | cross >>> 4);
+        putLong(dst, dstOff + 8, (long) (cross & 0xF) << 60 | low);
+    }
 
-        return result.toString();
+    /**
+     * 检查字符序列的指定区间是否都是合法的Base32字符
+     *
+     * @param src 源字符序列
+     * @param off 起始下标
+     * @param len 字符数
+     * @return 全部合法时返回true
+     */
+    public static boolean isValid(CharSequence src, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) {
+            char c = src.charAt(i);
+            if (c >= DECODE_MAP.length || DECODE_MAP[c] < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public static byte[] decode(String str) {
@@ -97,4 +365,36 @@ public class Base32 {
         }
         return Arrays.copyOf(result, index);
     }
+
+    /**
+     * 从低位开始，把value的低count * 5位写入dst[off, off + count)
+     */
+    private static void putDigits(long value, byte[] dst, int off, int count) {
+        for (int i = off + count - 1; i >= off; i--) {
+            dst[i] = ENCODE_MAP[(int) value & 0x1F];
+            value >>>= 5;
+        }
+    }
+
+    private static int digit(char c) {
+        int d;
+        if (c >= DECODE_MAP.length || (d = DECODE_MAP[c]) < 0) {
+            throw new IllegalArgumentException("Invalid character in Base32 string: " + c);
+        }
+        return d;
+    }
+
+    private static void putLong(byte[] dst, int off, long value) {
+        for (int i = off + 7; i >= off; i--) {
+            dst[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static int widen(byte[] src, int len, char[] dst, int dstOff) {
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (char) src[i];
+        }
+        return len;
+    }
 }
@@ -1,10 +1,37 @@
 package uno.xifan.id.base;
 
+import uno.xifan.id.util.AsciiUtils;
+
+import java.util.Arrays;
+
 /**
  * 使用数字、大写字母实现Base36编解码
+ * <p>
+ * 将字节数组视为大端无符号整数做真正的36进制转换，前导零字节各编码为一个'0'，可以无损解码。
+ * 解码时不区分大小写。
+ * </p>
  */
 public class Base36 {
 
+    private static final int TARGET_BASE = 36;
+
+    /**
+     * 定长编码一个64位无符号数的字符数
+     */
+    public static final int LONG_LENGTH = 13;
+    /**
+     * 定长编码一个128位无符号数（UUID、ULID）的字符数
+     */
+    public static final int LENGTH_128 = 25;
+
+    /** 36^5，小于2^26，每次除以它可以一次得到5位数字 */
+    private static final long CHUNK = 60_466_176L;
+    private static final int CHUNK_DIGITS = 5;
+    private static final long INT_MASK = 0xFFFFFFFFL;
+    /** 无符号64位最大值除以CHUNK的商和余数，用于解码时的溢出检查 */
+    private static final long LONG_LIMIT = Long.divideUnsigned(-1L, CHUNK);
+    private static final long LONG_LIMIT_REMAINDER = Long.remainderUnsigned(-1L, CHUNK);
+
     private static final byte[] ENCODE_MAP = new byte[36];
     private static final byte[] DECODE_MAP = new byte[128];
 
@@ -19,6 +46,7 @@ public class Base36 {
         }
 
         // 初始化解码映射表
+        Arrays.fill(DECODE_MAP, (byte) -1);
         for (int i = 0; i < ENCODE_MAP.length; i++) {
             DECODE_MAP[ENCODE_MAP[i]] = (byte) i;
             // 支持小写字母解码
@@ -30,75 +58,372 @@ public class Base36 {
 
     public static String encode(byte[] bytes) {
         if (bytes == null || bytes.length == 0) {
-            return String.valueOf((char) ENCODE_MAP[0]);
+            return "";
         }
 
-        StringBuilder result = new StringBuilder();
-        int value = 0;
-        int bits = 0;
+        byte[] result = AsciiUtils.buffer(maxEncodedLength(bytes.length));
+        int length = encode(bytes, 0, bytes.length, result, 0);
+        return AsciiUtils.newString(result, 0, length);
+    }
 
-        for (byte b : bytes) {
-            value = (value << 8) | (b & 0xFF);
-            bits += 8;
+    /**
+     * 计算编码指定字节数后可能的最大字符数
+     *
+     * @param byteLength 字节数
+     * @return 编码后的最大字符数
+     */
+    public static int maxEncodedLength(int byteLength) {
+        // log(256) / log(36) ≈ 1.547，前导零字节各占一个字符且不会多于有效字节产生的字符
+        return byteLength * 8 / 5 + 1;
+    }
 
-            while (bits >= 6) { // 每6位可以表示36个字符
-                bits -= 6;
-                int index = (value >> bits) & 0x3F;
-                if (index >= 36) {
-                    index = 35; // 处理溢出情况
-                }
-                result.append((char) ENCODE_MAP[index]);
-                value &= ((1 << bits) - 1);
-            }
+    /**
+     * 将字节数组的指定区间编码后写入字符数组
+     * <p>
+     * 不超过16字节的输入走定长快速路径，更长的输入在线程本地缓冲区上原地做长除法，都不分配临时对象。
+     * </p>
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字符数组，剩余空间不少于 {@link #maxEncodedLength(int)}
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数
+     */
+    public static int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+        if (len == 0) {
+            return 0;
         }
+        byte[] work = CodecBuffers.work(len + Math.max(maxEncodedLength(len), LENGTH_128));
+        int from = len;
+        int to = len + toDigits(src, srcOff, len, work, len);
 
-        // 处理剩余的位
-        if (bits > 0) {
-            int index = (value << (6 - bits)) & 0x3F;
-            if (index >= 36) {
-                index = 35;
-            }
-            result.append((char) ENCODE_MAP[index]);
+        int start = dstOff;
+        // 处理前导零
+        for (int i = 0; i < len - 1 && src[srcOff + i] == 0; i++) {
+            dst[dstOff++] = (char) ENCODE_MAP[0];
+        }
+        for (int i = from; i < to; i++) {
+            dst[dstOff++] = (char) work[i];
+        }
+        return dstOff - start;
+    }
+
+    /**
+     * 将字节数组的指定区间编码后以ASCII字节写入目标数组
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字节数组，剩余空间不少于 {@link #maxEncodedLength(int)}
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     */
+    public static int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        if (len == 0) {
+            return 0;
+        }
+        byte[] work = CodecBuffers.work(len + Math.max(maxEncodedLength(len), LENGTH_128));
+        int digits = toDigits(src, srcOff, len, work, len);
+
+        int start = dstOff;
+        // 处理前导零
+        for (int i = 0; i < len - 1 && src[srcOff + i] == 0; i++) {
+            dst[dstOff++] = ENCODE_MAP[0];
+        }
+        System.arraycopy(work, len, dst, dstOff, digits);
+        return dstOff + digits - start;
+    }
+
+    /**
+     * 将64位无符号数定长编码为{@value #LONG_LENGTH}个字符，不足时左侧补'0'
+     *
+     * @param value  要编码的数值，按无符号处理
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数，固定为{@value #LONG_LENGTH}
+     */
+    public static int encodeLong(long value, char[] dst, int dstOff) {
+        byte[] digits = CodecBuffers.work(LONG_LENGTH);
+        encodeLong(value, digits, 0);
+        for (int i = 0; i < LONG_LENGTH; i++) {
+            dst[dstOff + i] = (char) digits[i];
+        }
+        return LONG_LENGTH;
+    }
+
+    /**
+     * 将64位无符号数定长编码为{@value #LONG_LENGTH}个ASCII字节，不足时左侧补'0'
+     *
+     * @param value  要编码的数值，按无符号处理
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数，固定为{@value #LONG_LENGTH}
+     */
+    public static int encodeLong(long value, byte[] dst, int dstOff) {
+        // 无符号除以36^5：先右移一位做有符号除法，再修正一次
+        long quotient = ((value >>> 1) / CHUNK) << 1;
+        long remainder = value - quotient * CHUNK;
+        if (remainder >= CHUNK) {
+            quotient++;
+            remainder -= CHUNK;
+        }
+        putChunk((int) remainder, dst, dstOff + 8);
+        putChunk((int) (quotient % CHUNK), dst, dstOff + 3);
+        // 剩余值小于36^3
+        int top = (int) (quotient / CHUNK);
+        dst[dstOff + 2] = ENCODE_MAP[top % TARGET_BASE];
+        top /= TARGET_BASE;
+        dst[dstOff + 1] = ENCODE_MAP[top % TARGET_BASE];
+        dst[dstOff] = ENCODE_MAP[top / TARGET_BASE];
+        return LONG_LENGTH;
+    }
+
+    /**
+     * 将128位无符号数定长编码为{@value #LENGTH_128}个字符，适用于UUID、ULID等
+     *
+     * @param high   高64位
+     * @param low    低64位
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数，固定为{@value #LENGTH_128}
+     */
+    public static int encode128(long high, long low, char[] dst, int dstOff) {
+        byte[] digits = CodecBuffers.work(LENGTH_128);
+        encode128(high, low, digits, 0);
+        for (int i = 0; i < LENGTH_128; i++) {
+            dst[dstOff + i] = (char) digits[i];
         }
+        return LENGTH_128;
+    }
 
-        return result.length() > 0 ? result.toString() : String.valueOf((char) ENCODE_MAP[0]);
+    /**
+     * 将128位无符号数定长编码为{@value #LENGTH_128}个ASCII字节，适用于UUID、ULID等
+     *
+     * @param high   高64位
+     * @param low    低64位
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数，固定为{@value #LENGTH_128}
+     */
+    public static int encode128(long high, long low, byte[] dst, int dstOff) {
+        long l0 = high >>> 32;
+        long l1 = high & INT_MASK;
+        long l2 = low >>> 32;
+        long l3 = low & INT_MASK;
+        // 以32位为一段做长除法，每轮得到5位数字，36^25 > 2^128，5轮恰好除尽
+        for (int end = dstOff + LENGTH_128; end > dstOff; end -= CHUNK_DIGITS) {
+            long t = l0;
+            l0 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l1;
+            l1 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l2;
+            l2 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l3;
+            l3 = t / CHUNK;
+            putChunk((int) (t % CHUNK), dst, end - CHUNK_DIGITS);
+        }
+        return LENGTH_128;
     }
 
     public static byte[] decode(String base36) {
-        if (base36 == null || base36.isEmpty()) {
-            throw new IllegalArgumentException("Input string cannot be null or empty");
+        if (base36 == null) {
+            throw new IllegalArgumentException("Input string cannot be null");
+        }
+        if (base36.isEmpty()) {
+            return new byte[0];
         }
 
-        // 计算所需的字节数组大小
-        int bitsPerChar = 6; // 每个Base36字符最多表示6位
-        int totalBits = base36.length() * bitsPerChar;
-        int byteCount = (totalBits + 7) / 8; // 向上取整
-        byte[] bytes = new byte[byteCount];
+        // 前导'0'对应前导零字节，至少保留一位作为数值部分
+        int length = base36.length();
+        int zeros = 0;
+        while (zeros < length - 1 && base36.charAt(zeros) == ENCODE_MAP[0]) {
+            zeros++;
+        }
 
-        int bitBuffer = 0;
-        int bitsInBuffer = 0;
-        int byteIndex = 0;
+        // 数值部分所需的最大字节数：log(36) / log(256) ≈ 0.646
+        int capacity = ((length - zeros) * 2 + 2) / 3 + 1;
+        byte[] value = new byte[capacity];
+        int top = capacity - 1;
+        for (int i = zeros; i < length; i++) {
+            int carry = digit(base36.charAt(i));
+            for (int j = capacity - 1; j >= top; j--) {
+                carry += (value[j] & 0xFF) * TARGET_BASE;
+                value[j] = (byte) carry;
+                carry >>>= 8;
+            }
+            while (carry != 0) {
+                value[--top] = (byte) carry;
+                carry >>>= 8;
+            }
+        }
+        // 去掉数值部分多余的前导零，数值为0时保留一个字节
+        while (top < capacity - 1 && value[top] == 0) {
+            top++;
+        }
 
-        for (int i = 0; i < base36.length(); i++) {
-            char c = base36.charAt(i);
-            if (c >= DECODE_MAP.length || DECODE_MAP[c] < 0) {
-                throw new IllegalArgumentException("Invalid character in Base36 string: " + c);
+        byte[] bytes = new byte[zeros + capacity - top];
+        System.arraycopy(value, top, bytes, zeros, capacity - top);
+        return bytes;
+    }
+
+    /**
+     * 解码{@value #LONG_LENGTH}个字符的定长编码，得到64位无符号数
+     *
+     * @param src 源字符序列
+     * @param off 起始下标
+     * @return 解码后的数值
+     * @throws IllegalArgumentException 当包含非法字符或数值超出64位时抛出
+     */
+    public static long decodeLong(CharSequence src, int off) {
+        long high = 0;
+        for (int i = off; i < off + 3; i++) {
+            high = high * TARGET_BASE + digit(src.charAt(i));
+        }
+        high = high * CHUNK + readChunk(src, off + 3);
+        long low = readChunk(src, off + 8);
+        if (high > LONG_LIMIT || high == LONG_LIMIT && low > LONG_LIMIT_REMAINDER) {
+            throw new IllegalArgumentException("Base36 value out of range for 64 bits");
+        }
+        return high * CHUNK + low;
+    }
+
+    /**
+     * 解码{@value #LENGTH_128}个字符的定长编码，以大端序写入16字节
+     *
+     * @param src    源字符序列
+     * @param off    起始下标
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @throws IllegalArgumentException 当包含非法字符或数值超出128位时抛出
+     */
+    public static void decode128(CharSequence src, int off, byte[] dst, int dstOff) {
+        long l0 = 0;
+        long l1 = 0;
+        long l2 = 0;
+        long l3 = 0;
+        for (int i = off; i < off + LENGTH_128; i += CHUNK_DIGITS) {
+            long t = l3 * CHUNK + readChunk(src, i);
+            l3 = t & INT_MASK;
+            t = l2 * CHUNK + (t >>> 32);
+            l2 = t & INT_MASK;
+            t = l1 * CHUNK + (t >>> 32);
+            l1 = t & INT_MASK;
+            t = l0 * CHUNK + (t >>> 32);
+            l0 = t & INT_MASK;
+            if (t >>> 32 != 0) {
+                throw new IllegalArgumentException("Base36 value out of range for 128 bits");
             }
+        }
+        putInt(dst, dstOff, l0);
+        putInt(dst, dstOff + 4, l1);
+        putInt(dst, dstOff + 8, l2);
+        putInt(dst, dstOff + 12, l3);
+    }
+
+    /**
+     * 将字节区间视为大端无符号整数，转换为不带前导零的36进制数字，以ASCII写入work[off, off + 返回值)
+     * <p>
+     * 不超过16字节时使用定长编码后去掉前导'0'，否则在work[0, len)上原地反复除以36。
+     * </p>
+     *
+     * @return 数字位数，数值为0时返回1
+     */
+    private static int toDigits(byte[] src, int srcOff, int len, byte[] work, int off) {
+        if (len <= 8) {
+            encodeLong(readLong(src, srcOff, len), work, off);
+            return stripZeroDigits(work, off, LONG_LENGTH);
+        }
+        if (len <= 16) {
+            encode128(readLong(src, srcOff, len - 8), readLong(src, srcOff + len - 8, 8), work, off);
+            return stripZeroDigits(work, off, LENGTH_128);
+        }
 
-            bitBuffer = (bitBuffer << 6) | DECODE_MAP[c];
-            bitsInBuffer += 6;
+        System.arraycopy(src, srcOff, work, 0, len);
+        int start = 0;
+        while (start < len && work[start] == 0) {
+            start++;
+        }
+        if (start == len) {
+            work[off] = ENCODE_MAP[0];
+            return 1;
+        }
 
-            while (bitsInBuffer >= 8 && byteIndex < bytes.length) {
-                bitsInBuffer -= 8;
-                bytes[byteIndex++] = (byte) ((bitBuffer >> bitsInBuffer) & 0xFF);
+        // 从低到高依次写入各位数字，最后整体翻转
+        int digits = 0;
+        while (start < len) {
+            int remainder = 0;
+            for (int i = start; i < len; i++) {
+                int accumulator = (remainder << 8) | (work[i] & 0xFF);
+                work[i] = (byte) (accumulator / TARGET_BASE);
+                remainder = accumulator % TARGET_BASE;
             }
+            work[off + digits++] = ENCODE_MAP[remainder];
+            while (start < len && work[start] == 0) {
+                start++;
+            }
+        }
+        for (int i = off, j = off + digits - 1; i < j; i++, j--) {
+            byte tmp = work[i];
+            work[i] = work[j];
+            work[j] = tmp;
         }
+        return digits;
+    }
 
-        // 处理剩余的位
-        if (bitsInBuffer > 0 && byteIndex < bytes.length) {
-            bytes[byteIndex] = (byte) ((bitBuffer << (8 - bitsInBuffer)) & 0xFF);
+    /**
+     * 去掉定长编码的前导'0'并前移，至少保留一位
+     */
+    private static int stripZeroDigits(byte[] work, int off, int width) {
+        int from = off;
+        while (from < off + width - 1 && work[from] == ENCODE_MAP[0]) {
+            from++;
         }
+        int digits = off + width - from;
+        System.arraycopy(work, from, work, off, digits);
+        return digits;
+    }
 
-        return bytes;
+    /**
+     * 以大端序读取src[from, from + len)，len不超过8
+     */
+    private static long readLong(byte[] src, int from, int len) {
+        long value = 0;
+        for (int i = from, end = from + len; i < end; i++) {
+            value = value << 8 | (src[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static void putInt(byte[] dst, int off, long value) {
+        dst[off] = (byte) (value >>> 24);
+        dst[off + 1] = (byte) (value >>> 16);
+        dst[off + 2] = (byte) (value >>> 8);
+        dst[off + 3] = (byte) value;
+    }
+
+    /**
+     * 将小于36^5的数值写成5位数字
+     */
+    private static void putChunk(int chunk, byte[] dst, int off) {
+        for (int i = off + CHUNK_DIGITS - 1; i >= off; i--) {
+            dst[i] = ENCODE_MAP[chunk % TARGET_BASE];
+            chunk /= TARGET_BASE;
+        }
+    }
+
+    private static int readChunk(CharSequence src, int off) {
+        int chunk = 0;
+        for (int i = off, end = off + CHUNK_DIGITS; i < end; i++) {
+            chunk = chunk * TARGET_BASE + digit(src.charAt(i));
+        }
+        return chunk;
+    }
+
+    private static int digit(char c) {
+        if (c >= DECODE_MAP.length || DECODE_MAP[c] < 0) {
+            throw new IllegalArgumentException("Invalid character in Base36 string: " + c);
+        }
+        return DECODE_MAP[c];
     }
 }
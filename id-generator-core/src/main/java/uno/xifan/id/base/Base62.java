@@ -1,5 +1,7 @@
 package uno.xifan.id.base;
 
+import uno.xifan.id.util.AsciiUtils;
+
 import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 
@@ -9,6 +11,27 @@ import java.util.Arrays;
 public class Base62 {
     private static final int STANDARD_BASE = 256;
     private static final int TARGET_BASE = 62;
+
+    /**
+     * 定长编码一个64位无符号数的字符数
+     */
+    public static final int LONG_LENGTH = 11;
+    /**
+     * 定长编码一个128位无符号数（UUID、ULID）的字符数
+     */
+    public static final int LENGTH_128 = 22;
+    /**
+     * 定长编码一个160位无符号数（KSUID）的字符数
+     */
+    public static final int LENGTH_160 = 27;
+
+    /** 62^5，小于2^30，每次除以它可以一次得到5位数字 */
+    private static final long CHUNK = 916_132_832L;
+    private static final int CHUNK_DIGITS = 5;
+    private static final long INT_MASK = 0xFFFFFFFFL;
+    /** 无符号64位最大值除以CHUNK的商和余数，用于解码时的溢出检查 */
+    private static final long LONG_LIMIT = Long.divideUnsigned(-1L, CHUNK);
+    private static final long LONG_LIMIT_REMAINDER = Long.remainderUnsigned(-1L, CHUNK);
     private static final byte[] ENCODE_MAP = new byte[62];
     private static final byte[] DECODE_MAP = new byte[128];
 
@@ -43,42 +66,448 @@ public class Base62 {
             return "";
         }
 
-        // 计算结果长度
-        final int estimatedLength = estimateOutputLength(bytes.length, STANDARD_BASE, TARGET_BASE);
-        final ByteArrayOutputStream out = new ByteArrayOutputStream(estimatedLength);
-
-        byte[] source = bytes;
-        while (source.length > 0) {
-            final ByteArrayOutputStream quotient = new ByteArrayOutputStream(source.length);
-            int remainder = 0;
+        byte[] result = AsciiUtils.buffer(maxEncodedLength(bytes.length));
+        int length = encode(bytes, 0, bytes.length, result, 0);
+        return AsciiUtils.newString(result, 0, length);
+    }
 
-            for (byte b : source) {
-                final int accumulator = (b & 0xFF) + remainder * STANDARD_BASE;
-                final int digit = (accumulator - (accumulator % TARGET_BASE)) / TARGET_BASE;
-                remainder = accumulator % TARGET_BASE;
+    /**
+     * 计算编码指定字节数后可能的最大字符数
+     *
+     * @param byteLength 字节数
+     * @return 编码后的最大字符数
+     */
+    public static int maxEncodedLength(int byteLength) {
+        // log(256) / log(62) ≈ 1.344，前导零字节各占一个字符且不会多于有效字节产生的字符
+        return byteLength * 3 / 2 + 1;
+    }
 
-                if (quotient.size() > 0 || digit > 0) {
-                    quotient.write(digit);
-                }
+    /**
+     * 将字节数组的指定区间编码后写入字符数组
+     * <p>
+     * 不超过20字节的输入走定长快速路径，更长的输入在线程本地缓冲区上原地做长除法，都不分配临时对象。
+     * </p>
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字符数组，剩余空间不少于 {@link #maxEncodedLength(int)}
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数
+     */
+    public static int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+        if (len == 0) {
+            return 0;
+        }
+        if (len <= 20) {
+            byte[] digits = CodecBuffers.work(LENGTH_160);
+            int width = encodeFixed(src, srcOff, len, digits);
+            int start = dstOff;
+            for (int i = 0; i < len - 1 && src[srcOff + i] == 0; i++) {
+                dst[dstOff++] = (char) ENCODE_MAP[0];
+            }
+            for (int i = skipZeroDigits(digits, width); i < width; i++) {
+                dst[dstOff++] = (char) digits[i];
             }
+            return dstOff - start;
+        }
+        byte[] work = CodecBuffers.work(len + maxEncodedLength(len));
+        int digits = toDigits(src, srcOff, len, work);
 
-            out.write(remainder);
-            source = quotient.toByteArray();
+        int start = dstOff;
+        // 处理前导零
+        for (int i = 0; i < len - 1 && src[srcOff + i] == 0; i++) {
+            dst[dstOff++] = (char) ENCODE_MAP[0];
+        }
+        for (int i = len + digits - 1; i >= len; i--) {
+            dst[dstOff++] = (char) ENCODE_MAP[work[i]];
+        }
+        return dstOff - start;
+    }
+
+    /**
+     * 将字节数组的指定区间编码后以ASCII字节写入目标数组
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字节数组，剩余空间不少于 {@link #maxEncodedLength(int)}
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     */
+    public static int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        if (len == 0) {
+            return 0;
+        }
+        if (len <= 20) {
+            byte[] digits = CodecBuffers.work(LENGTH_160);
+            int width = encodeFixed(src, srcOff, len, digits);
+            int start = dstOff;
+            for (int i = 0; i < len - 1 && src[srcOff + i] == 0; i++) {
+                dst[dstOff++] = ENCODE_MAP[0];
+            }
+            int from = skipZeroDigits(digits, width);
+            System.arraycopy(digits, from, dst, dstOff, width - from);
+            return dstOff + width - from - start;
         }
+        byte[] work = CodecBuffers.work(len + maxEncodedLength(len));
+        int digits = toDigits(src, srcOff, len, work);
 
+        int start = dstOff;
         // 处理前导零
-        for (int i = 0; i < bytes.length - 1 && bytes[i] == 0; i++) {
-            out.write(0);
+        for (int i = 0; i < len - 1 && src[srcOff + i] == 0; i++) {
+            dst[dstOff++] = ENCODE_MAP[0];
+        }
+        for (int i = len + digits - 1; i >= len; i--) {
+            dst[dstOff++] = ENCODE_MAP[work[i]];
+        }
+        return dstOff - start;
+    }
+
+    /**
+     * 将64位无符号数定长编码为{@value #LONG_LENGTH}个字符，不足时左侧补'0'
+     *
+     * @param value  要编码的数值，按无符号处理
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数，固定为{@value #LONG_LENGTH}
+     */
+    public static int encodeLong(long value, char[] dst, int dstOff) {
+        byte[] digits = CodecBuffers.work(LONG_LENGTH);
+        encodeLong(value, digits, 0);
+        return widen(digits, LONG_LENGTH, dst, dstOff);
+    }
+
+    /**
+     * 将64位无符号数定长编码为{@value #LONG_LENGTH}个ASCII字节，不足时左侧补'0'
+     *
+     * @param value  要编码的数值，按无符号处理
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数，固定为{@value #LONG_LENGTH}
+     */
+    public static int encodeLong(long value, byte[] dst, int dstOff) {
+        // 无符号除以62^5：先右移一位做有符号除法，再修正一次
+        long quotient = ((value >>> 1) / CHUNK) << 1;
+        long remainder = value - quotient * CHUNK;
+        if (remainder >= CHUNK) {
+            quotient++;
+            remainder -= CHUNK;
+        }
+        putChunk((int) remainder, dst, dstOff + 6);
+        putChunk((int) (quotient % CHUNK), dst, dstOff + 1);
+        dst[dstOff] = ENCODE_MAP[(int) (quotient / CHUNK)];
+        return LONG_LENGTH;
+    }
+
+    /**
+     * 将128位无符号数定长编码为{@value #LENGTH_128}个字符，适用于UUID、ULID等
+     *
+     * @param high   高64位
+     * @param low    低64位
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数，固定为{@value #LENGTH_128}
+     */
+    public static int encode128(long high, long low, char[] dst, int dstOff) {
+        byte[] digits = CodecBuffers.work(LENGTH_128);
+        encode128(high, low, digits, 0);
+        return widen(digits, LENGTH_128, dst, dstOff);
+    }
+
+    /**
+     * 将128位无符号数定长编码为{@value #LENGTH_128}个ASCII字节，适用于UUID、ULID等
+     *
+     * @param high   高64位
+     * @param low    低64位
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数，固定为{@value #LENGTH_128}
+     */
+    public static int encode128(long high, long low, byte[] dst, int dstOff) {
+        long l0 = high >>> 32;
+        long l1 = high & INT_MASK;
+        long l2 = low >>> 32;
+        long l3 = low & INT_MASK;
+        // 以32位为一段做长除法，每轮得到5位数字，4轮后剩余值小于62^2
+        for (int end = dstOff + LENGTH_128; end > dstOff + 2; end -= CHUNK_DIGITS) {
+            long t = l0;
+            l0 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l1;
+            l1 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l2;
+            l2 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l3;
+            l3 = t / CHUNK;
+            putChunk((int) (t % CHUNK), dst, end - CHUNK_DIGITS);
         }
+        dst[dstOff] = ENCODE_MAP[(int) (l3 / TARGET_BASE)];
+        dst[dstOff + 1] = ENCODE_MAP[(int) (l3 % TARGET_BASE)];
+        return LENGTH_128;
+    }
 
-        // 转换为Base62字符串
-        byte[] indices = ArrayUtil.reverse(out.toByteArray());
-        byte[] encoded = new byte[indices.length];
-        for (int i = 0; i < indices.length; i++) {
-            encoded[i] = ENCODE_MAP[indices[i]];
+    /**
+     * 将20字节（160位）大端无符号数定长编码为{@value #LENGTH_160}个字符，适用于KSUID
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标，从此处读取20字节
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数，固定为{@value #LENGTH_160}
+     */
+    public static int encode160(byte[] src, int srcOff, char[] dst, int dstOff) {
+        byte[] digits = CodecBuffers.work(LENGTH_160);
+        encode160(src, srcOff, 20, digits, 0);
+        return widen(digits, LENGTH_160, dst, dstOff);
+    }
+
+    /**
+     * 将20字节（160位）大端无符号数定长编码为{@value #LENGTH_160}个ASCII字节，适用于KSUID
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标，从此处读取20字节
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数，固定为{@value #LENGTH_160}
+     */
+    public static int encode160(byte[] src, int srcOff, byte[] dst, int dstOff) {
+        return encode160(src, srcOff, 20, dst, dstOff);
+    }
+
+    /**
+     * 解码{@value #LONG_LENGTH}个字符的定长编码，得到64位无符号数
+     *
+     * @param src 源字符序列
+     * @param off 起始下标
+     * @return 解码后的数值
+     * @throws IllegalArgumentException 当包含非法字符或数值超出64位时抛出
+     */
+    public static long decodeLong(CharSequence src, int off) {
+        long high = (long) digit(src.charAt(off)) * CHUNK + readChunk(src, off + 1);
+        long low = readChunk(src, off + 6);
+        if (high > LONG_LIMIT || high == LONG_LIMIT && low > LONG_LIMIT_REMAINDER) {
+            throw new IllegalArgumentException("Base62 value out of range for 64 bits");
         }
+        return high * CHUNK + low;
+    }
 
-        return new String(encoded);
+    /**
+     * 解码{@value #LENGTH_128}个字符的定长编码，以大端序写入16字节
+     *
+     * @param src    源字符序列
+     * @param off    起始下标
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @throws IllegalArgumentException 当包含非法字符或数值超出128位时抛出
+     */
+    public static void decode128(CharSequence src, int off, byte[] dst, int dstOff) {
+        long l0 = 0;
+        long l1 = 0;
+        long l2 = 0;
+        long l3 = digit(src.charAt(off)) * TARGET_BASE + digit(src.charAt(off + 1));
+        for (int i = off + 2; i < off + LENGTH_128; i += CHUNK_DIGITS) {
+            long t = l3 * CHUNK + readChunk(src, i);
+            l3 = t & INT_MASK;
+            t = l2 * CHUNK + (t >>> 32);
+            l2 = t & INT_MASK;
+            t = l1 * CHUNK + (t >>> 32);
+            l1 = t & INT_MASK;
+            t = l0 * CHUNK + (t >>> 32);
+            l0 = t & INT_MASK;
+            if (t >>> 32 != 0) {
+                throw new IllegalArgumentException("Base62 value out of range for 128 bits");
+            }
+        }
+        putInt(dst, dstOff, l0);
+        putInt(dst, dstOff + 4, l1);
+        putInt(dst, dstOff + 8, l2);
+        putInt(dst, dstOff + 12, l3);
+    }
+
+    /**
+     * 解码{@value #LENGTH_160}个字符的定长编码，以大端序写入20字节
+     *
+     * @param src    源字符序列
+     * @param off    起始下标
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @throws IllegalArgumentException 当包含非法字符或数值超出160位时抛出
+     */
+    public static void decode160(CharSequence src, int off, byte[] dst, int dstOff) {
+        long l0 = 0;
+        long l1 = 0;
+        long l2 = 0;
+        long l3 = 0;
+        long l4 = digit(src.charAt(off)) * TARGET_BASE + digit(src.charAt(off + 1));
+        for (int i = off + 2; i < off + LENGTH_160; i += CHUNK_DIGITS) {
+            long t = l4 * CHUNK + readChunk(src, i);
+            l4 = t & INT_MASK;
+            t = l3 * CHUNK + (t >>> 32);
+            l3 = t & INT_MASK;
+            t = l2 * CHUNK + (t >>> 32);
+            l2 = t & INT_MASK;
+            t = l1 * CHUNK + (t >>> 32);
+            l1 = t & INT_MASK;
+            t = l0 * CHUNK + (t >>> 32);
+            l0 = t & INT_MASK;
+            if (t >>> 32 != 0) {
+                throw new IllegalArgumentException("Base62 value out of range for 160 bits");
+            }
+        }
+        putInt(dst, dstOff, l0);
+        putInt(dst, dstOff + 4, l1);
+        putInt(dst, dstOff + 8, l2);
+        putInt(dst, dstOff + 12, l3);
+        putInt(dst, dstOff + 16, l4);
+    }
+
+    /**
+     * 按输入长度选择64/128/160位定长编码，结果写入dst[0, 返回值)
+     */
+    private static int encodeFixed(byte[] src, int srcOff, int len, byte[] dst) {
+        if (len <= 8) {
+            return encodeLong(readLong(src, srcOff, len), dst, 0);
+        }
+        if (len <= 16) {
+            return encode128(readLong(src, srcOff, len - 8), readLong(src, srcOff + len - 8, 8), dst, 0);
+        }
+        return encode160(src, srcOff, len, dst, 0);
+    }
+
+    /**
+     * 将最多20字节的大端无符号数定长编码，不足20字节时视为左侧补零
+     */
+    private static int encode160(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        int end = srcOff + len;
+        long l0 = readInt(src, srcOff, end - 16);
+        long l1 = readInt(src, srcOff, end - 12);
+        long l2 = readInt(src, srcOff, end - 8);
+        long l3 = readInt(src, srcOff, end - 4);
+        long l4 = readInt(src, srcOff, end);
+        // 5轮后剩余值小于62^2
+        for (int pos = dstOff + LENGTH_160; pos > dstOff + 2; pos -= CHUNK_DIGITS) {
+            long t = l0;
+            l0 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l1;
+            l1 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l2;
+            l2 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l3;
+            l3 = t / CHUNK;
+            t = (t % CHUNK) << 32 | l4;
+            l4 = t / CHUNK;
+            putChunk((int) (t % CHUNK), dst, pos - CHUNK_DIGITS);
+        }
+        dst[dstOff] = ENCODE_MAP[(int) (l4 / TARGET_BASE)];
+        dst[dstOff + 1] = ENCODE_MAP[(int) (l4 % TARGET_BASE)];
+        return LENGTH_160;
+    }
+
+    /**
+     * 以大端序读取src[from, from + len)，len不超过8
+     */
+    private static long readLong(byte[] src, int from, int len) {
+        long value = 0;
+        for (int i = from, end = from + len; i < end; i++) {
+            value = value << 8 | (src[i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * 以大端序读取以end结尾的4字节，早于start的部分视为0
+     */
+    private static long readInt(byte[] src, int start, int end) {
+        long value = 0;
+        for (int i = Math.max(start, end - 4); i < end; i++) {
+            value = value << 8 | (src[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static void putInt(byte[] dst, int off, long value) {
+        dst[off] = (byte) (value >>> 24);
+        dst[off + 1] = (byte) (value >>> 16);
+        dst[off + 2] = (byte) (value >>> 8);
+        dst[off + 3] = (byte) value;
+    }
+
+    /**
+     * 将小于62^5的数值写成5位数字
+     */
+    private static void putChunk(int chunk, byte[] dst, int off) {
+        for (int i = off + CHUNK_DIGITS - 1; i >= off; i--) {
+            dst[i] = ENCODE_MAP[chunk % TARGET_BASE];
+            chunk /= TARGET_BASE;
+        }
+    }
+
+    private static int readChunk(CharSequence src, int off) {
+        int chunk = 0;
+        for (int i = off, end = off + CHUNK_DIGITS; i < end; i++) {
+            chunk = chunk * TARGET_BASE + digit(src.charAt(i));
+        }
+        return chunk;
+    }
+
+    private static int digit(char c) {
+        if (c >= 128 || DECODE_MAP[c] == -1) {
+            throw new IllegalArgumentException("Invalid Base62 character: " + c);
+        }
+        return DECODE_MAP[c];
+    }
+
+    /**
+     * 跳过定长编码的前导'0'，至少保留一位
+     */
+    private static int skipZeroDigits(byte[] digits, int width) {
+        int from = 0;
+        while (from < width - 1 && digits[from] == ENCODE_MAP[0]) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int widen(byte[] src, int len, char[] dst, int dstOff) {
+        for (int i = 0; i < len; i++) {
+            dst[dstOff + i] = (char) src[i];
+        }
+        return len;
+    }
+
+    /**
+     * 将字节区间视为大端无符号整数，反复除以62得到各位数字
+     * <p>
+     * work[0, len) 存放被除数并被原地改写，work[len, len + 返回值) 依次存放从低到高的各位数字。
+     * </p>
+     *
+     * @return 数字位数，数值为0时返回1
+     */
+    private static int toDigits(byte[] src, int srcOff, int len, byte[] work) {
+        System.arraycopy(src, srcOff, work, 0, len);
+        int start = 0;
+        while (start < len && work[start] == 0) {
+            start++;
+        }
+        if (start == len) {
+            work[len] = 0;
+            return 1;
+        }
+
+        int digits = 0;
+        while (start < len) {
+            int remainder = 0;
+            for (int i = start; i < len; i++) {
+                int accumulator = (remainder << 8) | (work[i] & 0xFF);
+                work[i] = (byte) (accumulator / TARGET_BASE);
+                remainder = accumulator % TARGET_BASE;
+            }
+            work[len + digits++] = (byte) remainder;
+            while (start < len && work[start] == 0) {
+                start++;
+            }
+        }
+        return digits;
     }
 
     public static byte[] decode(String str) {
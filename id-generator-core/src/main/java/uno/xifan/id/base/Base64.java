@@ -1,5 +1,7 @@
 package uno.xifan.id.base;
 
+import uno.xifan.id.util.AsciiUtils;
+
 import java.util.Arrays;
 
 /**
@@ -39,29 +41,85 @@ public class Base64 {
             return "";
         }
 
-        int len = bytes.length;
-        StringBuilder result = new StringBuilder((len * 8 + 5) / 6);
+        byte[] result = AsciiUtils.buffer(encodedLength(bytes.length));
+        int length = encode(bytes, 0, bytes.length, result, 0);
+        return AsciiUtils.newString(result, 0, length);
+    }
+
+    /**
+     * 计算编码指定字节数后的字符数（不填充）
+     *
+     * @param byteLength 字节数
+     * @return 编码后的字符数
+     */
+    public static int encodedLength(int byteLength) {
+        return (byteLength * 8 + 5) / 6;
+    }
+
+    /**
+     * 将字节数组的指定区间编码后写入字符数组
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数
+     */
+    public static int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+        int start = dstOff;
+        int buffer = 0;
+        int bufferBits = 0;
+
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            buffer = (buffer << 8) | (src[i] & 0xFF);
+            bufferBits += 8;
+
+            while (bufferBits >= 6) {
+                bufferBits -= 6;
+                dst[dstOff++] = (char) ENCODE_MAP[(buffer >> bufferBits) & 0x3F];
+            }
+        }
+
+        if (bufferBits > 0) {
+            buffer <<= (6 - bufferBits);
+            dst[dstOff++] = (char) ENCODE_MAP[buffer & 0x3F];
+        }
+
+        return dstOff - start;
+    }
 
+    /**
+     * 将字节数组的指定区间编码后以ASCII字节写入目标数组
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     */
+    public static int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+        int start = dstOff;
         int buffer = 0;
         int bufferBits = 0;
-        int index = 0;
 
-        while (index < len) {
-            buffer = (buffer << 8) | (bytes[index++] & 0xFF);
+        for (int i = srcOff, end = srcOff + len; i < end; i++) {
+            buffer = (buffer << 8) | (src[i] & 0xFF);
             bufferBits += 8;
 
             while (bufferBits >= 6) {
                 bufferBits -= 6;
-                result.append((char) ENCODE_MAP[(buffer >> bufferBits) & 0x3F]);
+                dst[dstOff++] = ENCODE_MAP[(buffer >> bufferBits) & 0x3F];
             }
         }
 
         if (bufferBits > 0) {
             buffer <<= (6 - bufferBits);
-            result.append((char) ENCODE_MAP[buffer & 0x3F]);
+            dst[dstOff++] = ENCODE_MAP[buffer & 0x3F];
         }
 
-        return result.toString();
+        return dstOff - start;
     }
 
     public static byte[] decode(String str) {
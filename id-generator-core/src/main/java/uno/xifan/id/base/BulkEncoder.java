@@ -0,0 +1,292 @@
+package uno.xifan.id.base;
+
+import uno.xifan.id.util.IndexUtils;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * ID批量编码器
+ * <p>
+ * 将一组64位ID（{@code long[]}），或由高低64位两个数组组成的一组128位ID，按固定宽度连续写入同一个
+ * {@code byte[]} 或 {@link ByteBuffer}，用于导出、批量下发等一次处理成千上万个ID的场景。
+ * 每个ID的输出与 {@link Encoding} 对8字节或16字节大端数据的编码结果完全一致，第i个ID位于
+ * {@code dstOff + i * width}，调用方按宽度即可切分，不需要分隔符。
+ * </p>
+ * <p>
+ * 只支持按位对齐的 {@link Encoding#BASE16}、{@link Encoding#BASE32} 和 {@link Encoding#BASE64}：
+ * 直接从long中按4/5/6位取值查表，不经过中间字节数组、线程本地缓冲区或逐个ID的虚方法调用；
+ * 十六进制在一个long内同时转换8个半字节（SWAR），没有分支也不查表。
+ * </p>
+ */
+public final class BulkEncoder {
+
+    private static final byte[] BASE32_MAP = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes();
+    private static final byte[] BASE64_MAP =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ_abcdefghijklmnopqrstuvwxyz~".getBytes();
+
+    private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+    private static final long ONES = 0x0101010101010101L;
+
+    private BulkEncoder() {
+    }
+
+    /**
+     * 获取一个64位ID编码后的字符数
+     *
+     * @param encoding 编码方式
+     * @return 每个ID的字符数
+     * @throws IllegalArgumentException 不支持的编码方式
+     */
+    public static int width(Encoding encoding) {
+        return checkSupported(encoding).maxEncodedLength(Long.BYTES);
+    }
+
+    /**
+     * 获取一个128位ID编码后的字符数
+     *
+     * @param encoding 编码方式
+     * @return 每个ID的字符数
+     * @throws IllegalArgumentException 不支持的编码方式
+     */
+    public static int width128(Encoding encoding) {
+        return checkSupported(encoding).maxEncodedLength(Long.BYTES * 2);
+    }
+
+    /**
+     * 将一组64位ID编码后连续写入目标数组
+     *
+     * @param encoding 编码方式
+     * @param ids      ID数组
+     * @param off      起始下标
+     * @param len      ID个数
+     * @param dst      目标字节数组，剩余空间不少于 {@code len * width(encoding)}
+     * @param dstOff   目标起始下标
+     * @return 写入的字节数
+     */
+    public static int encode(Encoding encoding, long[] ids, int off, int len, byte[] dst, int dstOff) {
+        int width = width(encoding);
+        IndexUtils.checkFromIndexSize(off, len, ids.length);
+        IndexUtils.checkFromIndexSize(dstOff, len * width, dst.length);
+        // 在循环外选择编码，每个循环体都是单一编码的直线代码
+        int end = off + len;
+        switch (encoding) {
+            case BASE16:
+                for (int i = off, p = dstOff; i < end; i++, p += width) {
+                    putHex(ids[i], dst, p);
+                }
+                break;
+            case BASE32:
+                for (int i = off, p = dstOff; i < end; i++, p += width) {
+                    putBase32(ids[i], dst, p);
+                }
+                break;
+            default:
+                for (int i = off, p = dstOff; i < end; i++, p += width) {
+                    putBase64(ids[i], dst, p);
+                }
+                break;
+        }
+        return len * width;
+    }
+
+    /**
+     * 将一组128位ID编码后连续写入目标数组
+     *
+     * @param encoding 编码方式
+     * @param highs    高64位数组
+     * @param lows     低64位数组
+     * @param off      起始下标，两个数组相同
+     * @param len      ID个数
+     * @param dst      目标字节数组，剩余空间不少于 {@code len * width128(encoding)}
+     * @param dstOff   目标起始下标
+     * @return 写入的字节数
+     */
+    public static int encode(Encoding encoding, long[] highs, long[] lows, int off, int len, byte[] dst, int dstOff) {
+        int width = width128(encoding);
+        IndexUtils.checkFromIndexSize(off, len, highs.length);
+        IndexUtils.checkFromIndexSize(off, len, lows.length);
+        IndexUtils.checkFromIndexSize(dstOff, len * width, dst.length);
+        int end = off + len;
+        switch (encoding) {
+            case BASE16:
+                for (int i = off, p = dstOff; i < end; i++, p += width) {
+                    putHex(highs[i], lows[i], dst, p);
+                }
+                break;
+            case BASE32:
+                for (int i = off, p = dstOff; i < end; i++, p += width) {
+                    putBase32(highs[i], lows[i], dst, p);
+                }
+                break;
+            default:
+                for (int i = off, p = dstOff; i < end; i++, p += width) {
+                    putBase64(highs[i], lows[i], dst, p);
+                }
+                break;
+        }
+        return len * width;
+    }
+
+    /**
+     * 将一组64位ID编码后写入缓冲区的当前位置，并移动position
+     *
+     * @param encoding 编码方式
+     * @param ids      ID数组
+     * @param off      起始下标
+     * @param len      ID个数
+     * @param dst      目标缓冲区，剩余空间不少于 {@code len * width(encoding)}
+     * @return 写入的字节数
+     * @throws BufferOverflowException 剩余空间不足
+     */
+    public static int encode(Encoding encoding, long[] ids, int off, int len, ByteBuffer dst) {
+        int width = width(encoding);
+        IndexUtils.checkFromIndexSize(off, len, ids.length);
+        checkRemaining(dst, len * width);
+        if (dst.hasArray()) {
+            int written = encode(encoding, ids, off, len, dst.array(), dst.arrayOffset() + dst.position());
+            dst.position(dst.position() + written);
+            return written;
+        }
+        byte[] chunk = CodecBuffers.work(width);
+        for (int i = off, end = off + len; i < end; i++) {
+            encode(encoding, ids, i, 1, chunk, 0);
+            dst.put(chunk, 0, width);
+        }
+        return len * width;
+    }
+
+    /**
+     * 将一组128位ID编码后写入缓冲区的当前位置，并移动position
+     *
+     * @param encoding 编码方式
+     * @param highs    高64位数组
+     * @param lows     低64位数组
+     * @param off      起始下标，两个数组相同
+     * @param len      ID个数
+     * @param dst      目标缓冲区，剩余空间不少于 {@code len * width128(encoding)}
+     * @return 写入的字节数
+     * @throws BufferOverflowException 剩余空间不足
+     */
+    public static int encode(Encoding encoding, long[] highs, long[] lows, int off, int len, ByteBuffer dst) {
+        int width = width128(encoding);
+        IndexUtils.checkFromIndexSize(off, len, highs.length);
+        IndexUtils.checkFromIndexSize(off, len, lows.length);
+        checkRemaining(dst, len * width);
+        if (dst.hasArray()) {
+            int written = encode(encoding, highs, lows, off, len, dst.array(), dst.arrayOffset() + dst.position());
+            dst.position(dst.position() + written);
+            return written;
+        }
+        byte[] chunk = CodecBuffers.work(width);
+        for (int i = off, end = off + len; i < end; i++) {
+            encode(encoding, highs, lows, i, 1, chunk, 0);
+            dst.put(chunk, 0, width);
+        }
+        return len * width;
+    }
+
+    /**
+     * 写入16个大写十六进制字符
+     */
+    private static void putHex(long value, byte[] dst, int p) {
+        putLong(hexDigits((int) (value >>> 32)), dst, p);
+        putLong(hexDigits((int) value), dst, p + 8);
+    }
+
+    private static void putHex(long high, long low, byte[] dst, int p) {
+        putHex(high, dst, p);
+        putHex(low, dst, p + 16);
+    }
+
+    /**
+     * 写入13个Base32字符，64位后补1个0位
+     */
+    private static void putBase32(long value, byte[] dst, int p) {
+        put60Base32(value, dst, p);
+        dst[p + 12] = BASE32_MAP[(int) (value << 1) & 0x1F];
+    }
+
+    /**
+     * 写入26个Base32字符：第13个字符跨越高低两段，低64位剩余63位，最后补2个0位
+     */
+    private static void putBase32(long high, long low, byte[] dst, int p) {
+        put60Base32(high, dst, p);
+        dst[p + 12] = BASE32_MAP[(int) (high << 1 | low >>> 63) & 0x1F];
+        put60Base32(low << 1, dst, p + 13);
+        dst[p + 25] = BASE32_MAP[(int) (low << 2) & 0x1F];
+    }
+
+    /**
+     * 写入11个Base64字符，64位后补2个0位
+     */
+    private static void putBase64(long value, byte[] dst, int p) {
+        put60Base64(value, dst, p);
+        dst[p + 10] = BASE64_MAP[(int) (value << 2) & 0x3F];
+    }
+
+    /**
+     * 写入22个Base64字符：第11个字符跨越高低两段，低64位剩余62位，最后补4个0位
+     */
+    private static void putBase64(long high, long low, byte[] dst, int p) {
+        put60Base64(high, dst, p);
+        dst[p + 10] = BASE64_MAP[(int) (high << 2 | low >>> 62) & 0x3F];
+        put60Base64(low << 2, dst, p + 11);
+        dst[p + 21] = BASE64_MAP[(int) (low << 4) & 0x3F];
+    }
+
+    /**
+     * 把32位数的8个半字节分散到8个字节中，再一次性转换为ASCII
+     */
+    private static long hexDigits(int value) {
+        long v = value & 0xFFFFFFFFL;
+        v = (v | v << 16) & 0x0000FFFF0000FFFFL;
+        v = (v | v << 8) & 0x00FF00FF00FF00FFL;
+        v = (v | v << 4) & LOW_NIBBLES;
+        // 半字节不小于10的字节加6后会进位到第4位，这些字节额外加上'A' - '9' - 1
+        long letters = ((v + 0x0606060606060606L) >>> 4) & ONES;
+        return v + 0x3030303030303030L + letters * ('A' - '9' - 1);
+    }
+
+    /**
+     * 写入高60位对应的12个Base32字符
+     */
+    private static void put60Base32(long value, byte[] dst, int p) {
+        for (int shift = 59; shift > 0; shift -= 5, p++) {
+            dst[p] = BASE32_MAP[(int) (value >>> shift) & 0x1F];
+        }
+    }
+
+    /**
+     * 写入高60位对应的10个Base64字符
+     */
+    private static void put60Base64(long value, byte[] dst, int p) {
+        for (int shift = 58; shift > 0; shift -= 6, p++) {
+            dst[p] = BASE64_MAP[(int) (value >>> shift) & 0x3F];
+        }
+    }
+
+    private static void putLong(long value, byte[] dst, int p) {
+        dst[p] = (byte) (value >>> 56);
+        dst[p + 1] = (byte) (value >>> 48);
+        dst[p + 2] = (byte) (value >>> 40);
+        dst[p + 3] = (byte) (value >>> 32);
+        dst[p + 4] = (byte) (value >>> 24);
+        dst[p + 5] = (byte) (value >>> 16);
+        dst[p + 6] = (byte) (value >>> 8);
+        dst[p + 7] = (byte) value;
+    }
+
+    private static Encoding checkSupported(Encoding encoding) {
+        if (encoding != Encoding.BASE16 && encoding != Encoding.BASE32 && encoding != Encoding.BASE64) {
+            throw new IllegalArgumentException("Unsupported bulk encoding: " + encoding);
+        }
+        return encoding;
+    }
+
+    private static void checkRemaining(ByteBuffer dst, int length) {
+        if (dst.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.base;
+
+import uno.xifan.id.util.IndexUtils;
+import uno.xifan.id.util.PaddedAtomicLong;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 预先生成ID的缓存装饰器
+ * <p>
+ * 参考百度UidGenerator的CachedUidGenerator：后台线程调用源生成器的 {@link LongIdGenerator#fill(long[], int, int)}，
+ * 把ID批量写入一个 {@code long[]} 环形缓冲区；调用方从环中取ID只需一次CAS，不读取时钟，
+ * 也不会遇到序列号用尽时等待下一毫秒或时钟回拨等待，这些等待都发生在后台线程中。
+ * 可用数量低于水位线时唤醒后台线程补满整个环。
+ * </p>
+ * <p>
+ * 环是单生产者（后台线程）多消费者的：生产者写入槽位后再发布写指针，消费者先读槽位再CAS读指针，
+ * CAS成功说明读到的槽位没有被覆盖。读写指针各自独占一条缓存行。环为空时（例如突发流量超过补充速度，
+ * 或源生成器在后台抛出异常）直接从源生成器生成，不会阻塞，异常也会在调用线程中抛出。
+ * </p>
+ * <p>
+ * 代价是ID中的时间戳是预先生成时的时间，最多落后于取出时一个环的消费时间。
+ * 环中的ID按源生成器生成的顺序取出；环为空时直接生成的ID会和后台刚补充的ID交错，不再保证按取出顺序递增。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class CachedLongIdGenerator implements LongIdGenerator, AutoCloseable {
+
+    /** 默认容量 */
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    private final LongIdGenerator source;
+    private final long[] slots;
+    private final int mask;
+    private final int lowWater;
+    private final PaddedAtomicLong head = new PaddedAtomicLong(); // 下一个取出的位置
+    private final PaddedAtomicLong tail = new PaddedAtomicLong(); // 下一个写入的位置，只由后台线程写
+    private final Thread filler;
+    private volatile boolean running = true;
+
+    /**
+     * 使用默认容量创建，可用数量低于一半时补充
+     *
+     * @param source 源生成器
+     */
+    public CachedLongIdGenerator(LongIdGenerator source) {
+        this(source, DEFAULT_CAPACITY, DEFAULT_CAPACITY / 2);
+    }
+
+    /**
+     * 创建缓存装饰器，先同步填满环，再启动后台补充线程
+     *
+     * @param source   源生成器
+     * @param capacity 环的容量，2的幂
+     * @param lowWater 水位线，可用数量低于它时补充，取值范围[1, capacity]
+     * @throws IllegalArgumentException 当容量或水位线无效时抛出
+     */
+    public CachedLongIdGenerator(LongIdGenerator source, int capacity, int lowWater) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two and at least 2: " + capacity);
+        }
+        if (lowWater < 1 || lowWater > capacity) {
+            throw new IllegalArgumentException("Low water mark must be between 1 and " + capacity + ": " + lowWater);
+        }
+        this.source = source;
+        this.slots = new long[capacity];
+        this.mask = capacity - 1;
+        this.lowWater = lowWater;
+        fillRing();
+        filler = new Thread(() -> {
+            while (running) {
+                LockSupport.park(this);
+                try {
+                    fillRing();
+                } catch (RuntimeException e) {
+                    // 环保持原样，调用方取空后直接从源生成器生成时会得到同样的异常
+                }
+            }
+        }, "id-ring-filler");
+        filler.setDaemon(true);
+        filler.start();
+    }
+
+    /**
+     * 从环中取出一个ID，环为空时直接从源生成器生成
+     *
+     * @return ID
+     */
+    @Override
+    public long nextLong() {
+        while (true) {
+            long h = head.get();
+            long available = tail.get() - h;
+            if (available <= 0) {
+                requestFill();
+                return source.nextLong();
+            }
+            long id = slots[(int) (h & mask)];
+            if (head.compareAndSet(h, h + 1)) {
+                if (available <= lowWater) {
+                    requestFill();
+                }
+                return id;
+            }
+        }
+    }
+
+    /**
+     * 批量取出ID，每段连续可用的ID只需一次CAS，环中不够时剩余部分直接从源生成器生成
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     */
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        while (len > 0) {
+            long h = head.get();
+            int n = (int) Math.min(len, tail.get() - h);
+            if (n <= 0) {
+                requestFill();
+                source.fill(dst, off, len);
+                return;
+            }
+            int index = (int) (h & mask);
+            int first = Math.min(n, slots.length - index);
+            System.arraycopy(slots, index, dst, off, first);
+            System.arraycopy(slots, 0, dst, off + first, n - first);
+            if (head.compareAndSet(h, h + n)) {
+                if (tail.get() - h - n < lowWater) {
+                    requestFill();
+                }
+                off += n;
+                len -= n;
+            }
+        }
+    }
+
+    /**
+     * 获取环中当前可用的ID数量
+     *
+     * @return 可用数量（并发时是近似值）
+     */
+    public int size() {
+        return (int) Math.max(0L, tail.get() - head.get());
+    }
+
+    @Override
+    public IdType idType() {
+        return source.idType();
+    }
+
+    /**
+     * 停止后台补充线程，环中剩余的ID仍可取出，取空后直接从源生成器生成
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(filler);
+    }
+
+    private void requestFill() {
+        if (running) {
+            LockSupport.unpark(filler);
+        }
+    }
+
+    /**
+     * 把环中空闲的槽位全部补满，只在构造函数和后台线程中调用
+     */
+    private void fillRing() {
+        long t = tail.get();
+        long free;
+        while (running && (free = slots.length - (t - head.get())) > 0) {
+            // 每次写入到数组末尾为止的连续一段，由源生成器批量生成
+            int index = (int) (t & mask);
+            int n = (int) Math.min(free, slots.length - index);
+            source.fill(slots, index, n);
+            t += n;
+            tail.set(t);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package uno.xifan.id.base;
+
+/**
+ * 编解码使用的线程本地缓冲区
+ * <p>
+ * 供{@link Id}的写入接口和各编码器在编码过程中暂存字节、计算中间结果，
+ * 避免每次编码都分配临时数组。超过上限的请求直接分配新数组，不会被缓存。
+ * </p>
+ */
+final class CodecBuffers {
+
+    /** 可缓存的最大缓冲区长度 */
+    private static final int MAX_CACHED_LENGTH = 1024;
+
+    private static final ThreadLocal<CodecBuffers> LOCAL = ThreadLocal.withInitial(CodecBuffers::new);
+
+    private byte[] source = new byte[32];
+    private byte[] work = new byte[96];
+
+    private CodecBuffers() {
+    }
+
+    /**
+     * 获取用于暂存ID原始字节的缓冲区
+     *
+     * @param length 最小长度
+     * @return 缓冲区
+     */
+    static byte[] source(int length) {
+        CodecBuffers buffers = LOCAL.get();
+        if (buffers.source.length < length) {
+            if (length > MAX_CACHED_LENGTH) {
+                return new byte[length];
+            }
+            buffers.source = new byte[length];
+        }
+        return buffers.source;
+    }
+
+    /**
+     * 获取用于编码中间计算的缓冲区
+     *
+     * @param length 最小长度
+     * @return 缓冲区
+     */
+    static byte[] work(int length) {
+        CodecBuffers buffers = LOCAL.get();
+        if (buffers.work.length < length) {
+            if (length > MAX_CACHED_LENGTH) {
+                return new byte[length];
+            }
+            buffers.work = new byte[length];
+        }
+        return buffers.work;
+    }
+}
@@ -0,0 +1,222 @@
+package uno.xifan.id.base;
+
+import uno.xifan.id.util.AsciiUtils;
+
+/**
+ * ID的文本编码方式
+ * <p>
+ * 每种编码对应 {@code uno.xifan.id.base} 包中的一个编码器，并与 {@link Id} 中对应的 {@code toBaseXX()}
+ * 默认实现保持一致。除了返回字符串之外，还支持直接写入调用方提供的 {@code char[]} 或 {@code byte[]}，
+ * 便于序列化框架把ID编码进自己的输出缓冲区，而不产生临时数组或字符串。
+ * </p>
+ */
+public enum Encoding {
+
+    /**
+     * 十六进制（大写）
+     */
+    BASE16 {
+        @Override
+        public int maxEncodedLength(int byteLength) {
+            return byteLength * 2;
+        }
+
+        @Override
+        public int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+            return Base16.encode(src, srcOff, len, dst, dstOff);
+        }
+
+        @Override
+        public int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+            return Base16.encode(src, srcOff, len, dst, dstOff);
+        }
+    },
+
+    /**
+     * Crockford Base32
+     */
+    BASE32 {
+        @Override
+        public int maxEncodedLength(int byteLength) {
+            return Base32.encodedLength(byteLength);
+        }
+
+        @Override
+        public int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+            return Base32.encode(src, srcOff, len, dst, dstOff);
+        }
+
+        @Override
+        public int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+            return Base32.encode(src, srcOff, len, dst, dstOff);
+        }
+    },
+
+    /**
+     * 数字加大写字母
+     */
+    BASE36 {
+        @Override
+        public int maxEncodedLength(int byteLength) {
+            return Base36.maxEncodedLength(byteLength);
+        }
+
+        @Override
+        public int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+            return Base36.encode(src, srcOff, len, dst, dstOff);
+        }
+
+        @Override
+        public int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+            return Base36.encode(src, srcOff, len, dst, dstOff);
+        }
+    },
+
+    /**
+     * 数字、大写字母加小写字母
+     */
+    BASE62 {
+        @Override
+        public int maxEncodedLength(int byteLength) {
+            return Base62.maxEncodedLength(byteLength);
+        }
+
+        @Override
+        public int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+            return Base62.encode(src, srcOff, len, dst, dstOff);
+        }
+
+        @Override
+        public int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+            return Base62.encode(src, srcOff, len, dst, dstOff);
+        }
+    },
+
+    /**
+     * URL安全且按ASCII排序的Base64
+     */
+    BASE64 {
+        @Override
+        public int maxEncodedLength(int byteLength) {
+            return Base64.encodedLength(byteLength);
+        }
+
+        @Override
+        public int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff) {
+            return Base64.encode(src, srcOff, len, dst, dstOff);
+        }
+
+        @Override
+        public int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff) {
+            return Base64.encode(src, srcOff, len, dst, dstOff);
+        }
+    };
+
+    /**
+     * 计算编码指定字节数后可能的最大字符数，用于预先分配输出缓冲区
+     *
+     * @param byteLength 字节数
+     * @return 编码后的最大字符数
+     */
+    public abstract int maxEncodedLength(int byteLength);
+
+    /**
+     * 将字节数组的指定区间编码后写入字符数组
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数
+     */
+    public abstract int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff);
+
+    /**
+     * 将字节数组的指定区间编码后以ASCII字节写入目标数组
+     *
+     * @param src    源字节数组
+     * @param srcOff 源起始下标
+     * @param len    编码的字节数
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     */
+    public abstract int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff);
+
+    /**
+     * 将ID的二进制形式编码后写入字符数组
+     *
+     * @param id     要编码的ID
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数
+     */
+    public int encode(Id id, char[] dst, int dstOff) {
+        byte[] bytes = CodecBuffers.source(id.byteLength());
+        int length = id.writeBytes(bytes, 0);
+        return encode(bytes, 0, length, dst, dstOff);
+    }
+
+    /**
+     * 将ID的二进制形式编码后以ASCII字节写入目标数组
+     *
+     * @param id     要编码的ID
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     */
+    public int encode(Id id, byte[] dst, int dstOff) {
+        byte[] bytes = CodecBuffers.source(id.byteLength());
+        int length = id.writeBytes(bytes, 0);
+        return encode(bytes, 0, length, dst, dstOff);
+    }
+
+    /**
+     * 将一个64位数值（按8字节大端序）编码后写入字符数组
+     *
+     * @param value  要编码的数值
+     * @param dst    目标字符数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字符数
+     */
+    public int encode(long value, char[] dst, int dstOff) {
+        byte[] bytes = CodecBuffers.source(Long.BYTES);
+        putLong(bytes, 0, value);
+        return encode(bytes, 0, Long.BYTES, dst, dstOff);
+    }
+
+    /**
+     * 将一个64位数值（按8字节大端序）编码后以ASCII字节写入目标数组
+     *
+     * @param value  要编码的数值
+     * @param dst    目标字节数组
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     */
+    public int encode(long value, byte[] dst, int dstOff) {
+        byte[] bytes = CodecBuffers.source(Long.BYTES);
+        putLong(bytes, 0, value);
+        return encode(bytes, 0, Long.BYTES, dst, dstOff);
+    }
+
+    /**
+     * 将ID编码为字符串
+     *
+     * @param id 要编码的ID
+     * @return 编码后的字符串
+     */
+    public String encodeToString(Id id) {
+        byte[] bytes = CodecBuffers.source(id.byteLength());
+        int length = id.writeBytes(bytes, 0);
+        byte[] ascii = AsciiUtils.buffer(maxEncodedLength(length));
+        return AsciiUtils.newString(ascii, 0, encode(bytes, 0, length, ascii, 0));
+    }
+
+    private static void putLong(byte[] dst, int off, long value) {
+        for (int i = off + 7; i >= off; i--) {
+            dst[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package uno.xifan.id.base;
 
 
 
-import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
 public interface Id  {
@@ -26,30 +25,110 @@ public interface Id  {
         return ByteBuffer.allocate(8).putLong(value).array();
     }
 
-    default String toBase64() {
-        return Base64.encode(toBytes());
+    /**
+     * 以大端序将long写入字节数组
+     *
+     * @param dst   目标字节数组
+     * @param off   起始下标
+     * @param value 要写入的值
+     */
+    default void putLong(byte[] dst, int off, long value) {
+        for (int i = off + 7; i >= off; i--) {
+            dst[i] = (byte) value;
+            value >>= 8;
+        }
+    }
+
+    /**
+     * 二进制形式的字节数，即{@link #toBytes()}返回数组的长度
+     * <p>
+     * 默认实现会调用{@link #toBytes()}，实现类应当重写为常量。
+     * </p>
+     *
+     * @return 字节数
+     */
+    default int byteLength() {
+        return toBytes().length;
+    }
+
+    /**
+     * 将二进制形式写入字节数组，结果与{@link #toBytes()}相同但不分配新数组
+     *
+     * @param dst 目标字节数组，剩余空间不少于{@link #byteLength()}
+     * @param off 起始下标
+     * @return 写入的字节数
+     */
+    default int writeBytes(byte[] dst, int off) {
+        byte[] bytes = toBytes();
+        System.arraycopy(bytes, 0, dst, off, bytes.length);
+        return bytes.length;
     }
 
+    /**
+     * 将二进制形式写入ByteBuffer的当前位置
+     *
+     * @param dst 目标缓冲区
+     */
+    default void writeTo(ByteBuffer dst) {
+        dst.put(toBytes());
+    }
+
+    /**
+     * 将ID按指定编码写入字符数组，不产生临时数组或字符串
+     *
+     * @param dst      目标字符数组，剩余空间不少于{@link Encoding#maxEncodedLength(int)}
+     * @param off      起始下标
+     * @param encoding 编码方式
+     * @return 写入的字符数
+     */
+    default int encodeInto(char[] dst, int off, Encoding encoding) {
+        return encoding.encode(this, dst, off);
+    }
 
+    /**
+     * 将ID按指定编码以ASCII字节写入字节数组，不产生临时数组或字符串
+     *
+     * @param dst      目标字节数组，剩余空间不少于{@link Encoding#maxEncodedLength(int)}
+     * @param off      起始下标
+     * @param encoding 编码方式
+     * @return 写入的字节数
+     */
+    default int encodeInto(byte[] dst, int off, Encoding encoding) {
+        return encoding.encode(this, dst, off);
+    }
+
+    default String toBase64() {
+        return Encoding.BASE64.encodeToString(this);
+    }
 
     default String toBase62() {
-        return Base62.encode(toBytes());
+        return Encoding.BASE62.encodeToString(this);
     }
 
     default String toBase36() {
-        return Base36.encode(toBytes());
+        return Encoding.BASE36.encodeToString(this);
     }
 
     default String toBase32() {
-        return Base32.encode(toBytes());
+        return Encoding.BASE32.encodeToString(this);
     }
 
     default String toBase16() {
-        return Base16.encode(toBytes());
+        return Encoding.BASE16.encodeToString(this);
     }
 
+    /**
+     * 将二进制形式视为大端无符号整数，返回其十进制字符串
+     * <p>
+     * 不超过16字节时直接用long运算，不经过十六进制字符串和{@link java.math.BigInteger}。
+     * </p>
+     *
+     * @return 十进制字符串
+     */
     default String toBase10() {
-        return new BigInteger(toBase16(), 16).toString();
+        byte[] bytes = CodecBuffers.source(byteLength());
+        int length = writeBytes(bytes, 0);
+        return Base10.encode(bytes, 0, length);
     }
 
 
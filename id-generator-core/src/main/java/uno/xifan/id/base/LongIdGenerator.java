@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.base;
+
+import uno.xifan.id.util.IndexUtils;
+
+/**
+ * 64位ID生成器接口
+ * <p>
+ * 针对生成结果可以用一个 {@code long} 表示的生成器（Snowflake、Sonyflake、薄雾算法等），
+ * 提供不经过装箱的原始类型生成方法。{@link #generate()} 会在每次调用时装箱一个 {@link Long}，
+ * 高吞吐场景下应直接使用 {@link #nextLong()} 或 {@link #fill(long[], int, int)}。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public interface LongIdGenerator extends IdGenerator {
+
+    /**
+     * 生成一个64位唯一标识符
+     *
+     * @return 生成的唯一标识符
+     */
+    long nextLong();
+
+    /**
+     * 批量生成唯一标识符并写入指定数组
+     * <p>
+     * 默认实现逐个调用{@link #nextLong()}，实现类可以重写此方法，
+     * 一次性预留一段序列号来减少同步和原子操作的次数。
+     * </p>
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     * @throws IndexOutOfBoundsException 当下标越界时抛出
+     */
+    default void fill(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        for (int i = off, end = off + len; i < end; i++) {
+            dst[i] = nextLong();
+        }
+    }
+
+    /**
+     * 批量生成指定数量的64位唯一标识符
+     *
+     * @param count 要生成的ID数量，必须大于0
+     * @return 包含生成的唯一标识符的数组
+     * @throws IllegalArgumentException 当count参数小于或等于0时抛出
+     */
+    default long[] nextLongs(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        long[] ids = new long[count];
+        fill(ids, 0, count);
+        return ids;
+    }
+
+    @Override
+    default Long generate() {
+        return nextLong();
+    }
+
+    /**
+     * 批量生成指定数量的唯一标识符
+     * <p>
+     * 通过{@link #fill(long[], int, int)}批量生成后再装箱，使批量生成同样受益于实现类的批量优化。
+     * </p>
+     *
+     * @param count 要生成的ID数量，必须大于0
+     * @return 包含生成的唯一标识符的数组
+     * @throws IllegalArgumentException 当count参数小于或等于0时抛出
+     */
+    @Override
+    default Object[] generate(int count) {
+        long[] ids = nextLongs(count);
+        Object[] result = new Object[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = ids[i];
+        }
+        return result;
+    }
+}
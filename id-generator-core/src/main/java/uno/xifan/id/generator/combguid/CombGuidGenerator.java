@@ -20,10 +20,11 @@ package uno.xifan.id.generator.combguid;
 // 导入所需的基础接口和类型
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
 
-// 导入Java标准库中的UUID类和线程安全的随机数生成器
+// 导入Java标准库中的UUID类
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * CombGuid生成器
@@ -47,6 +48,50 @@ import java.util.concurrent.ThreadLocalRandom;
 // 实现IdGenerator接口的CombGuid生成器类
 public class CombGuidGenerator implements IdGenerator {
 
+    // 使用默认熵源的共享实例
+    private static final CombGuidGenerator DEFAULT = new CombGuidGenerator();
+
+    // 随机数来源
+    private final IdClock clock;
+
+    private final EntropySource entropy;
+
+    /**
+     * 使用非安全的 {@link EntropySource#fast()} 创建生成器
+     */
+    public CombGuidGenerator() {
+        this(EntropySource.fast());
+    }
+
+    /**
+     * 使用指定熵源创建生成器
+     *
+     * @param entropy 熵源
+     */
+    public CombGuidGenerator(EntropySource entropy) {
+        this(IdClock.system(), entropy);
+    }
+
+    /**
+     * 使用指定时钟和熵源创建生成器
+     *
+     * @param clock   时钟
+     * @param entropy 熵源
+     */
+    public CombGuidGenerator(IdClock clock, EntropySource entropy) {
+        this.clock = clock;
+        this.entropy = entropy;
+    }
+
+    /**
+     * 使用默认熵源生成一个新的CombGuid
+     *
+     * @return 新生成的CombGuid
+     */
+    public static UUID next() {
+        return DEFAULT.nextUUID();
+    }
+
     /**
      * 生成一个新的CombGuid
      *
@@ -55,10 +100,10 @@ public class CombGuidGenerator implements IdGenerator {
      *
      * @return 新生成的CombGuid字符串
      */
-    public static UUID next() {
-        // 使用ThreadLocalRandom生成随机的最高有效位和最低有效位
-        long msb = ThreadLocalRandom.current().nextLong();
-        long lsb = ThreadLocalRandom.current().nextLong();
+    public UUID nextUUID() {
+        // 从熵源取随机的最高有效位和最低有效位
+        long msb = entropy.nextLong();
+        long lsb = entropy.nextLong();
 
         // 设置版本号为4（第12-15位为0100）
         msb &= 0xffffffffffff0fffL; // 清除版本位（将第12-15位置为0）
@@ -69,7 +114,7 @@ public class CombGuidGenerator implements IdGenerator {
         lsb |= 0x8000000000000000L; // 设置高两位为10（符合RFC 4122规范）
 
         // 获取当前时间戳（毫秒级）
-        long timestamp = System.currentTimeMillis();
+        long timestamp = clock.currentTimeMillis();
 
         // 将时间戳编码到UUID的前6字节中
         // 通过位运算将时间戳左移16位，并保留原msb的低16位
@@ -83,8 +128,8 @@ public class CombGuidGenerator implements IdGenerator {
     // 实现IdGenerator接口的generate方法
     @Override
     public String generate() {
-        // 调用next()方法生成UUID并转换为字符串
-        return next().toString();
+        // 调用nextUUID()方法生成UUID并转换为字符串
+        return nextUUID().toString();
     }
 
     // 实现IdGenerator接口的idType方法
@@ -21,6 +21,9 @@ package uno.xifan.id.generator.cosid;
 import uno.xifan.id.base.Base62;
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.WaitStrategy;
 
 import java.nio.ByteBuffer;
 import java.time.Instant;
@@ -43,17 +46,21 @@ public class CosIdGenerator implements IdGenerator {
     // 基础组件参数
     private final long epoch; // 自定义纪元时间戳
     private final long machineId; // 机器ID
+    private final IdClock clock; // 时钟
+    private final ClockBackwardPolicy backwardPolicy; // 时钟回拨策略
+    private final WaitStrategy waitStrategy; // 序列号用尽时等待下一毫秒的策略
 
     // 运行时状态变量
     private long lastTimestamp = -1L; // 上次生成ID的时间戳
     private long sequence = 0L; // 当前序列号
+    private long activeMachineId; // 当前使用的机器ID，回拨期间可能是备用ID
+    private long standbyUntil = -1L; // 使用备用ID时原ID用过的最大时间戳，时钟越过后切回原ID
 
     // 单例实例，用于默认的ID生成
     private static final CosIdGenerator cosIdGenerator = new CosIdGenerator();
 
     public CosIdGenerator() {
-        this.epoch = 0;
-        this.machineId = 0;
+        this(0, 0);
     }
 
     /**
@@ -63,12 +70,57 @@ public class CosIdGenerator implements IdGenerator {
      * @param epoch     自定义纪元时间戳
      */
     public CosIdGenerator(long machineId, long epoch) {
+        this(machineId, epoch, IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟的构造函数
+     *
+     * @param machineId 机器ID（0~1048575）
+     * @param epoch     自定义纪元时间戳
+     * @param clock     时钟
+     */
+    public CosIdGenerator(long machineId, long epoch, IdClock clock) {
+        this(machineId, epoch, clock, ClockBackwardPolicy.failFast());
+    }
+
+    /**
+     * 使用指定时钟和时钟回拨策略的构造函数
+     *
+     * @param machineId      机器ID（0~1048575）
+     * @param epoch          自定义纪元时间戳
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略，备用工作节点ID即备用机器ID
+     */
+    public CosIdGenerator(long machineId, long epoch, IdClock clock, ClockBackwardPolicy backwardPolicy) {
+        this(machineId, epoch, clock, backwardPolicy, WaitStrategy.busySpin());
+    }
+
+    /**
+     * 使用指定时钟、时钟回拨策略和等待策略的构造函数
+     *
+     * @param machineId      机器ID（0~1048575）
+     * @param epoch          自定义纪元时间戳
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略，备用工作节点ID即备用机器ID
+     * @param waitStrategy   序列号用尽时等待下一毫秒的策略
+     */
+    public CosIdGenerator(long machineId, long epoch, IdClock clock, ClockBackwardPolicy backwardPolicy,
+            WaitStrategy waitStrategy) {
         // 验证机器ID是否在有效范围内
         if (machineId < 0 || machineId > MAX_MACHINE_ID) {
             throw new IllegalArgumentException("Machine ID must be between 0 and " + MAX_MACHINE_ID);
         }
+        long standbyMachineId = backwardPolicy.standbyWorkerId();
+        if (standbyMachineId > MAX_MACHINE_ID || standbyMachineId == machineId) {
+            throw new IllegalArgumentException("Invalid standby machine ID: " + standbyMachineId);
+        }
         this.machineId = machineId;
+        this.activeMachineId = machineId;
         this.epoch = epoch;
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
     }
 
     public static String next() {
@@ -85,9 +137,9 @@ public class CosIdGenerator implements IdGenerator {
         // 获取当前时间戳
         long currentTimestamp = getCurrentTimestamp();
 
-        // 检查时钟回拨
+        // 检查时钟回拨，交给回拨策略处理
         if (currentTimestamp < lastTimestamp) {
-            throw new RuntimeException("Clock moved backwards!");
+            currentTimestamp = onClockBackward(lastTimestamp, currentTimestamp);
         }
 
         // 处理同一毫秒内的序列号
@@ -107,7 +159,7 @@ public class CosIdGenerator implements IdGenerator {
         lastTimestamp = currentTimestamp;
 
         // 构建并返回字节数组格式的ID
-        return buildByteArray(currentTimestamp, machineId, sequence);
+        return buildByteArray(currentTimestamp, machineIdAt(currentTimestamp), sequence);
     }
 
     /**
@@ -151,20 +203,53 @@ public class CosIdGenerator implements IdGenerator {
      * @return 下一毫秒的时间戳
      */
     private long waitNextMillis(long currentTimestamp) {
-        long now;
-        do {
+        long now = getCurrentTimestamp();
+        for (int attempts = 0; now <= currentTimestamp; attempts++) { // 循环等待直到进入下一毫秒
+            if (now < currentTimestamp) {
+                // 时钟仍落后（例如回拨期间沿用了上次的时间戳），由回拨策略给出下一个时间戳
+                return onClockBackward(currentTimestamp + 1, now);
+            }
+            waitStrategy.idle(attempts);
             now = getCurrentTimestamp();
-        } while (now <= currentTimestamp); // 循环等待直到进入下一毫秒
+        }
         return now;
     }
 
+    /**
+     * 按回拨策略处理时钟回拨
+     *
+     * @param lastTimestamp 需要的最小时间戳
+     * @param timestamp     当前读到的时间戳
+     * @return 继续使用的时间戳
+     */
+    private long onClockBackward(long lastTimestamp, long timestamp) {
+        long resolved = backwardPolicy.onClockBackward(lastTimestamp, timestamp, this::getCurrentTimestamp);
+        if (resolved < lastTimestamp) {
+            // 策略要求切换到备用机器ID，原ID用过的时间戳都小于lastTimestamp
+            standbyUntil = Math.max(standbyUntil, lastTimestamp);
+            activeMachineId = backwardPolicy.standbyWorkerId();
+        }
+        return resolved;
+    }
+
+    /**
+     * 获取指定时间戳使用的机器ID，时钟越过回拨前的时间戳后切回原ID
+     */
+    private long machineIdAt(long timestamp) {
+        if (standbyUntil >= 0 && timestamp > standbyUntil) {
+            activeMachineId = machineId;
+            standbyUntil = -1L;
+        }
+        return activeMachineId;
+    }
+
     /**
      * 获取当前时间戳（相对于自定义纪元）
      * 
      * @return 相对时间戳
      */
     private long getCurrentTimestamp() {
-        return System.currentTimeMillis() - epoch;
+        return clock.currentTimeMillis() - epoch;
     }
 
     /**
@@ -1,13 +1,15 @@
 package uno.xifan.id.generator.cuid;
 
 
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
+
 import java.io.Serializable;
 import java.lang.management.ManagementFactory;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
 import java.util.Objects;
 
 /**
@@ -51,6 +53,29 @@ public final class CUID implements Serializable, Comparable<CUID> {
         return randomCUID2(CUIDv2.LENGTH_STANDARD);
     }
 
+    /**
+     * Generates a new random CUID (Version 2) drawing randomness from the given source.
+     *
+     * @param entropy source of randomness
+     * @return Newly generated CUID (Version 2)
+     */
+    public static CUID randomCUID2(final EntropySource entropy) {
+
+        return randomCUID2(CUIDv2.LENGTH_STANDARD, entropy);
+    }
+
+    /**
+     * Generates a new random CUID (Version 2) reading the time from the given clock.
+     *
+     * @param entropy source of randomness
+     * @param clock   source of the current time
+     * @return Newly generated CUID (Version 2)
+     */
+    public static CUID randomCUID2(final EntropySource entropy, final IdClock clock) {
+
+        return randomCUID2(CUIDv2.LENGTH_STANDARD, entropy, clock);
+    }
+
     /**
      * Generates a new random CUID (Version 2).
      *
@@ -60,15 +85,40 @@ public final class CUID implements Serializable, Comparable<CUID> {
      */
     public static CUID randomCUID2(final int length) {
 
+        return randomCUID2(length, EntropySource.getDefault());
+    }
+
+    /**
+     * Generates a new random CUID (Version 2) drawing randomness from the given source.
+     *
+     * @param length  requested CUID length
+     * @param entropy source of randomness
+     * @return Newly generated CUID (Version 2)
+     */
+    public static CUID randomCUID2(final int length, final EntropySource entropy) {
+
+        return randomCUID2(length, entropy, IdClock.system());
+    }
+
+    /**
+     * Generates a new random CUID (Version 2) reading the time from the given clock.
+     *
+     * @param length  requested CUID length
+     * @param entropy source of randomness
+     * @param clock   source of the current time
+     * @return Newly generated CUID (Version 2)
+     */
+    public static CUID randomCUID2(final int length, final EntropySource entropy, final IdClock clock) {
+
         if (length <= 0) {
             throw new CUIDGenerationException("the length must be at least 1");
         }
 
-        final String time = Long.toString(System.currentTimeMillis(), NUMBER_BASE);
-        final char firstLetter = CUIDv2.ALPHABET_ARRAY[safeAbs(Common.nextIntValue()) % CUIDv2.ALPHABET_ARRAY.length];
+        final String time = Long.toString(clock.currentTimeMillis(), NUMBER_BASE);
+        final char firstLetter = CUIDv2.ALPHABET_ARRAY[safeAbs(entropy.nextInt()) % CUIDv2.ALPHABET_ARRAY.length];
         final String hash = CUIDv2.computeHash(
-            time + CUIDv2.createEntropy(length) + CUIDv2.nextCounterValue() + Common.MACHINE_FINGERPRINT,
-            length);
+            time + CUIDv2.createEntropy(length, entropy) + CUIDv2.nextCounterValue(entropy) + Common.MACHINE_FINGERPRINT,
+            length, entropy);
 
         return new CUID(firstLetter + hash.substring(1, length));
     }
@@ -81,9 +131,32 @@ public final class CUID implements Serializable, Comparable<CUID> {
      */
     public static CUID randomCUID1() {
 
-        final String timestamp = Long.toString(System.currentTimeMillis(), NUMBER_BASE);
+        return randomCUID1(EntropySource.getDefault());
+    }
+
+    /**
+     * Generates a new random CUID (Version 1) drawing randomness from the given source.
+     *
+     * @param entropy source of randomness
+     * @return Newly generated CUID (Version 1)
+     */
+    public static CUID randomCUID1(final EntropySource entropy) {
+
+        return randomCUID1(entropy, IdClock.system());
+    }
+
+    /**
+     * Generates a new random CUID (Version 1) reading the time from the given clock.
+     *
+     * @param entropy source of randomness
+     * @param clock   source of the current time
+     * @return Newly generated CUID (Version 1)
+     */
+    public static CUID randomCUID1(final EntropySource entropy, final IdClock clock) {
+
+        final String timestamp = Long.toString(clock.currentTimeMillis(), NUMBER_BASE);
         final String counter = Common.padWithZero(Integer.toString(CUIDv1.nextCounterValue(), NUMBER_BASE), CUIDv1.BLOCK_SIZE);
-        final String random = CUIDv1.getRandomBlock() + CUIDv1.getRandomBlock();
+        final String random = CUIDv1.getRandomBlock(entropy) + CUIDv1.getRandomBlock(entropy);
 
         return new CUID(CUIDv1.START_CHARACTER + timestamp + counter + Common.MACHINE_FINGERPRINT + random);
     }
@@ -219,12 +292,13 @@ public final class CUID implements Serializable, Comparable<CUID> {
         /**
          * Generates a random block of data.
          *
+         * @param entropy source of randomness
          * @return Newly generated block of data
          * @since 1.0.0
          */
-        private static String getRandomBlock() {
+        private static String getRandomBlock(final EntropySource entropy) {
 
-            return Common.padWithZero(Integer.toString(Common.nextIntValue() * DISCRETE_VALUE, NUMBER_BASE), BLOCK_SIZE);
+            return Common.padWithZero(Integer.toString(entropy.nextInt() * DISCRETE_VALUE, NUMBER_BASE), BLOCK_SIZE);
         }
     }
 
@@ -259,28 +333,30 @@ public final class CUID implements Serializable, Comparable<CUID> {
         /**
          * Retrieves the counter next value.
          *
+         * @param entropy source of randomness used to reseed the counter
          * @return The counter next value
          */
-        private static synchronized int nextCounterValue() {
+        private static synchronized int nextCounterValue(final EntropySource entropy) {
 
-            counter = counter < Integer.MAX_VALUE ? counter : safeAbs(Common.nextIntValue());
+            counter = counter < Integer.MAX_VALUE ? counter : safeAbs(entropy.nextInt());
             return counter++;
         }
 
         /**
          * Creates an entropy string.
          *
-         * @param length Length of the entropy string
+         * @param length  Length of the entropy string
+         * @param entropy source of randomness
          * @return String containing entropy in base {@link CUID#NUMBER_BASE}
          */
-        private static String createEntropy(final int length) {
+        private static String createEntropy(final int length, final EntropySource entropy) {
 
             int primeNumber;
             final StringBuilder stringBuilder = new StringBuilder(length);
 
             while (stringBuilder.length() < length) {
-                primeNumber = PRIME_NUMBER_ARRAY[safeAbs(Common.nextIntValue()) % PRIME_NUMBER_ARRAY.length];
-                stringBuilder.append(Integer.toString(primeNumber * Common.nextIntValue(), NUMBER_BASE));
+                primeNumber = PRIME_NUMBER_ARRAY[safeAbs(entropy.nextInt()) % PRIME_NUMBER_ARRAY.length];
+                stringBuilder.append(Integer.toString(primeNumber * entropy.nextInt(), NUMBER_BASE));
             }
 
             return stringBuilder.toString();
@@ -291,9 +367,9 @@ public final class CUID implements Serializable, Comparable<CUID> {
          *
          * @return String containing hash
          */
-        private static String computeHash(final String content, final int saltLength) {
+        private static String computeHash(final String content, final int saltLength, final EntropySource entropy) {
 
-            final String salt = createEntropy(saltLength);
+            final String salt = createEntropy(saltLength, entropy);
             try {
                 return new BigInteger(MessageDigest.getInstance("SHA3-256").digest((content + salt).getBytes(StandardCharsets.UTF_8)))
                     .toString(NUMBER_BASE);
@@ -310,32 +386,8 @@ public final class CUID implements Serializable, Comparable<CUID> {
      */
     private static final class Common {
 
-        private static final int RANDOM_BUFFER_SIZE = 4096;
-        private static final byte[] RANDOM_BUFFER = new byte[RANDOM_BUFFER_SIZE];
-        private static final SecureRandom NUMBER_GENERATOR = new SecureRandom();
         private static final String MACHINE_FINGERPRINT = getMachineFingerprint();
 
-        private static int randomBufferIndex = RANDOM_BUFFER_SIZE;
-
-        /**
-         * Retrieves next random integer value.
-         *
-         * @return A random integer
-         * @since 1.0.0
-         */
-        private static synchronized int nextIntValue() {
-
-            if (randomBufferIndex == RANDOM_BUFFER_SIZE) {
-                Common.NUMBER_GENERATOR.nextBytes(Common.RANDOM_BUFFER);
-                randomBufferIndex = 0;
-            }
-
-            return Common.RANDOM_BUFFER[randomBufferIndex++] << 24
-                | (Common.RANDOM_BUFFER[randomBufferIndex++] & 0xff) << 16
-                | (Common.RANDOM_BUFFER[randomBufferIndex++] & 0xff) << 8
-                | (Common.RANDOM_BUFFER[randomBufferIndex++] & 0xff);
-        }
-
         /**
          * Pads string with leading zero.
          *
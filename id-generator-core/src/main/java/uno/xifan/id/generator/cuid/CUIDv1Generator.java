@@ -2,11 +2,43 @@ package uno.xifan.id.generator.cuid;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
 
 public class CUIDv1Generator implements IdGenerator {
+    private final IdClock clock; // 时钟
+    private final EntropySource entropy; // 随机数来源
+
+    /**
+     * 使用默认熵源创建生成器
+     */
+    public CUIDv1Generator() {
+        this(EntropySource.getDefault());
+    }
+
+    /**
+     * 使用指定熵源创建生成器
+     *
+     * @param entropy 熵源
+     */
+    public CUIDv1Generator(EntropySource entropy) {
+        this(IdClock.system(), entropy);
+    }
+
+    /**
+     * 使用指定时钟和熵源创建生成器
+     *
+     * @param clock   时钟
+     * @param entropy 熵源
+     */
+    public CUIDv1Generator(IdClock clock, EntropySource entropy) {
+        this.clock = clock;
+        this.entropy = entropy;
+    }
+
     @Override
     public String generate() {
-        return CUID.randomCUID1().toString();
+        return CUID.randomCUID1(entropy, clock).toString();
     }
 
     @Override
@@ -1,18 +1,18 @@
 package uno.xifan.id.generator.custom;
 
 import lombok.Data;
+import uno.xifan.id.util.EntropySource;
 
 import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
-import java.security.SecureRandom;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Data
 public class EntropyKey {
 
     private static final AtomicLong COUNTER = new AtomicLong(0);
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final EntropySource SECURE_RANDOM = EntropySource.getDefault();
     // 获取本机 MAC 地址作为节点标识
     private static final long NODE = initializeNodeIdentifier();
     private final long timestamp; // 时间戳（纳秒）
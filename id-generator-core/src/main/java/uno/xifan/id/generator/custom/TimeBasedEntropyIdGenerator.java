@@ -1,7 +1,9 @@
 package uno.xifan.id.generator.custom;
 
-import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.IndexUtils;
 
 import java.net.NetworkInterface;
 import java.security.SecureRandom;
@@ -23,7 +25,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * | 0 (固定为正数) | 秒级时间戳 (自纪元以来)        | 混合熵值 (纳秒时间/计数器/节点ID/随机数) |
  * </pre>
  */
-public class TimeBasedEntropyIdGenerator implements IdGenerator {
+public class TimeBasedEntropyIdGenerator implements LongIdGenerator {
 
     /**
      * 自定义纪元（Epoch）。
@@ -47,18 +49,52 @@ public class TimeBasedEntropyIdGenerator implements IdGenerator {
      */
     private static final long ENTROPY_MASK = 0xFFFFFFFFL;
 
+    /**
+     * 时钟，只决定时间戳部分，计数器仍由所有实例共享。
+     */
+    private final IdClock clock;
+
+    /**
+     * 使用系统时钟创建生成器。
+     */
+    public TimeBasedEntropyIdGenerator() {
+        this(IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟创建生成器。
+     *
+     * @param clock 时钟
+     */
+    public TimeBasedEntropyIdGenerator(IdClock clock) {
+        this.clock = clock;
+    }
+
     /**
      * 生成下一个唯一的64位ID。
      *
      * @return 一个唯一的、正数的 {@code long} 类型ID。
      */
     public static long next() {
+        return next(IdClock.system());
+    }
+
+    private static long next(IdClock clock) {
         // 1. 高32位：计算秒级时间戳部分
-        final long timestampPart = ((System.currentTimeMillis() / 1000) - EPOCH) << 32;
+        final long timestampPart = ((clock.currentTimeMillis() / 1000) - EPOCH) << 32;
 
-        // 2. 低32位：计算混合熵值
+        // 2. 低32位：计算混合熵值，并与时间戳部分组合
+        return timestampPart | entropy(COUNTER.getAndIncrement());
+    }
+
+    /**
+     * 计算低32位的混合熵值。
+     *
+     * @param counter 计数器取值
+     * @return 混合后的32位熵值
+     */
+    private static long entropy(long counter) {
         final long nanoTime = System.nanoTime();
-        final long counter = COUNTER.getAndIncrement();
         final long random = ThreadLocalRandom.current().nextLong();
 
         // 聚合所有熵源
@@ -68,9 +104,8 @@ public class TimeBasedEntropyIdGenerator implements IdGenerator {
         entropy = (entropy ^ (entropy >>> 30)) * 0xBF58476D1CE4E5B9L;
         entropy = (entropy ^ (entropy >>> 27)) * 0x94D049BB133111EBL;
         entropy = entropy ^ (entropy >>> 31);
-        
-        // 3. 组合时间戳和熵值
-        return timestampPart | (entropy & ENTROPY_MASK);
+
+        return entropy & ENTROPY_MASK;
     }
 
     /**
@@ -104,8 +139,25 @@ public class TimeBasedEntropyIdGenerator implements IdGenerator {
     }
 
     @Override
-    public Long generate() {
-        return next();
+    public long nextLong() {
+        return next(clock);
+    }
+
+    /**
+     * 批量生成ID，整批共用一次时间戳读取和一次计数器原子操作。
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     */
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        final long timestampPart = ((clock.currentTimeMillis() / 1000) - EPOCH) << 32;
+        long counter = COUNTER.getAndAdd(len);
+        for (int i = off, end = off + len; i < end; i++) {
+            dst[i] = timestampPart | entropy(counter++);
+        }
     }
 
     @Override
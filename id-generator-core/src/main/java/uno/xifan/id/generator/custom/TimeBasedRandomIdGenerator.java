@@ -4,6 +4,7 @@ package uno.xifan.id.generator.custom;
 // 导入Java并发包中的ThreadLocalRandom类，用于生成线程安全的随机数
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.IdClock;
 
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -25,6 +26,36 @@ public class TimeBasedRandomIdGenerator implements IdGenerator {
 
     private static final ThreadLocalRandom random = ThreadLocalRandom.current();
 
+    // 使用系统时钟的共享实例
+    private static final TimeBasedRandomIdGenerator DEFAULT = new TimeBasedRandomIdGenerator();
+
+    private final IdClock clock; // 时钟
+
+    /**
+     * 使用系统时钟创建生成器
+     */
+    public TimeBasedRandomIdGenerator() {
+        this(IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟创建生成器
+     *
+     * @param clock 时钟
+     */
+    public TimeBasedRandomIdGenerator(IdClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * 使用共享实例生成一个新的基于时间和随机数的ID
+     *
+     * @return 新生成的64位长整型ID
+     */
+    public static long next() {
+        return DEFAULT.nextId();
+    }
+
     /**
      * 生成一个新的基于时间和随机数的ID
      *
@@ -33,12 +64,12 @@ public class TimeBasedRandomIdGenerator implements IdGenerator {
      *
      * @return 新生成的64位长整型ID
      */
-    public static long next() {
+    public long nextId() {
         // 计算时间戳部分
-        // System.currentTimeMillis() - 获取当前系统时间的毫秒数
+        // clock.currentTimeMillis() - 从时钟获取当前时间的毫秒数
         // / 1000 - 将毫秒转换为秒
         // - EPOCH - 减去自定义纪元时间，得到相对时间戳
-        long timestamp = System.currentTimeMillis() / 1000 - EPOCH;
+        long timestamp = clock.currentTimeMillis() / 1000 - EPOCH;
 
         // 生成随机数部分
         // ThreadLocalRandom.current() - 获取当前线程的随机数生成器实例
@@ -55,7 +86,7 @@ public class TimeBasedRandomIdGenerator implements IdGenerator {
 
     @Override
     public Long generate() {
-        return next();
+        return nextId();
     }
 
     @Override
@@ -22,8 +22,10 @@
 
 package uno.xifan.id.generator.elasticflake;
 
-import java.io.IOException;
-import java.util.concurrent.atomic.AtomicInteger;
+import uno.xifan.id.util.AsciiUtils;
+import uno.xifan.id.util.IdClock;
+
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * These are essentially flake ids
@@ -31,18 +33,20 @@ import java.util.concurrent.atomic.AtomicInteger;
  * but
  * we use 6 (not 8) bytes for timestamp, and use 3 (not 2) bytes for sequence
  * number.
+ * <p>
+ * 15字节依次为6字节时间戳、6字节MAC地址和3字节序列号，恰好编码为20个URL安全Base64字符，
+ * 三段分别对应8、8、4个字符。MAC地址部分在类加载时编码一次，每次生成只需从long中取出时间戳和序列号的字符。
+ * </p>
  */
 
 public class TimeBasedUUIDGenerator implements UUIDGenerator {
 
-    // We only use bottom 3 bytes for the sequence number. Paranoia: init with
-    // random int so that if JVM/OS/machine goes down, clock slips
-    // backwards, and JVM comes back up, we are less likely to be on the same
-    // sequenceNumber at the same time:
-    private final AtomicInteger sequenceNumber = new AtomicInteger(SecureRandomHolder.INSTANCE.nextInt());
+    private static final byte[] URL_SAFE_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes();
 
-    // Used to ensure clock moves forward:
-    private long lastTimestamp;
+    private static final int ENCODED_LENGTH = 20;
+    private static final int SEQUENCE_BITS = 24;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
 
     private static final byte[] secureMungedAddress = MacAddressProvider.getSecureMungedAddress();
 
@@ -50,60 +54,87 @@ public class TimeBasedUUIDGenerator implements UUIDGenerator {
         assert secureMungedAddress.length == 6;
     }
 
+    /** MAC地址的8个编码字符 */
+    private static final byte[] ENCODED_ADDRESS = new byte[8];
+
+    static {
+        long address = 0;
+        for (byte b : secureMungedAddress) {
+            address = address << 8 | (b & 0xFF);
+        }
+        putBase64(address, ENCODED_ADDRESS, 0, 8);
+    }
+
+    private final IdClock clock; // 时钟
+
     /**
-     * Puts the lower numberOfLongBytes from l into the array, starting index pos.
+     * 时间戳的基准，取创建时的时间。生成的时间戳不会早于它，因此只需保存相对它的偏移
      */
-    private static void putLong(byte[] array, long l, int pos, int numberOfLongBytes) {
-        for (int i = 0; i < numberOfLongBytes; ++i) {
-            array[pos + numberOfLongBytes - i - 1] = (byte) (l >>> (i * 8));
-        }
+    private final long epoch;
+
+    // 高40位为相对epoch的时间戳偏移，低24位为序列号，一次CAS同时推进两者。
+    // We only use bottom 3 bytes for the sequence number. Paranoia: init with
+    // random int so that if JVM/OS/machine goes down, clock slips
+    // backwards, and JVM comes back up, we are less likely to be on the same
+    // sequenceNumber at the same time:
+    private final AtomicLong state = new AtomicLong(SecureRandomHolder.INSTANCE.nextInt() & SEQUENCE_MASK);
+
+    /**
+     * 使用系统时钟创建生成器
+     */
+    public TimeBasedUUIDGenerator() {
+        this(IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟创建生成器
+     *
+     * @param clock 时钟
+     */
+    public TimeBasedUUIDGenerator(IdClock clock) {
+        this.clock = clock;
+        this.epoch = clock.currentTimeMillis();
     }
 
     @Override
     public String getBase64UUID() {
-        final int sequenceId = sequenceNumber.incrementAndGet() & 0xffffff;
-        long timestamp = System.currentTimeMillis();
-
-        synchronized (this) {
+        long current;
+        long next;
+        do {
+            current = state.get();
+            long sequenceId = (current + 1) & SEQUENCE_MASK;
             // Don't let timestamp go backwards, at least "on our watch" (while this JVM is
             // running). We are still vulnerable if we are
             // shut down, clock goes backwards, and we restart... for this we randomize the
             // sequenceNumber on init to decrease chance of
             // collision:
-            timestamp = Math.max(lastTimestamp, timestamp);
-
+            long offset = Math.max(current >>> SEQUENCE_BITS, clock.currentTimeMillis() - epoch);
             if (sequenceId == 0) {
                 // Always force the clock to increment whenever sequence number is 0, in case we
                 // have a long time-slip backwards:
-                timestamp++;
+                offset++;
             }
-
-            lastTimestamp = timestamp;
-        }
-
-        final byte[] uuidBytes = new byte[15];
+            next = offset << SEQUENCE_BITS | sequenceId;
+        } while (!state.compareAndSet(current, next));
 
         // Only use lower 6 bytes of the timestamp (this will suffice beyond the year
         // 10000):
-        putLong(uuidBytes, timestamp, 0, 6);
-
-        // MAC address adds 6 bytes:
-        System.arraycopy(secureMungedAddress, 0, uuidBytes, 6, secureMungedAddress.length);
-
-        // Sequence number adds 3 bytes:
-        putLong(uuidBytes, sequenceId, 12, 3);
+        long timestamp = epoch + (next >>> SEQUENCE_BITS);
 
-        assert 9 + secureMungedAddress.length == uuidBytes.length;
+        byte[] encoded = AsciiUtils.buffer(ENCODED_LENGTH);
+        putBase64(timestamp, encoded, 0, 8);
+        System.arraycopy(ENCODED_ADDRESS, 0, encoded, 8, 8);
+        putBase64(next, encoded, 16, 4);
+        return AsciiUtils.newString(encoded, 0, ENCODED_LENGTH);
+    }
 
-        byte[] encoded;
-        try {
-            encoded = Base64.encodeBytesToBytes(uuidBytes, 0, uuidBytes.length, Base64.URL_SAFE);
-        } catch (IOException e) {
-            throw new RuntimeException("should not be thrown", e);
+    /**
+     * 把value的低count * 6位编码为count个字符写入dst[off, off + count)
+     */
+    private static void putBase64(long value, byte[] dst, int off, int count) {
+        for (int i = off + count - 1; i >= off; i--) {
+            dst[i] = URL_SAFE_ALPHABET[(int) value & 0x3F];
+            value >>>= 6;
         }
-
-        // We are a multiple of 3 bytes so we should not see any padding:
-        assert encoded[encoded.length - 1] != '=';
-        return new String(encoded, 0, encoded.length, Base64.PREFERRED_ENCODING);
     }
-}
\ No newline at end of file
+}
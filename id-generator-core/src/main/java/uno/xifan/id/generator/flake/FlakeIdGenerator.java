@@ -1,13 +1,18 @@
 package uno.xifan.id.generator.flake;
 
-import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
+import uno.xifan.id.util.ClockBackwardException;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.IndexUtils;
+import uno.xifan.id.util.WaitStrategy;
 
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.util.Enumeration;
 
-public class FlakeIdGenerator implements IdGenerator {
+public class FlakeIdGenerator implements LongIdGenerator {
     private static final long EPOCH = 1609459200000L; // 自定义起始时间戳（2021-01-01 00:00:00 UTC）
     private static final int WORKER_ID_BITS = 48; // 工作节点ID位数
     private static final int SEQUENCE_BITS = 16; // 序列号位数
@@ -15,11 +20,34 @@ public class FlakeIdGenerator implements IdGenerator {
     private static final int MAX_SEQUENCE = -1 ^ (-1 << SEQUENCE_BITS); // 最大序列号
     private static final  FlakeIdGenerator INSTANCE = new FlakeIdGenerator();
     private final long workerId;
+    private final IdClock clock;
+    private final ClockBackwardPolicy backwardPolicy;
+    private final WaitStrategy waitStrategy;
     private long sequence = 0L;
     private long lastTimestamp = -1L;
 
     public FlakeIdGenerator() {
+        this(IdClock.system());
+    }
+
+    public FlakeIdGenerator(IdClock clock) {
+        this(clock, ClockBackwardPolicy.failFast());
+    }
+
+    // 工作节点ID来自MAC地址，不支持切换备用工作节点的回拨策略
+    public FlakeIdGenerator(IdClock clock, ClockBackwardPolicy backwardPolicy) {
+        this(clock, backwardPolicy, WaitStrategy.busySpin());
+    }
+
+    // waitStrategy 为序列号用尽时等待下一毫秒的策略
+    public FlakeIdGenerator(IdClock clock, ClockBackwardPolicy backwardPolicy, WaitStrategy waitStrategy) {
+        if (backwardPolicy.standbyWorkerId() >= 0) {
+            throw new IllegalArgumentException("Standby worker is not supported by MAC based worker IDs");
+        }
         this.workerId = getWorkerId();
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
     }
 
     public static void main(String[] args) {
@@ -55,10 +83,10 @@ public class FlakeIdGenerator implements IdGenerator {
 
     // 生成Flake ID
     public synchronized long generateFlakeId() {
-        long currentTimestamp = System.currentTimeMillis();
+        long currentTimestamp = clock.currentTimeMillis();
 
         if (currentTimestamp < lastTimestamp) {
-            throw new RuntimeException("时钟回拨异常");
+            currentTimestamp = onClockBackward(lastTimestamp, currentTimestamp);
         }
 
         if (currentTimestamp == lastTimestamp) {
@@ -72,25 +100,105 @@ public class FlakeIdGenerator implements IdGenerator {
 
         lastTimestamp = currentTimestamp;
 
-        return ((currentTimestamp - EPOCH) << (WORKER_ID_BITS + SEQUENCE_BITS))
+        return compose(currentTimestamp, sequence);
+    }
+
+    // 批量生成Flake ID：一次加锁预留整段序列号（可跨越多个毫秒），锁外组装ID
+    public void generateFlakeIds(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        if (len == 0) {
+            return;
+        }
+        // 首个毫秒至少分到1个序列号，之后每个毫秒最多分到 MAX_SEQUENCE + 1 个
+        long[] runStarts = new long[(len >>> SEQUENCE_BITS) + 2];
+        int[] runLengths = new int[runStarts.length];
+        int runs = reserve(len, runStarts, runLengths);
+
+        int index = off;
+        for (int r = 0; r < runs; r++) {
+            long timestamp = runStarts[r] >>> SEQUENCE_BITS;
+            long seq = runStarts[r] & MAX_SEQUENCE;
+            for (int k = runLengths[r]; k > 0; k--) {
+                dst[index++] = compose(timestamp, seq++);
+            }
+        }
+    }
+
+    // 预留 count 个序列号，runStarts 中每项为 (时间戳 << SEQUENCE_BITS | 起始序列号)
+    private synchronized int reserve(int count, long[] runStarts, int[] runLengths) {
+        long currentTimestamp = clock.currentTimeMillis();
+
+        if (currentTimestamp < lastTimestamp) {
+            currentTimestamp = onClockBackward(lastTimestamp, currentTimestamp);
+        }
+
+        long seq = 0;
+        if (currentTimestamp == lastTimestamp) {
+            seq = sequence + 1;
+            if (seq > MAX_SEQUENCE) {
+                currentTimestamp = waitNextMillis(lastTimestamp);
+                seq = 0;
+            }
+        }
+
+        int runs = 0;
+        int remaining = count;
+        while (true) {
+            int take = (int) Math.min(remaining, MAX_SEQUENCE + 1 - seq);
+            runStarts[runs] = currentTimestamp << SEQUENCE_BITS | seq;
+            runLengths[runs++] = take;
+            remaining -= take;
+            seq += take - 1;
+            if (remaining == 0) {
+                break;
+            }
+            currentTimestamp = waitNextMillis(currentTimestamp);
+            seq = 0;
+        }
+
+        lastTimestamp = currentTimestamp;
+        sequence = seq;
+        return runs;
+    }
+
+    private long compose(long timestamp, long sequence) {
+        return ((timestamp - EPOCH) << (WORKER_ID_BITS + SEQUENCE_BITS))
                 | (workerId << SEQUENCE_BITS)
                 | sequence;
     }
 
-    // 等待下一毫秒
+    // 等待下一毫秒，时钟仍落后于上次的时间戳时（例如回拨期间沿用了上次的时间戳）由回拨策略给出下一个时间戳
     private long waitNextMillis(long lastTimestamp) {
-        long timestamp = System.currentTimeMillis();
-        while (timestamp <= lastTimestamp) {
-            timestamp = System.currentTimeMillis();
+        long timestamp = clock.currentTimeMillis();
+        for (int attempts = 0; timestamp <= lastTimestamp; attempts++) {
+            if (timestamp < lastTimestamp) {
+                return onClockBackward(lastTimestamp + 1, timestamp);
+            }
+            waitStrategy.idle(attempts);
+            timestamp = clock.currentTimeMillis();
         }
         return timestamp;
     }
 
+    // 按回拨策略处理时钟回拨
+    private long onClockBackward(long lastTimestamp, long timestamp) {
+        long resolved = backwardPolicy.onClockBackward(lastTimestamp, timestamp, clock::currentTimeMillis);
+        if (resolved < lastTimestamp) {
+            throw new ClockBackwardException(lastTimestamp - timestamp, "时钟回拨异常");
+        }
+        return resolved;
+    }
+
     @Override
-    public Long generate() {
+    public long nextLong() {
         return INSTANCE.generateFlakeId();
     }
 
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        INSTANCE.generateFlakeIds(dst, off, len);
+    }
+
     @Override
     public IdType idType() {
         return IdType.Flake;
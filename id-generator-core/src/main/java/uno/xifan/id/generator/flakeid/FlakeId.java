@@ -1,7 +1,10 @@
 package uno.xifan.id.generator.flakeid;
 
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.WaitStrategy;
+
 import java.nio.ByteBuffer;
-import java.util.Date;
 
 /**
  * Flake ID 生成器在分布式环境中生成 k 有序、无冲突的 ID。
@@ -22,12 +25,20 @@ public class FlakeId {
     private final long epoch;
     // 序列掩码
     private final long seqMask;
+    // 时钟
+    private final IdClock clock;
+    // 时钟回拨策略
+    private final ClockBackwardPolicy backwardPolicy;
+    // 序列用尽时等待下一毫秒的策略
+    private final WaitStrategy waitStrategy;
+    // 当前使用的生成器标识符左移 12 位后的值，回拨期间可能是备用标识符
+    private long activeGenId;
+    // 使用备用标识符时原标识符用过的最大时间，时钟越过后切回原标识符
+    private long standbyUntil = -1;
     // 序列计数器
     private long seq;
     // 上一次生成 ID 的时间
     private long lastTime;
-    // 序列是否溢出的标志
-    private boolean overflow;
 
     /**
      * 表示一个 ID 生成器。
@@ -48,49 +59,48 @@ public class FlakeId {
         this.epoch = this.options.epoch != null ? this.options.epoch : 0;
         this.seq = 0;
         this.lastTime = 0;
-        this.overflow = false;
         this.seqMask = this.options.seqMask != null ? this.options.seqMask : 0xFFF;
+        this.clock = this.options.clock != null ? this.options.clock : IdClock.system();
+        this.backwardPolicy = this.options.backwardPolicy != null
+                ? this.options.backwardPolicy : ClockBackwardPolicy.failFast();
+        long standbyId = this.backwardPolicy.standbyWorkerId();
+        if (standbyId > 0x3FF || standbyId == this.id) {
+            throw new IllegalArgumentException("Invalid standby generator id: " + standbyId);
+        }
+        this.activeGenId = this.genId;
+        this.waitStrategy = this.options.waitStrategy != null ? this.options.waitStrategy : WaitStrategy.parking();
     }
 
     /**
      * 生成无冲突的 ID
      * @return 生成的 ID
-     * @throws Exception 如果时钟回拨或者序列超过其最大值
+     * @throws Exception 如果时钟回拨且回拨策略拒绝生成，或者序列超过其最大值
      */
     public byte[] next() throws Exception {
         byte[] id = new byte[8];
-        long time = new Date().getTime() - epoch;
+        long time = currentTime();
 
-        // 生成的 ID 与上一个 ID 在同一毫秒内
+        // 时钟回拨，交给回拨策略处理
         if (time < lastTime) {
-            throw new Exception("Clock moved backwards. Refusing to generate id for " + (lastTime - time) + " milliseconds");
+            time = onClockBackward(lastTime, time);
         }
+        // 生成的 ID 与上一个 ID 在同一毫秒内
         if (time == lastTime) {
-            // 如果当前毫秒内所有序列值（包括 0 共 4096 个唯一值）都已用于生成 ID
-            // （溢出标志为 true），则等待下一毫秒
-            if (overflow) {
-                waitForNextMillis();
-                return next();
-            }
-
             // 增加序列计数器
             this.seq = (this.seq + 1) & seqMask;
 
-            // 序列计数器超过其最大值（4095）
-            // - 设置溢出标志并等待下一毫秒
+            // 序列计数器超过其最大值（4095），当前毫秒内所有序列值（包括 0 共 4096 个唯一值）
+            // 都已用于生成 ID，等待下一毫秒并从序列 0 开始
             if (this.seq == 0) {
-                this.overflow = true;
-                waitForNextMillis();
-                return next();
+                time = waitForNextMillis();
             }
         } else {
-            this.overflow = false;
             this.seq = 0;
         }
         this.lastTime = time;
 
         ByteBuffer buffer = ByteBuffer.wrap(id);
-        buffer.putInt(4, (int) (((time & 0x3) << 22) | genId | seq));
+        buffer.putInt(4, (int) (((time & 0x3) << 22) | genIdAt(time) | seq));
         buffer.put(4, (byte) ((time >> 2) & 0xFF));
         buffer.putShort(2, (short) ((time >> 10) & 0xFFFF));
         buffer.putShort(0, (short) ((time >> 26) & 0xFFFF));
@@ -100,16 +110,53 @@ public class FlakeId {
 
     /**
      * 等待下一毫秒
+     * @return 下一毫秒的时间
+     */
+    private long waitForNextMillis() {
+        long currentTime = currentTime();
+        for (int attempts = 0; currentTime <= lastTime; attempts++) {
+            if (currentTime < lastTime) {
+                // 时钟仍落后（例如回拨期间沿用了上次的时间），由回拨策略给出下一毫秒
+                return onClockBackward(lastTime + 1, currentTime);
+            }
+            waitStrategy.idle(attempts);
+            currentTime = currentTime();
+        }
+        return currentTime;
+    }
+
+    /**
+     * 获取相对于 epoch 的当前时间
+     */
+    private long currentTime() {
+        return clock.currentTimeMillis() - epoch;
+    }
+
+    /**
+     * 按回拨策略处理时钟回拨
+     * @param lastTime 需要的最小时间
+     * @param time 当前读到的时间
+     * @return 继续使用的时间
+     */
+    private long onClockBackward(long lastTime, long time) {
+        long resolved = backwardPolicy.onClockBackward(lastTime, time, this::currentTime);
+        if (resolved < lastTime) {
+            // 策略要求切换到备用标识符，原标识符用过的时间都小于 lastTime
+            standbyUntil = Math.max(standbyUntil, lastTime);
+            activeGenId = (backwardPolicy.standbyWorkerId() & 0x3FF) << 12;
+        }
+        return resolved;
+    }
+
+    /**
+     * 获取指定时间使用的生成器标识符，时钟越过回拨前的时间后切回原标识符
      */
-    private void waitForNextMillis() throws InterruptedException {
-        long currentTime = new Date().getTime();
-        while (currentTime <= lastTime) {
-            currentTime = new Date().getTime();
-            Thread.sleep(1);
+    private long genIdAt(long time) {
+        if (standbyUntil >= 0 && time > standbyUntil) {
+            activeGenId = genId;
+            standbyUntil = -1;
         }
-        lastTime = currentTime;
-        overflow = false;
-        seq = 0;
+        return activeGenId;
     }
 
     /**
@@ -126,5 +173,11 @@ public class FlakeId {
         public Long epoch;
         // 序列掩码
         public Long seqMask;
+        // 时钟，默认使用系统时钟
+        public IdClock clock;
+        // 时钟回拨策略，默认立即抛出异常
+        public ClockBackwardPolicy backwardPolicy;
+        // 序列用尽时等待下一毫秒的策略，默认短暂自旋后休眠
+        public WaitStrategy waitStrategy;
     }
 }
\ No newline at end of file
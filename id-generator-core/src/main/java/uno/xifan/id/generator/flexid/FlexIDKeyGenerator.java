@@ -21,8 +21,10 @@
  */
 package uno.xifan.id.generator.flexid;
 
-import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.IndexUtils;
 
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -43,7 +45,7 @@ import java.util.concurrent.ThreadLocalRandom;
  * ID组成：时间（7+）| 毫秒内的时间自增 （00~99：2）| 机器ID（00 ~ 99：2）| 随机数（00~99：2）用于分库分表时，通过 id
  * 取模，保证分布均衡。
  */
-public class FlexIDKeyGenerator implements IdGenerator {
+public class FlexIDKeyGenerator implements LongIdGenerator {
 
     private static final long INITIAL_TIMESTAMP = 1680411660000L;
     private static final long MAX_CLOCK_SEQ = 99;
@@ -51,18 +53,31 @@ public class FlexIDKeyGenerator implements IdGenerator {
     private long lastTimeMillis = 0;// 最后一次生成 ID 的时间
     private long clockSeq = 0; // 时间序列
     private long workId = 1; // 机器 ID
+    private final IdClock clock; // 时钟
 
     public FlexIDKeyGenerator() {
+        this(1);
     }
 
     public FlexIDKeyGenerator(long workId) {
+        this(workId, IdClock.system());
+    }
+
+    /**
+     * 使用指定机器 ID 和时钟创建生成器
+     *
+     * @param workId 机器 ID
+     * @param clock  时钟
+     */
+    public FlexIDKeyGenerator(long workId, IdClock clock) {
         this.workId = workId;
+        this.clock = clock;
     }
 
     private synchronized long nextId() {
 
         // 当前时间
-        long currentTimeMillis = System.currentTimeMillis();
+        long currentTimeMillis = clock.currentTimeMillis();
 
         if (currentTimeMillis == lastTimeMillis) {
             clockSeq++;
@@ -93,15 +108,67 @@ public class FlexIDKeyGenerator implements IdGenerator {
         return diffTimeMillis * 1000000 + clockSeq * 10000 + workId * 100 + getRandomInt();
     }
 
+    /**
+     * 预留 count 个连续的（时间，时间序列）位置
+     * <p>
+     * 与 {@link #nextId()} 的规则一致：时间序列超过 {@link #MAX_CLOCK_SEQ} 时借用下一毫秒，
+     * 因此整批预留无需等待时钟。
+     * </p>
+     *
+     * @param count 需要预留的数量
+     * @return 第一个位置，编码为 时间 * (MAX_CLOCK_SEQ + 1) + 时间序列
+     */
+    private synchronized long reserve(int count) {
+        long currentTimeMillis = clock.currentTimeMillis();
+
+        long first;
+        if (currentTimeMillis <= lastTimeMillis) {
+            // 同一毫秒或出现时间回拨，均紧接上一次的位置继续
+            first = lastTimeMillis * (MAX_CLOCK_SEQ + 1) + clockSeq + 1;
+        } else {
+            first = currentTimeMillis * (MAX_CLOCK_SEQ + 1);
+        }
+
+        long last = first + count - 1;
+        lastTimeMillis = last / (MAX_CLOCK_SEQ + 1);
+        clockSeq = last % (MAX_CLOCK_SEQ + 1);
+        return first;
+    }
+
     private int getRandomInt() {
         return ThreadLocalRandom.current().nextInt(100);
     }
 
     @Override
-    public Long generate() {
+    public long nextLong() {
         return nextId();
     }
 
+    /**
+     * 批量生成ID，一次加锁预留整段位置，锁外组装ID
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     */
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        if (len == 0) {
+            return;
+        }
+        long position = reserve(len);
+        long timeMillis = position / (MAX_CLOCK_SEQ + 1);
+        long seq = position % (MAX_CLOCK_SEQ + 1);
+        for (int i = off, end = off + len; i < end; i++) {
+            dst[i] = (timeMillis - INITIAL_TIMESTAMP) * 1000000 + seq * 10000 + workId * 100 + getRandomInt();
+            if (++seq > MAX_CLOCK_SEQ) {
+                seq = 0;
+                timeMillis++;
+            }
+        }
+    }
+
     @Override
     public IdType idType() {
         return IdType.FlexId;
@@ -2,6 +2,7 @@ package uno.xifan.id.generator.js;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.IdClock;
 
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
@@ -25,6 +26,7 @@ import java.util.concurrent.atomic.AtomicLong;
 public class JavaScriptSafetyIdGenerator implements IdGenerator {
     private Random random = ThreadLocalRandom.current();
     private long epoch = 1645557742L;
+    private IdClock clock = IdClock.system();
 
 
     public JavaScriptSafetyIdGenerator() {
@@ -56,6 +58,18 @@ public class JavaScriptSafetyIdGenerator implements IdGenerator {
         this.epoch = epoch;
     }
 
+    /**
+     * 构造函数，使用指定的纪元时间和时钟初始化生成器
+     * @param random 随机数生成器对象
+     * @param epoch 自定义的纪元时间戳（毫秒）
+     * @param clock 时钟
+     */
+    public JavaScriptSafetyIdGenerator(Random random, long epoch, IdClock clock) {
+        this.random = random;
+        this.epoch = epoch;
+        this.clock = clock;
+    }
+
     /**
      * 静态方法，用于生成一个 53 位的 JavaScript 安全 ID。
      * @return 生成的 53 位 ID
@@ -109,7 +123,7 @@ public class JavaScriptSafetyIdGenerator implements IdGenerator {
     @Override
     public Object generate() {
         // 步骤 1：获取当前时间戳（相对于纪元时间）
-        long currentTime = System.currentTimeMillis() - epoch;
+        long currentTime = clock.currentTimeMillis() - epoch;
         // 步骤 2：将时间戳右移 4 位，相当于除以 16
         long timestampPart = currentTime >> 4;
         // 步骤 3：将处理后的时间戳左移 16 位，为随机数部分腾出空间
@@ -24,6 +24,9 @@
 
 package uno.xifan.id.generator.ksuid;
 
+import uno.xifan.id.base.Base62;
+import uno.xifan.id.util.AsciiUtils;
+
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.time.Instant;
@@ -504,24 +507,9 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 	 */
 	static String toBase62(final Ksuid ksuid) {
 
-		int[] number = ksuid.toInts();
-
-		int b = KSUID_CHARS; // buffer index
-		char[] buffer = new char[KSUID_CHARS];
-
-		while (!isZero(number)) {
-			final int[] quotient = new int[KSUID_INTS]; // division output
-			final int remainder = remainder(number, BASE62_RADIX, quotient);
-			buffer[--b] = BASE62_ALPHABET[remainder];
-			number = quotient;
-		}
-
-		// add padding left
-		while (b > 0) {
-			buffer[--b] = '0';
-		}
-
-		return new String(buffer);
+		byte[] buffer = AsciiUtils.buffer(KSUID_CHARS);
+		Base62.encode160(ksuid.toBytes(), 0, buffer, 0);
+		return AsciiUtils.newString(buffer, 0, KSUID_CHARS);
 	}
 
 	/**
@@ -532,48 +520,14 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 	 */
 	static Ksuid fromBase62(final String string) {
 
-		int[] number = new int[KSUID_INTS];
-		char[] chars = toCharArray(string);
-
-        for (char aChar : chars) {
-            final int remainder = BASE62_MAP[aChar];
-            number = multiply(number, BASE62_RADIX, remainder, true);
-        }
-
-		return new Ksuid(number);
-	}
-
-	static int remainder(int[] number, int divisor, int[] quotient /* division output */) {
-
-		long temporary = 0;
-		long remainder = 0;
-
-		for (int i = 0; i < number.length; i++) {
-			temporary = (remainder << 32) | (number[i] & INTEGER_MASK);
-			quotient[i] = (int) (temporary / divisor);
-			remainder = temporary % divisor;
-		}
-
-		return (int) remainder;
-	}
-
-	static int[] multiply(int[] number, int multiplier, int addend, boolean validate) {
-
-		long temporary = 0;
-		long overflow = addend;
-		final int[] product = new int[KSUID_INTS];
-
-		for (int i = KSUID_INTS - 1; i >= 0; i--) {
-			temporary = ((number[i] & INTEGER_MASK) * multiplier) + overflow;
-			product[i] = (int) temporary;
-			overflow = (temporary >>> 32);
-		}
-
-		if (validate && overflow != 0) {
+		toCharArray(string); // validate
+		byte[] bytes = new byte[KSUID_BYTES];
+		try {
+			Base62.decode160(string, 0, bytes, 0);
+		} catch (IllegalArgumentException e) {
 			throw new IllegalArgumentException("Invalid KSUID (overflow)");
 		}
-
-		return product;
+		return new Ksuid(bytes);
 	}
 
 	int[] toInts() {
@@ -593,10 +547,6 @@ public final class Ksuid implements Serializable, Comparable<Ksuid> {
 		return ints;
 	}
 
-	private static boolean isZero(int[] number) {
-		return number[0] == 0 && number[1] == 0 && number[2] == 0 && number[3] == 0 && number[4] == 0;
-	}
-
 	private static char[] toCharArray(String string) {
 		if (string == null) {
 			throw new IllegalArgumentException("Invalid KSUID: null");
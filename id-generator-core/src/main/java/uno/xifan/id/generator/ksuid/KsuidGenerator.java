@@ -2,16 +2,37 @@ package uno.xifan.id.generator.ksuid;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.IdClock;
+
+import java.time.Instant;
 
 public class KsuidGenerator implements IdGenerator {
 
+    private final IdClock clock; // 时钟
+
+    /**
+     * 使用系统时钟创建生成器
+     */
+    public KsuidGenerator() {
+        this(IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟创建生成器，KSUID的时间部分取自该时钟
+     *
+     * @param clock 时钟
+     */
+    public KsuidGenerator(IdClock clock) {
+        this.clock = clock;
+    }
+
     public static String next() {
         return KsuidCreator.getKsuid().toString();
     }
 
     @Override
     public String generate() {
-        return KsuidCreator.getKsuid().toString();
+        return KsuidCreator.getKsuid(Instant.ofEpochMilli(clock.currentTimeMillis())).toString();
     }
 
     @Override
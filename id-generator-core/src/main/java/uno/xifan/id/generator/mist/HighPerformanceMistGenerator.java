@@ -44,7 +44,7 @@ public class HighPerformanceMistGenerator implements MistGenerator {
      * @return 生成的唯一ID
      */
     @Override
-    public Long generate() {
+    public long nextLong() {
         return next();
     }
 
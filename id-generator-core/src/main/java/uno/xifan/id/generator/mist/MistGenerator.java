@@ -1,6 +1,6 @@
 package uno.xifan.id.generator.mist;
 
-import uno.xifan.id.base.IdGenerator;
+import uno.xifan.id.base.LongIdGenerator;
 
 /**
  * 薄雾算法 Java 实现
@@ -24,4 +24,4 @@ import uno.xifan.id.base.IdGenerator;
 /**
  * 薄雾算法接口
  */
-public interface MistGenerator extends IdGenerator { }
\ No newline at end of file
+public interface MistGenerator extends LongIdGenerator { }
\ No newline at end of file
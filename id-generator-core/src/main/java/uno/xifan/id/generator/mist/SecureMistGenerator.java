@@ -1,12 +1,13 @@
 package uno.xifan.id.generator.mist;
 
 import uno.xifan.id.base.IdType;
-
-import java.security.SecureRandom;
+import uno.xifan.id.base.LongIdGenerator;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IndexUtils;
 
 /**
  * 薄雾算法安全实现
- * 使用synchronized和SecureRandom实现，确保线程安全和随机数安全性
+ * 使用synchronized递增自增数，随机因子取自安全的 {@link EntropySource}，在监视器锁之外获取
  */
 public class SecureMistGenerator implements MistGenerator {
     private static final int SALT_BIT = 8; // 随机因子二进制位数
@@ -15,7 +16,23 @@ public class SecureMistGenerator implements MistGenerator {
     private static final int MAX_SALT_VALUE = 255; // 随机因子最大值
 
     private long increas = 1; // 自增数
-    private final SecureRandom random = new SecureRandom(); // 安全随机数生成器
+    private final EntropySource entropy; // 随机因子的来源
+
+    /**
+     * 使用默认的安全熵源创建生成器
+     */
+    public SecureMistGenerator() {
+        this(EntropySource.getDefault());
+    }
+
+    /**
+     * 使用指定熵源创建生成器
+     *
+     * @param entropy 熵源
+     */
+    public SecureMistGenerator(EntropySource entropy) {
+        this.entropy = entropy;
+    }
 
     /**
      * 生成唯一编号
@@ -23,14 +40,44 @@ public class SecureMistGenerator implements MistGenerator {
      * @return 生成的唯一ID
      */
     @Override
-    public synchronized Long generate() {
-        random.ints();
+    public long nextLong() {
         // 自增
-        long increasValue = ++increas;
+        return compose(nextIncreas(1));
+    }
+
+    /**
+     * 批量生成唯一编号，整批只获取一次监视器锁
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     */
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        long first = nextIncreas(len);
+        for (int i = 0; i < len; i++) {
+            dst[off + i] = compose(first + i);
+        }
+    }
+
+    /**
+     * 预留连续的自增数，只在预留时持有监视器锁
+     *
+     * @param count 预留数量
+     * @return 预留的第一个自增数
+     */
+    private synchronized long nextIncreas(int count) {
+        long first = increas + 1;
+        increas += count;
+        return first;
+    }
 
+    private long compose(long increasValue) {
         // 获取随机因子数值
-        long saltA = random.nextInt(MAX_SALT_VALUE + 1);
-        long saltB = random.nextInt(MAX_SALT_VALUE + 1);
+        int salt = entropy.nextInt();
+        long saltA = salt >>> SALT_SHIFT & MAX_SALT_VALUE;
+        long saltB = salt & MAX_SALT_VALUE;
 
         // 通过位运算实现自动占位
         return (increasValue << INCREAS_SHIFT) | (saltA << SALT_SHIFT) | saltB;
@@ -1,6 +1,8 @@
 package uno.xifan.id.generator.mist;
 
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
+import uno.xifan.id.util.IndexUtils;
 
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
@@ -24,10 +26,28 @@ public class StandardMistGenerator implements MistGenerator {
      * @return 生成的唯一ID
      */
     @Override
-    public Long generate() {
+    public long nextLong() {
         // 自增
-        long increasValue = increas.incrementAndGet();
+        return compose(increas.incrementAndGet());
+    }
+
+    /**
+     * 批量生成唯一编号，整批只做一次原子自增
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     */
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        long increasValue = increas.getAndAdd(len);
+        for (int i = off, end = off + len; i < end; i++) {
+            dst[i] = compose(++increasValue);
+        }
+    }
 
+    private long compose(long increasValue) {
         // 获取随机因子数值
         long saltA = random.nextInt(MAX_SALT_VALUE + 1);
         long saltB = random.nextInt(MAX_SALT_VALUE + 1);
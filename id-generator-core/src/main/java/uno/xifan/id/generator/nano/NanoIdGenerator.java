@@ -2,9 +2,8 @@ package uno.xifan.id.generator.nano;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
-
-import java.security.SecureRandom;
-import java.util.Random;
+import uno.xifan.id.util.AsciiUtils;
+import uno.xifan.id.util.EntropySource;
 
 /**
  * NanoId生成器
@@ -38,24 +37,59 @@ public class NanoIdGenerator implements IdGenerator {
     private static final int DEFAULT_SIZE = 21;
     
     /**
-     * 默认随机数生成器
+     * 使用默认熵源的共享实例
+     */
+    private static final NanoIdGenerator DEFAULT = new NanoIdGenerator();
+
+    /**
+     * 随机数来源
+     */
+    private final EntropySource entropy;
+
+    /**
+     * 使用默认熵源创建生成器
+     */
+    public NanoIdGenerator() {
+        this(EntropySource.getDefault());
+    }
+
+    /**
+     * 使用指定熵源创建生成器
+     *
+     * @param entropy 熵源
      */
-    private static final SecureRandom DEFAULT_RANDOM = new SecureRandom();
+    public NanoIdGenerator(EntropySource entropy) {
+        this.entropy = entropy;
+    }
 
+    /**
+     * 使用默认熵源生成NanoId
+     *
+     * @return NanoId
+     */
     public static String next() {
+        return DEFAULT.nextId();
+    }
+
+    /**
+     * 生成NanoId
+     *
+     * @return NanoId
+     */
+    public String nextId() {
         byte[] randomBytes = new byte[DEFAULT_SIZE];
-        DEFAULT_RANDOM.nextBytes(randomBytes);
+        entropy.nextBytes(randomBytes);
         
-        char[] buffer = new char[DEFAULT_SIZE];
+        // 随机字节原地替换为对应的字符
         for (int i = 0; i < DEFAULT_SIZE; i++) {
-            buffer[i] = DEFAULT_ALPHABET[(randomBytes[i] & 0xFF) % DEFAULT_ALPHABET.length];
+            randomBytes[i] = (byte) DEFAULT_ALPHABET[(randomBytes[i] & 0xFF) % DEFAULT_ALPHABET.length];
         }
-        return new String(buffer);
+        return AsciiUtils.newString(randomBytes);
     }
 
     @Override
     public Object generate() {
-        return next();
+        return nextId();
     }
     @Override
     public IdType idType() {
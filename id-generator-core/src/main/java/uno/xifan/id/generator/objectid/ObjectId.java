@@ -22,6 +22,8 @@
 
 package uno.xifan.id.generator.objectid;
 
+import uno.xifan.id.util.AsciiUtils;
+
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
@@ -86,7 +88,7 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
 
     private static final AtomicInteger NEXT_COUNTER;
 
-    private static final char[] HEX_CHARS = {
+    private static final byte[] HEX_CHARS = {
             '0', '1', '2', '3', '4', '5', '6', '7',
             '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
 
@@ -320,13 +322,18 @@ public final class ObjectId implements Comparable<ObjectId>, Serializable {
      * @return a string representation of the ObjectId in hexadecimal format
      */
     public String toHexString() {
-        char[] chars = new char[OBJECT_ID_LENGTH * 2];
-        int i = 0;
-        for (byte b : toByteArray()) {
-            chars[i++] = HEX_CHARS[b >> 4 & 0xF];
-            chars[i++] = HEX_CHARS[b & 0xF];
+        byte[] ascii = AsciiUtils.buffer(OBJECT_ID_LENGTH * 2);
+        // 直接从字段写出十六进制，不经过toByteArray
+        putHex(ascii, 0, timestamp, 8);
+        putHex(ascii, 8, nonce, 16);
+        return AsciiUtils.newString(ascii, 0, OBJECT_ID_LENGTH * 2);
+    }
+
+    private static void putHex(byte[] dst, int off, long value, int digits) {
+        for (int i = off + digits - 1; i >= off; i--) {
+            dst[i] = HEX_CHARS[(int) value & 0xF];
+            value >>>= 4;
         }
-        return new String(chars);
     }
 
     @Override
@@ -2,11 +2,33 @@ package uno.xifan.id.generator.objectid;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.IdClock;
+
+import java.util.Date;
 
 public class ObjectIdGenerator implements IdGenerator {
+
+    private final IdClock clock; // 时钟
+
+    /**
+     * 使用系统时钟创建生成器
+     */
+    public ObjectIdGenerator() {
+        this(IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟创建生成器，ObjectId的秒级时间戳取自该时钟
+     *
+     * @param clock 时钟
+     */
+    public ObjectIdGenerator(IdClock clock) {
+        this.clock = clock;
+    }
+
     @Override
     public String generate() {
-        return ObjectId.get().toString();
+        return new ObjectId(new Date(clock.currentTimeMillis())).toString();
     }
 
     @Override
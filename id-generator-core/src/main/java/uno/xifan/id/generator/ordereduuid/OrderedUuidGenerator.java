@@ -2,8 +2,9 @@ package uno.xifan.id.generator.ordereduuid;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
 
-import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -17,6 +18,51 @@ import java.util.UUID;
  */
 public class OrderedUuidGenerator implements IdGenerator {
 
+    // 使用默认熵源的共享实例
+    private static final OrderedUuidGenerator DEFAULT = new OrderedUuidGenerator();
+
+    // 时钟
+    private final IdClock clock;
+
+    // 随机数来源
+    private final EntropySource entropy;
+
+    /**
+     * 使用默认熵源创建生成器
+     */
+    public OrderedUuidGenerator() {
+        this(EntropySource.getDefault());
+    }
+
+    /**
+     * 使用指定熵源创建生成器
+     *
+     * @param entropy 熵源
+     */
+    public OrderedUuidGenerator(EntropySource entropy) {
+        this(IdClock.system(), entropy);
+    }
+
+    /**
+     * 使用指定时钟和熵源创建生成器
+     *
+     * @param clock   时钟
+     * @param entropy 熵源
+     */
+    public OrderedUuidGenerator(IdClock clock, EntropySource entropy) {
+        this.clock = clock;
+        this.entropy = entropy;
+    }
+
+    /**
+     * 使用默认熵源生成一个新的OrderedUuid
+     *
+     * @return 新生成的OrderedUuid
+     */
+    public static UUID next() {
+        return DEFAULT.nextUUID();
+    }
+
     /**
      * 生成一个新的OrderedUuid
      * <p>
@@ -26,13 +72,12 @@ public class OrderedUuidGenerator implements IdGenerator {
      *
      * @return 新生成的OrderedUuid
      */
-    public static UUID next() {
-        UUID uuid = UUID.randomUUID();
-        long timestamp = Instant.now().toEpochMilli();
-        
-        // 获取UUID的most significant bits和least significant bits
-        long msb = uuid.getMostSignificantBits();
-        long lsb = uuid.getLeastSignificantBits();
+    public UUID nextUUID() {
+        long timestamp = clock.currentTimeMillis();
+
+        // 与UUID.randomUUID()相同，随机UUID的版本为4，变体为RFC 4122
+        long msb = (entropy.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long lsb = (entropy.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
         
         // 将时间戳编码到UUID的前6字节中
         // 保留UUID版本（4）和变体位
@@ -44,7 +89,7 @@ public class OrderedUuidGenerator implements IdGenerator {
 
     @Override
     public String generate() {
-        return next().toString();
+        return nextUUID().toString();
     }
 
     @Override
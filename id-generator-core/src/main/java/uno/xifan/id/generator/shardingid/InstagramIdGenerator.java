@@ -1,6 +1,10 @@
 package uno.xifan.id.generator.shardingid;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import uno.xifan.id.base.LongIdGenerator;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.IndexUtils;
+import uno.xifan.id.util.WaitStrategy;
 
 /**
  * Instagram风格的分布式ID生成器
@@ -35,13 +39,23 @@ public class InstagramIdGenerator {
     // 分片ID的偏移量
     private static final long SHARD_ID_LEFT_SHIFT = SEQUENCE_BITS;
 
-    // 序列号的原子变量，用于线程安全地生成序列号
-    private AtomicInteger sequence = new AtomicInteger(0);
+    // 当前毫秒内最后使用的序列号，由synchronized保证线程安全
+    private long sequence = 0;
     // 上一次的时间戳
     private long lastTimestamp = -1;
 
     // 分片ID
     private int shardId;
+    // 时钟
+    private final IdClock clock;
+    // 时钟回拨策略
+    private final ClockBackwardPolicy backwardPolicy;
+    // 序列号用尽时等待下一毫秒的策略
+    private final WaitStrategy waitStrategy;
+    // 当前使用的分片ID，回拨期间可能是备用ID
+    private int activeShardId;
+    // 使用备用ID时原ID用过的最大时间戳，时钟越过后切回原ID
+    private long standbyUntil = -1;
 
     /**
      * 构造一个Instagram风格的ID生成器
@@ -50,49 +64,170 @@ public class InstagramIdGenerator {
      * @throws IllegalArgumentException 当分片ID超出有效范围时抛出
      */
     public InstagramIdGenerator(int shardId) {
+        this(shardId, IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟构造一个Instagram风格的ID生成器
+     *
+     * @param shardId 分片ID，取值范围[0, 8191]
+     * @param clock   时钟
+     * @throws IllegalArgumentException 当分片ID超出有效范围时抛出
+     */
+    public InstagramIdGenerator(int shardId, IdClock clock) {
+        this(shardId, clock, ClockBackwardPolicy.failFast());
+    }
+
+    /**
+     * 使用指定时钟和时钟回拨策略构造一个Instagram风格的ID生成器
+     *
+     * @param shardId        分片ID，取值范围[0, 8191]
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略，备用工作节点ID即备用分片ID
+     * @throws IllegalArgumentException 当分片ID或备用分片ID超出有效范围时抛出
+     */
+    public InstagramIdGenerator(int shardId, IdClock clock, ClockBackwardPolicy backwardPolicy) {
+        this(shardId, clock, backwardPolicy, WaitStrategy.busySpin());
+    }
+
+    /**
+     * 使用指定时钟、时钟回拨策略和等待策略构造一个Instagram风格的ID生成器
+     *
+     * @param shardId        分片ID，取值范围[0, 8191]
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略，备用工作节点ID即备用分片ID
+     * @param waitStrategy   序列号用尽时等待下一毫秒的策略
+     * @throws IllegalArgumentException 当分片ID或备用分片ID超出有效范围时抛出
+     */
+    public InstagramIdGenerator(int shardId, IdClock clock, ClockBackwardPolicy backwardPolicy,
+                                WaitStrategy waitStrategy) {
         if (shardId < 0 || shardId > MAX_SHARD_ID) {
             throw new IllegalArgumentException("Shard ID exceeds its bit limit");
         }
+        long standbyShardId = backwardPolicy.standbyWorkerId();
+        if (standbyShardId > MAX_SHARD_ID || standbyShardId == shardId) {
+            throw new IllegalArgumentException("Invalid standby shard ID: " + standbyShardId);
+        }
         this.shardId = shardId;
+        this.activeShardId = shardId;
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
     }
 
     /**
      * 生成一个唯一的分布式ID
      * <p>
      * 该方法是线程安全的，使用synchronized关键字确保并发安全。
-     * 当检测到时钟回拨时，会抛出异常以确保ID的单调递增性。
+     * 当检测到时钟回拨时，由构造时传入的回拨策略决定等待、沿用上次时间戳、切换备用分片或抛出异常。
      * </p>
      *
      * @return 生成的唯一ID
-     * @throws RuntimeException 当检测到时钟回拨时抛出
+     * @throws uno.xifan.id.util.ClockBackwardException 当检测到时钟回拨且回拨策略拒绝生成时抛出
      */
     public synchronized long generateId() {
         long currentTimestamp = getCurrentTimestamp();
 
         if (currentTimestamp < lastTimestamp) {
-            // 如果当前时间戳小于上次的时间戳，说明发生了时间回拨，等待直到时间追上
-            throw new RuntimeException("Clock moved backwards. Refusing to generate id for "
-                    + (lastTimestamp - currentTimestamp) + " milliseconds");
+            // 如果当前时间戳小于上次的时间戳，说明发生了时间回拨，交给回拨策略处理
+            currentTimestamp = onClockBackward(lastTimestamp, currentTimestamp);
         }
 
         if (currentTimestamp == lastTimestamp) {
             // 如果当前时间戳与上次相同，则更新序列号
-            int currentSequence = sequence.getAndIncrement();
-            if (currentSequence > MAX_SEQUENCE) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
                 // 如果序列号超出最大值，等待下一毫秒
                 currentTimestamp = waitForNextMillis(lastTimestamp);
             }
         } else {
             // 如果是新的时间戳，重置序列号
-            sequence.set(0);
+            sequence = 0;
         }
 
         lastTimestamp = currentTimestamp;
 
         // 生成ID
         return ((currentTimestamp - CUSTOM_EPOCH) << TIMESTAMP_LEFT_SHIFT)
-                | (shardId << SHARD_ID_LEFT_SHIFT)
-                | sequence.getAndIncrement();
+                | ((long) shardIdAt(currentTimestamp) << SHARD_ID_LEFT_SHIFT)
+                | sequence;
+    }
+
+    /**
+     * 批量生成分布式ID
+     * <p>
+     * 在一次加锁中预留整段连续的序列号（可跨越多个毫秒），然后在锁外组装ID。
+     * </p>
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     * @throws uno.xifan.id.util.ClockBackwardException 当检测到时钟回拨且回拨策略拒绝生成时抛出
+     */
+    public void generateIds(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        if (len == 0) {
+            return;
+        }
+        // 首个毫秒至少分到1个序列号，之后每个毫秒最多分到 MAX_SEQUENCE + 1 个
+        long[] runIds = new long[(len >>> SEQUENCE_BITS) + 2];
+        int[] runLengths = new int[runIds.length];
+        int runs = reserve(len, runIds, runLengths);
+
+        // 同一毫秒内序列号位于最低位，ID是连续的整数
+        int index = off;
+        for (int r = 0; r < runs; r++) {
+            long id = runIds[r];
+            for (int k = runLengths[r]; k > 0; k--) {
+                dst[index++] = id++;
+            }
+        }
+    }
+
+    /**
+     * 预留 count 个连续的序列号
+     *
+     * @param count      需要预留的数量
+     * @param runIds     每个毫秒内第一个ID
+     * @param runLengths 每个毫秒内预留的数量
+     * @return 预留跨越的毫秒数
+     */
+    private synchronized int reserve(int count, long[] runIds, int[] runLengths) {
+        long currentTimestamp = getCurrentTimestamp();
+
+        if (currentTimestamp < lastTimestamp) {
+            currentTimestamp = onClockBackward(lastTimestamp, currentTimestamp);
+        }
+
+        long seq = 0;
+        if (currentTimestamp == lastTimestamp) {
+            seq = sequence + 1;
+            if (seq > MAX_SEQUENCE) {
+                currentTimestamp = waitForNextMillis(lastTimestamp);
+                seq = 0;
+            }
+        }
+
+        int runs = 0;
+        int remaining = count;
+        while (true) {
+            int take = (int) Math.min(remaining, MAX_SEQUENCE + 1 - seq);
+            runIds[runs] = ((currentTimestamp - CUSTOM_EPOCH) << TIMESTAMP_LEFT_SHIFT)
+                    | ((long) shardIdAt(currentTimestamp) << SHARD_ID_LEFT_SHIFT)
+                    | seq;
+            runLengths[runs++] = take;
+            remaining -= take;
+            seq += take - 1;
+            if (remaining == 0) {
+                break;
+            }
+            currentTimestamp = waitForNextMillis(currentTimestamp);
+            seq = 0;
+        }
+
+        lastTimestamp = currentTimestamp;
+        sequence = seq;
+        return runs;
     }
 
     /**
@@ -101,7 +236,7 @@ public class InstagramIdGenerator {
      * @return 当前时间的毫秒级时间戳
      */
     private long getCurrentTimestamp() {
-        return System.currentTimeMillis();
+        return clock.currentTimeMillis();
     }
 
     /**
@@ -112,12 +247,45 @@ public class InstagramIdGenerator {
      */
     private long waitForNextMillis(long lastTimestamp) {
         long timestamp = getCurrentTimestamp();
-        while (timestamp <= lastTimestamp) {
+        for (int attempts = 0; timestamp <= lastTimestamp; attempts++) {
+            if (timestamp < lastTimestamp) {
+                // 时钟仍落后于上次的时间戳（例如回拨期间沿用了上次的时间戳），由回拨策略给出下一个时间戳
+                return onClockBackward(lastTimestamp + 1, timestamp);
+            }
+            waitStrategy.idle(attempts);
             timestamp = getCurrentTimestamp();
         }
         return timestamp;
     }
 
+    /**
+     * 按回拨策略处理时钟回拨
+     *
+     * @param lastTimestamp 需要的最小时间戳
+     * @param timestamp     当前读到的时间戳
+     * @return 继续使用的时间戳
+     */
+    private long onClockBackward(long lastTimestamp, long timestamp) {
+        long resolved = backwardPolicy.onClockBackward(lastTimestamp, timestamp, this::getCurrentTimestamp);
+        if (resolved < lastTimestamp) {
+            // 策略要求切换到备用分片，原分片用过的时间戳都小于lastTimestamp
+            standbyUntil = Math.max(standbyUntil, lastTimestamp);
+            activeShardId = (int) backwardPolicy.standbyWorkerId();
+        }
+        return resolved;
+    }
+
+    /**
+     * 获取指定时间戳使用的分片ID，时钟越过回拨前的时间戳后切回原分片
+     */
+    private int shardIdAt(long timestamp) {
+        if (standbyUntil >= 0 && timestamp > standbyUntil) {
+            activeShardId = shardId;
+            standbyUntil = -1;
+        }
+        return activeShardId;
+    }
+
     /**
      * 测试方法，演示ID生成器的使用方式
      *
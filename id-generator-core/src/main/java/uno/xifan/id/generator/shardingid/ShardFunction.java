@@ -0,0 +1,58 @@
+package uno.xifan.id.generator.shardingid;
+
+/**
+ * 把业务分片键映射到分片ID的函数
+ * <p>
+ * {@link ShardedIdGenerator} 用它决定ID落在哪个分片，数据库路由用同一个函数即可找到分片键对应的库表，
+ * 生成ID之后再用 {@link ShardedIdGenerator#shardOf(long)} 从ID中直接取回分片ID。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface ShardFunction {
+
+    /**
+     * 计算分片键所在的分片
+     *
+     * @param shardKey   分片键，例如用户ID
+     * @param shardCount 分片数量
+     * @return 分片ID，取值范围[0, shardCount)
+     */
+    int shardOf(long shardKey, int shardCount);
+
+    /**
+     * 取模：分片键对分片数量取非负余数
+     * <p>
+     * 分布均匀且可以直接手算，但分片数量变化时几乎所有分片键都会迁移。
+     * </p>
+     *
+     * @return 取模函数
+     */
+    static ShardFunction modulo() {
+        return (shardKey, shardCount) -> (int) Math.floorMod(shardKey, (long) shardCount);
+    }
+
+    /**
+     * Jump一致性哈希（Lamping &amp; Veach, 2014）
+     * <p>
+     * 不需要额外内存，分片数量从n增加到n+1时只有约1/(n+1)的分片键迁移，并且都迁移到新增的分片上。
+     * </p>
+     *
+     * @return Jump一致性哈希函数
+     */
+    static ShardFunction jumpConsistentHash() {
+        return (shardKey, shardCount) -> {
+            long key = shardKey;
+            long bucket = -1;
+            long next = 0;
+            while (next < shardCount) {
+                bucket = next;
+                key = key * 2862933555777941757L + 1;
+                next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+            }
+            return (int) bucket;
+        };
+    }
+}
@@ -0,0 +1,237 @@
+package uno.xifan.id.generator.shardingid;
+
+import uno.xifan.id.util.ClockBackwardException;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.PaddedAtomicLong;
+import uno.xifan.id.util.WaitStrategy;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 按分片键路由的Instagram风格ID生成器
+ * <p>
+ * ID布局与 {@link InstagramIdGenerator} 相同（41位时间戳 + 13位分片ID + 10位序列号）。
+ * 一个实例管理最多8192个分片，每个分片的上次时间戳和序列号打包在各自的 {@link PaddedAtomicLong} 中，
+ * 按分片ID存放在数组里，第一次用到时才创建；不同分片之间没有任何共享的可变状态，同一分片内每次生成只做一次CAS。
+ * </p>
+ * <p>
+ * {@link #generate(long)} 用 {@link ShardFunction} 把分片键（例如用户ID）映射到分片，
+ * 数据库路由可以直接用 {@link #shardOf(long)} 从ID中取出分片ID，不需要查映射表。
+ * 分片ID在生成器内部固定，不支持切换到备用分片的回拨策略。
+ * </p>
+ * <pre>{@code
+ * ShardedIdGenerator generator = new ShardedIdGenerator(1024, ShardFunction.jumpConsistentHash());
+ * long orderId = generator.generate(userId);
+ * int shard = ShardedIdGenerator.shardOf(orderId); // 与 generator.shardFor(userId) 相同
+ * }</pre>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public class ShardedIdGenerator {
+
+    // 与InstagramIdGenerator相同的时间起点
+    private static final long CUSTOM_EPOCH = 1314220021721L;
+    // 分片ID部分占用的位数
+    private static final int SHARD_ID_BITS = 13;
+    // 序列号部分占用的位数
+    private static final int SEQUENCE_BITS = 10;
+
+    /**
+     * 分片数量的最大值
+     */
+    public static final int MAX_SHARDS = 1 << SHARD_ID_BITS;
+
+    private static final long MAX_SHARD_ID = MAX_SHARDS - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final int shardCount; // 分片数量
+    private final ShardFunction shardFunction; // 分片键到分片ID的映射
+    private final IdClock clock; // 时钟
+    private final ClockBackwardPolicy backwardPolicy; // 时钟回拨策略
+    private final WaitStrategy waitStrategy; // 序列号用尽时等待下一毫秒的策略
+    private final AtomicReferenceArray<PaddedAtomicLong> states; // 各分片打包的（相对时间戳, 序列号），按需创建
+
+    /**
+     * 创建按取模路由的分片ID生成器
+     *
+     * @param shardCount 分片数量，取值范围[1, 8192]
+     * @throws IllegalArgumentException 当分片数量超出有效范围时抛出
+     */
+    public ShardedIdGenerator(int shardCount) {
+        this(shardCount, ShardFunction.modulo());
+    }
+
+    /**
+     * 使用指定分片函数创建分片ID生成器
+     *
+     * @param shardCount    分片数量，取值范围[1, 8192]
+     * @param shardFunction 分片键到分片ID的映射
+     * @throws IllegalArgumentException 当分片数量超出有效范围时抛出
+     */
+    public ShardedIdGenerator(int shardCount, ShardFunction shardFunction) {
+        this(shardCount, shardFunction, IdClock.system(), ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+    }
+
+    /**
+     * 使用指定分片函数、时钟、时钟回拨策略和等待策略创建分片ID生成器
+     *
+     * @param shardCount     分片数量，取值范围[1, 8192]
+     * @param shardFunction  分片键到分片ID的映射
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略，不支持备用分片
+     * @param waitStrategy   序列号用尽时等待下一毫秒的策略
+     * @throws IllegalArgumentException 当分片数量超出有效范围或策略使用备用分片时抛出
+     */
+    public ShardedIdGenerator(int shardCount, ShardFunction shardFunction, IdClock clock,
+                              ClockBackwardPolicy backwardPolicy, WaitStrategy waitStrategy) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be in [1, " + MAX_SHARDS + "]: " + shardCount);
+        }
+        if (backwardPolicy.standbyWorkerId() >= 0) {
+            throw new IllegalArgumentException("Standby shard is not supported by sharded generator");
+        }
+        this.shardCount = shardCount;
+        this.shardFunction = shardFunction;
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
+        this.states = new AtomicReferenceArray<>(shardCount);
+    }
+
+    /**
+     * 在分片键所在的分片上生成ID
+     *
+     * @param shardKey 分片键，例如用户ID
+     * @return 生成的唯一ID
+     * @throws ClockBackwardException 当检测到时钟回拨且回拨策略拒绝生成时抛出
+     */
+    public long generate(long shardKey) {
+        return generateForShard(shardFor(shardKey));
+    }
+
+    /**
+     * 在指定分片上生成ID
+     *
+     * @param shardId 分片ID，取值范围[0, shardCount)
+     * @return 生成的唯一ID
+     * @throws IllegalArgumentException 当分片ID超出有效范围时抛出
+     * @throws ClockBackwardException   当检测到时钟回拨且回拨策略拒绝生成时抛出
+     */
+    public long generateForShard(int shardId) {
+        if (shardId < 0 || shardId >= shardCount) {
+            throw new IllegalArgumentException("Shard ID must be in [0, " + shardCount + "): " + shardId);
+        }
+        long state = next(stateOf(shardId));
+        // 时间戳部分 | 分片ID部分 | 序列号部分
+        return (state & ~MAX_SEQUENCE) << SHARD_ID_BITS | (long) shardId << SEQUENCE_BITS | (state & MAX_SEQUENCE);
+    }
+
+    /**
+     * 计算分片键所在的分片
+     *
+     * @param shardKey 分片键
+     * @return 分片ID
+     * @throws IllegalStateException 当分片函数返回的分片ID超出有效范围时抛出
+     */
+    public int shardFor(long shardKey) {
+        int shardId = shardFunction.shardOf(shardKey, shardCount);
+        if (shardId < 0 || shardId >= shardCount) {
+            throw new IllegalStateException("Shard function returned " + shardId + " for " + shardCount + " shards");
+        }
+        return shardId;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * 从ID中取出分片ID，适用于本类和 {@link InstagramIdGenerator} 生成的ID
+     *
+     * @param id ID
+     * @return 分片ID
+     */
+    public static int shardOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS & MAX_SHARD_ID);
+    }
+
+    /**
+     * 从ID中取出生成时的毫秒时间戳
+     *
+     * @param id ID
+     * @return 毫秒时间戳
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (SHARD_ID_BITS + SEQUENCE_BITS)) + CUSTOM_EPOCH;
+    }
+
+    /**
+     * 获取分片的状态，第一次用到时创建
+     */
+    private PaddedAtomicLong stateOf(int shardId) {
+        PaddedAtomicLong state = states.get(shardId);
+        if (state == null) {
+            // 并发创建时只有一个能写入数组，其余使用已写入的实例
+            PaddedAtomicLong created = new PaddedAtomicLong();
+            state = states.compareAndSet(shardId, null, created) ? created : states.get(shardId);
+        }
+        return state;
+    }
+
+    /**
+     * 把分片的状态前进一个序列号
+     *
+     * @param state 分片的状态
+     * @return 前进后的状态
+     */
+    private long next(PaddedAtomicLong state) {
+        for (int attempts = 0; ; ) {
+            long current = state.get();
+            long last = current >>> SEQUENCE_BITS;
+            long now = timeGen() - CUSTOM_EPOCH;
+
+            // 如果当前时间小于上一次的时间戳，说明系统时钟回退过，交给回拨策略处理
+            if (now < last) {
+                now = onClockBackward(last, now);
+            }
+
+            long next;
+            if (now > last) {
+                // 时间戳改变，序列重置
+                next = now << SEQUENCE_BITS;
+            } else if ((current & MAX_SEQUENCE) < MAX_SEQUENCE) {
+                next = current + 1;
+            } else {
+                // 序列号已经达到最大值，等到下一毫秒再重试
+                waitStrategy.idle(attempts++);
+                continue;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long timeGen() {
+        return clock.currentTimeMillis();
+    }
+
+    /**
+     * 按回拨策略处理时钟回拨
+     *
+     * @param last 上次使用的相对时间戳
+     * @param now  当前读到的相对时间戳
+     * @return 继续使用的相对时间戳，不小于last
+     */
+    private long onClockBackward(long last, long now) {
+        long resolved = backwardPolicy.onClockBackward(last + CUSTOM_EPOCH, now + CUSTOM_EPOCH, this::timeGen)
+                - CUSTOM_EPOCH;
+        if (resolved < last) {
+            throw new ClockBackwardException(last - now);
+        }
+        return resolved;
+    }
+}
@@ -1,7 +1,7 @@
 package uno.xifan.id.generator.shardingid;
 
-import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
 
 /**
  * 分片ID生成器实现
@@ -18,7 +18,7 @@ import uno.xifan.id.base.IdType;
  *
  * @author 稀饭科技
  */
-public class ShardingIdGenerator implements IdGenerator {
+public class ShardingIdGenerator implements LongIdGenerator {
 
     /**
      * Instagram ID生成器实例，使用分片ID 0
@@ -26,10 +26,15 @@ public class ShardingIdGenerator implements IdGenerator {
     private static final InstagramIdGenerator idGenerator = new InstagramIdGenerator(0);
 
     @Override
-    public Long generate() {
+    public long nextLong() {
         return idGenerator.generateId();
     }
 
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        idGenerator.generateIds(dst, off, len);
+    }
+
     @Override
     public IdType idType() {
         return IdType.ShardingID;
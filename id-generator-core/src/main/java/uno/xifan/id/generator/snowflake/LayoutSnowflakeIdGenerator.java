@@ -0,0 +1,163 @@
+package uno.xifan.id.generator.snowflake;
+
+import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
+import uno.xifan.id.util.ClockBackwardException;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.WaitStrategy;
+
+/**
+ * 按 {@link SnowflakeLayout} 生成ID的Snowflake ID生成器
+ * <p>
+ * 构造时把布局的移位量、掩码、起始时间和时间单位复制到自身的final字段，
+ * 生成路径只读取本对象的字段，JIT编译后和 {@link SnowflakeIdGenerator} 的常量一样是寄存器里的移位和或运算。
+ * 时间戳以布局的时间单位计，序列号在一个时间单位内用尽时等待下一个时间单位。
+ * </p>
+ */
+public class LayoutSnowflakeIdGenerator implements LongIdGenerator {
+
+    private final SnowflakeLayout layout; // 位布局，用于分解ID
+    private final long epoch; // 起始时间
+    private final long unitMillis; // 时间单位（毫秒）
+    private final int timestampShift; // 时间戳位移
+    private final long maxTimestamp; // 时间戳最大值
+    private final long maxSequence; // 序列号最大值
+    private final long nodeBits; // 左移到位的数据中心ID和工作节点ID
+    private final IdClock clock; // 时钟
+    private final ClockBackwardPolicy backwardPolicy; // 时钟回拨策略
+    private final WaitStrategy waitStrategy; // 序列号用尽时等待下一个时间单位的策略
+    private long sequence; // 序列号
+    private long lastTimestamp = -1L; // 上次生成ID的时间戳，以布局的时间单位计
+
+    /**
+     * 使用指定布局创建生成器
+     *
+     * @param layout       位布局
+     * @param datacenterId 数据中心ID，布局没有数据中心位时只能为0
+     * @param workerId     工作节点ID
+     * @throws IllegalArgumentException 当数据中心ID或工作节点ID超出布局的范围时抛出
+     */
+    public LayoutSnowflakeIdGenerator(SnowflakeLayout layout, long datacenterId, long workerId) {
+        this(layout, datacenterId, workerId, IdClock.system(), ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+    }
+
+    /**
+     * 使用指定布局、时钟、时钟回拨策略和等待策略创建生成器
+     *
+     * @param layout         位布局
+     * @param datacenterId   数据中心ID，布局没有数据中心位时只能为0
+     * @param workerId       工作节点ID
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略，以毫秒计，不支持备用工作节点
+     * @param waitStrategy   序列号用尽时等待下一个时间单位的策略
+     * @throws IllegalArgumentException 当数据中心ID或工作节点ID超出布局的范围，或策略使用备用工作节点时抛出
+     */
+    public LayoutSnowflakeIdGenerator(SnowflakeLayout layout, long datacenterId, long workerId, IdClock clock,
+                                      ClockBackwardPolicy backwardPolicy, WaitStrategy waitStrategy) {
+        if (datacenterId < 0 || datacenterId > layout.getMaxDatacenterId()) {
+            throw new IllegalArgumentException("Datacenter ID can't be greater than " + layout.getMaxDatacenterId()
+                    + " or less than 0");
+        }
+        if (workerId < 0 || workerId > layout.getMaxWorkerId()) {
+            throw new IllegalArgumentException("Worker ID can't be greater than " + layout.getMaxWorkerId()
+                    + " or less than 0");
+        }
+        if (backwardPolicy.standbyWorkerId() >= 0) {
+            throw new IllegalArgumentException("Standby worker is not supported by layout snowflake");
+        }
+        this.layout = layout;
+        this.epoch = layout.getEpoch();
+        this.unitMillis = layout.getUnitMillis();
+        this.timestampShift = layout.getTimestampShift();
+        this.maxTimestamp = layout.getMaxTimestamp();
+        this.maxSequence = layout.getMaxSequence();
+        this.nodeBits = layout.compose(0, datacenterId, workerId, 0);
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * 生成下一个唯一的ID
+     *
+     * @return 生成的唯一ID
+     * @throws ClockBackwardException 当检测到系统时钟回退且回拨策略拒绝生成时抛出
+     * @throws IllegalStateException  当时间戳超出布局的时间戳位数时抛出
+     */
+    @Override
+    public synchronized long nextLong() {
+        long timestamp = timeGen();
+
+        // 如果当前时间小于上一次ID生成的时间戳，说明系统时钟回退过，交给回拨策略处理
+        if (timestamp < lastTimestamp) {
+            timestamp = onClockBackward(lastTimestamp, timestamp);
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & maxSequence;
+            // 序列号已经达到最大值，阻塞到下一个时间单位
+            if (sequence == 0) {
+                timestamp = tilNextUnit(lastTimestamp);
+            }
+        } else {
+            sequence = 0L;
+        }
+
+        if (timestamp > maxTimestamp) {
+            throw new IllegalStateException("Timestamp exceeds " + layout.getTimestampBits() + " bits: " + timestamp);
+        }
+        lastTimestamp = timestamp;
+        return timestamp << timestampShift | nodeBits | sequence;
+    }
+
+    /**
+     * 获取生成器使用的位布局，可用于分解生成的ID
+     *
+     * @return 位布局
+     */
+    public SnowflakeLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * 读取当前时间，以布局的时间单位计
+     */
+    private long timeGen() {
+        return (clock.currentTimeMillis() - epoch) / unitMillis;
+    }
+
+    private long tilNextUnit(long lastTimestamp) {
+        long timestamp = timeGen();
+        for (int attempts = 0; timestamp <= lastTimestamp; attempts++) {
+            if (timestamp < lastTimestamp) {
+                // 时钟仍落后于上次的时间戳（例如回拨期间沿用了上次的时间戳），由回拨策略给出下一个时间戳
+                return onClockBackward(lastTimestamp + 1, timestamp);
+            }
+            waitStrategy.idle(attempts);
+            timestamp = timeGen();
+        }
+        return timestamp;
+    }
+
+    /**
+     * 按回拨策略处理时钟回拨，策略看到的是每个时间单位开始时的毫秒时间
+     *
+     * @param lastTimestamp 需要的最小时间戳
+     * @param timestamp     当前读到的时间戳
+     * @return 继续使用的时间戳，不小于lastTimestamp
+     */
+    private long onClockBackward(long lastTimestamp, long timestamp) {
+        long resolved = layout.toTimestamp(backwardPolicy.onClockBackward(
+                layout.toMillis(lastTimestamp), layout.toMillis(timestamp), clock::currentTimeMillis));
+        if (resolved < lastTimestamp) {
+            throw new ClockBackwardException((lastTimestamp - timestamp) * unitMillis);
+        }
+        return resolved;
+    }
+
+    @Override
+    public IdType idType() {
+        return IdType.Snowflake;
+    }
+}
@@ -0,0 +1,196 @@
+package uno.xifan.id.generator.snowflake;
+
+import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
+import uno.xifan.id.util.ClockBackwardException;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.IndexUtils;
+import uno.xifan.id.util.PaddedAtomicLong;
+import uno.xifan.id.util.WaitStrategy;
+
+/**
+ * 无锁Snowflake ID生成器实现
+ * <p>
+ * ID布局与 {@link SnowflakeIdGenerator} 相同（41位时间戳 + 10位工作节点ID + 12位序列号）。
+ * 上次的时间戳和序列号打包在同一个long中（相对纪元的毫秒数左移12位，低12位为序列号），
+ * 每次生成只需对这个状态做一次CAS，时间戳和序列号总是一起前进，不会出现两个线程拿到同一对值的情况。
+ * 状态独占一条缓存行，避免和其他字段伪共享。
+ * </p>
+ * <p>
+ * 适合多线程高并发的场景；线程较少时 {@link SnowflakeIdGenerator} 的偏向锁/轻量级锁同样很快。
+ * 机器ID在生成器内部固定，不支持切换到备用工作节点的回拨策略。
+ * </p>
+ */
+public class LockFreeSnowflakeIdGenerator implements LongIdGenerator {
+
+    private static final long EPOCH = 1640995200000L; // 2022-01-01 00:00:00
+
+    // 位数分配
+    private static final int WORKER_ID_BITS = 10; // 工作节点ID占10位
+    private static final int SEQUENCE_BITS = 12; // 序列号占12位
+
+    // 最大值
+    private static final long MAX_WORKER_ID = ~(-1L << WORKER_ID_BITS);
+    private static final long MAX_SEQUENCE = ~(-1L << SEQUENCE_BITS);
+
+    private final long workerBits; // 左移到位的工作节点ID
+    private final IdClock clock; // 时钟
+    private final ClockBackwardPolicy backwardPolicy; // 时钟回拨策略
+    private final WaitStrategy waitStrategy; // 序列号用尽时等待下一毫秒的策略
+    private final PaddedAtomicLong state = new PaddedAtomicLong(); // 打包的（相对时间戳, 序列号）
+
+    /**
+     * 创建一个新的无锁雪花算法ID生成器实例
+     *
+     * @param workerId 工作节点ID，取值范围[0, 1023]
+     * @throws IllegalArgumentException 当workerId超出有效范围时抛出
+     */
+    public LockFreeSnowflakeIdGenerator(long workerId) {
+        this(workerId, IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟创建无锁雪花算法ID生成器
+     *
+     * @param workerId 工作节点ID，取值范围[0, 1023]
+     * @param clock    时钟
+     * @throws IllegalArgumentException 当workerId超出有效范围时抛出
+     */
+    public LockFreeSnowflakeIdGenerator(long workerId, IdClock clock) {
+        this(workerId, clock, ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+    }
+
+    /**
+     * 使用指定时钟、时钟回拨策略和等待策略创建无锁雪花算法ID生成器
+     *
+     * @param workerId       工作节点ID，取值范围[0, 1023]
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略，不支持备用工作节点
+     * @param waitStrategy   序列号用尽时等待下一毫秒的策略
+     * @throws IllegalArgumentException 当workerId超出有效范围或策略使用备用工作节点时抛出
+     */
+    public LockFreeSnowflakeIdGenerator(long workerId, IdClock clock, ClockBackwardPolicy backwardPolicy,
+                                        WaitStrategy waitStrategy) {
+        if (workerId > MAX_WORKER_ID || workerId < 0) {
+            throw new IllegalArgumentException("Worker ID can't be greater than " + MAX_WORKER_ID + " or less than 0");
+        }
+        if (backwardPolicy.standbyWorkerId() >= 0) {
+            throw new IllegalArgumentException("Standby worker is not supported by lock-free snowflake");
+        }
+        this.workerBits = workerId << SEQUENCE_BITS;
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * 生成下一个唯一的ID
+     *
+     * @return 生成的唯一ID
+     * @throws ClockBackwardException 当检测到系统时钟回退且回拨策略拒绝生成时抛出
+     */
+    @Override
+    public long nextLong() {
+        return toId(reserve(1));
+    }
+
+    /**
+     * 批量生成ID
+     * <p>
+     * 每次CAS预留同一毫秒内剩余的一整段序列号，批量生成N个ID最多需要 N / 4096 + 1 次成功的CAS。
+     * </p>
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     * @throws ClockBackwardException 当检测到系统时钟回退且回拨策略拒绝生成时抛出
+     */
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        int index = off;
+        int end = off + len;
+        while (index < end) {
+            long first = reserve(end - index);
+            // 同一毫秒内序列号位于最低位，ID是连续的整数
+            long id = toId(first);
+            for (int k = take(first, end - index); k > 0; k--) {
+                dst[index++] = id++;
+            }
+        }
+    }
+
+    /**
+     * 在当前毫秒内预留最多 count 个连续的序列号
+     *
+     * @param count 需要的数量
+     * @return 预留的第一个状态，预留数量为 {@link #take(long, int)}
+     */
+    private long reserve(int count) {
+        for (int attempts = 0; ; ) {
+            long current = state.get();
+            long last = current >>> SEQUENCE_BITS;
+            long now = timeGen() - EPOCH;
+
+            // 如果当前时间小于上一次的时间戳，说明系统时钟回退过，交给回拨策略处理
+            if (now < last) {
+                now = onClockBackward(last, now);
+            }
+
+            long first;
+            if (now > last) {
+                // 时间戳改变，序列重置
+                first = now << SEQUENCE_BITS;
+            } else if ((current & MAX_SEQUENCE) < MAX_SEQUENCE) {
+                first = current + 1;
+            } else {
+                // 序列号已经达到最大值，等到下一毫秒再重试
+                waitStrategy.idle(attempts++);
+                continue;
+            }
+
+            if (state.compareAndSet(current, first + take(first, count) - 1)) {
+                return first;
+            }
+        }
+    }
+
+    /**
+     * 从状态 first 开始，当前毫秒内可以预留的数量
+     */
+    private static int take(long first, int count) {
+        return (int) Math.min(count, MAX_SEQUENCE + 1 - (first & MAX_SEQUENCE));
+    }
+
+    /**
+     * 组合ID（时间戳部分 | 工作节点ID部分 | 序列号部分）
+     */
+    private long toId(long state) {
+        return (state & ~MAX_SEQUENCE) << WORKER_ID_BITS | workerBits | (state & MAX_SEQUENCE);
+    }
+
+    private long timeGen() {
+        return clock.currentTimeMillis();
+    }
+
+    /**
+     * 按回拨策略处理时钟回拨
+     *
+     * @param last 上次使用的相对时间戳
+     * @param now  当前读到的相对时间戳
+     * @return 继续使用的相对时间戳，不小于last
+     */
+    private long onClockBackward(long last, long now) {
+        long resolved = backwardPolicy.onClockBackward(last + EPOCH, now + EPOCH, this::timeGen) - EPOCH;
+        if (resolved < last) {
+            throw new ClockBackwardException(last - now);
+        }
+        return resolved;
+    }
+
+    @Override
+    public IdType idType() {
+        return IdType.Snowflake;
+    }
+}
@@ -1,13 +1,17 @@
 package uno.xifan.id.generator.snowflake;
 
-import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.IndexUtils;
+import uno.xifan.id.util.TimeBorrowing;
+import uno.xifan.id.util.WaitStrategy;
 
-import java.time.Instant;
 import java.util.concurrent.atomic.AtomicLong;
 
 /** Snowflake ID生成器实现 */
-public class SnowflakeIdGenerator implements IdGenerator {
+public class SnowflakeIdGenerator implements LongIdGenerator {
 
     private static final long EPOCH = 1640995200000L; // 2022-01-01 00:00:00
 
@@ -25,8 +29,15 @@ public class SnowflakeIdGenerator implements IdGenerator {
     private static final long TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
 
     private final long workerId; // 工作节点ID
+    private final IdClock clock; // 时钟
+    private final ClockBackwardPolicy backwardPolicy; // 时钟回拨策略
+    private final WaitStrategy waitStrategy; // 序列号用尽时等待下一毫秒的策略
+    private final TimeBorrowing borrowing; // 序列号用尽时借用未来毫秒的设置
+    private long activeWorkerId; // 当前使用的工作节点ID，回拨期间可能是备用ID
+    private long standbyUntil = -1L; // 使用备用ID时原ID用过的最大时间戳，时钟越过后切回原ID
     private final AtomicLong sequence; // 序列号
     private long lastTimestamp; // 上次生成ID的时间戳
+    private long wallTimestamp = -1L; // 读到过的最大墙上时间，借用时逻辑时间戳可能领先于它
 
     /**
      * 创建一个新的雪花算法ID生成器实例
@@ -38,11 +49,75 @@ public class SnowflakeIdGenerator implements IdGenerator {
      * @throws IllegalArgumentException 当workerId超出有效范围时抛出
      */
     public SnowflakeIdGenerator(long workerId) {
+        this(workerId, IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟创建雪花算法ID生成器
+     *
+     * @param workerId 工作节点ID，取值范围[0, 1023]
+     * @param clock    时钟
+     * @throws IllegalArgumentException 当workerId超出有效范围时抛出
+     */
+    public SnowflakeIdGenerator(long workerId, IdClock clock) {
+        this(workerId, clock, ClockBackwardPolicy.failFast());
+    }
+
+    /**
+     * 使用指定时钟和时钟回拨策略创建雪花算法ID生成器
+     *
+     * @param workerId       工作节点ID，取值范围[0, 1023]
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略
+     * @throws IllegalArgumentException 当workerId或策略的备用工作节点ID超出有效范围时抛出
+     */
+    public SnowflakeIdGenerator(long workerId, IdClock clock, ClockBackwardPolicy backwardPolicy) {
+        this(workerId, clock, backwardPolicy, WaitStrategy.busySpin());
+    }
+
+    /**
+     * 使用指定时钟、时钟回拨策略和等待策略创建雪花算法ID生成器
+     *
+     * @param workerId       工作节点ID，取值范围[0, 1023]
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略
+     * @param waitStrategy   序列号用尽时等待下一毫秒的策略
+     * @throws IllegalArgumentException 当workerId或策略的备用工作节点ID超出有效范围时抛出
+     */
+    public SnowflakeIdGenerator(long workerId, IdClock clock, ClockBackwardPolicy backwardPolicy,
+                                WaitStrategy waitStrategy) {
+        this(workerId, clock, backwardPolicy, waitStrategy, TimeBorrowing.disabled());
+    }
+
+    /**
+     * 使用指定时钟、时钟回拨策略、等待策略和逻辑时间借用创建雪花算法ID生成器
+     * <p>
+     * 开启借用后，序列号用尽时逻辑时间戳直接进入下一毫秒，在允许的领先范围内不等待时钟。
+     * </p>
+     *
+     * @param workerId       工作节点ID，取值范围[0, 1023]
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略
+     * @param waitStrategy   序列号用尽时等待下一毫秒的策略
+     * @param borrowing      逻辑时间借用，应由每个生成器单独持有，以便读取各自的领先量
+     * @throws IllegalArgumentException 当workerId或策略的备用工作节点ID超出有效范围时抛出
+     */
+    public SnowflakeIdGenerator(long workerId, IdClock clock, ClockBackwardPolicy backwardPolicy,
+                                WaitStrategy waitStrategy, TimeBorrowing borrowing) {
         // 校验workerId的合法性
         if (workerId > MAX_WORKER_ID || workerId < 0) {
             throw new IllegalArgumentException("Worker ID can't be greater than " + MAX_WORKER_ID + " or less than 0");
         }
+        long standbyWorkerId = backwardPolicy.standbyWorkerId();
+        if (standbyWorkerId > MAX_WORKER_ID || standbyWorkerId == workerId) {
+            throw new IllegalArgumentException("Invalid standby worker ID: " + standbyWorkerId);
+        }
         this.workerId = workerId;
+        this.activeWorkerId = workerId;
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
+        this.borrowing = borrowing;
         this.sequence = new AtomicLong(0L);
         this.lastTimestamp = -1L;
     }
@@ -58,15 +133,14 @@ public class SnowflakeIdGenerator implements IdGenerator {
      * </p>
      *
      * @return 生成的唯一ID
-     * @throws RuntimeException 当检测到系统时钟回退时抛出
+     * @throws uno.xifan.id.util.ClockBackwardException 当检测到系统时钟回退且回拨策略拒绝生成时抛出
      */
     public synchronized long next() {
-        long timestamp = timeGen();
+        long timestamp = wallTime();
 
-        // 如果当前时间小于上一次ID生成的时间戳，说明系统时钟回退过
+        // 如果当前时间小于上一次ID生成的时间戳，可能是借用了未来的毫秒，否则说明系统时钟回退过，交给回拨策略处理
         if (timestamp < lastTimestamp) {
-            throw new RuntimeException("Clock moved backwards. Refusing to generate id for " +
-                    (lastTimestamp - timestamp) + " milliseconds");
+            timestamp = isBorrowedLead(timestamp) ? lastTimestamp : onClockBackward(lastTimestamp, timestamp);
         }
 
         // 如果是同一时间生成的，则进行序列号递增
@@ -83,30 +157,180 @@ public class SnowflakeIdGenerator implements IdGenerator {
         }
 
         lastTimestamp = timestamp;
+        recordLag(timestamp);
 
         // 组合ID（时间戳部分 | 工作节点ID部分 | 序列号部分）
         return ((timestamp - EPOCH) << TIMESTAMP_SHIFT) |
-                (workerId << WORKER_ID_SHIFT) |
+                (workerIdAt(timestamp) << WORKER_ID_SHIFT) |
                 sequence.get();
     }
 
     private long timeGen() {
-        return Instant.now().toEpochMilli();
+        return clock.currentTimeMillis();
     }
 
-    private long tilNextMillis(long lastTimestamp) {
+    /**
+     * 读取时钟，并记录读到过的最大墙上时间
+     */
+    private long wallTime() {
         long timestamp = timeGen();
-        while (timestamp <= lastTimestamp) {
-            timestamp = timeGen();
+        if (timestamp > wallTimestamp) {
+            wallTimestamp = timestamp;
+        }
+        return timestamp;
+    }
+
+    /**
+     * 判断时间戳小于lastTimestamp是否只是因为逻辑时间借用了未来的毫秒，而不是时钟回拨
+     */
+    private boolean isBorrowedLead(long timestamp) {
+        return borrowing.isEnabled() && timestamp >= wallTimestamp;
+    }
+
+    private void recordLag(long timestamp) {
+        if (borrowing.isEnabled()) {
+            borrowing.recordLag(timestamp - wallTimestamp);
+        }
+    }
+
+    private long tilNextMillis(long lastTimestamp) {
+        long timestamp = wallTime();
+        for (int attempts = 0; timestamp <= lastTimestamp; attempts++) {
+            if (isBorrowedLead(timestamp)) {
+                // 在允许的领先范围内直接借用下一毫秒，超出范围时等待时钟追上
+                if (borrowing.tryBorrow(lastTimestamp + 1, timestamp)) {
+                    return lastTimestamp + 1;
+                }
+            } else if (timestamp < lastTimestamp) {
+                // 时钟仍落后于上次的时间戳（例如回拨期间沿用了上次的时间戳），由回拨策略给出下一个时间戳
+                return onClockBackward(lastTimestamp + 1, timestamp);
+            }
+            waitStrategy.idle(attempts);
+            timestamp = wallTime();
         }
         return timestamp;
     }
 
+    /**
+     * 按回拨策略处理时钟回拨
+     *
+     * @param lastTimestamp 需要的最小时间戳
+     * @param timestamp     当前读到的时间戳
+     * @return 继续使用的时间戳
+     */
+    private long onClockBackward(long lastTimestamp, long timestamp) {
+        long resolved = backwardPolicy.onClockBackward(lastTimestamp, timestamp, this::timeGen);
+        if (resolved < lastTimestamp) {
+            // 策略要求切换到备用工作节点，原ID用过的时间戳都小于lastTimestamp
+            standbyUntil = Math.max(standbyUntil, lastTimestamp);
+            activeWorkerId = backwardPolicy.standbyWorkerId();
+        }
+        return resolved;
+    }
+
+    /**
+     * 获取指定时间戳使用的工作节点ID，时钟越过回拨前的时间戳后切回原ID
+     */
+    private long workerIdAt(long timestamp) {
+        if (standbyUntil >= 0 && timestamp > standbyUntil) {
+            activeWorkerId = workerId;
+            standbyUntil = -1L;
+        }
+        return activeWorkerId;
+    }
+
     @Override
-    public Long generate() {
+    public long nextLong() {
         return next();
     }
 
+    /**
+     * 批量生成ID
+     * <p>
+     * 在一次加锁中预留整段连续的序列号（序列号用尽时在锁内等待下一毫秒，可跨越多个毫秒），
+     * 然后在锁外组装ID。批量生成N个ID只需获取一次监视器锁。
+     * </p>
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     * @throws uno.xifan.id.util.ClockBackwardException 当检测到系统时钟回退且回拨策略拒绝生成时抛出
+     */
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        if (len == 0) {
+            return;
+        }
+        // 首个毫秒至少分到1个序列号，之后每个毫秒最多分到 MAX_SEQUENCE + 1 个
+        long[] runIds = new long[(len >>> SEQUENCE_BITS) + 2];
+        int[] runLengths = new int[runIds.length];
+        int runs = reserve(len, runIds, runLengths);
+
+        // 同一毫秒内序列号位于最低位，ID是连续的整数
+        int index = off;
+        for (int r = 0; r < runs; r++) {
+            long id = runIds[r];
+            for (int k = runLengths[r]; k > 0; k--) {
+                dst[index++] = id++;
+            }
+        }
+    }
+
+    /**
+     * 预留 count 个连续的序列号
+     *
+     * @param count      需要预留的数量
+     * @param runIds     每个毫秒内第一个ID
+     * @param runLengths 每个毫秒内预留的数量
+     * @return 预留跨越的毫秒数
+     */
+    private synchronized int reserve(int count, long[] runIds, int[] runLengths) {
+        long timestamp = wallTime();
+
+        if (timestamp < lastTimestamp) {
+            timestamp = isBorrowedLead(timestamp) ? lastTimestamp : onClockBackward(lastTimestamp, timestamp);
+        }
+
+        long seq = 0L;
+        if (lastTimestamp == timestamp) {
+            seq = sequence.get() + 1;
+            if (seq > MAX_SEQUENCE) {
+                timestamp = tilNextMillis(lastTimestamp);
+                seq = 0L;
+            }
+        }
+
+        int runs = 0;
+        int remaining = count;
+        while (true) {
+            int take = (int) Math.min(remaining, MAX_SEQUENCE + 1 - seq);
+            runIds[runs] = ((timestamp - EPOCH) << TIMESTAMP_SHIFT) | (workerIdAt(timestamp) << WORKER_ID_SHIFT) | seq;
+            runLengths[runs++] = take;
+            remaining -= take;
+            seq += take - 1;
+            if (remaining == 0) {
+                break;
+            }
+            timestamp = tilNextMillis(timestamp);
+            seq = 0L;
+        }
+
+        lastTimestamp = timestamp;
+        sequence.set(seq);
+        recordLag(timestamp);
+        return runs;
+    }
+
+    /**
+     * 获取逻辑时间借用的设置和指标
+     *
+     * @return 逻辑时间借用，{@link TimeBorrowing#getLag()}为逻辑时间领先墙上时间的毫秒数
+     */
+    public TimeBorrowing getTimeBorrowing() {
+        return borrowing;
+    }
+
     @Override
     public IdType idType() {
         return IdType.Snowflake;
@@ -0,0 +1,333 @@
+package uno.xifan.id.generator.snowflake;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snowflake ID的位布局
+ * <p>
+ * 描述ID从高位到低位的组成：可选的符号位 + 时间戳 + 数据中心ID + 工作节点ID + 序列号，
+ * 以及时间戳的单位（例如1毫秒、10毫秒、1秒）和起始时间。所有移位量和掩码在构建时计算好，
+ * 同一个布局对象既用于 {@link LayoutSnowflakeIdGenerator} 生成ID，也用于分解ID。
+ * </p>
+ * <pre>{@code
+ * // 10毫秒时间单位、16位序列号
+ * SnowflakeLayout layout = SnowflakeLayout.builder()
+ *         .timeUnit(10, TimeUnit.MILLISECONDS)
+ *         .timestampBits(39)
+ *         .workerBits(8)
+ *         .sequenceBits(16)
+ *         .build();
+ * }</pre>
+ */
+public final class SnowflakeLayout {
+
+    private static final SnowflakeLayout STANDARD = builder().build();
+
+    private final long epoch;
+    private final long unitMillis;
+    private final boolean signBit;
+    private final int timestampBits;
+    private final int datacenterBits;
+    private final int workerBits;
+    private final int sequenceBits;
+
+    private final int workerShift;
+    private final int datacenterShift;
+    private final int timestampShift;
+    private final long maxTimestamp;
+    private final long maxDatacenterId;
+    private final long maxWorkerId;
+    private final long maxSequence;
+
+    private SnowflakeLayout(Builder builder) {
+        this.epoch = builder.epoch;
+        this.unitMillis = builder.unitMillis;
+        this.signBit = builder.signBit;
+        this.timestampBits = builder.timestampBits;
+        this.datacenterBits = builder.datacenterBits;
+        this.workerBits = builder.workerBits;
+        this.sequenceBits = builder.sequenceBits;
+
+        this.workerShift = sequenceBits;
+        this.datacenterShift = sequenceBits + workerBits;
+        this.timestampShift = sequenceBits + workerBits + datacenterBits;
+        this.maxTimestamp = mask(timestampBits);
+        this.maxDatacenterId = mask(datacenterBits);
+        this.maxWorkerId = mask(workerBits);
+        this.maxSequence = mask(sequenceBits);
+    }
+
+    /**
+     * 获取与 {@link SnowflakeIdGenerator} 相同的标准布局：
+     * 符号位 + 41位毫秒时间戳 + 10位工作节点ID + 12位序列号，起始时间2022-01-01
+     *
+     * @return 标准布局
+     */
+    public static SnowflakeLayout standard() {
+        return STANDARD;
+    }
+
+    /**
+     * 创建布局构建器，初始值为标准布局
+     *
+     * @return 构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 组合ID
+     *
+     * @param timestamp    相对起始时间的时间戳，以布局的时间单位计
+     * @param datacenterId 数据中心ID
+     * @param workerId     工作节点ID
+     * @param sequence     序列号
+     * @return ID
+     */
+    public long compose(long timestamp, long datacenterId, long workerId, long sequence) {
+        return timestamp << timestampShift
+                | datacenterId << datacenterShift
+                | workerId << workerShift
+                | sequence;
+    }
+
+    /**
+     * 把毫秒时间转换为布局的时间戳
+     *
+     * @param millis 毫秒时间
+     * @return 相对起始时间的时间戳，以布局的时间单位计
+     */
+    public long toTimestamp(long millis) {
+        return (millis - epoch) / unitMillis;
+    }
+
+    /**
+     * 把布局的时间戳转换为毫秒时间
+     *
+     * @param timestamp 相对起始时间的时间戳，以布局的时间单位计
+     * @return 该时间单位开始时的毫秒时间
+     */
+    public long toMillis(long timestamp) {
+        return epoch + timestamp * unitMillis;
+    }
+
+    /**
+     * 获取ID中的时间戳
+     *
+     * @param id ID
+     * @return 相对起始时间的时间戳，以布局的时间单位计
+     */
+    public long timestamp(long id) {
+        return id >>> timestampShift & maxTimestamp;
+    }
+
+    /**
+     * 获取ID生成时的毫秒时间
+     *
+     * @param id ID
+     * @return 毫秒时间，精度为布局的时间单位
+     */
+    public long timestampMillis(long id) {
+        return toMillis(timestamp(id));
+    }
+
+    public long datacenterId(long id) {
+        return id >>> datacenterShift & maxDatacenterId;
+    }
+
+    public long workerId(long id) {
+        return id >>> workerShift & maxWorkerId;
+    }
+
+    public long sequence(long id) {
+        return id & maxSequence;
+    }
+
+    /**
+     * 分解ID的各个部分
+     *
+     * @param id ID
+     * @return 按 id、time、datacenter-id、worker-id、sequence 排列的各部分
+     */
+    public Map<String, Long> decompose(long id) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("id", id);
+        result.put("time", timestampMillis(id));
+        result.put("datacenter-id", datacenterId(id));
+        result.put("worker-id", workerId(id));
+        result.put("sequence", sequence(id));
+        return result;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getUnitMillis() {
+        return unitMillis;
+    }
+
+    public boolean hasSignBit() {
+        return signBit;
+    }
+
+    public int getTimestampBits() {
+        return timestampBits;
+    }
+
+    public int getDatacenterBits() {
+        return datacenterBits;
+    }
+
+    public int getWorkerBits() {
+        return workerBits;
+    }
+
+    public int getSequenceBits() {
+        return sequenceBits;
+    }
+
+    public int getWorkerShift() {
+        return workerShift;
+    }
+
+    public int getDatacenterShift() {
+        return datacenterShift;
+    }
+
+    public int getTimestampShift() {
+        return timestampShift;
+    }
+
+    public long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    public long getMaxDatacenterId() {
+        return maxDatacenterId;
+    }
+
+    public long getMaxWorkerId() {
+        return maxWorkerId;
+    }
+
+    public long getMaxSequence() {
+        return maxSequence;
+    }
+
+    @Override
+    public String toString() {
+        return "SnowflakeLayout{" + (signBit ? "sign:1, " : "") + "timestamp:" + timestampBits
+                + ", datacenter:" + datacenterBits + ", worker:" + workerBits + ", sequence:" + sequenceBits
+                + ", unit:" + unitMillis + "ms, epoch:" + epoch + "}";
+    }
+
+    private static long mask(int bits) {
+        return bits == 64 ? -1L : ~(-1L << bits);
+    }
+
+    /**
+     * {@link SnowflakeLayout} 的构建器
+     */
+    public static final class Builder {
+        private long epoch = 1640995200000L; // 2022-01-01 00:00:00
+        private long unitMillis = 1;
+        private boolean signBit = true;
+        private int timestampBits = 41;
+        private int datacenterBits = 0;
+        private int workerBits = 10;
+        private int sequenceBits = 12;
+
+        private Builder() {
+        }
+
+        /**
+         * 起始时间，默认2022-01-01 00:00:00
+         *
+         * @param epochMillis 起始时间的毫秒时间戳
+         * @return 构建器
+         */
+        public Builder epoch(long epochMillis) {
+            this.epoch = epochMillis;
+            return this;
+        }
+
+        /**
+         * 时间戳单位，默认1毫秒，必须是整数毫秒
+         *
+         * @param amount 数量
+         * @param unit   单位
+         * @return 构建器
+         * @throws IllegalArgumentException 时间单位不是整数毫秒时抛出，例如1500微秒
+         */
+        public Builder timeUnit(long amount, TimeUnit unit) {
+            long millis = unit.toMillis(amount);
+            // 换算回原单位不相等说明有不足1毫秒的部分被截断
+            if (unit.convert(millis, TimeUnit.MILLISECONDS) != amount) {
+                throw new IllegalArgumentException("Time unit must be a whole number of milliseconds: " + amount + " " + unit);
+            }
+            this.unitMillis = millis;
+            return this;
+        }
+
+        /**
+         * 是否保留最高位作为符号位（固定为0，保证ID为正数），默认保留
+         *
+         * @param signBit 是否保留符号位
+         * @return 构建器
+         */
+        public Builder signBit(boolean signBit) {
+            this.signBit = signBit;
+            return this;
+        }
+
+        public Builder timestampBits(int bits) {
+            this.timestampBits = bits;
+            return this;
+        }
+
+        public Builder datacenterBits(int bits) {
+            this.datacenterBits = bits;
+            return this;
+        }
+
+        public Builder workerBits(int bits) {
+            this.workerBits = bits;
+            return this;
+        }
+
+        public Builder sequenceBits(int bits) {
+            this.sequenceBits = bits;
+            return this;
+        }
+
+        /**
+         * 校验并构建布局
+         *
+         * @return 布局
+         * @throws IllegalArgumentException 位数为负数、时间戳或序列号位数为0、单个或总位数超出可用位数，
+         *                                  或时间单位不是正整数毫秒时抛出
+         */
+        public SnowflakeLayout build() {
+            if (unitMillis < 1) {
+                throw new IllegalArgumentException("Time unit must be at least 1 millisecond");
+            }
+            int available = signBit ? 63 : 64;
+            // 先逐个限制位数，求和时不会溢出
+            if (timestampBits < 1 || sequenceBits < 1 || datacenterBits < 0 || workerBits < 0
+                    || timestampBits > available || sequenceBits > available
+                    || datacenterBits > available || workerBits > available) {
+                throw new IllegalArgumentException("Invalid bit widths: timestamp=" + timestampBits
+                        + ", datacenter=" + datacenterBits + ", worker=" + workerBits + ", sequence=" + sequenceBits);
+            }
+            int total = timestampBits + datacenterBits + workerBits + sequenceBits;
+            if (total > available) {
+                throw new IllegalArgumentException("Layout uses " + total + " bits, only " + available + " available");
+            }
+            return new SnowflakeLayout(this);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package uno.xifan.id.generator.snowflake;
+
+import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
+import uno.xifan.id.util.ClockBackwardException;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.IndexUtils;
+import uno.xifan.id.util.PaddedAtomicLong;
+import uno.xifan.id.util.WaitStrategy;
+
+/**
+ * 分道（striped）Snowflake ID生成器实现
+ * <p>
+ * ID布局与 {@link SnowflakeIdGenerator} 相同（41位时间戳 + 10位工作节点ID + 12位序列号），
+ * 但12位序列号被拆成高位的车道号和低位的车道内序列号：N个车道（2的幂）各自拥有每毫秒 4096 / N 个序列号。
+ * 每个车道是一个独立的打包状态（相对时间戳, 车道内序列号），独占一条缓存行，用一次CAS前进。
+ * </p>
+ * <p>
+ * 线程按探针值散列到车道，类似 {@link java.util.concurrent.atomic.LongAdder} 选择Cell的方式：
+ * CAS失败说明车道有争用，线程换一个探针值；车道在当前毫秒用尽时依次尝试下一个车道，
+ * 所有车道都用尽后才等待下一毫秒。因此总吞吐随核数增长，直到用满每毫秒4096个序列号的预算。
+ * </p>
+ * <p>
+ * 代价是顺序：同一毫秒内只保证同一车道的ID按生成先后递增，不同车道之间的ID按车道号排列，
+ * 不反映生成的先后；车道用尽后换到的车道号可能更小，所以单个线程在同一毫秒内的ID也不保证递增。
+ * 不同毫秒之间仍然按时间递增，整体是按毫秒有序（k-sorted）的：所有车道共享已发出的最大时间戳，
+ * 时钟回退时即使线程落到空闲的车道，也按回拨策略处理，不会发出早于该时间戳的ID。
+ * 需要严格全局递增时使用 {@link SnowflakeIdGenerator} 或 {@link LockFreeSnowflakeIdGenerator}。
+ * </p>
+ */
+public class StripedSnowflakeIdGenerator implements LongIdGenerator {
+
+    private static final long EPOCH = 1640995200000L; // 2022-01-01 00:00:00
+
+    // 位数分配
+    private static final int WORKER_ID_BITS = 10; // 工作节点ID占10位
+    private static final int SEQUENCE_BITS = 12; // 序列号占12位，含车道号
+
+    private static final long MAX_WORKER_ID = ~(-1L << WORKER_ID_BITS);
+    private static final int MAX_LANES = 1 << SEQUENCE_BITS;
+    private static final int DEFAULT_MAX_LANES = 64;
+
+    /**
+     * 每个线程的探针值，决定线程使用的车道
+     */
+    private static final ThreadLocal<int[]> PROBE =
+            ThreadLocal.withInitial(() -> new int[]{initialProbe(Thread.currentThread().getId())});
+
+    private final long workerBits; // 左移到位的工作节点ID
+    private final int laneMask; // 车道数 - 1
+    private final int laneSequenceBits; // 车道内序列号位数
+    private final long laneSequenceMask; // 车道内序列号最大值
+    private final PaddedAtomicLong[] lanes; // 每个车道打包的（相对时间戳, 车道内序列号）
+    private final PaddedAtomicLong highest = new PaddedAtomicLong(); // 所有车道已发出的最大相对时间戳
+    private final IdClock clock; // 时钟
+    private final ClockBackwardPolicy backwardPolicy; // 时钟回拨策略
+    private final WaitStrategy waitStrategy; // 所有车道用尽时等待下一毫秒的策略
+
+    /**
+     * 按可用处理器数创建车道（向上取2的幂，最多64个）
+     *
+     * @param workerId 工作节点ID，取值范围[0, 1023]
+     * @throws IllegalArgumentException 当workerId超出有效范围时抛出
+     */
+    public StripedSnowflakeIdGenerator(long workerId) {
+        this(workerId, defaultLanes());
+    }
+
+    /**
+     * 使用指定车道数创建分道雪花算法ID生成器
+     *
+     * @param workerId 工作节点ID，取值范围[0, 1023]
+     * @param lanes    车道数，2的幂，取值范围[1, 4096]
+     * @throws IllegalArgumentException 当workerId或车道数无效时抛出
+     */
+    public StripedSnowflakeIdGenerator(long workerId, int lanes) {
+        this(workerId, lanes, IdClock.system(), ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+    }
+
+    /**
+     * 使用指定车道数、时钟、时钟回拨策略和等待策略创建分道雪花算法ID生成器
+     *
+     * @param workerId       工作节点ID，取值范围[0, 1023]
+     * @param lanes          车道数，2的幂，取值范围[1, 4096]
+     * @param clock          时钟
+     * @param backwardPolicy 时钟回拨策略，不支持备用工作节点
+     * @param waitStrategy   所有车道用尽时等待下一毫秒的策略
+     * @throws IllegalArgumentException 当workerId或车道数无效，或策略使用备用工作节点时抛出
+     */
+    public StripedSnowflakeIdGenerator(long workerId, int lanes, IdClock clock, ClockBackwardPolicy backwardPolicy,
+                                       WaitStrategy waitStrategy) {
+        if (workerId > MAX_WORKER_ID || workerId < 0) {
+            throw new IllegalArgumentException("Worker ID can't be greater than " + MAX_WORKER_ID + " or less than 0");
+        }
+        if (lanes < 1 || lanes > MAX_LANES || Integer.bitCount(lanes) != 1) {
+            throw new IllegalArgumentException("Lanes must be a power of two between 1 and " + MAX_LANES + ": " + lanes);
+        }
+        if (backwardPolicy.standbyWorkerId() >= 0) {
+            throw new IllegalArgumentException("Standby worker is not supported by striped snowflake");
+        }
+        this.workerBits = workerId << SEQUENCE_BITS;
+        this.laneMask = lanes - 1;
+        this.laneSequenceBits = SEQUENCE_BITS - Integer.numberOfTrailingZeros(lanes);
+        this.laneSequenceMask = ~(-1L << laneSequenceBits);
+        this.lanes = new PaddedAtomicLong[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new PaddedAtomicLong();
+        }
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * 生成下一个唯一的ID
+     *
+     * @return 生成的唯一ID
+     * @throws ClockBackwardException 当检测到系统时钟回退且回拨策略拒绝生成时抛出
+     */
+    @Override
+    public long nextLong() {
+        return reserve(1);
+    }
+
+    /**
+     * 批量生成ID
+     * <p>
+     * 每次CAS预留一个车道在当前毫秒内剩余的一整段序列号，段内的ID是连续的整数。
+     * </p>
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     * @throws ClockBackwardException 当检测到系统时钟回退且回拨策略拒绝生成时抛出
+     */
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        int index = off;
+        int end = off + len;
+        while (index < end) {
+            long id = reserve(end - index);
+            for (int k = take(id, end - index); k > 0; k--) {
+                dst[index++] = id++;
+            }
+        }
+    }
+
+    /**
+     * 获取车道数
+     *
+     * @return 车道数
+     */
+    public int getLanes() {
+        return lanes.length;
+    }
+
+    /**
+     * 在某个车道的当前毫秒内预留最多 count 个连续的序列号
+     *
+     * @param count 需要的数量
+     * @return 预留的第一个ID，预留数量为 {@link #take(long, int)}
+     */
+    private long reserve(int count) {
+        int[] probe = PROBE.get();
+        int h = probe[0];
+        for (int attempts = 0, exhausted = 0; ; ) {
+            int lane = h & laneMask;
+            PaddedAtomicLong state = lanes[lane];
+            long current = state.get();
+            long last = current >>> laneSequenceBits;
+            long floor = Math.max(last, highest.get());
+            long now = timeGen() - EPOCH;
+
+            // 如果当前时间小于已发出的最大时间戳，说明系统时钟回退过，交给回拨策略处理；
+            // 空闲车道的时间戳可能早已落后，所以不能只和本车道比较
+            if (now < floor) {
+                now = onClockBackward(floor, now);
+            }
+
+            long first;
+            if (now > last) {
+                first = now << laneSequenceBits;
+            } else if ((current & laneSequenceMask) < laneSequenceMask) {
+                first = current + 1;
+            } else {
+                // 车道在当前毫秒用尽，依次换到下一个车道；所有车道都试过后等待下一毫秒
+                if (++exhausted > laneMask) {
+                    waitStrategy.idle(attempts++);
+                    exhausted = 0;
+                }
+                h++;
+                continue;
+            }
+
+            long id = toId(lane, first);
+            if (state.compareAndSet(current, first + take(id, count) - 1)) {
+                probe[0] = h;
+                raiseHighest(now);
+                return id;
+            }
+            // CAS失败说明车道有争用，换一个探针值
+            h = advanceProbe(h);
+        }
+    }
+
+    /**
+     * 把已发出的最大时间戳提高到 now，同一毫秒内只有第一次需要CAS
+     */
+    private void raiseHighest(long now) {
+        for (long h; (h = highest.get()) < now; ) {
+            if (highest.compareAndSet(h, now)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 从ID id 开始，所在车道当前毫秒内可以预留的数量
+     */
+    private int take(long id, int count) {
+        return (int) Math.min(count, laneSequenceMask + 1 - (id & laneSequenceMask));
+    }
+
+    /**
+     * 组合ID（时间戳部分 | 工作节点ID部分 | 车道号 | 车道内序列号）
+     */
+    private long toId(int lane, long state) {
+        return (state >>> laneSequenceBits) << (WORKER_ID_BITS + SEQUENCE_BITS)
+                | workerBits
+                | (long) lane << laneSequenceBits
+                | (state & laneSequenceMask);
+    }
+
+    private long timeGen() {
+        return clock.currentTimeMillis();
+    }
+
+    /**
+     * 按回拨策略处理时钟回拨
+     *
+     * @param last 已发出的最大相对时间戳
+     * @param now  当前读到的相对时间戳
+     * @return 继续使用的相对时间戳，不小于last
+     */
+    private long onClockBackward(long last, long now) {
+        long resolved = backwardPolicy.onClockBackward(last + EPOCH, now + EPOCH, this::timeGen) - EPOCH;
+        if (resolved < last) {
+            throw new ClockBackwardException(last - now);
+        }
+        return resolved;
+    }
+
+    private static int defaultLanes() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int lanes = processors <= 1 ? 1 : Integer.highestOneBit(processors - 1) << 1;
+        return Math.min(lanes, DEFAULT_MAX_LANES);
+    }
+
+    private static int initialProbe(long threadId) {
+        int h = (int) ((threadId * 0x9E3779B97F4A7C15L) >>> 32);
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * 伪随机地前进探针值（xorshift）
+     */
+    private static int advanceProbe(int h) {
+        if (h == 0) {
+            h = 1;
+        }
+        h ^= h << 13;
+        h ^= h >>> 17;
+        h ^= h << 5;
+        return h;
+    }
+
+    @Override
+    public IdType idType() {
+        return IdType.Snowflake;
+    }
+}
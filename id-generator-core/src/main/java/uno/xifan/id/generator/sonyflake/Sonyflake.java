@@ -1,5 +1,9 @@
 package uno.xifan.id.generator.sonyflake;
 
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.PaddedAtomicLong;
+import uno.xifan.id.util.WaitStrategy;
+
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
@@ -20,7 +24,12 @@ import java.util.*;
  * - 8位序列号
  * - 16位机器ID
  * </p>
- * 
+ * <p>
+ * 上次的经过时间和序列号打包在同一个long中（经过时间 &lt;&lt; 8 | 序列号），每次生成只做一次CAS，不持有锁。
+ * 序列号用尽时加一自然进位到下一个时间单位；ID落在当前时间之后的调用者各自在CAS成功后等到该时间单位再返回，
+ * 不会阻塞其他线程。
+ * </p>
+ *
  * @author 稀饭科技
  * @since 1.0.0
  */
@@ -35,10 +44,14 @@ public class Sonyflake {
     private static final long DEFAULT_START_TIME = toSonyflakeTime(
             new GregorianCalendar(2014, Calendar.SEPTEMBER, 1, 0, 0, 0).getTime());
 
-    private final Object mutex = new Object();
+    private static final long MASK_SEQUENCE = (1L << BIT_LEN_SEQUENCE) - 1;
+    private static final long MAX_ELAPSED_TIME = (1L << BIT_LEN_TIME) - 1;
+
+    // 初始状态为经过时间0、序列号用尽，第一次生成时使用当前时间
+    private final PaddedAtomicLong state = new PaddedAtomicLong(MASK_SEQUENCE);
+    private IdClock clock;
+    private WaitStrategy waitStrategy;
     private long startTime;
-    private long elapsedTime;
-    private short sequence;
     private short machineID;
 
     // 异常类
@@ -98,15 +111,26 @@ public class Sonyflake {
     // CheckMachineID 验证机器ID的唯一性。
     // 如果CheckMachineID返回false，Sonyflake不会被创建。
     // 如果CheckMachineID为null，不进行验证。
+    //
+    // Clock 是读取当前时间的时钟。
+    // 如果Clock为null，直接读取系统时钟。
+    // 也可以使用 IdClock.cached()，它会启动一个JVM内共享、每毫秒唤醒一次的后台线程。
+    //
+    // WaitStrategy 是序列号用尽后等待下一个时间单位的策略。
+    // 如果WaitStrategy为null，短暂自旋后休眠。
     public static class Settings {
         public Date startTime;
         public MachineIDSupplier machineIDSupplier;
         public MachineIDValidator machineIDValidator;
+        public IdClock clock;
+        public WaitStrategy waitStrategy;
 
         public Settings() {
             this.startTime = null;
             this.machineIDSupplier = null;
             this.machineIDValidator = null;
+            this.clock = null;
+            this.waitStrategy = null;
         }
     }
 
@@ -139,12 +163,14 @@ public class Sonyflake {
     // - Settings.CheckMachineID返回false。
     public static Sonyflake newInstance(Settings st)
             throws StartTimeAheadException, NoPrivateAddressException, InvalidMachineIDException {
-        if (st.startTime != null && st.startTime.after(new Date())) {
+        IdClock clock = st.clock != null ? st.clock : IdClock.system();
+        if (st.startTime != null && st.startTime.getTime() > clock.currentTimeMillis()) {
             throw new StartTimeAheadException();
         }
 
         Sonyflake sf = new Sonyflake();
-        sf.sequence = (short) ((1 << BIT_LEN_SEQUENCE) - 1);
+        sf.clock = clock;
+        sf.waitStrategy = st.waitStrategy != null ? st.waitStrategy : WaitStrategy.parking();
 
         if (st.startTime == null) {
             sf.startTime = DEFAULT_START_TIME;
@@ -187,50 +213,52 @@ public class Sonyflake {
     // NextID 生成下一个唯一ID。
     // 当Sonyflake时间溢出后，NextID会返回错误。
     public long nextID() throws OverTimeLimitException {
-        final short maskSequence = (short) ((1 << BIT_LEN_SEQUENCE) - 1);
-
-        synchronized (mutex) {
-            long current = currentElapsedTime(startTime);
-            if (elapsedTime < current) {
-                elapsedTime = current;
-                sequence = 0;
-            } else { // elapsedTime >= current，当前时间没有前进
-                sequence = (short) ((sequence + 1) & maskSequence);
-                if (sequence == 0) {
-                    elapsedTime++;
-                    long overtime = elapsedTime - current;
-                    try {
-                        Thread.sleep(sleepTime(overtime));
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
+        for (;;) {
+            long current = currentElapsedTime();
+            long last = state.get();
+            long next;
+            boolean carried = false;
+            if ((last >>> BIT_LEN_SEQUENCE) < current) {
+                next = current << BIT_LEN_SEQUENCE;
+            } else { // elapsedTime >= current，当前时间没有前进，序列号加一，用尽时进位到下一个时间单位
+                next = last + 1;
+                carried = (last & MASK_SEQUENCE) == MASK_SEQUENCE;
             }
 
-            return toID();
+            long elapsedTime = next >>> BIT_LEN_SEQUENCE;
+            if (elapsedTime > MAX_ELAPSED_TIME) {
+                throw new OverTimeLimitException();
+            }
+            if (!state.compareAndSet(last, next)) {
+                continue;
+            }
+
+            // 只有让序列号进位到新时间单位的调用者在CAS成功后等到该时间单位，不阻塞其他线程；
+            // 时钟回退后没有进位的调用者继续使用上次的时间单位，立即返回
+            if (carried && elapsedTime > current) {
+                for (int attempts = 0; currentElapsedTime() < elapsedTime; attempts++) {
+                    waitStrategy.idle(attempts);
+                }
+            }
+            return toID(next);
         }
     }
 
     private static long toSonyflakeTime(Date t) {
-        return t.toInstant().toEpochMilli() * 1_000_000 / SONYFLAKE_TIME_UNIT;
+        return toSonyflakeTime(t.getTime());
     }
 
-    private static long currentElapsedTime(long startTime) {
-        return toSonyflakeTime(new Date()) - startTime;
+    private static long toSonyflakeTime(long millis) {
+        return millis * 1_000_000 / SONYFLAKE_TIME_UNIT;
     }
 
-    private static long sleepTime(long overtime) {
-        return overtime * SONYFLAKE_TIME_UNIT - (System.nanoTime() % SONYFLAKE_TIME_UNIT);
+    private long currentElapsedTime() {
+        return toSonyflakeTime(clock.currentTimeMillis()) - startTime;
     }
 
-    private long toID() throws OverTimeLimitException {
-        if (elapsedTime >= (1L << BIT_LEN_TIME)) {
-            throw new OverTimeLimitException();
-        }
-
-        return (elapsedTime << (BIT_LEN_SEQUENCE + BIT_LEN_MACHINE_ID)) |
-                ((long) sequence << BIT_LEN_MACHINE_ID) |
-                machineID;
+    private long toID(long state) {
+        // state的经过时间和序列号已经相邻排列，左移到机器ID之上即可
+        return (state << BIT_LEN_MACHINE_ID) | machineID;
     }
 
     private static byte[] privateIPv4() throws NoPrivateAddressException {
@@ -299,8 +327,6 @@ public class Sonyflake {
 
     private Sonyflake() {
         this.startTime = 0;
-        this.elapsedTime = 0;
-        this.sequence = 0;
         this.machineID = 0;
     }
 }
\ No newline at end of file
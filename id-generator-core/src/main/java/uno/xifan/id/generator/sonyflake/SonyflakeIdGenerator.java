@@ -1,7 +1,7 @@
 package uno.xifan.id.generator.sonyflake;
 
-import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
 
 /**
  * Sonyflake ID生成器的Java实现
@@ -14,22 +14,28 @@ import uno.xifan.id.base.IdType;
  *
  * @author ixiongdi
  */
-public class SonyflakeIdGenerator implements IdGenerator {
+public class SonyflakeIdGenerator implements LongIdGenerator {
 
-    private static final Sonyflake.Settings settings = new Sonyflake.Settings();
+    private final Sonyflake sonyflake;
 
-    private static final Sonyflake sonyflake;
+    /**
+     * 使用默认配置的共享Sonyflake创建生成器，第一次使用时才解析机器ID
+     */
+    public SonyflakeIdGenerator() {
+        this(DefaultHolder.SONYFLAKE);
+    }
 
-    static {
-        try {
-            sonyflake = Sonyflake.newInstance(settings);
-        } catch (Sonyflake.StartTimeAheadException | Sonyflake.NoPrivateAddressException | Sonyflake.InvalidMachineIDException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * 使用指定的Sonyflake创建生成器
+     *
+     * @param sonyflake Sonyflake实例
+     */
+    public SonyflakeIdGenerator(Sonyflake sonyflake) {
+        this.sonyflake = sonyflake;
     }
 
     @Override
-    public Long generate() {
+    public long nextLong() {
         try {
             return sonyflake.nextID();
         } catch (Sonyflake.OverTimeLimitException e) {
@@ -41,4 +47,16 @@ public class SonyflakeIdGenerator implements IdGenerator {
     public IdType idType() {
         return IdType.Sonyflake;
     }
+
+    private static final class DefaultHolder {
+        private static final Sonyflake SONYFLAKE;
+
+        static {
+            try {
+                SONYFLAKE = Sonyflake.newInstance(new Sonyflake.Settings());
+            } catch (Sonyflake.StartTimeAheadException | Sonyflake.NoPrivateAddressException | Sonyflake.InvalidMachineIDException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
@@ -25,8 +25,11 @@
 
 package uno.xifan.id.generator.ulid;
 
+import uno.xifan.id.base.Base32;
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.AsciiUtils;
+import uno.xifan.id.util.IdClock;
 
 import java.security.SecureRandom;
 
@@ -46,17 +49,7 @@ import java.security.SecureRandom;
  * @author shamil
  */
 public final class ULIDGenerator implements IdGenerator {
-    private static final char[] ENCODING_CHARS = {
-            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9',
-            'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'J', 'K',
-            'M', 'N', 'P', 'Q', 'R', 'S', 'T', 'V', 'W', 'X',
-            'Y', 'Z',
-    };
-    private static final int MASK = 0x1F;
-    private static final int MASK_BITS = 5;
     private static final long TIMESTAMP_OVERFLOW_MASK = 0xFFFF_0000_0000_0000L;
-    private static final long TIMESTAMP_MSB_MASK = 0xFFFF_FFFF_FFFF_0000L;
-    private static final long RANDOM_MSB_MASK = 0xFFFFL;
     private static final long HALF_RANDOM_COMPONENT = 0x000000ffffffffffL;
     private static final long MAX_INCREMENT = 0x0000010000000000L;
 
@@ -83,12 +76,25 @@ public final class ULIDGenerator implements IdGenerator {
 
     // 底层伪随机数生成器
     private final SecureRandom randomGenerator;
+    // 时钟
+    private final IdClock clock;
 
     public ULIDGenerator() {
         this(new SecureRandom());
     }
 
     public ULIDGenerator(SecureRandom random) {
+        this(IdClock.system(), random);
+    }
+
+    /**
+     * 使用指定时钟和随机数生成器创建ULID生成器
+     *
+     * @param clock  时钟
+     * @param random 用于播种的随机数生成器
+     */
+    public ULIDGenerator(IdClock clock, SecureRandom random) {
+        this.clock = clock;
         this.randomGenerator = random;
         reseed(); // do an initial seeding
     }
@@ -103,7 +109,7 @@ public final class ULIDGenerator implements IdGenerator {
         final long lsb = ((sipHash24(v0, v1, v2, v3, D) << 2) >>> 2) | 0x8000000000000000L;
         reseed(k0, k1);
 
-        return asString(System.currentTimeMillis(), msb, lsb);
+        return asString(clock.currentTimeMillis(), msb, lsb);
     }
 
     /**
@@ -139,7 +145,7 @@ public final class ULIDGenerator implements IdGenerator {
      * @return 时间戳
      */
     private long getTimestamp() {
-        final long timestamp = System.currentTimeMillis();
+        final long timestamp = clock.currentTimeMillis();
         if (timestamp == lastUsedTimestamp) {
             // if this is the same millisecond, just increment the random part
             increment();
@@ -185,46 +191,16 @@ public final class ULIDGenerator implements IdGenerator {
     }
 
     private static String asString(long msb, long lsb) {
-        final long time = ((msb & TIMESTAMP_MSB_MASK) >>> 16);
-        final long random1 = ((msb & RANDOM_MSB_MASK) << 24) | ((lsb & 0xffffff0000000000L) >>> 40);
-        final long random2 = (lsb & 0x000000ffffffffffL);
-        return crockfordBase32(time, random1, random2);
+        byte[] buffer = AsciiUtils.buffer(Base32.LENGTH_128);
+        return AsciiUtils.newString(buffer, 0, Base32.encode128(msb, lsb, buffer, 0));
     }
 
+    /**
+     * 48位时间戳后接两个随机数各自的低40位，按ULID格式编码
+     */
     private static String crockfordBase32(long timeComponent, long msb, long lsb) {
-        char[] buffer = new char[26];
-
-        // 时间戳的前10个字符
-        buffer[0] = ENCODING_CHARS[(int) ((timeComponent >>> ((9) * MASK_BITS)) & MASK)];
-        buffer[1] = ENCODING_CHARS[(int) ((timeComponent >>> ((8) * MASK_BITS)) & MASK)];
-        buffer[2] = ENCODING_CHARS[(int) ((timeComponent >>> ((7) * MASK_BITS)) & MASK)];
-        buffer[3] = ENCODING_CHARS[(int) ((timeComponent >>> ((6) * MASK_BITS)) & MASK)];
-        buffer[4] = ENCODING_CHARS[(int) ((timeComponent >>> ((5) * MASK_BITS)) & MASK)];
-        buffer[5] = ENCODING_CHARS[(int) ((timeComponent >>> ((4) * MASK_BITS)) & MASK)];
-        buffer[6] = ENCODING_CHARS[(int) ((timeComponent >>> ((3) * MASK_BITS)) & MASK)];
-        buffer[7] = ENCODING_CHARS[(int) ((timeComponent >>> ((2) * MASK_BITS)) & MASK)];
-        buffer[8] = ENCODING_CHARS[(int) ((timeComponent >>> ((1) * MASK_BITS)) & MASK)];
-        buffer[9] = ENCODING_CHARS[(int) ((timeComponent >>> ((0) * MASK_BITS)) & MASK)];
-
-        buffer[10] = ENCODING_CHARS[(int) ((msb >>> ((7) * MASK_BITS)) & MASK)];
-        buffer[11] = ENCODING_CHARS[(int) ((msb >>> ((6) * MASK_BITS)) & MASK)];
-        buffer[12] = ENCODING_CHARS[(int) ((msb >>> ((5) * MASK_BITS)) & MASK)];
-        buffer[13] = ENCODING_CHARS[(int) ((msb >>> ((4) * MASK_BITS)) & MASK)];
-        buffer[14] = ENCODING_CHARS[(int) ((msb >>> ((3) * MASK_BITS)) & MASK)];
-        buffer[15] = ENCODING_CHARS[(int) ((msb >>> ((2) * MASK_BITS)) & MASK)];
-        buffer[16] = ENCODING_CHARS[(int) ((msb >>> ((1) * MASK_BITS)) & MASK)];
-        buffer[17] = ENCODING_CHARS[(int) ((msb >>> ((0) * MASK_BITS)) & MASK)];
-
-        buffer[18] = ENCODING_CHARS[(int) ((lsb >>> ((7) * MASK_BITS)) & MASK)];
-        buffer[19] = ENCODING_CHARS[(int) ((lsb >>> ((6) * MASK_BITS)) & MASK)];
-        buffer[20] = ENCODING_CHARS[(int) ((lsb >>> ((5) * MASK_BITS)) & MASK)];
-        buffer[21] = ENCODING_CHARS[(int) ((lsb >>> ((4) * MASK_BITS)) & MASK)];
-        buffer[22] = ENCODING_CHARS[(int) ((lsb >>> ((3) * MASK_BITS)) & MASK)];
-        buffer[23] = ENCODING_CHARS[(int) ((lsb >>> ((2) * MASK_BITS)) & MASK)];
-        buffer[24] = ENCODING_CHARS[(int) ((lsb >>> ((1) * MASK_BITS)) & MASK)];
-        buffer[25] = ENCODING_CHARS[(int) ((lsb >>> ((0) * MASK_BITS)) & MASK)];
-
-        return new String(buffer);
+        return asString(timeComponent << 16 | (msb & HALF_RANDOM_COMPONENT) >>> 24,
+                msb << 40 | (lsb & HALF_RANDOM_COMPONENT));
     }
 
     // a very slimmed-down version of SipHash-2-4
@@ -287,10 +263,7 @@ public final class ULIDGenerator implements IdGenerator {
      * 从ULID字符串中提取时间组件。
      */
     public static long unixTime(String ulidStr) {
-        char[] tb = ulidStr.toCharArray();
-        final char[] timestampComponent = new char[10];
-        System.arraycopy(tb, 0, timestampComponent, 0, 10);
-        return toLong(timestampComponent);
+        return Base32.decodeValue(ulidStr, 0, 10);
     }
 
     // 验证生成的ULID字符串
@@ -299,12 +272,7 @@ public final class ULIDGenerator implements IdGenerator {
      * 检查字符串是否为有效的ULID。
      */
     public static boolean isValid(String ulidStr) {
-        if (ulidStr == null) {
-            return false;
-        }
-
-        char[] chars = ulidStr.toCharArray();
-        if (chars.length != 26 || !containsValidBase32Chars(chars)) {
+        if (ulidStr == null || ulidStr.length() != Base32.LENGTH_128 || !Base32.isValid(ulidStr, 0, Base32.LENGTH_128)) {
             return false;
         }
 
@@ -314,63 +282,6 @@ public final class ULIDGenerator implements IdGenerator {
         return timestamp >= 0 && timestamp <= TIMESTAMP_MAX;
     }
 
-    /**
-     * 将base32字符数组解码为长整数。
-     */
-    protected static long toLong(char[] input) {
-        long n = 0;
-        for (char c : input) {
-            int d = decodeBase32(c);
-            n = 32 * n + d;
-        }
-        return n;
-    }
-
-    private static int decodeBase32(char c) {
-        for (int i = 0; i < ENCODING_CHARS.length; i++) {
-            if (ENCODING_CHARS[i] == c) {
-                return (byte) i;
-            }
-        }
-        return (byte) '0';
-    }
-
-    /**
-     * 检查数组中的所有字符是否都是有效的base32字符。
-     */
-    private static boolean containsValidBase32Chars(final char[] chars) {
-        char[] input = toUpperCase(chars);
-        for (char c : input) {
-            if (!isBase32Char(c)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     * 检查提供的字符是否为有效的base32字符。
-     */
-    private static boolean isBase32Char(char c) {
-        for (char encodingChar : ENCODING_CHARS) {
-            if (c == encodingChar) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * 将数组中的所有字符转换为对应的大写形式（如果适用）。
-     */
-    private static char[] toUpperCase(final char[] input) {
-        char[] output = new char[input.length];
-        for (int i = 0; i < output.length; i++) {
-            output[i] = Character.toUpperCase(input[i]);
-        }
-        return output;
-    }
-
     @Override
     public Object generate() {
         return next();
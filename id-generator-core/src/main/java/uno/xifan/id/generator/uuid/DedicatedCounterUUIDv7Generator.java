@@ -1,30 +1,119 @@
 package uno.xifan.id.generator.uuid;
 
+import uno.xifan.id.base.IdGenerator;
+import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.PaddedAtomicLong;
+
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.LongAdder;
 
 /**
- * 在标准UUID v7上把rand_a的12bit作为固定位长的专用计数器，最大支持4096个，可统计毫秒内的生成的UUID总数
+ * 单调递增的UUIDv7生成器，实现RFC 9562 6.2节的方法1：固定位长的专用计数器
+ * <p>
+ * 计数器共16位：rand_a的12位加上rand_b紧跟变体标识的4位，rand_b剩余的58位每次取新的随机数。
+ * 每进入一个新的毫秒，计数器用随机数初始化并把最高位置0，同一毫秒内至少还能递增32768次。
+ * 48位毫秒时间戳和16位计数器恰好打包在一个long中，每次生成只做一次CAS，时间戳和计数器总是一起前进：
+ * </p>
+ * <ul>
+ *     <li>时钟前进：时间戳取当前时间，计数器重新随机初始化</li>
+ *     <li>时钟未前进或回退：状态加一，计数器用尽时自然进位，借用下一毫秒的时间戳</li>
+ * </ul>
+ * <p>
+ * 因此同一个生成器产生的UUID按生成顺序严格递增（按无符号比较，与字符串和数据库的字节序比较一致），
+ * 适合作为数据库主键，插入总是追加到索引末尾。
+ * </p>
  */
-public class DedicatedCounterUUIDv7Generator {
-    private static final LongAdder counter = new LongAdder();
-    private static final AtomicLong lastTm = new AtomicLong(System.currentTimeMillis());
+public class DedicatedCounterUUIDv7Generator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 16; // 计数器位数
+    private static final int RAND_A_COUNTER_BITS = 12; // 计数器在rand_a中的位数
+    private static final int RAND_B_COUNTER_BITS = COUNTER_BITS - RAND_A_COUNTER_BITS; // 计数器在rand_b中的位数
+    private static final int RAND_B_RANDOM_BITS = 62 - RAND_B_COUNTER_BITS; // rand_b中的随机位数
+
+    private static final long RAND_A_COUNTER_MASK = (1L << RAND_A_COUNTER_BITS) - 1;
+    private static final long RAND_B_COUNTER_MASK = (1L << RAND_B_COUNTER_BITS) - 1;
+    private static final long RAND_B_RANDOM_MASK = (1L << RAND_B_RANDOM_BITS) - 1;
+    // 每毫秒计数器的随机初值，最高位为0，为同一毫秒内的递增留出空间
+    private static final int SEED_MASK = (1 << (COUNTER_BITS - 1)) - 1;
+
+    private static final long VERSION = 0x7000L; // 版本7
+    private static final long VARIANT = 0x8000000000000000L; // RFC变体
+
+    // 使用系统时钟和默认熵源的共享实例
+    private static final DedicatedCounterUUIDv7Generator DEFAULT = new DedicatedCounterUUIDv7Generator();
+
+    private final IdClock clock; // 时钟
+    private final EntropySource entropy; // 随机数来源
+    private final PaddedAtomicLong state = new PaddedAtomicLong(); // 打包的（毫秒时间戳, 计数器）
+
+    /**
+     * 使用系统时钟和非安全的 {@link EntropySource#fast()} 创建生成器
+     */
+    public DedicatedCounterUUIDv7Generator() {
+        this(IdClock.system(), EntropySource.fast());
+    }
 
+    /**
+     * 使用指定时钟和熵源创建生成器
+     *
+     * @param clock   时钟
+     * @param entropy 熵源，用于计数器初值和rand_b的随机位
+     */
+    public DedicatedCounterUUIDv7Generator(IdClock clock, EntropySource entropy) {
+        this.clock = clock;
+        this.entropy = entropy;
+    }
+
+    /**
+     * 使用共享实例生成UUIDv7
+     *
+     * @return 单调递增的UUIDv7
+     */
     public static UUID next() {
-        long currTm = System.currentTimeMillis();
-        if (currTm > lastTm.get()) {
-            lastTm.set(currTm);
-            counter.reset();
+        return DEFAULT.nextUUID();
+    }
+
+    /**
+     * 生成UUIDv7
+     *
+     * @return 单调递增的UUIDv7
+     */
+    public UUID nextUUID() {
+        long next;
+        for (;;) {
+            long current = state.get();
+            long now = clock.currentTimeMillis();
+            if (now > current >>> COUNTER_BITS) {
+                // 新的毫秒，计数器随机初始化
+                next = now << COUNTER_BITS | (entropy.nextInt() & SEED_MASK);
+            } else {
+                // 同一毫秒或时钟回退，计数器加一，用尽时进位到下一毫秒
+                next = current + 1;
+            }
+            if (state.compareAndSet(current, next)) {
+                break;
+            }
         }
-        long msb = System.currentTimeMillis() << 16 | 0x7000 | counter.sum() & 0xFFF;
 
-        counter.increment();
+        // 48位时间戳 | 版本 | 计数器高12位
+        long msb = (next >>> COUNTER_BITS) << 16
+                | VERSION
+                | (next >>> RAND_B_COUNTER_BITS & RAND_A_COUNTER_MASK);
+        // 变体 | 计数器低4位 | 58位随机数
+        long lsb = VARIANT
+                | (next & RAND_B_COUNTER_MASK) << RAND_B_RANDOM_BITS
+                | entropy.nextLong() & RAND_B_RANDOM_MASK;
+        return new UUID(msb, lsb);
+    }
 
-        long lsb =
-                0x8000000000000000L | ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL;
+    @Override
+    public String generate() {
+        return nextUUID().toString();
+    }
 
-        return new UUID(msb, lsb);
+    @Override
+    public IdType idType() {
+        return IdType.UUIDv7;
     }
 }
@@ -1,5 +1,7 @@
 package uno.xifan.id.generator.uuid;
 
+import uno.xifan.id.util.AsciiUtils;
+
 import java.util.UUID;
 
 /**
@@ -10,7 +12,7 @@ import java.util.UUID;
  * 1. 预分配固定大小的字符数组，避免字符串拼接和StringBuilder的开销
  * 2. 使用位运算和查找表快速将字节转换为十六进制字符
  * 3. 直接操作字符数组，减少中间对象创建
- * 4. 使用线程本地缓冲区，避免频繁创建字符数组
+ * 4. 使用线程本地缓冲区，以ASCII字节写入后直接创建字符串，避免频繁创建字符数组
  * </p>
  *
  * @author ixiongdi
@@ -20,7 +22,7 @@ import java.util.UUID;
 public class FastUUIDToString {
 
     // 十六进制字符查找表，用于快速将字节转换为十六进制字符
-    private static final char[] HEX_DIGITS = {
+    private static final byte[] HEX_DIGITS = {
             '0', '1', '2', '3', '4', '5', '6', '7',
             '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
     };
@@ -30,10 +32,6 @@ public class FastUUIDToString {
 
     // 连字符的位置
     private static final int[] DASH_POSITIONS = {8, 13, 18, 23};
-    
-    // 线程本地字符数组缓冲区，避免频繁创建字符数组
-    private static final ThreadLocal<char[]> CHAR_BUFFER = 
-            ThreadLocal.withInitial(() -> new char[UUID_STRING_LENGTH]);
 
     /**
      * 将UUID转换为字符串的高效实现
@@ -56,8 +54,8 @@ public class FastUUIDToString {
         long mostSigBits = uuid.getMostSignificantBits();
         long leastSigBits = uuid.getLeastSignificantBits();
 
-        // 使用线程本地缓冲区获取字符数组，避免频繁创建对象
-        char[] chars = CHAR_BUFFER.get();
+        // 使用线程本地缓冲区，避免频繁创建对象
+        byte[] chars = AsciiUtils.buffer(UUID_STRING_LENGTH);
 
         // 处理高64位
         formatHex(chars, mostSigBits >> 32, 0, 8);
@@ -72,8 +70,8 @@ public class FastUUIDToString {
         chars[23] = '-';
         formatHex(chars, leastSigBits, 24, 12);
 
-        // 从字符数组创建字符串
-        return new String(chars);
+        // 从ASCII字节创建字符串
+        return AsciiUtils.newString(chars, 0, UUID_STRING_LENGTH);
     }
 
     /**
@@ -84,7 +82,7 @@ public class FastUUIDToString {
      * @param offset 字符数组中的起始偏移量
      * @param digits 要格式化的十六进制数字的数量
      */
-    private static void formatHex(char[] chars, long value, int offset, int digits) {
+    private static void formatHex(byte[] chars, long value, int offset, int digits) {
         for (int i = 0; i < digits; i++) {
             // 从右到左处理每个十六进制数字
             int hexDigit = (int) (value >> ((digits - 1 - i) * 4)) & 0xF;
@@ -1,18 +1,106 @@
 package uno.xifan.id.generator.uuid;
 
-import java.time.Instant;
+import uno.xifan.id.base.IdGenerator;
+import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.PaddedAtomicLong;
+
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * 在标准UUID v7上把rand_a的12bit作为更高精度的时钟，时间精度大约为250ns
+ * 在标准UUID v7上把rand_a的12bit作为更高精度的时钟，实现RFC 9562 6.2节的方法3，时间精度约为244ns
+ * <p>
+ * 时间取自以 {@link System#nanoTime()} 为基准、锚定到系统时间的高精度时钟，
+ * 毫秒内的纳秒数按整数运算缩放为1/4096毫秒的分数写入rand_a。
+ * 48位毫秒时间戳和12位分数打包在一个long中（即以1/4096毫秒为单位的时间），线程通过CAS领取下一个分数：
+ * 时钟前进时使用当前时间，否则在上次的基础上加一，分数用尽时自然进位到下一毫秒。
+ * 因此同一个生成器产生的UUID严格递增，rand_b的62位全部是随机数，不再需要承担同一时刻的区分。
+ * </p>
  */
-public class IncreasedClockPrecisionUUIDv7Generator {
+public class IncreasedClockPrecisionUUIDv7Generator implements IdGenerator {
+
+    private static final int FRACTION_BITS = 12; // 毫秒分数的位数
+    private static final long FRACTION_MASK = (1L << FRACTION_BITS) - 1;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private static final long VERSION = 0x7000L; // 版本7
+    private static final long VARIANT = 0x8000000000000000L; // RFC变体
+
+    // 使用高精度时钟和默认熵源的共享实例
+    private static final IncreasedClockPrecisionUUIDv7Generator DEFAULT = new IncreasedClockPrecisionUUIDv7Generator();
+
+    private final IdClock clock; // 时钟
+    private final EntropySource entropy; // 随机数来源
+    private final PaddedAtomicLong state = new PaddedAtomicLong(); // 上次使用的时间，以1/4096毫秒计
+
+    /**
+     * 使用共享的高精度时钟和非安全的 {@link EntropySource#fast()} 创建生成器
+     */
+    public IncreasedClockPrecisionUUIDv7Generator() {
+        this(IdClock.highResolution(), EntropySource.fast());
+    }
+
+    /**
+     * 使用指定时钟和熵源创建生成器
+     *
+     * @param clock   时钟，读取纳秒时间
+     * @param entropy 熵源，用于rand_b的随机位
+     */
+    public IncreasedClockPrecisionUUIDv7Generator(IdClock clock, EntropySource entropy) {
+        this.clock = clock;
+        this.entropy = entropy;
+    }
+
+    /**
+     * 使用共享实例生成UUIDv7
+     *
+     * @return 严格递增的UUIDv7
+     */
     public static UUID next() {
-        Instant instant = Instant.now();
-        int clockSeq = (int) ((instant.getNano() / 1000_000f) % 1 * 4096);
-        long msb = instant.toEpochMilli() << 16 | 0x7000 | clockSeq;
-        long lsb = 0x8000000000000000L | ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL;
+        return DEFAULT.nextUUID();
+    }
+
+    /**
+     * 生成UUIDv7
+     *
+     * @return 严格递增的UUIDv7
+     */
+    public UUID nextUUID() {
+        long next;
+        for (;;) {
+            long current = state.get();
+            long now = timeGen();
+            // 时钟前进时使用当前时间，否则领取上次之后的下一个分数
+            next = now > current ? now : current + 1;
+            if (state.compareAndSet(current, next)) {
+                break;
+            }
+        }
+
+        // 48位毫秒时间戳 | 版本 | 12位毫秒分数
+        long msb = (next >>> FRACTION_BITS) << 16 | VERSION | (next & FRACTION_MASK);
+        long lsb = VARIANT | entropy.nextLong() & 0x3FFFFFFFFFFFFFFFL;
         return new UUID(msb, lsb);
     }
+
+    /**
+     * 读取当前时间，以1/4096毫秒计
+     */
+    private long timeGen() {
+        long nanos = clock.currentTimeNanos();
+        long millis = nanos / NANOS_PER_MILLI;
+        long fraction = ((nanos - millis * NANOS_PER_MILLI) << FRACTION_BITS) / NANOS_PER_MILLI;
+        return millis << FRACTION_BITS | fraction;
+    }
+
+    @Override
+    public String generate() {
+        return nextUUID().toString();
+    }
+
+    @Override
+    public IdType idType() {
+        return IdType.UUIDv7;
+    }
 }
@@ -1,13 +1,18 @@
 package uno.xifan.id.generator.uuid;
 
+import uno.xifan.id.util.EntropySource;
+
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 在标准UUID v7上把rand_b的62bit作为计数器，随机单调递增
+ *
+ * @deprecated 时间戳两次读取时钟，计数器与上次时间戳分开重置，并发时可能生成不递增甚至重复的UUID，
+ * 需要单调递增的UUIDv7时使用 {@link DedicatedCounterUUIDv7Generator}
  */
+@Deprecated
 public class MonotonicRandomUUIDv7Generator {
 
     private static final LongAdder counter = new LongAdder();
@@ -30,8 +35,16 @@ public class MonotonicRandomUUIDv7Generator {
     }
 
     public static UUID next(boolean unguessability) {
+        return next(unguessability, EntropySource.fast());
+    }
+
+    /**
+     * @param unguessability 是否使用随机步长
+     * @param entropy        随机步长的熵源
+     */
+    public static UUID next(boolean unguessability, EntropySource entropy) {
         if (unguessability) {
-            return next(ThreadLocalRandom.current().nextLong());
+            return next(entropy.nextLong());
         } else {
             return next(1);
         }
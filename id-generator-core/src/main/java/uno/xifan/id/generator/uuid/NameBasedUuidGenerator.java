@@ -0,0 +1,300 @@
+package uno.xifan.id.generator.uuid;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 基于名称的UUID生成器（UUIDv3/UUIDv5），适合为大量名称批量生成确定性的ID
+ * <p>
+ * 每个线程为MD5和SHA-1各持有一个可重用的 {@link MessageDigest} 和输入缓冲区，
+ * 生成时把名称空间的16个字节和名称的UTF-8编码直接写入缓冲区，一次update后输出到线程私有的数组，
+ * 除了返回的 {@link UUID} 以外不分配对象。名称空间只有16字节，不足一个摘要分组，
+ * 复制摘要状态并不能省去压缩运算，所以每次重置摘要后重新写入。
+ * </p>
+ * <p>
+ * 可选的LRU缓存保存最近使用的名称，适合少量热点名称被反复查询的场景；批量处理大量互不相同的名称时不需要缓存。
+ * 缓存按名称的哈希分成最多16段，每段各自加锁并按访问顺序淘汰，多个线程命中不同的段时互不阻塞。
+ * </p>
+ * <pre>{@code
+ * NameBasedUuidGenerator generator = NameBasedUuidGenerator.v5(UUIDv5Generator.NAMESPACE_URL);
+ * List<UUID> ids = generator.generate(skus);
+ * }</pre>
+ */
+public final class NameBasedUuidGenerator {
+
+    private static final ThreadLocal<Hasher> MD5 = ThreadLocal.withInitial(() -> new Hasher("MD5"));
+    private static final ThreadLocal<Hasher> SHA1 = ThreadLocal.withInitial(() -> new Hasher("SHA-1"));
+
+    private static final int MAX_CACHE_SEGMENTS = 16; // 缓存的最大段数
+    private static final int MAX_RETAINED_INPUT = 4096; // 线程保留的输入缓冲区上限，更长的名称使用临时数组
+
+    private final int version; // 版本，3或5
+    private final UUID namespace; // 名称空间
+    private final Map<String, UUID>[] cache; // 按哈希分段的最近使用的名称，未启用时为null
+
+    private NameBasedUuidGenerator(int version, UUID namespace, int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + cacheSize);
+        }
+        this.version = version;
+        this.namespace = namespace;
+        this.cache = cacheSize == 0 ? null : newCache(cacheSize);
+    }
+
+    /**
+     * 创建分段的LRU缓存，各段容量之和等于缓存大小
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, UUID>[] newCache(int cacheSize) {
+        int segments = Integer.highestOneBit(Math.min(cacheSize, MAX_CACHE_SEGMENTS));
+        Map<String, UUID>[] cache = new Map[segments];
+        for (int i = 0; i < segments; i++) {
+            int capacity = cacheSize / segments + (i < cacheSize % segments ? 1 : 0);
+            cache[i] = Collections.synchronizedMap(new LruCache(capacity));
+        }
+        return cache;
+    }
+
+    /**
+     * 创建使用MD5的UUIDv3生成器
+     *
+     * @param namespace 名称空间
+     * @return 生成器
+     */
+    public static NameBasedUuidGenerator v3(UUID namespace) {
+        return new NameBasedUuidGenerator(3, namespace, 0);
+    }
+
+    /**
+     * 创建使用MD5并缓存最近使用的名称的UUIDv3生成器
+     *
+     * @param namespace 名称空间
+     * @param cacheSize 最多缓存的名称数，0表示不缓存
+     * @return 生成器
+     * @throws IllegalArgumentException 当缓存大小为负数时抛出
+     */
+    public static NameBasedUuidGenerator v3(UUID namespace, int cacheSize) {
+        return new NameBasedUuidGenerator(3, namespace, cacheSize);
+    }
+
+    /**
+     * 创建使用SHA-1的UUIDv5生成器
+     *
+     * @param namespace 名称空间
+     * @return 生成器
+     */
+    public static NameBasedUuidGenerator v5(UUID namespace) {
+        return new NameBasedUuidGenerator(5, namespace, 0);
+    }
+
+    /**
+     * 创建使用SHA-1并缓存最近使用的名称的UUIDv5生成器
+     *
+     * @param namespace 名称空间
+     * @param cacheSize 最多缓存的名称数，0表示不缓存
+     * @return 生成器
+     * @throws IllegalArgumentException 当缓存大小为负数时抛出
+     */
+    public static NameBasedUuidGenerator v5(UUID namespace, int cacheSize) {
+        return new NameBasedUuidGenerator(5, namespace, cacheSize);
+    }
+
+    /**
+     * 生成名称对应的UUID
+     *
+     * @param name 名称
+     * @return UUID，相同的名称空间和名称总是得到相同的UUID
+     */
+    public UUID generate(CharSequence name) {
+        return generate(hasher(), name);
+    }
+
+    /**
+     * 批量生成名称对应的UUID
+     *
+     * @param names 名称
+     * @return 与名称一一对应的UUID
+     */
+    public UUID[] generate(CharSequence[] names) {
+        Hasher hasher = hasher();
+        UUID[] uuids = new UUID[names.length];
+        for (int i = 0; i < names.length; i++) {
+            uuids[i] = generate(hasher, names[i]);
+        }
+        return uuids;
+    }
+
+    /**
+     * 批量生成名称对应的UUID
+     *
+     * @param names 名称
+     * @return 与名称一一对应的UUID
+     */
+    public List<UUID> generate(List<? extends CharSequence> names) {
+        Hasher hasher = hasher();
+        UUID[] uuids = new UUID[names.size()];
+        int i = 0;
+        for (CharSequence name : names) {
+            uuids[i++] = generate(hasher, name);
+        }
+        return Arrays.asList(uuids);
+    }
+
+    public UUID getNamespace() {
+        return namespace;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * 使用当前线程的摘要生成基于名称的UUID，供 {@link UUIDv3Generator} 和 {@link UUIDv5Generator} 使用
+     *
+     * @param version   版本，3或5
+     * @param namespace 名称空间
+     * @param name      名称
+     * @return UUID
+     */
+    static UUID nameUUID(int version, UUID namespace, CharSequence name) {
+        return (version == 3 ? MD5 : SHA1).get().hash(version, namespace, name);
+    }
+
+    private Hasher hasher() {
+        return (version == 3 ? MD5 : SHA1).get();
+    }
+
+    private UUID generate(Hasher hasher, CharSequence name) {
+        if (cache == null) {
+            return hasher.hash(version, namespace, name);
+        }
+        String key = name.toString();
+        int h = key.hashCode();
+        Map<String, UUID> segment = cache[(h ^ h >>> 16) & (cache.length - 1)];
+        UUID uuid = segment.get(key);
+        if (uuid == null) {
+            uuid = hasher.hash(version, namespace, key);
+            segment.put(key, uuid);
+        }
+        return uuid;
+    }
+
+    /**
+     * 线程私有的摘要和缓冲区
+     */
+    private static final class Hasher {
+        private final MessageDigest digest;
+        private final byte[] hash;
+        private byte[] input = new byte[256];
+
+        Hasher(String algorithm) {
+            try {
+                this.digest = MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                // MD5和SHA-1是每个JDK都必须提供的算法
+                throw new IllegalStateException(algorithm + "算法不可用", e);
+            }
+            this.hash = new byte[digest.getDigestLength()];
+        }
+
+        UUID hash(int version, UUID namespace, CharSequence name) {
+            // 每个char最多编码为3个字节（代理对的两个char编码为4个字节）
+            int capacity = 16 + name.length() * 3;
+            byte[] buf = input;
+            if (buf.length < capacity) {
+                buf = new byte[capacity];
+                // 超长的名称只使用临时数组，避免线程长期持有大缓冲区
+                if (capacity <= MAX_RETAINED_INPUT) {
+                    input = buf;
+                }
+            }
+            int length = encode(buf, namespace, name);
+            digest.reset();
+            digest.update(buf, 0, length);
+            try {
+                digest.digest(hash, 0, hash.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+
+            long msb = 0;
+            long lsb = 0;
+            for (int i = 0; i < 8; i++) {
+                msb = (msb << 8) | (hash[i] & 0xff);
+            }
+            for (int i = 8; i < 16; i++) {
+                lsb = (lsb << 8) | (hash[i] & 0xff);
+            }
+            // 设置版本号和RFC 4122变体
+            msb = (msb & 0xFFFFFFFFFFFF0FFFL) | ((long) version << 12);
+            lsb = (lsb & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            return new UUID(msb, lsb);
+        }
+
+        /**
+         * 把名称空间和名称的UTF-8编码写入缓冲区
+         *
+         * @return 写入的字节数
+         */
+        private static int encode(byte[] buf, UUID namespace, CharSequence name) {
+            int length = name.length();
+            long msb = namespace.getMostSignificantBits();
+            long lsb = namespace.getLeastSignificantBits();
+            for (int i = 7; i >= 0; i--, msb >>>= 8, lsb >>>= 8) {
+                buf[i] = (byte) msb;
+                buf[8 + i] = (byte) lsb;
+            }
+
+            int pos = 16;
+            for (int i = 0; i < length; i++) {
+                char c = name.charAt(i);
+                if (c < 0x80) {
+                    buf[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[pos++] = (byte) (0xC0 | c >> 6);
+                    buf[pos++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(name.charAt(i + 1))) {
+                        int cp = Character.toCodePoint(c, name.charAt(++i));
+                        buf[pos++] = (byte) (0xF0 | cp >> 18);
+                        buf[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                        buf[pos++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                        buf[pos++] = (byte) (0x80 | cp & 0x3F);
+                    } else {
+                        // 与String.getBytes(UTF_8)相同，不成对的代理字符编码为'?'
+                        buf[pos++] = '?';
+                    }
+                } else {
+                    buf[pos++] = (byte) (0xE0 | c >> 12);
+                    buf[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buf[pos++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            return pos;
+        }
+    }
+
+    /**
+     * 按访问顺序淘汰的有界缓存
+     */
+    private static final class LruCache extends LinkedHashMap<String, UUID> {
+        private final int maxSize;
+
+        LruCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UUID> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
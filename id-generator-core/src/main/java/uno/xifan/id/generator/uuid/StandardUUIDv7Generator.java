@@ -1,9 +1,53 @@
 package uno.xifan.id.generator.uuid;
 
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
+
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class StandardUUIDv7Generator {
+    // 使用非安全熵源的共享实例
+    private static final StandardUUIDv7Generator DEFAULT = new StandardUUIDv7Generator();
+
+    private final IdClock clock; // 时钟
+    private final EntropySource entropy; // 随机数来源
+
+    /**
+     * 使用非安全的 {@link EntropySource#fast()} 创建生成器
+     */
+    public StandardUUIDv7Generator() {
+        this(EntropySource.fast());
+    }
+
+    /**
+     * 使用指定熵源创建生成器
+     *
+     * @param entropy 熵源
+     */
+    public StandardUUIDv7Generator(EntropySource entropy) {
+        this(IdClock.system(), entropy);
+    }
+
+    /**
+     * 使用指定时钟和熵源创建生成器
+     *
+     * @param clock   时钟
+     * @param entropy 熵源
+     */
+    public StandardUUIDv7Generator(IdClock clock, EntropySource entropy) {
+        this.clock = clock;
+        this.entropy = entropy;
+    }
+
+    /**
+     * 使用共享实例生成UUIDv7
+     *
+     * @return 新生成的UUIDv7实例
+     */
+    public static UUID next() {
+        return DEFAULT.nextUUID();
+    }
+
     /**
      * 生成一个新的UUIDv7
      * <p>
@@ -15,21 +59,21 @@ public class StandardUUIDv7Generator {
      *
      * @return 新生成的UUIDv7实例
      */
-    public static UUID next() {
+    public UUID nextUUID() {
         // 构建最高有效位(MSB)
-        // System.currentTimeMillis() - 获取当前系统时间的毫秒数
+        // clock.currentTimeMillis() - 从时钟获取当前时间的毫秒数
         // << 16 - 将时间戳左移16位，为版本号和随机数留出空间
         // | 0x7000 - 使用按位或操作添加版本号7（0111在二进制中）
-        // ThreadLocalRandom.current().nextInt() - 获取一个线程安全的随机整数
+        // entropy.nextInt() - 从熵源获取一个随机整数
         // & 0xFFF - 使用按位与操作只保留随机数的低12位
-        long msb = System.currentTimeMillis() << 16 | 0x7000 | ThreadLocalRandom.current().nextInt() & 0xFFF;
+        long msb = clock.currentTimeMillis() << 16 | 0x7000 | entropy.nextInt() & 0xFFF;
 
         // 构建最低有效位(LSB)
         // 0x8000000000000000L - 设置变体位为2（RFC 4122规范）
         // | - 使用按位或操作合并变体位和随机数
-        // ThreadLocalRandom.current().nextLong() - 获取一个线程安全的随机长整数
+        // entropy.nextLong() - 从熵源获取一个随机长整数
         // & 0x3FFFFFFFFFFFFFFFL - 使用按位与操作确保不会覆盖变体位，只使用低62位
-        long lsb = 0x8000000000000000L | ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL;
+        long lsb = 0x8000000000000000L | entropy.nextLong() & 0x3FFFFFFFFFFFFFFFL;
 
         // 使用构建好的MSB和LSB创建并返回一个新的UUID实例
         return new UUID(msb, lsb);
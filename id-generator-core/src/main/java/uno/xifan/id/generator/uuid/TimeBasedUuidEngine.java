@@ -0,0 +1,179 @@
+package uno.xifan.id.generator.uuid;
+
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.PaddedAtomicLong;
+
+import java.net.NetworkInterface;
+import java.util.Enumeration;
+
+/**
+ * UUIDv1和UUIDv6共用的无锁时间戳与时钟序列引擎
+ * <p>
+ * 状态是一个long：高58位是自1582-10-15起以100纳秒计的时间戳（可用到2495年），低6位是回拨代数。
+ * 时钟序列由构造时的随机初值加上回拨代数得到，因此时间戳和时钟序列总是通过同一次CAS一起前进：
+ * </p>
+ * <ul>
+ *     <li>时钟前进：使用当前时间戳，时钟序列不变</li>
+ *     <li>时钟未前进（系统时钟通常只有微秒精度）或回退不超过1毫秒：领取上次之后的下一个100纳秒，
+ *     同一个时钟刻度内可以连续生成多个UUID，不需要等待</li>
+ *     <li>时钟回退超过1毫秒：视为真正的回拨，回到当前时间戳并把回拨代数加一，即时钟序列加一</li>
+ * </ul>
+ * <p>
+ * 同一代内时间戳严格递增，不同代的时钟序列不同，64次真正的回拨之后时钟序列才会重复。
+ * </p>
+ */
+final class TimeBasedUuidEngine {
+
+    // 格里高利历偏移量（从 1582-10-15 到 1970-01-01 的 100 纳秒间隔数）
+    private static final long GREGORIAN_OFFSET = 122192928000000000L;
+    private static final long NANOS_PER_TICK = 100;
+
+    private static final int GENERATION_BITS = 6; // 回拨代数的位数
+    private static final long GENERATION_MASK = (1L << GENERATION_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << (64 - GENERATION_BITS)) - 1;
+    private static final long MAX_BORROW_TICKS = 10_000; // 1毫秒，时钟落后更多时视为真正的回拨
+    private static final int CLOCK_SEQUENCE_MASK = 0x3FFF;
+
+    private final IdClock clock; // 时钟
+    private final long node; // 48位节点ID
+    private final int clockSequence; // 时钟序列的初值
+    private final PaddedAtomicLong state; // 打包的（时间戳, 回拨代数）
+
+    private TimeBasedUuidEngine(IdClock clock, long node, int clockSequence, PaddedAtomicLong state) {
+        this.clock = clock;
+        this.node = node;
+        this.clockSequence = clockSequence;
+        this.state = state;
+    }
+
+    /**
+     * 获取使用系统时钟和本机节点ID的共享引擎
+     *
+     * @return 共享引擎
+     */
+    static TimeBasedUuidEngine shared() {
+        return LocalHolder.ENGINE;
+    }
+
+    /**
+     * 获取使用指定时钟和节点ID的引擎
+     * <p>
+     * 节点ID是本机节点ID时，引擎与 {@link #shared()} 共用状态和时钟序列，
+     * 否则同一JVM中的两个引擎会在同一个节点下领取相同的100纳秒，只靠各自随机的时钟序列区分。
+     * 只有显式指定其他节点ID时才使用独立的状态和随机的时钟序列。
+     * </p>
+     *
+     * @param clock 时钟，读取纳秒时间
+     * @param node  48位节点ID
+     * @return 引擎
+     */
+    static TimeBasedUuidEngine forNode(IdClock clock, long node) {
+        node &= 0xFFFFFFFFFFFFL;
+        if (node == localNode()) {
+            TimeBasedUuidEngine shared = shared();
+            return clock == shared.clock ? shared
+                    : new TimeBasedUuidEngine(clock, node, shared.clockSequence, shared.state);
+        }
+        return new TimeBasedUuidEngine(clock, node, randomClockSequence(), new PaddedAtomicLong());
+    }
+
+    /**
+     * 领取下一个状态，用 {@link #timestamp(long)} 和 {@link #clockSequence(long)} 取出各部分
+     *
+     * @return 状态
+     * @throws IllegalStateException 当时间戳超出58位时抛出
+     */
+    long next() {
+        for (;;) {
+            long current = state.get();
+            long last = current >>> GENERATION_BITS;
+            long now = timeGen();
+            long next;
+            if (now > last) {
+                next = now << GENERATION_BITS | (current & GENERATION_MASK);
+            } else if (last - now <= MAX_BORROW_TICKS) {
+                // 时钟未前进或只回退了一点，领取下一个100纳秒
+                next = current + (1L << GENERATION_BITS);
+            } else {
+                // 真正的回拨，回到当前时间戳并更换时钟序列
+                next = now << GENERATION_BITS | ((current + 1) & GENERATION_MASK);
+            }
+            if (state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 获取状态中的60位时间戳，以100纳秒计，自1582-10-15起
+     */
+    static long timestamp(long state) {
+        return state >>> GENERATION_BITS;
+    }
+
+    /**
+     * 获取状态对应的14位时钟序列
+     */
+    int clockSequence(long state) {
+        return (int) (clockSequence + (state & GENERATION_MASK)) & CLOCK_SEQUENCE_MASK;
+    }
+
+    long node() {
+        return node;
+    }
+
+    private long timeGen() {
+        long timestamp = clock.currentTimeNanos() / NANOS_PER_TICK + GREGORIAN_OFFSET;
+        if (timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("Timestamp exceeds " + (64 - GENERATION_BITS) + " bits: " + timestamp);
+        }
+        return timestamp;
+    }
+
+    /**
+     * 获取本机的48位节点ID，只在第一次调用时解析
+     * <p>
+     * 使用第一个有6字节硬件地址的网卡的MAC地址，没有时使用随机数并按RFC 9562设置多播位。
+     * </p>
+     *
+     * @return 节点ID
+     */
+    static long localNode() {
+        return NodeHolder.NODE;
+    }
+
+    private static int randomClockSequence() {
+        return EntropySource.getDefault().nextInt() & CLOCK_SEQUENCE_MASK;
+    }
+
+    private static final class LocalHolder {
+        private static final TimeBasedUuidEngine ENGINE = new TimeBasedUuidEngine(
+                IdClock.system(), localNode(), randomClockSequence(), new PaddedAtomicLong());
+    }
+
+    private static final class NodeHolder {
+        private static final long NODE = resolveNode();
+
+        private static long resolveNode() {
+            try {
+                Enumeration<NetworkInterface> interfaces = NetworkInterface.getNetworkInterfaces();
+                while (interfaces != null && interfaces.hasMoreElements()) {
+                    NetworkInterface nic = interfaces.nextElement();
+                    byte[] mac = nic.isLoopback() ? null : nic.getHardwareAddress();
+                    if (mac != null && mac.length == 6) {
+                        long node = 0;
+                        for (byte b : mac) {
+                            node = (node << 8) | (b & 0xFF);
+                        }
+                        return node;
+                    }
+                }
+            } catch (Exception ignored) {
+                // 忽略异常，使用随机节点
+            }
+            // 随机节点ID需要设置多播位，与真实的MAC地址区分
+            return EntropySource.getDefault().nextLong() & 0xFFFFFFFFFFFFL | 0x010000000000L;
+        }
+    }
+}
@@ -2,14 +2,9 @@ package uno.xifan.id.generator.uuid;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
-
-import java.net.NetworkInterface;
-import java.time.Instant;
-import java.security.SecureRandom;
+import uno.xifan.id.util.IdClock;
 
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * UUIDv1生成器 (基于时间的DCE安全实现)
@@ -31,9 +26,9 @@ import java.util.concurrent.atomic.AtomicLong;
  * 平台兼容性说明：
  * <ul>
  * <li>时间精度基于系统时钟，使用100ns精度的时间戳</li>
- * <li>节点ID优先使用系统MAC地址，无法获取时使用随机值</li>
- * <li>时钟序列使用原子计数器保证并发安全</li>
- * <li>支持时钟回拨场景的处理</li>
+ * <li>节点ID优先使用系统MAC地址，无法获取时使用随机值，只在第一次使用时解析</li>
+ * <li>时间戳和时钟序列由 {@link TimeBasedUuidEngine} 通过一次CAS领取，不加锁</li>
+ * <li>同一时钟刻度内领取后续的100ns，只有真正的时钟回拨才更换时钟序列</li>
  * </ul>
  *
  * @author ixiongdi
@@ -41,89 +36,41 @@ import java.util.concurrent.atomic.AtomicLong;
  * @since 2024-05-01
  */
 public class UUIDv1Generator implements IdGenerator {
-    // 基准时间常量（1582-10-15 00:00:00 UTC到1970-01-01的秒数差）
-    private static final long START_EPOCH_SECONDS = -12219292800L;
-    private static final int NANOS_PER_100NS = 100;
-
-    // 线程安全的状态管理
-    private static volatile long lastTimestamp = 0;
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
-    private static volatile int clockSequence = SECURE_RANDOM.nextInt() & 0x3FFF; // 14位时钟序列
-    private static final long NODE_ID = initializeNodeId();
-    // 移除不再需要的全局锁对象
+    // 使用系统时钟和本机节点ID的共享实例
+    private static final UUIDv1Generator DEFAULT = new UUIDv1Generator();
 
-    /**
-     * 生成UUIDv1主方法
-     */
-    public static synchronized UUID next() {
-        long timestamp = getPreciseTimestamp();
-        int sequence = updateClockSequence(timestamp);
-        return constructUUID(timestamp, sequence, NODE_ID);
-    }
+    private final TimeBasedUuidEngine engine;
 
     /**
-     * 获取精确时间戳（100纳秒单位）
+     * 使用系统时钟和本机节点ID创建生成器，同一JVM中的所有这类实例共用一个引擎
      */
-    private static long getPreciseTimestamp() {
-        Instant now = Instant.now();
-        long seconds = now.getEpochSecond() - START_EPOCH_SECONDS;
-        int nanos = now.getNano();
-        return (seconds * 10_000_000) + (nanos / NANOS_PER_100NS);
+    public UUIDv1Generator() {
+        this.engine = TimeBasedUuidEngine.shared();
     }
 
     /**
-     * 管理时钟序列（处理时间回退）
+     * 使用指定时钟和节点ID创建生成器
+     *
+     * @param clock  时钟，读取纳秒时间
+     * @param nodeId 48位节点ID，是本机节点ID时与默认实例共用时间戳和时钟序列
      */
-    private static synchronized int updateClockSequence(long currentTimestamp) {
-        if (currentTimestamp > lastTimestamp) {
-            lastTimestamp = currentTimestamp;
-            return clockSequence;
-        } else if (currentTimestamp < lastTimestamp) {
-            clockSequence = SECURE_RANDOM.nextInt() & 0x3FFF;
-            return clockSequence;
-        } else {
-            // 时间相同则递增序列
-            clockSequence = (clockSequence + 1) & 0x3FFF;
-            return clockSequence;
-        }
+    public UUIDv1Generator(IdClock clock, long nodeId) {
+        this.engine = TimeBasedUuidEngine.forNode(clock, nodeId);
     }
 
     /**
-     * 初始化节点ID（优先MAC地址，否则随机生成）
+     * 使用共享实例生成UUIDv1
      */
-    private static long initializeNodeId() {
-        byte[] nodeBytes = new byte[6];
-        try {
-            NetworkInterface network = NetworkInterface.getNetworkInterfaces().nextElement();
-            if (network != null) {
-                byte[] mac = network.getHardwareAddress();
-                if (mac != null && mac.length >= 6) {
-                    System.arraycopy(mac, 0, nodeBytes, 0, 6);
-                    nodeBytes[0] |= 0x01; // 设置多播位
-                    return bytesToLong(nodeBytes);
-                }
-            }
-        } catch (Exception ignored) {
-            // 忽略异常，使用随机节点
-        }
-
-        new SecureRandom().nextBytes(nodeBytes);
-        nodeBytes[0] |= 0x01; // 强制设置多播位
-        return bytesToLong(nodeBytes);
+    public static UUID next() {
+        return DEFAULT.nextUUID();
     }
 
     /**
-     * 将6字节数组转换为long（48位有效数据）
+     * 生成UUIDv1
      */
-    private static long bytesToLong(byte[] bytes) {
-        if (bytes.length != 6)
-            throw new IllegalArgumentException("需要6字节数组");
-        return ((bytes[0] & 0xFFL) << 40)
-                | ((bytes[1] & 0xFFL) << 32)
-                | ((bytes[2] & 0xFFL) << 24)
-                | ((bytes[3] & 0xFFL) << 16)
-                | ((bytes[4] & 0xFFL) << 8)
-                | (bytes[5] & 0xFFL);
+    public UUID nextUUID() {
+        long state = engine.next();
+        return constructUUID(TimeBasedUuidEngine.timestamp(state), engine.clockSequence(state), engine.node());
     }
 
     /**
@@ -146,7 +93,7 @@ public class UUIDv1Generator implements IdGenerator {
 
     @Override
     public String generate() {
-        return next().toString();
+        return nextUUID().toString();
     }
 
     @Override
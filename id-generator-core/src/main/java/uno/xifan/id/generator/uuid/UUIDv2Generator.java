@@ -2,9 +2,9 @@ package uno.xifan.id.generator.uuid;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.IdClock;
 
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -33,12 +33,47 @@ import java.util.concurrent.atomic.AtomicLong;
 public class UUIDv2Generator implements IdGenerator {
     // 常量定义
     private static final long TIMESTAMP_EPOCH_OFFSET = 0x01B21DD213814000L;
-    private static final AtomicLong timestampCounter = new AtomicLong();
     private static final byte securityDomain = 0x00;
 
+    // 使用系统时钟的共享实例
+    private static final UUIDv2Generator DEFAULT = new UUIDv2Generator();
+
+    private final AtomicLong timestampCounter = new AtomicLong();
+    private final IdClock clock; // 时钟
+
+    /**
+     * 使用系统时钟创建生成器
+     */
+    public UUIDv2Generator() {
+        this(IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟创建生成器
+     *
+     * @param clock 时钟
+     */
+    public UUIDv2Generator(IdClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * 使用共享实例生成UUIDv2
+     *
+     * @return UUIDv2
+     */
     public static UUID next() {
+        return DEFAULT.nextUUID();
+    }
+
+    /**
+     * 生成UUIDv2
+     *
+     * @return UUIDv2
+     */
+    public UUID nextUUID() {
         // 时间戳处理（60ns精度，基于1582纪元的AtomicLong计数器）
-        long timestamp = (System.currentTimeMillis() * 10_000 + TIMESTAMP_EPOCH_OFFSET) & 0x0FFFFFFFL;
+        long timestamp = (clock.currentTimeMillis() * 10_000 + TIMESTAMP_EPOCH_OFFSET) & 0x0FFFFFFFL;
 
         // 处理时间回拨并获取序列号
         long sequence = timestampCounter.updateAndGet(prev -> timestamp > prev ? timestamp : prev + 1);
@@ -67,7 +102,7 @@ public class UUIDv2Generator implements IdGenerator {
 
     @Override
     public Object generate() {
-        return next().toString();
+        return nextUUID().toString();
     }
 
     @Override
@@ -2,15 +2,16 @@ package uno.xifan.id.generator.uuid;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.EntropySource;
 
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * UUIDv4生成器
  * <p>
  * 该类用于生成符合UUIDv4规范的UUID。UUIDv4是一种基于随机数的UUID版本，
  * 它使用随机或伪随机数据生成UUID，提供了高度的唯一性保证，但不包含时间信息。
+ * 默认使用非安全的 {@link EntropySource#fast()}，需要不可预测的UUID时传入安全的熵源。
  * </p>
  * 
  * @author ixiongdi
@@ -26,6 +27,37 @@ public class UUIDv4Generator implements IdGenerator {
     /** UUID 变体 2 的标识符（RFC 4122规范） */
     private static final long VARIANT_IDENTIFIER = 0x8000000000000000L;
 
+    /** 使用默认熵源的共享实例 */
+    private static final UUIDv4Generator DEFAULT = new UUIDv4Generator();
+
+    /** 随机数来源 */
+    private final EntropySource entropy;
+
+    /**
+     * 使用非安全的 {@link EntropySource#fast()} 创建生成器
+     */
+    public UUIDv4Generator() {
+        this(EntropySource.fast());
+    }
+
+    /**
+     * 使用指定熵源创建生成器
+     *
+     * @param entropy 熵源
+     */
+    public UUIDv4Generator(EntropySource entropy) {
+        this.entropy = entropy;
+    }
+
+    /**
+     * 使用默认熵源生成一个新的UUIDv4
+     *
+     * @return 新生成的UUIDv4实例
+     */
+    public static UUID next() {
+        return DEFAULT.nextUUID();
+    }
+
     /**
      * 生成一个新的UUIDv4
      * <p>
@@ -37,13 +69,10 @@ public class UUIDv4Generator implements IdGenerator {
      *
      * @return 新生成的UUIDv4实例
      */
-    public static UUID next() {
-        // 获取随机数生成器
-        ThreadLocalRandom random = ThreadLocalRandom.current();
-
+    public UUID nextUUID() {
         // 生成两个随机长整型数
-        long msb = random.nextLong();
-        long lsb = random.nextLong();
+        long msb = entropy.nextLong();
+        long lsb = entropy.nextLong();
 
         // 设置版本号（版本4）
         // 清除版本位（第49-52位）并设置为版本4
@@ -59,7 +88,7 @@ public class UUIDv4Generator implements IdGenerator {
 
     @Override
     public Object generate() {
-        return next().toString();
+        return nextUUID().toString();
     }
 
     @Override
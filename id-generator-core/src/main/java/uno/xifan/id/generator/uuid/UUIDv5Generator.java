@@ -1,8 +1,5 @@
 package uno.xifan.id.generator.uuid;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.UUID;
 
 /**
@@ -55,46 +52,8 @@ public class UUIDv5Generator {
      * @throws RuntimeException 如果SHA-1算法不可用
      */
     public static UUID fromNamespaceAndName(UUID namespace, String name) {
-        try {
-            // 创建SHA-1消息摘要实例
-            MessageDigest sha1Digest = MessageDigest.getInstance("SHA-1");
-
-            // 将名称空间UUID转换为字节数组并更新摘要
-            sha1Digest.update(uuidToBytes(namespace));
-
-            // 将名称字符串转换为UTF-8字节数组并更新摘要
-            sha1Digest.update(name.getBytes(StandardCharsets.UTF_8));
-
-            // 计算哈希值
-            byte[] hash = sha1Digest.digest();
-
-            // 设置版本号（版本5）
-            hash[6] &= 0x0f; // 清除版本位
-            hash[6] |= (VERSION_IDENTIFIER << 4); // 设置版本位为5
-
-            // 设置变体（RFC 4122变体）
-            hash[8] &= 0x3f; // 清除变体位
-            hash[8] |= 0x80; // 设置变体位
-
-            // 从哈希中提取最高有效位和最低有效位
-            long msb = 0;
-            long lsb = 0;
-
-            // 构建最高有效位(MSB)，使用哈希的前8个字节
-            for (int i = 0; i < 8; i++) {
-                msb = (msb << 8) | (hash[i] & 0xff);
-            }
-
-            // 构建最低有效位(LSB)，使用哈希的后8个字节
-            for (int i = 8; i < 16; i++) {
-                lsb = (lsb << 8) | (hash[i] & 0xff);
-            }
-
-            // 使用构建好的MSB和LSB创建并返回一个新的UUID实例
-            return new UUID(msb, lsb);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-1算法不可用", e);
-        }
+        // 复用当前线程的摘要和缓冲区，批量生成请使用 NameBasedUuidGenerator
+        return NameBasedUuidGenerator.nameUUID(VERSION_IDENTIFIER, namespace, name);
     }
 
     /**
@@ -136,30 +95,4 @@ public class UUIDv5Generator {
     public static UUID fromX500(String name) {
         return fromNamespaceAndName(NAMESPACE_X500, name);
     }
-
-    /**
-     * 将UUID转换为字节数组
-     *
-     * @param uuid 要转换的UUID
-     * @return 表示UUID的16字节数组
-     */
-    private static byte[] uuidToBytes(UUID uuid) {
-        byte[] bytes = new byte[16];
-        long msb = uuid.getMostSignificantBits();
-        long lsb = uuid.getLeastSignificantBits();
-
-        // 将最高有效位转换为前8个字节
-        for (int i = 7; i >= 0; i--) {
-            bytes[i] = (byte) (msb & 0xff);
-            msb >>>= 8;
-        }
-
-        // 将最低有效位转换为后8个字节
-        for (int i = 15; i >= 8; i--) {
-            bytes[i] = (byte) (lsb & 0xff);
-            lsb >>>= 8;
-        }
-
-        return bytes;
-    }
 }
\ No newline at end of file
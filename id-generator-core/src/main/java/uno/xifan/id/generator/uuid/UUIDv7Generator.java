@@ -27,10 +27,10 @@ package uno.xifan.id.generator.uuid;
 // 导入Java标准库中的UUID类，用于创建和操作UUID
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
 
-import java.security.SecureRandom;
 import java.util.UUID;
-// 导入Java并发包中的ThreadLocalRandom类，用于生成线程安全的随机数
 
 /**
  * UUIDv7生成器
@@ -42,8 +42,8 @@ import java.util.UUID;
  * @since 2024-05-01 &#064;copyright (c) 2025 ixiongdi. All rights reserved.
  */
 public class UUIDv7Generator implements IdGenerator {
-    // 使用加密级强随机数生成器
-    private static final SecureRandom random = new SecureRandom();
+    // 使用默认熵源的共享实例
+    private static final UUIDv7Generator DEFAULT = new UUIDv7Generator();
 
     // 高位随机数掩码: 0x000000000000000FFF (12位掩码)
     private static final long HIGH_PART_RANDOM_MASK = (1L << 12) - 1;
@@ -57,17 +57,59 @@ public class UUIDv7Generator implements IdGenerator {
     // 变体标识位: RFC变体对应的位模式 (0x8000000000000000)
     private static final long VARIANT = 0b10L << 62;
 
+    // 时钟
+    private final IdClock clock;
+
+    // 随机数来源
+    private final EntropySource entropy;
+
     /**
-     * 生成UUIDv7对象
+     * 使用默认熵源创建生成器
+     */
+    public UUIDv7Generator() {
+        this(EntropySource.getDefault());
+    }
+
+    /**
+     * 使用指定熵源创建生成器
+     *
+     * @param entropy 熵源
+     */
+    public UUIDv7Generator(EntropySource entropy) {
+        this(IdClock.system(), entropy);
+    }
+
+    /**
+     * 使用指定时钟和熵源创建生成器
+     *
+     * @param clock   时钟
+     * @param entropy 熵源
+     */
+    public UUIDv7Generator(IdClock clock, EntropySource entropy) {
+        this.clock = clock;
+        this.entropy = entropy;
+    }
+
+    /**
+     * 使用默认熵源生成UUIDv7对象
      *
      * @return 符合RFC 4122标准的UUIDv7对象
      */
     public static UUID next() {
+        return DEFAULT.nextUUID();
+    }
+
+    /**
+     * 生成UUIDv7对象
+     *
+     * @return 符合RFC 4122标准的UUIDv7对象
+     */
+    public UUID nextUUID() {
         // 时间戳部分: 48位毫秒级时间戳左移16位
-        long timestampPart = System.currentTimeMillis() << 16;
+        long timestampPart = clock.currentTimeMillis() << 16;
 
         // 高位随机数部分: 截取长整型随机数的低12位
-        long highRandomPart = random.nextLong() & HIGH_PART_RANDOM_MASK;
+        long highRandomPart = entropy.nextLong() & HIGH_PART_RANDOM_MASK;
 
         // 高位组合: 时间戳 | 版本标识 | 高位随机数
         long msb =
@@ -76,7 +118,7 @@ public class UUIDv7Generator implements IdGenerator {
                         | highRandomPart; // 填充12位随机数
 
         // 低位随机数部分: 截取长整型随机数的低62位
-        long lowRandomPart = random.nextLong() & LOW_PART_RANDOM_MASK;
+        long lowRandomPart = entropy.nextLong() & LOW_PART_RANDOM_MASK;
 
         // 低位组合: 变体标识 | 低位随机数
         long lsb = VARIANT | lowRandomPart; // 设置变体位(2位)
@@ -86,7 +128,7 @@ public class UUIDv7Generator implements IdGenerator {
 
     @Override
     public String generate() {
-        return next().toString();
+        return nextUUID().toString();
     }
 
     @Override
@@ -2,9 +2,10 @@ package uno.xifan.id.generator.uuid;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
 
 import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 一个高性能的自定义 UUID v8 生成器。 该类通过结合时间戳、线程本地序列和随机数生成 UUID，确保高效性和唯一性。
@@ -33,24 +34,69 @@ public class UUIDv8Generator implements IdGenerator {
     private static final ThreadLocal<ThreadLocalSequence> threadLocalTimestampSeq =
             ThreadLocal.withInitial(ThreadLocalSequence::new);
 
+    // 使用非安全熵源的共享实例
+    private static final UUIDv8Generator DEFAULT = new UUIDv8Generator();
+
+    // 时钟
+    private final IdClock clock;
+
+    // 随机数来源
+    private final EntropySource entropy;
+
     /**
-     * 生成一个自定义的 UUID v8。 该方法使用当前时间戳、线程本地序列和随机数构建 UUID。
+     * 使用非安全的 {@link EntropySource#fast()} 创建生成器
+     */
+    public UUIDv8Generator() {
+        this(EntropySource.fast());
+    }
+
+    /**
+     * 使用指定熵源创建生成器
+     *
+     * @param entropy 熵源
+     */
+    public UUIDv8Generator(EntropySource entropy) {
+        this(IdClock.system(), entropy);
+    }
+
+    /**
+     * 使用指定时钟和熵源创建生成器
+     *
+     * @param clock   时钟
+     * @param entropy 熵源
+     */
+    public UUIDv8Generator(IdClock clock, EntropySource entropy) {
+        this.clock = clock;
+        this.entropy = entropy;
+    }
+
+    /**
+     * 使用共享实例生成自定义的 UUID v8。
      *
      * @return 一个新的自定义 UUID v8
      */
     public static UUID next() {
+        return DEFAULT.nextUUID();
+    }
+
+    /**
+     * 生成一个自定义的 UUID v8。 该方法使用当前时间戳、线程本地序列和随机数构建 UUID。
+     *
+     * @return 一个新的自定义 UUID v8
+     */
+    public UUID nextUUID() {
         ThreadLocalSequence seq = threadLocalTimestampSeq.get();
-        long timestamp = System.currentTimeMillis() & TIMESTAMP_MASK;
+        long timestamp = clock.currentTimeMillis() & TIMESTAMP_MASK;
         long sequence = seq.sequence++ & 0x3FFF;
         long mostSigBits = (timestamp << 16) | VERSION_IDENTIFIER | (sequence & SEQUENCE_MASK);
         long leastSigBits =
-                VARIANT_IDENTIFIER | (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL);
+                VARIANT_IDENTIFIER | (entropy.nextLong() & 0x3FFFFFFFFFFFFFFFL);
         return new java.util.UUID(mostSigBits, leastSigBits);
     }
 
     @Override
     public String generate() {
-        return next().toString();
+        return nextUUID().toString();
     }
 
     @Override
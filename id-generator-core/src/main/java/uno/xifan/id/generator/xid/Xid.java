@@ -13,6 +13,8 @@
 
 package uno.xifan.id.generator.xid;
 
+import uno.xifan.id.util.AsciiUtils;
+
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.Date;
@@ -412,7 +414,8 @@ public final class Xid implements Comparable<Xid> {
         int digit = 0;
         int currByte;
         int nextByte;
-        StringBuilder base32 = new StringBuilder((bytes.length + 7) * 8 / 5);
+        byte[] base32 = AsciiUtils.buffer((bytes.length * 8 + 4) / 5);
+        int length = 0;
 
         while (i < bytes.length) {
             currByte = (bytes[i] >= 0) ? bytes[i] : (bytes[i] + 256); // unsigned
@@ -436,10 +439,10 @@ public final class Xid implements Comparable<Xid> {
                     i++;
                 }
             }
-            base32.append(BASE32_HEX_CHARS[digit]);
+            base32[length++] = (byte) BASE32_HEX_CHARS[digit];
         }
 
-        return base32.toString();
+        return AsciiUtils.newString(base32, 0, length);
     }
 
     /**
@@ -2,11 +2,33 @@ package uno.xifan.id.generator.xid;
 
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.IdClock;
+
+import java.util.Date;
 
 public class XidGenerator implements IdGenerator {
+
+    private final IdClock clock; // 时钟
+
+    /**
+     * 使用系统时钟创建生成器
+     */
+    public XidGenerator() {
+        this(IdClock.system());
+    }
+
+    /**
+     * 使用指定时钟创建生成器，Xid的秒级时间戳取自该时钟
+     *
+     * @param clock 时钟
+     */
+    public XidGenerator(IdClock clock) {
+        this.clock = clock;
+    }
+
     @Override
     public String generate() {
-        return Xid.string();
+        return new Xid(new Date(clock.currentTimeMillis())).toHexString();
     }
 
     @Override
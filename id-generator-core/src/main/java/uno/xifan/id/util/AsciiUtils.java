@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+/**
+ * ASCII字符串构建工具
+ * <p>
+ * ID的文本形式都是ASCII字符。编码器先把结果以字节写入线程本地缓冲区，再通过{@link #newString(byte[], int, int)}
+ * 创建字符串：在开启压缩字符串的JDK 9+上直接复制为Latin-1存储，只复制一次；在JDK 8上逐字节扩展为char，
+ * 也不会经过字符集解码器。相比先填充{@code char[]}再由JDK压缩回Latin-1，每个ID处理的字节数减半。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class AsciiUtils {
+
+    /** 可缓存的最大缓冲区长度 */
+    private static final int MAX_CACHED_LENGTH = 1024;
+
+    private static final ThreadLocal<byte[][]> BUFFER = ThreadLocal.withInitial(() -> new byte[][]{new byte[64]});
+
+    private AsciiUtils() {
+    }
+
+    /**
+     * 获取当前线程的ASCII输出缓冲区
+     * <p>
+     * 缓冲区在下一次调用前有效，调用方应在同一方法内写入并通过{@link #newString(byte[], int, int)}取出结果，
+     * 不要跨方法持有。超过上限的请求直接分配新数组，不会被缓存。
+     * </p>
+     *
+     * @param length 最小长度
+     * @return 缓冲区
+     */
+    public static byte[] buffer(int length) {
+        byte[][] holder = BUFFER.get();
+        if (holder[0].length < length) {
+            if (length > MAX_CACHED_LENGTH) {
+                return new byte[length];
+            }
+            holder[0] = new byte[length];
+        }
+        return holder[0];
+    }
+
+    /**
+     * 用ASCII字节创建字符串
+     *
+     * @param ascii 只包含ASCII字符的字节数组
+     * @param off   起始下标
+     * @param len   字符数
+     * @return 字符串
+     */
+    @SuppressWarnings("deprecation")
+    public static String newString(byte[] ascii, int off, int len) {
+        // hibyte为0时，JDK 9+直接以Latin-1存储，JDK 8逐字节扩展，都不经过字符集解码
+        return new String(ascii, 0, off, len);
+    }
+
+    /**
+     * 用ASCII字节创建字符串
+     *
+     * @param ascii 只包含ASCII字符的字节数组
+     * @return 字符串
+     */
+    public static String newString(byte[] ascii) {
+        return newString(ascii, 0, ascii.length);
+    }
+}
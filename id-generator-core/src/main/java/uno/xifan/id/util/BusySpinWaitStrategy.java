@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * 自旋等待策略
+ * <p>
+ * 每次空闲调用一次{@code Thread.onSpinWait()}，在x86上编译为PAUSE指令，降低自旋时的功耗并减少对同核超线程的干扰。
+ * 该方法从JDK 9开始提供，这里通过{@link MethodHandle}查找，JDK 8上退化为空循环。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class BusySpinWaitStrategy implements WaitStrategy {
+
+    static final BusySpinWaitStrategy INSTANCE = new BusySpinWaitStrategy();
+
+    private static final MethodHandle ON_SPIN_WAIT = findOnSpinWait();
+
+    private BusySpinWaitStrategy() {
+    }
+
+    @Override
+    public void idle(int attempts) {
+        onSpinWait();
+    }
+
+    /**
+     * 提示处理器当前处于自旋等待
+     */
+    static void onSpinWait() {
+        if (ON_SPIN_WAIT != null) {
+            try {
+                ON_SPIN_WAIT.invokeExact();
+            } catch (Throwable ignored) {
+                // onSpinWait不会抛出异常
+            }
+        }
+    }
+
+    private static MethodHandle findOnSpinWait() {
+        try {
+            return MethodHandles.lookup().findStatic(Thread.class, "onSpinWait", MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 由后台线程定时刷新的缓存时钟
+ * <p>
+ * 刷新线程是守护线程，每个周期读取一次系统时钟并写入volatile字段，生成器读取时间只是一次内存读取，
+ * 多核高并发时不再在热路径上调用系统时钟。代价是读到的时间最多落后一个刷新周期加上线程调度延迟，
+ * 纳秒时间也只有毫秒精度。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class CachedIdClock implements IdClock, AutoCloseable {
+
+    private volatile long millis = System.currentTimeMillis();
+    private volatile boolean running = true;
+    private final Thread ticker;
+    private final boolean shared; // 共享实例不能关闭
+
+    /**
+     * 创建缓存时钟并启动刷新线程
+     *
+     * @param period 刷新周期
+     * @param unit   周期单位
+     * @throws IllegalArgumentException 当周期不为正数时抛出
+     */
+    public CachedIdClock(long period, TimeUnit unit) {
+        this(period, unit, false);
+    }
+
+    private CachedIdClock(long period, TimeUnit unit, boolean shared) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Tick period must be positive: " + period);
+        }
+        long periodNanos = unit.toNanos(period);
+        ticker = new Thread(() -> {
+            while (running) {
+                millis = System.currentTimeMillis();
+                LockSupport.parkNanos(periodNanos);
+            }
+        }, "id-clock-ticker");
+        ticker.setDaemon(true);
+        ticker.start();
+        this.shared = shared;
+    }
+
+    /**
+     * 获取每毫秒刷新一次的共享实例
+     * <p>
+     * 共享实例由所有使用者共用，只以 {@link IdClock} 暴露，不能关闭。
+     * </p>
+     *
+     * @return 缓存时钟
+     */
+    public static IdClock getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return millis;
+    }
+
+    @Override
+    public long currentTimeNanos() {
+        return millis * 1_000_000L;
+    }
+
+    /**
+     * 停止刷新线程，之后读取到的时间不再变化
+     *
+     * @throws UnsupportedOperationException 当关闭共享实例时抛出
+     */
+    @Override
+    public void close() {
+        if (shared) {
+            throw new UnsupportedOperationException("The shared cached clock cannot be closed");
+        }
+        running = false;
+        LockSupport.unpark(ticker);
+    }
+
+    private static final class Holder {
+        private static final CachedIdClock INSTANCE = new CachedIdClock(1, TimeUnit.MILLISECONDS, true);
+    }
+}
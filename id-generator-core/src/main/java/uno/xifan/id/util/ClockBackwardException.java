@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+/**
+ * 时钟回拨且策略拒绝生成ID时抛出的异常
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public class ClockBackwardException extends RuntimeException {
+
+    private final long backward;
+
+    /**
+     * 创建异常
+     *
+     * @param backward 回拨量，单位与生成器的时间戳一致
+     */
+    public ClockBackwardException(long backward) {
+        this(backward, "Clock moved backwards. Refusing to generate id for " + backward + " milliseconds");
+    }
+
+    /**
+     * 使用自定义消息创建异常
+     *
+     * @param backward 回拨量，单位与生成器的时间戳一致
+     * @param message  异常消息
+     */
+    public ClockBackwardException(long backward, String message) {
+        super(message);
+        this.backward = backward;
+    }
+
+    /**
+     * 获取回拨量
+     *
+     * @return 回拨量
+     */
+    public long getBackward() {
+        return backward;
+    }
+}
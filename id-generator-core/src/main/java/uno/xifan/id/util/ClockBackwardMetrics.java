@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 时钟回拨处理指标
+ * <p>
+ * 记录回拨次数、最大回拨量以及每种处理方式的次数，可以定期读取后上报到监控系统。
+ * 所有方法都是线程安全的，计数使用{@link LongAdder}。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class ClockBackwardMetrics {
+
+    private final LongAdder events = new LongAdder();
+    private final AtomicLong maxBackward = new AtomicLong();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitedNanos = new LongAdder();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder standbySwitches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * 记录一次回拨
+     *
+     * @param backward 回拨量
+     */
+    public void recordBackward(long backward) {
+        events.increment();
+        long max;
+        while (backward > (max = maxBackward.get()) && !maxBackward.compareAndSet(max, backward)) {
+            // 重试
+        }
+    }
+
+    /**
+     * 记录一次等待时钟追上
+     *
+     * @param nanos 等待耗时（纳秒）
+     */
+    public void recordWait(long nanos) {
+        waits.increment();
+        waitedNanos.add(nanos);
+    }
+
+    /**
+     * 记录一次沿用上次时间戳
+     */
+    public void recordBorrow() {
+        borrows.increment();
+    }
+
+    /**
+     * 记录一次切换到备用工作节点
+     */
+    public void recordStandbySwitch() {
+        standbySwitches.increment();
+    }
+
+    /**
+     * 记录一次拒绝生成
+     */
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * @return 回拨次数
+     */
+    public long getEvents() {
+        return events.sum();
+    }
+
+    /**
+     * @return 最大回拨量
+     */
+    public long getMaxBackward() {
+        return maxBackward.get();
+    }
+
+    /**
+     * @return 等待次数
+     */
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    /**
+     * @return 累计等待时间（纳秒）
+     */
+    public long getWaitedNanos() {
+        return waitedNanos.sum();
+    }
+
+    /**
+     * @return 沿用上次时间戳的次数
+     */
+    public long getBorrows() {
+        return borrows.sum();
+    }
+
+    /**
+     * @return 切换到备用工作节点的次数
+     */
+    public long getStandbySwitches() {
+        return standbySwitches.sum();
+    }
+
+    /**
+     * @return 拒绝生成的次数
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ClockBackwardMetrics{events=" + getEvents() + ", maxBackward=" + getMaxBackward()
+                + ", waits=" + getWaits() + ", waitedNanos=" + getWaitedNanos() + ", borrows=" + getBorrows()
+                + ", standbySwitches=" + getStandbySwitches() + ", failures=" + getFailures() + '}';
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 时钟回拨策略
+ * <p>
+ * 基于时间的生成器读到的时间小于上次使用的时间戳时（NTP校正、虚拟机迁移等），不再直接抛出异常，
+ * 而是交给构造时传入的策略决定如何继续：
+ * </p>
+ * <ul>
+ *     <li>{@link #failFast()}：立即抛出{@link ClockBackwardException}，也是各生成器的默认值</li>
+ *     <li>{@link #boundedWait(long, TimeUnit)}：回拨量不超过上限时等待时钟追上，超过上限时交给降级策略</li>
+ *     <li>{@link #borrow()}：沿用上次的时间戳作为逻辑时钟继续生成，序列号用尽时逻辑时间加一</li>
+ *     <li>{@link #standbyWorker(long, ClockBackwardPolicy)}：切换到预留的备用工作节点ID，按回拨后的时间继续生成</li>
+ * </ul>
+ * <p>
+ * 时间戳的单位和纪元由生成器决定，目前都是毫秒。策略只在发生回拨时执行，不影响正常路径的开销；
+ * 无锁生成器会在多个线程中同时调用，实现需要线程安全。内置策略都会把处理结果记录到{@link #metrics()}，
+ * 工厂方法每次返回新实例，每个生成器应使用独立的策略实例，指标才能按生成器区分。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public interface ClockBackwardPolicy {
+
+    /**
+     * 处理一次时钟回拨
+     *
+     * @param lastTimestamp    生成器需要的最小时间戳，通常是上次使用的时间戳
+     * @param currentTimestamp 当前读到的时间戳，小于 {@code lastTimestamp}
+     * @param timeSource       生成器的时间源，与时间戳的单位和纪元一致，用于等待时重新读取
+     * @return 继续生成使用的时间戳：不小于 {@code lastTimestamp} 时沿用当前工作节点；
+     * 小于 {@code lastTimestamp} 时表示改用 {@link #standbyWorkerId()} 并以该时间戳继续
+     * @throws ClockBackwardException 拒绝生成时抛出
+     */
+    long onClockBackward(long lastTimestamp, long currentTimestamp, LongSupplier timeSource);
+
+    /**
+     * 回拨期间使用的备用工作节点ID
+     *
+     * @return 备用工作节点ID，-1表示没有
+     */
+    default long standbyWorkerId() {
+        return -1L;
+    }
+
+    /**
+     * 获取策略的处理指标
+     *
+     * @return 指标
+     */
+    ClockBackwardMetrics metrics();
+
+    /**
+     * 发生回拨时立即拒绝生成
+     *
+     * @return 新的策略实例
+     */
+    static ClockBackwardPolicy failFast() {
+        return new FailFastClockBackwardPolicy();
+    }
+
+    /**
+     * 回拨量不超过上限时等待时钟追上，否则立即拒绝生成
+     *
+     * @param maxWait 最长等待时间
+     * @param unit    时间单位
+     * @return 新的策略实例
+     */
+    static ClockBackwardPolicy boundedWait(long maxWait, TimeUnit unit) {
+        return new WaitingClockBackwardPolicy(maxWait, unit, failFast());
+    }
+
+    /**
+     * 回拨量不超过上限时等待时钟追上，否则交给降级策略
+     *
+     * @param maxWait  最长等待时间
+     * @param unit     时间单位
+     * @param fallback 降级策略
+     * @return 新的策略实例
+     */
+    static ClockBackwardPolicy boundedWait(long maxWait, TimeUnit unit, ClockBackwardPolicy fallback) {
+        return new WaitingClockBackwardPolicy(maxWait, unit, fallback);
+    }
+
+    /**
+     * 沿用上次的时间戳继续生成
+     *
+     * @return 新的策略实例
+     */
+    static ClockBackwardPolicy borrow() {
+        return new BorrowingClockBackwardPolicy();
+    }
+
+    /**
+     * 回拨时切换到备用工作节点ID，备用ID不可用时交给降级策略
+     *
+     * @param standbyWorkerId 预留的备用工作节点ID，不能分配给其他节点
+     * @param fallback        降级策略
+     * @return 新的策略实例
+     */
+    static ClockBackwardPolicy standbyWorker(long standbyWorkerId, ClockBackwardPolicy fallback) {
+        return new StandbyWorkerClockBackwardPolicy(standbyWorkerId, fallback);
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 为含随机部分的ID提供随机数的熵源
+ * <p>
+ * 多个线程共用一个 {@link SecureRandom} 时，每次取随机数都要竞争提供者内部的锁，线程一多生成就被串行化。
+ * 熵源让每个线程持有自己的 {@link SecureRandom} 实例和一块缓冲区：缓冲区用完时一次性填满一整块（默认8KB），
+ * 之后取随机数只是从线程私有的数组里读取，线程之间没有任何共享状态。
+ * 每个线程产出的字节数达到重新播种间隔（默认1MB）后，丢弃旧实例并新建一个，由JDK从系统熵源重新播种。
+ * </p>
+ * <ul>
+ *     <li>{@link #getDefault()}：DRBG（JDK 9+），不可用时使用JDK默认的 {@link SecureRandom}</li>
+ *     <li>{@link #secure(String)}：指定算法，例如 {@link #DRBG}、{@link #NATIVE_PRNG_NON_BLOCKING}</li>
+ *     <li>{@link #fast()}：{@link ThreadLocalRandom}，不可用于安全场景，只需要唯一性时最快</li>
+ * </ul>
+ * <p>
+ * 缓冲区按线程分配，使用大量虚拟线程时每个虚拟线程都会持有一块，此时应选择较小的缓冲区。
+ * 缓冲区中尚未取走的随机字节会留在内存中，直到被下一次填充覆盖。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class EntropySource {
+
+    /**
+     * NIST SP 800-90A 确定性随机比特生成器，JDK 9 起提供
+     */
+    public static final String DRBG = "DRBG";
+
+    /**
+     * 读取 /dev/urandom 的本地实现，类Unix系统提供，不会阻塞
+     */
+    public static final String NATIVE_PRNG_NON_BLOCKING = "NativePRNGNonBlocking";
+
+    /**
+     * 默认缓冲区大小（字节）
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 8192;
+
+    /**
+     * 默认重新播种间隔（字节）
+     */
+    public static final long DEFAULT_RESEED_INTERVAL = 1L << 20;
+
+    private static final int MIN_BLOCK_SIZE = 64;
+
+    private final String algorithm; // SecureRandom算法，null表示JDK默认算法
+    private final boolean secure; // false时使用ThreadLocalRandom
+    private final int blockSize; // 每个线程缓冲区的大小
+    private final long reseedInterval; // 每个线程产出多少字节后重新播种
+    private final ThreadLocal<Block> blocks; // 线程私有的缓冲区
+
+    private EntropySource(String algorithm, boolean secure, int blockSize, long reseedInterval) {
+        this.algorithm = algorithm;
+        this.secure = secure;
+        this.blockSize = blockSize;
+        this.reseedInterval = reseedInterval;
+        this.blocks = secure ? ThreadLocal.withInitial(Block::new) : null;
+    }
+
+    /**
+     * 获取共享的默认熵源：DRBG，不可用时使用JDK默认的 {@link SecureRandom}
+     *
+     * @return 默认熵源
+     */
+    public static EntropySource getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * 获取共享的非安全熵源，直接使用 {@link ThreadLocalRandom}
+     *
+     * @return 非安全熵源
+     */
+    public static EntropySource fast() {
+        return Holder.FAST;
+    }
+
+    /**
+     * 使用指定算法、默认缓冲区大小和重新播种间隔创建熵源
+     *
+     * @param algorithm {@link SecureRandom} 算法名
+     * @return 熵源
+     * @throws IllegalArgumentException 当算法不可用时抛出
+     */
+    public static EntropySource secure(String algorithm) {
+        return secure(algorithm, DEFAULT_BLOCK_SIZE, DEFAULT_RESEED_INTERVAL);
+    }
+
+    /**
+     * 使用指定算法、缓冲区大小和重新播种间隔创建熵源
+     *
+     * @param algorithm      {@link SecureRandom} 算法名
+     * @param blockSize      每个线程缓冲区的字节数，不小于64
+     * @param reseedInterval 每个线程产出多少字节后重新播种
+     * @return 熵源
+     * @throws IllegalArgumentException 当算法不可用、缓冲区小于64字节或重新播种间隔不为正数时抛出
+     */
+    public static EntropySource secure(String algorithm, int blockSize, long reseedInterval) {
+        if (blockSize < MIN_BLOCK_SIZE || reseedInterval <= 0) {
+            throw new IllegalArgumentException("Invalid entropy source: blockSize=" + blockSize
+                    + ", reseedInterval=" + reseedInterval);
+        }
+        if (!isAvailable(algorithm)) {
+            throw new IllegalArgumentException("SecureRandom algorithm not available: " + algorithm);
+        }
+        return new EntropySource(algorithm, true, blockSize, reseedInterval);
+    }
+
+    /**
+     * 按名称获取熵源，便于从配置中读取
+     *
+     * @param name default、drbg、native-non-blocking 或 fast，不区分大小写
+     * @return 熵源
+     * @throws IllegalArgumentException 当名称未知或对应的算法不可用时抛出
+     */
+    public static EntropySource of(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "default":
+                return getDefault();
+            case "drbg":
+                return secure(DRBG);
+            case "native-non-blocking":
+                return secure(NATIVE_PRNG_NON_BLOCKING);
+            case "fast":
+                return fast();
+            default:
+                throw new IllegalArgumentException("Unknown entropy source: " + name);
+        }
+    }
+
+    /**
+     * 取64个随机比特
+     *
+     * @return 随机数
+     */
+    public long nextLong() {
+        return secure ? blocks.get().nextLong() : ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * 取32个随机比特
+     *
+     * @return 随机数
+     */
+    public int nextInt() {
+        return secure ? blocks.get().nextInt() : ThreadLocalRandom.current().nextInt();
+    }
+
+    /**
+     * 用随机字节填满数组
+     *
+     * @param bytes 目标数组
+     */
+    public void nextBytes(byte[] bytes) {
+        nextBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 用随机字节填充数组的一段
+     *
+     * @param bytes 目标数组
+     * @param off   起始下标
+     * @param len   字节数
+     */
+    public void nextBytes(byte[] bytes, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, bytes.length);
+        if (secure) {
+            blocks.get().nextBytes(bytes, off, len);
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int end = off + len;
+        while (off < end) {
+            long r = random.nextLong();
+            for (int k = Math.min(8, end - off); k > 0; k--, r >>>= 8) {
+                bytes[off++] = (byte) r;
+            }
+        }
+    }
+
+    public boolean isSecure() {
+        return secure;
+    }
+
+    /**
+     * 获取 {@link SecureRandom} 算法名
+     *
+     * @return 算法名，JDK默认算法或非安全熵源时为null
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getReseedInterval() {
+        return reseedInterval;
+    }
+
+    @Override
+    public String toString() {
+        if (!secure) {
+            return "EntropySource{fast}";
+        }
+        return "EntropySource{" + (algorithm != null ? algorithm : "default") + ", blockSize=" + blockSize
+                + ", reseedInterval=" + reseedInterval + "}";
+    }
+
+    private static boolean isAvailable(String algorithm) {
+        try {
+            SecureRandom.getInstance(algorithm);
+            return true;
+        } catch (NoSuchAlgorithmException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 线程私有的缓冲区
+     */
+    private final class Block {
+        private final byte[] bytes = new byte[blockSize];
+        private SecureRandom random = newRandom();
+        private int position = blockSize; // 下一个未使用的字节
+        private long produced; // 当前实例产出的字节数
+
+        long nextLong() {
+            if (position > blockSize - 8) {
+                refill();
+            }
+            long value = 0;
+            for (int end = position + 8; position < end; position++) {
+                value = value << 8 | (bytes[position] & 0xFF);
+            }
+            return value;
+        }
+
+        int nextInt() {
+            if (position > blockSize - 4) {
+                refill();
+            }
+            int value = 0;
+            for (int end = position + 4; position < end; position++) {
+                value = value << 8 | (bytes[position] & 0xFF);
+            }
+            return value;
+        }
+
+        void nextBytes(byte[] dst, int off, int len) {
+            while (len > 0) {
+                if (position == blockSize) {
+                    refill();
+                }
+                int n = Math.min(len, blockSize - position);
+                System.arraycopy(bytes, position, dst, off, n);
+                position += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void refill() {
+            if (produced >= reseedInterval) {
+                // 新建实例，由JDK从系统熵源重新播种
+                random = newRandom();
+                produced = 0;
+            }
+            random.nextBytes(bytes);
+            produced += blockSize;
+            position = 0;
+        }
+
+        private SecureRandom newRandom() {
+            if (algorithm == null) {
+                return new SecureRandom();
+            }
+            try {
+                return SecureRandom.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                // 创建熵源时已经检查过算法可用
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class Holder {
+        private static final EntropySource DEFAULT = isAvailable(DRBG)
+                ? new EntropySource(DRBG, true, DEFAULT_BLOCK_SIZE, DEFAULT_RESEED_INTERVAL)
+                : new EntropySource(null, true, DEFAULT_BLOCK_SIZE, DEFAULT_RESEED_INTERVAL);
+        private static final EntropySource FAST = new EntropySource(null, false, 0, 0);
+    }
+}
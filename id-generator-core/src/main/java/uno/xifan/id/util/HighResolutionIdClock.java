@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.time.Instant;
+
+/**
+ * 以{@link System#nanoTime()}为基准的高精度时钟
+ * <p>
+ * 创建时记录一次系统时间和{@code nanoTime}作为锚点，之后的时间都由锚点加上{@code nanoTime}的增量得到，
+ * 具有纳秒级分辨率且单调不减，不受NTP回拨影响。相应地也不会跟随系统时钟的校正，
+ * 长时间运行后与系统时钟可能出现漂移，需要时可以创建新实例重新锚定。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class HighResolutionIdClock implements IdClock {
+
+    private final long anchorNanos;
+    private final long anchorNanoTime;
+
+    /**
+     * 以当前系统时间为锚点创建时钟
+     */
+    public HighResolutionIdClock() {
+        Instant now = Instant.now();
+        this.anchorNanoTime = System.nanoTime();
+        this.anchorNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    /**
+     * 获取类加载时锚定的共享实例
+     *
+     * @return 高精度时钟
+     */
+    public static HighResolutionIdClock getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return currentTimeNanos() / 1_000_000L;
+    }
+
+    @Override
+    public long currentTimeNanos() {
+        return anchorNanos + (System.nanoTime() - anchorNanoTime);
+    }
+
+    private static final class Holder {
+        private static final HighResolutionIdClock INSTANCE = new HighResolutionIdClock();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+/**
+ * ID生成器使用的时钟
+ * <p>
+ * 基于时间的生成器通过构造参数接收时钟，而不是直接调用{@link System#currentTimeMillis()}或{@code Instant.now()}，
+ * 以便按部署环境在精度和开销之间取舍：
+ * </p>
+ * <ul>
+ *     <li>{@link #system()}：每次读取系统时钟，精度最高，也是各生成器的默认值</li>
+ *     <li>{@link #cached()}：后台线程每毫秒刷新一次，读取只是一次volatile读，热路径上没有系统调用</li>
+ *     <li>{@link #highResolution()}：以{@link System#nanoTime()}为基准推算纳秒时间，单调且精度高</li>
+ * </ul>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public interface IdClock {
+
+    /**
+     * 获取Unix纪元以来的毫秒数
+     *
+     * @return 毫秒时间戳
+     */
+    long currentTimeMillis();
+
+    /**
+     * 获取Unix纪元以来的纳秒数，实际精度取决于实现
+     *
+     * @return 纳秒时间戳
+     */
+    long currentTimeNanos();
+
+    /**
+     * 获取Unix纪元以来的微秒数
+     *
+     * @return 微秒时间戳
+     */
+    default long currentTimeMicros() {
+        return currentTimeNanos() / 1_000L;
+    }
+
+    /**
+     * 直接读取系统时钟的实现
+     *
+     * @return 系统时钟
+     */
+    static IdClock system() {
+        return SystemIdClock.INSTANCE;
+    }
+
+    /**
+     * 共享的毫秒级缓存时钟，首次调用时启动后台刷新线程
+     *
+     * @return 缓存时钟
+     */
+    static IdClock cached() {
+        return CachedIdClock.getInstance();
+    }
+
+    /**
+     * 共享的高精度时钟，以类加载时的系统时间为锚点
+     *
+     * @return 高精度时钟
+     */
+    static IdClock highResolution() {
+        return HighResolutionIdClock.getInstance();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package uno.xifan.id.util;
+
+/**
+ * 数组下标校验工具
+ * <p>
+ * 批量生成、批量编码和填充随机字节都按 (数组, 起始下标, 数量) 操作数组的一段，统一在这里校验，
+ * 越界时抛出与JDK 9的 {@code Objects.checkFromIndexSize} 相同格式的异常。项目需要兼容JDK 8，不能直接使用该方法。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class IndexUtils {
+
+    private IndexUtils() {
+    }
+
+    /**
+     * 校验 [off, off + len) 是否落在长度为 length 的数组内
+     *
+     * @param off    起始下标
+     * @param len    数量
+     * @param length 数组长度
+     * @throws IndexOutOfBoundsException 当下标越界时抛出
+     */
+    public static void checkFromIndexSize(int off, int len, int length) {
+        if ((length | off | len) < 0 || len > length - off) {
+            throw new IndexOutOfBoundsException(
+                    "Range [" + off + ", " + off + " + " + len + ") out of bounds for length " + length);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 前后填充到独占缓存行的原子long
+ * <p>
+ * 生成器的热点状态（例如打包在一起的时间戳和序列号）被所有线程反复CAS，如果和其他频繁写入的字段落在同一条缓存行，
+ * 会产生伪共享，每次写入都让其他核心的缓存行失效。这里在值的前后各填充56字节，保证值独占一条64字节的缓存行。
+ * 填充放在父类和子类中，JVM不会在类层次之间重排字段。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class PaddedAtomicLong extends PaddedAtomicLongRhsPadding {
+
+    private static final AtomicLongFieldUpdater<PaddedAtomicLongValue> UPDATER =
+            AtomicLongFieldUpdater.newUpdater(PaddedAtomicLongValue.class, "value");
+
+    /**
+     * 创建初始值为0的实例
+     */
+    public PaddedAtomicLong() {
+    }
+
+    /**
+     * 创建指定初始值的实例
+     *
+     * @param initialValue 初始值
+     */
+    public PaddedAtomicLong(long initialValue) {
+        this.value = initialValue;
+    }
+
+    /**
+     * 读取当前值（volatile读）
+     *
+     * @return 当前值
+     */
+    public long get() {
+        return value;
+    }
+
+    /**
+     * 设置新值（volatile写）
+     *
+     * @param newValue 新值
+     */
+    public void set(long newValue) {
+        value = newValue;
+    }
+
+    /**
+     * 当前值等于期望值时原子地设置为新值
+     *
+     * @param expect 期望值
+     * @param update 新值
+     * @return 设置成功时返回true
+     */
+    public boolean compareAndSet(long expect, long update) {
+        return UPDATER.compareAndSet(this, expect, update);
+    }
+
+    /**
+     * 原子地加上delta
+     *
+     * @param delta 增量
+     * @return 加之前的值
+     */
+    public long getAndAdd(long delta) {
+        return UPDATER.getAndAdd(this, delta);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+}
+
+@SuppressWarnings("unused")
+abstract class PaddedAtomicLongLhsPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class PaddedAtomicLongValue extends PaddedAtomicLongLhsPadding {
+    volatile long value;
+}
+
+@SuppressWarnings("unused")
+abstract class PaddedAtomicLongRhsPadding extends PaddedAtomicLongValue {
+    long p09, p10, p11, p12, p13, p14, p15;
+}
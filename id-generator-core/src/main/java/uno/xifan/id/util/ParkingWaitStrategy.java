@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 休眠等待策略
+ * <p>
+ * 前若干次空闲自旋，之后每次通过{@link LockSupport#parkNanos(long)}休眠一个时间片，
+ * 默认时间片是毫秒的十分之一，序列号用尽后最多多等待一个时间片就能进入下一毫秒，等待期间不占用CPU。
+ * 不自旋的实例适合虚拟线程：休眠时虚拟线程从载体线程上卸载，载体线程可以继续运行其他虚拟线程。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class ParkingWaitStrategy implements WaitStrategy {
+
+    private static final long DEFAULT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    static final ParkingWaitStrategy DEFAULT = new ParkingWaitStrategy(100, DEFAULT_PARK_NANOS);
+    static final ParkingWaitStrategy VIRTUAL_THREAD_FRIENDLY = new ParkingWaitStrategy(0, DEFAULT_PARK_NANOS);
+
+    private final int spinTries;
+    private final long parkNanos;
+
+    /**
+     * 创建休眠等待策略
+     *
+     * @param spinTries 休眠前的自旋次数，0表示直接休眠
+     * @param parkNanos 每次休眠的纳秒数
+     * @throws IllegalArgumentException 当参数为负数或休眠时间为0时抛出
+     */
+    public ParkingWaitStrategy(int spinTries, long parkNanos) {
+        if (spinTries < 0 || parkNanos <= 0) {
+            throw new IllegalArgumentException("Invalid parking wait strategy: spinTries=" + spinTries
+                    + ", parkNanos=" + parkNanos);
+        }
+        this.spinTries = spinTries;
+        this.parkNanos = parkNanos;
+    }
+
+    @Override
+    public void idle(int attempts) {
+        if (attempts < spinTries) {
+            BusySpinWaitStrategy.onSpinWait();
+        } else {
+            LockSupport.parkNanos(parkNanos);
+        }
+    }
+}
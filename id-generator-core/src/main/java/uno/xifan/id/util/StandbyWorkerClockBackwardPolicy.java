@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 切换到备用工作节点ID的策略
+ * <p>
+ * 每个节点额外预留一个不会分配给其他节点的工作节点ID。发生回拨时生成器改用备用ID，
+ * 以回拨后的时间继续生成，直到时钟越过回拨前的时间戳再切回原ID；备用ID从未在这段时间内使用过，
+ * 所以ID不会重复，且不需要等待。
+ * </p>
+ * <p>
+ * 策略记录备用ID已经覆盖到的时间戳。再次回拨时，如果回拨后的时间仍落在已覆盖的范围内
+ * （例如在使用备用ID期间又发生回拨），备用ID不再安全，交给降级策略处理。
+ * 策略有状态，一个实例只能用于一个生成器。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class StandbyWorkerClockBackwardPolicy implements ClockBackwardPolicy {
+
+    private final long standbyWorkerId;
+    private final ClockBackwardPolicy fallback;
+    private final ClockBackwardMetrics metrics = new ClockBackwardMetrics();
+    /** 备用ID可能已经使用过的最大时间戳 */
+    private long reservedUntil = -1L;
+
+    /**
+     * 创建备用工作节点策略
+     *
+     * @param standbyWorkerId 备用工作节点ID
+     * @param fallback        备用ID不可用时的降级策略
+     * @throws IllegalArgumentException 当备用ID为负数时抛出
+     */
+    public StandbyWorkerClockBackwardPolicy(long standbyWorkerId, ClockBackwardPolicy fallback) {
+        if (standbyWorkerId < 0) {
+            throw new IllegalArgumentException("Standby worker ID must not be negative: " + standbyWorkerId);
+        }
+        this.standbyWorkerId = standbyWorkerId;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public synchronized long onClockBackward(long lastTimestamp, long currentTimestamp, LongSupplier timeSource) {
+        metrics.recordBackward(lastTimestamp - currentTimestamp);
+        if (currentTimestamp <= reservedUntil) {
+            return fallback.onClockBackward(lastTimestamp, currentTimestamp, timeSource);
+        }
+        // 生成器在时钟越过lastTimestamp后切回原ID，备用ID使用的时间戳不会超过它
+        reservedUntil = lastTimestamp;
+        metrics.recordStandbySwitch();
+        return currentTimestamp;
+    }
+
+    @Override
+    public long standbyWorkerId() {
+        return standbyWorkerId;
+    }
+
+    @Override
+    public ClockBackwardMetrics metrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 逻辑时间借用
+ * <p>
+ * 同一毫秒内的序列号用尽后，生成器默认等待时钟进入下一毫秒，单节点的吞吐被限制在每毫秒序列号个数，
+ * 突发流量下尾部延迟会出现毫秒级的停顿。开启借用后，生成器直接把逻辑时间戳推进到下一毫秒，
+ * 允许逻辑时间领先墙上时间，最多领先{@link #getMaxDriftMillis()}；领先达到上限后才等待时钟追上。
+ * 负载下降后墙上时间会逐渐追上逻辑时间，两者重新一致。
+ * </p>
+ * <p>
+ * 借用期间读到的时间小于逻辑时间戳不再视为回拨，只有读到的时间小于之前读到过的最大墙上时间才交给回拨策略处理。
+ * 领先量（逻辑时间戳减去墙上时间）作为指标暴露，可以定期读取后上报到监控系统；
+ * 同一个实例被多个生成器（例如每个线程一个）共用时，{@link #getLag()}是最近一次观测到的值。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class TimeBorrowing {
+
+    private static final TimeBorrowing DISABLED = new TimeBorrowing(0);
+
+    private final long maxDriftMillis;
+    private final LongAdder borrows = new LongAdder();
+    private final AtomicLong maxLag = new AtomicLong();
+    private volatile long lag;
+
+    private TimeBorrowing(long maxDriftMillis) {
+        this.maxDriftMillis = maxDriftMillis;
+    }
+
+    /**
+     * 不借用，序列号用尽时总是等待时钟前进
+     *
+     * @return 共享的实例
+     */
+    public static TimeBorrowing disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * 允许逻辑时间最多领先墙上时间 maxDrift
+     *
+     * @param maxDrift 最大领先量，为0时不借用
+     * @param unit     时间单位
+     * @return 新的实例，指标从0开始
+     * @throws IllegalArgumentException 最大领先量为负数
+     */
+    public static TimeBorrowing maxDrift(long maxDrift, TimeUnit unit) {
+        if (maxDrift < 0) {
+            throw new IllegalArgumentException("Max drift can't be negative: " + maxDrift);
+        }
+        return maxDrift == 0 ? DISABLED : new TimeBorrowing(unit.toMillis(maxDrift));
+    }
+
+    /**
+     * 是否开启借用
+     *
+     * @return 最大领先量大于0时为true
+     */
+    public boolean isEnabled() {
+        return maxDriftMillis > 0;
+    }
+
+    /**
+     * 尝试把逻辑时间戳推进到 timestamp
+     *
+     * @param timestamp 需要使用的逻辑时间戳
+     * @param now       当前墙上时间
+     * @return 领先量不超过上限时返回true并记录一次借用，否则返回false，调用方应等待时钟前进
+     */
+    public boolean tryBorrow(long timestamp, long now) {
+        if (timestamp - now > maxDriftMillis) {
+            return false;
+        }
+        borrows.increment();
+        return true;
+    }
+
+    /**
+     * 记录当前的领先量
+     *
+     * @param lag 逻辑时间戳减去墙上时间，不大于0表示已经追上
+     */
+    public void recordLag(long lag) {
+        lag = Math.max(lag, 0L);
+        this.lag = lag;
+        long max;
+        while (lag > (max = maxLag.get()) && !maxLag.compareAndSet(max, lag)) {
+            // 重试
+        }
+    }
+
+    public long getMaxDriftMillis() {
+        return maxDriftMillis;
+    }
+
+    /**
+     * @return 最近一次观测到的领先量（毫秒）
+     */
+    public long getLag() {
+        return lag;
+    }
+
+    /**
+     * @return 观测到的最大领先量（毫秒）
+     */
+    public long getMaxLag() {
+        return maxLag.get();
+    }
+
+    /**
+     * @return 借用的毫秒数
+     */
+    public long getBorrows() {
+        return borrows.sum();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.util.Locale;
+
+/**
+ * 等待时钟前进的策略
+ * <p>
+ * 同一毫秒内的序列号用尽后，生成器需要等待时钟进入下一毫秒。等待循环每次读取时钟发现仍未前进时调用
+ * {@link #idle(int)}，由策略决定这段空闲时间如何度过，从而按部署环境在延迟和CPU占用之间取舍：
+ * </p>
+ * <ul>
+ *     <li>{@link #busySpin()}：自旋等待，延迟最低，但等待期间占满一个核，也是多数生成器的默认值</li>
+ *     <li>{@link #yielding()}：短暂自旋后让出CPU，适合核数少于线程数的场景</li>
+ *     <li>{@link #parking()}：短暂自旋后按时间片休眠，突发流量下不再空转，适合共享节点</li>
+ *     <li>{@link #virtualThreadFriendly()}：不自旋，直接休眠，虚拟线程会立即让出载体线程</li>
+ * </ul>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public interface WaitStrategy {
+
+    /**
+     * 空闲一次，调用方随后重新读取时钟
+     *
+     * @param attempts 本轮等待中已经空闲的次数，从0开始
+     */
+    void idle(int attempts);
+
+    /**
+     * 自旋等待
+     *
+     * @return 共享的策略实例
+     */
+    static WaitStrategy busySpin() {
+        return BusySpinWaitStrategy.INSTANCE;
+    }
+
+    /**
+     * 短暂自旋后让出CPU
+     *
+     * @return 共享的策略实例
+     */
+    static WaitStrategy yielding() {
+        return YieldingWaitStrategy.INSTANCE;
+    }
+
+    /**
+     * 短暂自旋后按默认时间片休眠
+     *
+     * @return 共享的策略实例
+     */
+    static WaitStrategy parking() {
+        return ParkingWaitStrategy.DEFAULT;
+    }
+
+    /**
+     * 不自旋，直接按默认时间片休眠
+     *
+     * @return 共享的策略实例
+     */
+    static WaitStrategy virtualThreadFriendly() {
+        return ParkingWaitStrategy.VIRTUAL_THREAD_FRIENDLY;
+    }
+
+    /**
+     * 按名称获取策略，便于通过配置文件选择
+     *
+     * @param name {@code busy-spin}、{@code yield}、{@code park}或{@code virtual-thread}，不区分大小写
+     * @return 策略实例
+     * @throws IllegalArgumentException 未知的名称
+     */
+    static WaitStrategy of(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "busy-spin":
+                return busySpin();
+            case "yield":
+                return yielding();
+            case "park":
+                return parking();
+            case "virtual-thread":
+                return virtualThreadFriendly();
+            default:
+                throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * 在上限内等待时钟追上的策略
+ * <p>
+ * 回拨量不超过上限时按剩余差值休眠，醒来后重新读取时钟，直到追上上次的时间戳；
+ * 回拨量一开始就超过上限，或等待到期仍未追上时，不再继续等待而是交给降级策略，
+ * 避免大幅回拨时每个请求都阻塞到超时。降级策略的处理结果记录在它自己的指标中。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class WaitingClockBackwardPolicy implements ClockBackwardPolicy {
+
+    private final long maxWaitMillis;
+    private final long maxWaitNanos;
+    private final ClockBackwardPolicy fallback;
+    private final ClockBackwardMetrics metrics = new ClockBackwardMetrics();
+
+    /**
+     * 创建等待策略
+     *
+     * @param maxWait  最长等待时间
+     * @param unit     时间单位
+     * @param fallback 超过上限时的降级策略
+     * @throws IllegalArgumentException 当等待时间为负数时抛出
+     */
+    public WaitingClockBackwardPolicy(long maxWait, TimeUnit unit, ClockBackwardPolicy fallback) {
+        if (maxWait < 0) {
+            throw new IllegalArgumentException("Max wait must not be negative: " + maxWait);
+        }
+        this.maxWaitMillis = unit.toMillis(maxWait);
+        this.maxWaitNanos = unit.toNanos(maxWait);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public long onClockBackward(long lastTimestamp, long currentTimestamp, LongSupplier timeSource) {
+        metrics.recordBackward(lastTimestamp - currentTimestamp);
+        if (lastTimestamp - currentTimestamp > maxWaitMillis) {
+            return fallback.onClockBackward(lastTimestamp, currentTimestamp, timeSource);
+        }
+        long start = System.nanoTime();
+        long timestamp = currentTimestamp;
+        while (timestamp < lastTimestamp) {
+            long remaining = maxWaitNanos - (System.nanoTime() - start);
+            if (remaining <= 0) {
+                metrics.recordWait(System.nanoTime() - start);
+                return fallback.onClockBackward(lastTimestamp, timestamp, timeSource);
+            }
+            LockSupport.parkNanos(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(lastTimestamp - timestamp)));
+            timestamp = timeSource.getAsLong();
+        }
+        metrics.recordWait(System.nanoTime() - start);
+        return timestamp;
+    }
+
+    @Override
+    public long standbyWorkerId() {
+        return fallback.standbyWorkerId();
+    }
+
+    @Override
+    public ClockBackwardMetrics metrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 ixiongdi
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package uno.xifan.id.util;
+
+/**
+ * 短暂自旋后让出CPU的等待策略
+ * <p>
+ * 前{@value #SPIN_TRIES}次空闲自旋，之后调用{@link Thread#yield()}。线程数多于核数时，
+ * 等待的线程会把CPU让给其他就绪线程，而不是一直占满时间片。
+ * </p>
+ *
+ * @author ixiongdi
+ * @since 1.0
+ */
+public final class YieldingWaitStrategy implements WaitStrategy {
+
+    static final YieldingWaitStrategy INSTANCE = new YieldingWaitStrategy();
+
+    private static final int SPIN_TRIES = 100;
+
+    private YieldingWaitStrategy() {
+    }
+
+    @Override
+    public void idle(int attempts) {
+        if (attempts < SPIN_TRIES) {
+            BusySpinWaitStrategy.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+}
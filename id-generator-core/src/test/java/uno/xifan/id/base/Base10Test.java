@@ -0,0 +1,53 @@
+package uno.xifan.id.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base10Test {
+
+    @Test
+    void testLong() {
+        // 测试64位无符号格式化与JDK结果一致
+        long[] values = {0, 1, 9, 10, Long.MAX_VALUE, Long.MIN_VALUE, -1L, -10L};
+        for (long value : values) {
+            assertEquals(Long.toUnsignedString(value), Base10.toString(value));
+        }
+        Random random = new Random();
+        for (int i = 0; i < 1000; i++) {
+            long value = random.nextLong() >>> random.nextInt(64);
+            assertEquals(Long.toUnsignedString(value), Base10.toString(value));
+            assertEquals(Long.toUnsignedString(-value), Base10.toString(-value));
+        }
+    }
+
+    @Test
+    void testTwoLongs() {
+        // 测试128位无符号格式化与BigInteger结果一致
+        assertEquals(BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE).toString(), Base10.toString(-1L, -1L));
+        assertEquals(BigInteger.ONE.shiftLeft(64).toString(), Base10.toString(1L, 0L));
+        Random random = new Random();
+        for (int i = 0; i < 1000; i++) {
+            long high = random.nextLong() >>> random.nextInt(64);
+            long low = random.nextLong();
+            byte[] bytes = ByteBuffer.allocate(16).putLong(high).putLong(low).array();
+            assertEquals(new BigInteger(1, bytes).toString(), Base10.toString(high, low));
+        }
+    }
+
+    @Test
+    void testBytes() {
+        // 测试任意长度字节数组按无符号整数格式化，包括10字节和12字节的ID
+        Random random = new Random();
+        for (int length = 1; length <= 24; length++) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            assertEquals(new BigInteger(1, bytes).toString(), Base10.encode(bytes));
+        }
+        assertEquals("0", Base10.encode(new byte[0]));
+    }
+}
@@ -1,5 +1,7 @@
 package uno.xifan.id.base;
 import org.junit.jupiter.api.Test;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Random;
 import static org.junit.jupiter.api.Assertions.*;
@@ -82,4 +84,53 @@ class Base32Test {
         assertThrows(IllegalArgumentException.class, () -> Base32.decode("!@#$"));
         assertThrows(IllegalArgumentException.class, () -> Base32.decode("A"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFixedWidth() {
+        // 测试64/80/128位定长编码与按数值计算的结果一致，并能解码还原
+        Random random = new Random();
+        char[] chars = new char[Base32.LENGTH_128];
+        for (int i = 0; i < 100; i++) {
+            long value = i == 0 ? -1L : random.nextLong();
+            Base32.encodeLong(value, chars, 0);
+            String encoded = new String(chars, 0, Base32.LONG_LENGTH);
+            assertEquals(reference(new BigInteger(Long.toUnsignedString(value)), Base32.LONG_LENGTH), encoded);
+            assertEquals(value, Base32.decodeLong(encoded, 0));
+
+            long high = i == 0 ? -1L : random.nextLong();
+            long low = i == 0 ? -1L : random.nextLong();
+            byte[] bytes = ByteBuffer.allocate(16).putLong(high).putLong(low).array();
+            Base32.encode128(high, low, chars, 0);
+            encoded = new String(chars, 0, Base32.LENGTH_128);
+            assertEquals(reference(new BigInteger(1, bytes), Base32.LENGTH_128), encoded);
+            byte[] decoded = new byte[16];
+            Base32.decode128(encoded.toLowerCase(), 0, decoded, 0);
+            assertArrayEquals(bytes, decoded);
+
+            // 80位与按字节编码的结果相同
+            byte[] bytes80 = Arrays.copyOfRange(bytes, 6, 16);
+            Base32.encode80(high & 0xFFFF, low, chars, 0);
+            encoded = new String(chars, 0, Base32.LENGTH_80);
+            assertEquals(Base32.encode(bytes80), encoded);
+            decoded = new byte[10];
+            Base32.decode80(encoded, 0, decoded, 0);
+            assertArrayEquals(bytes80, decoded);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> Base32.decodeLong("G000000000000", 0));
+        assertThrows(IllegalArgumentException.class, () -> Base32.decode128("80000000000000000000000000", 0, new byte[16], 0));
+        assertTrue(Base32.isValid("01ARZ3NDEKTSV4RRFFQ69G5FAV", 0, 26));
+        assertFalse(Base32.isValid("01ARZ3NDEKTSV4RRFFQ69G5FAU", 0, 26));
+        assertFalse(Base32.isValid("01ARZ3NDEKTSV4RRFFQ69G5FA\u0130", 0, 26));
+    }
+
+    private static String reference(BigInteger value, int width) {
+        String alphabet = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = alphabet.charAt(value.intValue() & 0x1F);
+            value = value.shiftRight(5);
+        }
+        return new String(chars);
+    }
+}
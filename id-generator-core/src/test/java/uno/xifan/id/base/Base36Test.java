@@ -0,0 +1,98 @@
+package uno.xifan.id.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base36Test {
+
+    @Test
+    void testEmptyInput() {
+        assertEquals("", Base36.encode(new byte[0]));
+        assertArrayEquals(new byte[0], Base36.decode(""));
+    }
+
+    @Test
+    void testRandomData() {
+        // 测试随机数据可以无损还原，且与BigInteger的36进制结果一致
+        Random random = new Random();
+        for (int i = 0; i < 100; i++) {
+            byte[] data = new byte[random.nextInt(100) + 1];
+            random.nextBytes(data);
+
+            String encoded = Base36.encode(data);
+            assertTrue(encoded.matches("^[0-9A-Z]+$"));
+            assertEquals(new BigInteger(1, data).toString(36).toUpperCase(Locale.ROOT), encoded.replaceFirst("^0+(?=.)", ""));
+            assertArrayEquals(data, Base36.decode(encoded));
+        }
+    }
+
+    @Test
+    void testZeroBytes() {
+        // 测试前导零字节
+        byte[] input = new byte[]{0, 0, 1, 2, 3};
+        assertArrayEquals(input, Base36.decode(Base36.encode(input)));
+
+        byte[] zeros = new byte[3];
+        assertEquals("000", Base36.encode(zeros));
+        assertArrayEquals(zeros, Base36.decode("000"));
+    }
+
+    @Test
+    void testDistinctValues() {
+        // 旧实现把大于35的6位索引截断为35，0xFF和0xFC会得到相同的结果
+        assertNotEquals(Base36.encode(new byte[]{(byte) 0xFF}), Base36.encode(new byte[]{(byte) 0xFC}));
+        assertNotEquals(Base36.encode(new byte[]{(byte) 0xFF, (byte) 0xFF}), Base36.encode(new byte[]{(byte) 0xFF, (byte) 0xFE}));
+    }
+
+    @Test
+    void testCaseInsensitivity() {
+        byte[] expected = {0x12, 0x34, 0x56, (byte) 0xAB};
+        assertArrayEquals(expected, Base36.decode(Base36.encode(expected).toLowerCase(Locale.ROOT)));
+    }
+
+    @Test
+    void testInvalidCharacter() {
+        assertThrows(IllegalArgumentException.class, () -> Base36.decode("AB-C"));
+    }
+
+    @Test
+    void testFixedWidth() {
+        // 测试64/128位定长编码与JDK的36进制结果一致，并能解码还原
+        Random random = new Random();
+        char[] chars = new char[Base36.LENGTH_128];
+        for (int i = 0; i < 100; i++) {
+            long value = i == 0 ? -1L : random.nextLong();
+            Base36.encodeLong(value, chars, 0);
+            String encoded = new String(chars, 0, Base36.LONG_LENGTH);
+            assertEquals(pad(Long.toUnsignedString(value, 36), Base36.LONG_LENGTH), encoded);
+            assertEquals(value, Base36.decodeLong(encoded, 0));
+
+            long high = random.nextLong();
+            long low = random.nextLong();
+            byte[] bytes = ByteBuffer.allocate(16).putLong(high).putLong(low).array();
+            Base36.encode128(high, low, chars, 0);
+            encoded = new String(chars, 0, Base36.LENGTH_128);
+            assertEquals(pad(new BigInteger(1, bytes).toString(36), Base36.LENGTH_128), encoded);
+            byte[] decoded = new byte[16];
+            Base36.decode128(encoded, 0, decoded, 0);
+            assertArrayEquals(bytes, decoded);
+        }
+
+        // 超出位宽的编码应被拒绝
+        assertThrows(IllegalArgumentException.class, () -> Base36.decodeLong("ZZZZZZZZZZZZZ", 0));
+    }
+
+    private static String pad(String digits, int width) {
+        StringBuilder sb = new StringBuilder(width);
+        for (int i = digits.length(); i < width; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits.toUpperCase(Locale.ROOT)).toString();
+    }
+}
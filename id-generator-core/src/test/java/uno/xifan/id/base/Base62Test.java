@@ -2,6 +2,8 @@ package uno.xifan.id.base;
 
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Random;
 
@@ -69,4 +71,74 @@ class Base62Test {
         assertArrayEquals(input, uno.xifan.id.base.Base62.decode(ourEncoded));
         assertArrayEquals(input, cn.hutool.core.codec.Base62.decode(hutoolEncoded));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testEncodeIntoBuffer() {
+        // 测试写入调用方提供的缓冲区，结果应与encode一致
+        Random random = new Random();
+        for (int i = 0; i < 100; i++) {
+            byte[] randomBytes = new byte[random.nextInt(64) + 1];
+            random.nextBytes(randomBytes);
+            String expected = uno.xifan.id.base.Base62.encode(randomBytes);
+
+            char[] chars = new char[uno.xifan.id.base.Base62.maxEncodedLength(randomBytes.length) + 2];
+            int length = uno.xifan.id.base.Base62.encode(randomBytes, 0, randomBytes.length, chars, 2);
+            assertEquals(expected, new String(chars, 2, length));
+
+            byte[] ascii = new byte[uno.xifan.id.base.Base62.maxEncodedLength(randomBytes.length)];
+            length = uno.xifan.id.base.Base62.encode(randomBytes, 0, randomBytes.length, ascii, 0);
+            assertEquals(expected, new String(ascii, 0, length, StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void testFixedWidth() {
+        // 测试64/128/160位定长编码与BigInteger的结果一致，并能解码还原
+        Random random = new Random();
+        char[] chars = new char[uno.xifan.id.base.Base62.LENGTH_160];
+        for (int i = 0; i < 100; i++) {
+            long value = i == 0 ? -1L : random.nextLong();
+            uno.xifan.id.base.Base62.encodeLong(value, chars, 0);
+            String encoded = new String(chars, 0, uno.xifan.id.base.Base62.LONG_LENGTH);
+            assertEquals(reference(new BigInteger(Long.toUnsignedString(value)), 11), encoded);
+            assertEquals(value, uno.xifan.id.base.Base62.decodeLong(encoded, 0));
+
+            long high = random.nextLong();
+            long low = random.nextLong();
+            byte[] bytes = ByteBuffer.allocate(16).putLong(high).putLong(low).array();
+            uno.xifan.id.base.Base62.encode128(high, low, chars, 0);
+            encoded = new String(chars, 0, uno.xifan.id.base.Base62.LENGTH_128);
+            assertEquals(reference(new BigInteger(1, bytes), 22), encoded);
+            byte[] decoded = new byte[16];
+            uno.xifan.id.base.Base62.decode128(encoded, 0, decoded, 0);
+            assertArrayEquals(bytes, decoded);
+
+            bytes = new byte[20];
+            random.nextBytes(bytes);
+            uno.xifan.id.base.Base62.encode160(bytes, 0, chars, 0);
+            encoded = new String(chars, 0, uno.xifan.id.base.Base62.LENGTH_160);
+            assertEquals(reference(new BigInteger(1, bytes), 27), encoded);
+            decoded = new byte[20];
+            uno.xifan.id.base.Base62.decode160(encoded, 0, decoded, 0);
+            assertArrayEquals(bytes, decoded);
+        }
+
+        // 超出位宽的编码应被拒绝
+        assertThrows(IllegalArgumentException.class, () -> uno.xifan.id.base.Base62.decodeLong("zzzzzzzzzzz", 0));
+    }
+
+    /**
+     * 用BigInteger反复除以62得到定长编码，作为对照
+     */
+    private static String reference(BigInteger value, int width) {
+        String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+        BigInteger radix = BigInteger.valueOf(62);
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            BigInteger[] qr = value.divideAndRemainder(radix);
+            chars[i] = alphabet.charAt(qr[1].intValue());
+            value = qr[0];
+        }
+        return new String(chars);
+    }
+}
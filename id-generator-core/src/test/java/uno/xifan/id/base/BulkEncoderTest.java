@@ -0,0 +1,106 @@
+package uno.xifan.id.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkEncoderTest {
+
+    private static final Encoding[] SUPPORTED = {Encoding.BASE16, Encoding.BASE32, Encoding.BASE64};
+
+    @Test
+    void testLongs() {
+        // 测试批量编码的每一段都与逐个编码的结果一致
+        long[] ids = randomLongs(200);
+        for (Encoding encoding : SUPPORTED) {
+            int width = BulkEncoder.width(encoding);
+            byte[] dst = new byte[3 + ids.length * width];
+            assertEquals(ids.length * width, BulkEncoder.encode(encoding, ids, 0, ids.length, dst, 3));
+            for (int i = 0; i < ids.length; i++) {
+                byte[] expected = new byte[width];
+                assertEquals(width, encoding.encode(ids[i], expected, 0));
+                assertEquals(new String(expected, StandardCharsets.US_ASCII),
+                        new String(dst, 3 + i * width, width, StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    @Test
+    void testPairs() {
+        long[] highs = randomLongs(200);
+        long[] lows = randomLongs(200);
+        for (Encoding encoding : SUPPORTED) {
+            int width = BulkEncoder.width128(encoding);
+            byte[] dst = new byte[highs.length * width];
+            assertEquals(dst.length, BulkEncoder.encode(encoding, highs, lows, 0, highs.length, dst, 0));
+            for (int i = 0; i < highs.length; i++) {
+                byte[] bytes = ByteBuffer.allocate(16).putLong(highs[i]).putLong(lows[i]).array();
+                byte[] expected = new byte[width];
+                assertEquals(width, encoding.encode(bytes, 0, bytes.length, expected, 0));
+                assertEquals(new String(expected, StandardCharsets.US_ASCII),
+                        new String(dst, i * width, width, StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    @Test
+    void testByteBuffer() {
+        // 测试堆内和直接缓冲区的结果一致，并正确移动position
+        long[] highs = randomLongs(50);
+        long[] lows = randomLongs(50);
+        for (Encoding encoding : SUPPORTED) {
+            int length = 40 * BulkEncoder.width128(encoding);
+            byte[] expected = new byte[length];
+            BulkEncoder.encode(encoding, highs, lows, 10, 40, expected, 0);
+
+            for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(length + 2), ByteBuffer.allocateDirect(length + 2)}) {
+                buffer.position(2);
+                assertEquals(length, BulkEncoder.encode(encoding, highs, lows, 10, 40, buffer));
+                assertEquals(length + 2, buffer.position());
+                byte[] actual = new byte[length];
+                buffer.position(2);
+                buffer.get(actual);
+                assertArrayEquals(expected, actual);
+
+                buffer.clear();
+                assertEquals(5 * BulkEncoder.width(encoding), BulkEncoder.encode(encoding, highs, 0, 5, buffer));
+                assertEquals(5 * BulkEncoder.width(encoding), buffer.position());
+            }
+        }
+    }
+
+    @Test
+    void testKnownValues() {
+        byte[] dst = new byte[32];
+        BulkEncoder.encode(Encoding.BASE16, new long[]{0x0123456789ABCDEFL}, 0, 1, dst, 0);
+        assertEquals("0123456789ABCDEF", new String(dst, 0, 16, StandardCharsets.US_ASCII));
+        BulkEncoder.encode(Encoding.BASE16, new long[]{-1L}, new long[]{0}, 0, 1, dst, 0);
+        assertEquals("FFFFFFFFFFFFFFFF0000000000000000", new String(dst, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        long[] ids = new long[4];
+        assertThrows(IllegalArgumentException.class, () -> BulkEncoder.width(Encoding.BASE62));
+        assertThrows(IllegalArgumentException.class, () -> BulkEncoder.encode(Encoding.BASE36, ids, 0, 4, new byte[100], 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> BulkEncoder.encode(Encoding.BASE16, ids, 2, 3, new byte[100], 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> BulkEncoder.encode(Encoding.BASE16, ids, 0, 4, new byte[63], 0));
+        assertThrows(BufferOverflowException.class, () -> BulkEncoder.encode(Encoding.BASE64, ids, 0, 4, ByteBuffer.allocate(43)));
+    }
+
+    private static long[] randomLongs(int count) {
+        Random random = new Random();
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextLong();
+        }
+        values[0] = 0;
+        values[1] = -1L;
+        return values;
+    }
+}
@@ -0,0 +1,149 @@
+package uno.xifan.id.base;
+
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.generator.snowflake.SnowflakeIdGenerator;
+import uno.xifan.id.generator.sonyflake.Sonyflake;
+import uno.xifan.id.generator.sonyflake.SonyflakeIdGenerator;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedLongIdGeneratorTest {
+
+    @Test
+    void testPrefilled() {
+        // 构造后环已填满，取出的ID就是源生成器依次生成的ID
+        CountingGenerator source = new CountingGenerator();
+        try (CachedLongIdGenerator generator = new CachedLongIdGenerator(source, 64, 16)) {
+            assertEquals(64, generator.size());
+            assertEquals(64, source.counter.get());
+            for (long i = 1; i <= 40; i++) {
+                assertEquals(i, generator.nextLong());
+            }
+            long[] ids = new long[10];
+            generator.fill(ids, 0, ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                assertEquals(41 + i, ids[i]);
+            }
+            assertEquals(IdType.Snowflake, generator.idType());
+        }
+    }
+
+    @Test
+    void testRefillBelowLowWater() throws InterruptedException {
+        CountingGenerator source = new CountingGenerator();
+        try (CachedLongIdGenerator generator = new CachedLongIdGenerator(source, 64, 16)) {
+            for (int i = 0; i < 50; i++) {
+                generator.nextLong();
+            }
+            // 可用数量低于水位线后，后台线程补满整个环。补充线程确认环已满之后，最后一次取出可能读到新的写指针
+            // 而不再请求补充，所以环可能停在差一个的状态
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (generator.size() < 63 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertTrue(generator.size() >= 63, "size: " + generator.size());
+            assertEquals(51, generator.nextLong());
+        }
+    }
+
+    @Test
+    void testEmptyFallsBackToSource() {
+        CountingGenerator source = new CountingGenerator();
+        CachedLongIdGenerator generator = new CachedLongIdGenerator(source, 8, 1);
+        generator.close();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(ids.add(generator.nextLong()));
+        }
+        long[] batch = new long[20];
+        generator.fill(batch, 0, batch.length);
+        for (long id : batch) {
+            assertTrue(ids.add(id));
+        }
+        assertEquals(0, generator.size());
+    }
+
+    @Test
+    void testConcurrentUniqueness() throws InterruptedException {
+        try (CachedLongIdGenerator generator = new CachedLongIdGenerator(new SnowflakeIdGenerator(1), 1024, 512)) {
+            int threadCount = 8;
+            int idsPerThread = 50000;
+            Set<Long> idSet = ConcurrentHashMap.newKeySet(threadCount * idsPerThread);
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            CountDownLatch latch = new CountDownLatch(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                int thread = i;
+                executor.submit(() -> {
+                    try {
+                        long[] batch = new long[50];
+                        for (int j = 0; j < idsPerThread; j += batch.length) {
+                            if (thread % 2 == 0) {
+                                generator.fill(batch, 0, batch.length);
+                            } else {
+                                for (int k = 0; k < batch.length; k++) {
+                                    batch[k] = generator.nextLong();
+                                }
+                            }
+                            for (long id : batch) {
+                                idSet.add(id);
+                            }
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            assertTrue(latch.await(60, TimeUnit.SECONDS));
+            executor.shutdown();
+            assertEquals(threadCount * idsPerThread, idSet.size());
+        }
+    }
+
+    @Test
+    void testSonyflakeSource() throws Exception {
+        Sonyflake.Settings settings = new Sonyflake.Settings();
+        settings.machineIDSupplier = () -> (short) 7;
+        SonyflakeIdGenerator source = new SonyflakeIdGenerator(Sonyflake.newInstance(settings));
+        try (CachedLongIdGenerator generator = new CachedLongIdGenerator(source, 512, 128)) {
+            assertEquals(IdType.Sonyflake, generator.idType());
+            Set<Long> ids = new HashSet<>();
+            for (int i = 0; i < 2000; i++) {
+                long id = generator.nextLong();
+                assertTrue(ids.add(id));
+                assertEquals(7, Sonyflake.machineID(id));
+            }
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        CountingGenerator source = new CountingGenerator();
+        assertThrows(IllegalArgumentException.class, () -> new CachedLongIdGenerator(source, 100, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CachedLongIdGenerator(source, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new CachedLongIdGenerator(source, 64, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CachedLongIdGenerator(source, 64, 65));
+    }
+
+    private static class CountingGenerator implements LongIdGenerator {
+        final AtomicLong counter = new AtomicLong();
+
+        @Override
+        public long nextLong() {
+            return counter.incrementAndGet();
+        }
+
+        @Override
+        public IdType idType() {
+            return IdType.Snowflake;
+        }
+    }
+}
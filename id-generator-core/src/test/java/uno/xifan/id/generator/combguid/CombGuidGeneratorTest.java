@@ -1,6 +1,8 @@
 package uno.xifan.id.generator.combguid;
 
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.MutableIdClock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -156,4 +158,12 @@ public class CombGuidGeneratorTest {
             assertTrue(ids.add(id), "Should generate unique IDs even after many generations");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should take the timestamp from the injected clock")
+    void testClock() {
+        long now = 1_700_000_000_123L;
+        CombGuidGenerator generator = new CombGuidGenerator(MutableIdClock.ofMillis(now), EntropySource.fast());
+        assertEquals(now, generator.nextUUID().getMostSignificantBits() >>> 16);
+    }
+}
@@ -0,0 +1,75 @@
+package uno.xifan.id.generator.elasticflake;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeBasedUUIDGeneratorTest {
+
+    private final TimeBasedUUIDGenerator generator = new TimeBasedUUIDGenerator();
+
+    @Test
+    void testFormat() {
+        // 测试20个字符可以按标准URL安全Base64解码为 6字节时间戳 + 6字节MAC + 3字节序列号
+        long before = System.currentTimeMillis();
+        String id = generator.getBase64UUID();
+        long after = System.currentTimeMillis();
+        assertEquals(20, id.length());
+
+        byte[] bytes = Base64.getUrlDecoder().decode(id);
+        assertEquals(15, bytes.length);
+        long timestamp = 0;
+        for (int i = 0; i < 6; i++) {
+            timestamp = timestamp << 8 | (bytes[i] & 0xFF);
+        }
+        assertTrue(timestamp >= before && timestamp <= after + 1);
+    }
+
+    @Test
+    void testSequenceAndOrder() {
+        // MAC地址部分不变，序列号连续递增，时间戳不回退
+        byte[] previous = Base64.getUrlDecoder().decode(generator.getBase64UUID());
+        for (int i = 0; i < 10000; i++) {
+            byte[] current = Base64.getUrlDecoder().decode(generator.getBase64UUID());
+            assertTrue(readLong(current, 0, 6) >= readLong(previous, 0, 6));
+            assertEquals(readLong(previous, 6, 6), readLong(current, 6, 6));
+            assertEquals((readLong(previous, 12, 3) + 1) & 0xFFFFFF, readLong(current, 12, 3));
+            previous = current;
+        }
+    }
+
+    @Test
+    void testConcurrentUniqueness() throws InterruptedException {
+        int threads = 8;
+        int perThread = 20000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.getBase64UUID());
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+        executor.shutdown();
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    private static long readLong(byte[] bytes, int off, int len) {
+        long value = 0;
+        for (int i = off; i < off + len; i++) {
+            value = value << 8 | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+}
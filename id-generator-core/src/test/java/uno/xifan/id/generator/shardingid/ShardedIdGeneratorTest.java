@@ -0,0 +1,115 @@
+package uno.xifan.id.generator.shardingid;
+
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.MutableIdClock;
+import uno.xifan.id.util.WaitStrategy;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedIdGeneratorTest {
+
+    @Test
+    void testShardOf() {
+        ShardedIdGenerator generator = new ShardedIdGenerator(ShardedIdGenerator.MAX_SHARDS);
+        long before = System.currentTimeMillis();
+        for (long key = 0; key < 20000; key += 7) {
+            long id = generator.generate(key);
+            assertTrue(id > 0);
+            assertEquals(key % ShardedIdGenerator.MAX_SHARDS, ShardedIdGenerator.shardOf(id));
+            assertEquals(generator.shardFor(key), ShardedIdGenerator.shardOf(id));
+        }
+        long id = generator.generateForShard(8191);
+        assertEquals(8191, ShardedIdGenerator.shardOf(id));
+        assertTrue(ShardedIdGenerator.timestampOf(id) >= before);
+        assertTrue(ShardedIdGenerator.timestampOf(id) <= System.currentTimeMillis());
+
+        // 与InstagramIdGenerator的布局相同
+        assertEquals(5, ShardedIdGenerator.shardOf(new InstagramIdGenerator(5).generateId()));
+    }
+
+    @Test
+    void testModulo() {
+        ShardFunction modulo = ShardFunction.modulo();
+        assertEquals(3, modulo.shardOf(10, 7));
+        assertEquals(4, modulo.shardOf(-3, 7));
+        assertEquals(0, modulo.shardOf(Long.MIN_VALUE, 8));
+    }
+
+    @Test
+    void testJumpConsistentHash() {
+        ShardFunction jump = ShardFunction.jumpConsistentHash();
+        assertEquals(0, jump.shardOf(12345, 1));
+        int moved = 0;
+        int keys = 10000;
+        for (long key = 0; key < keys; key++) {
+            int before = jump.shardOf(key, 10);
+            int after = jump.shardOf(key, 11);
+            assertTrue(before >= 0 && before < 10);
+            // 分片数量增加时分片键只会迁移到新增的分片
+            if (before != after) {
+                assertEquals(10, after);
+                moved++;
+            }
+        }
+        // 约1/11的分片键迁移
+        assertTrue(moved > keys / 11 / 2 && moved < keys / 11 * 2, "moved " + moved);
+    }
+
+    @Test
+    void testSequenceExhaustion() {
+        // 每次读取时钟前进1微秒，同一毫秒内会用尽1024个序列号
+        IdClock clock = MutableIdClock.ofNanos(1_700_000_000_000_000_000L).ticking(1_000);
+        ShardedIdGenerator generator = new ShardedIdGenerator(4, ShardFunction.modulo(), clock,
+                ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+        long previous = -1;
+        for (int i = 0; i < 5000; i++) {
+            long id = generator.generate(2);
+            assertTrue(id > previous);
+            assertEquals(2, ShardedIdGenerator.shardOf(id));
+            previous = id;
+        }
+    }
+
+    @Test
+    void testConcurrentUniqueness() throws InterruptedException {
+        ShardedIdGenerator generator = new ShardedIdGenerator(4, ShardFunction.jumpConsistentHash());
+        int threadCount = 8;
+        int idsPerThread = 20000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet(threadCount * idsPerThread);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                try {
+                    for (int j = 0; j < idsPerThread; j++) {
+                        ids.add(generator.generate(j));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(threadCount * idsPerThread, ids.size());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedIdGenerator(0));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedIdGenerator(ShardedIdGenerator.MAX_SHARDS + 1));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedIdGenerator(4).generateForShard(4));
+        assertThrows(IllegalStateException.class, () -> new ShardedIdGenerator(4, (key, count) -> count).generate(1));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedIdGenerator(4, ShardFunction.modulo(),
+                IdClock.system(), ClockBackwardPolicy.standbyWorker(5, ClockBackwardPolicy.failFast()), WaitStrategy.busySpin()));
+    }
+}
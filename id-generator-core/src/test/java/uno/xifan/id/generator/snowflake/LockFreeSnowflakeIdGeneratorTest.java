@@ -0,0 +1,138 @@
+package uno.xifan.id.generator.snowflake;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.ClockBackwardException;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.MutableIdClock;
+import uno.xifan.id.util.WaitStrategy;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 无锁Snowflake ID生成器测试类
+ */
+@DisplayName("无锁Snowflake ID生成器测试")
+public class LockFreeSnowflakeIdGeneratorTest {
+
+    private static final long EPOCH = 1640995200000L;
+
+    @Test
+    @DisplayName("测试ID布局与Snowflake ID生成器一致")
+    void testLayout() {
+        long now = 1_700_000_000_000L;
+        IdClock clock = MutableIdClock.ofMillis(now);
+        LockFreeSnowflakeIdGenerator generator = new LockFreeSnowflakeIdGenerator(5, clock);
+        SnowflakeIdGenerator expected = new SnowflakeIdGenerator(5, clock);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected.nextLong(), generator.nextLong());
+        }
+        long id = generator.nextLong();
+        assertEquals(now - EPOCH, id >>> 22);
+        assertEquals(5, (id >>> 12) & 1023);
+        assertEquals(100, id & 4095);
+        assertEquals(IdType.Snowflake, generator.idType());
+    }
+
+    @Test
+    @DisplayName("测试单线程下ID单调递增，序列号用尽时进入下一毫秒")
+    void testMonotonicity() {
+        LockFreeSnowflakeIdGenerator generator = new LockFreeSnowflakeIdGenerator(1);
+        long previous = generator.nextLong();
+        for (int i = 0; i < 20000; i++) {
+            long current = generator.nextLong();
+            assertTrue(current > previous, "当前ID应大于前一个ID");
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("测试批量填充的ID唯一且单调递增")
+    void testFill() {
+        LockFreeSnowflakeIdGenerator generator = new LockFreeSnowflakeIdGenerator(1);
+        long[] ids = new long[10002];
+        generator.fill(ids, 1, 10000);
+
+        assertEquals(0, ids[0], "填充范围之外的元素不应被修改");
+        assertEquals(0, ids[10001], "填充范围之外的元素不应被修改");
+        for (int i = 2; i <= 10000; i++) {
+            assertTrue(ids[i] > ids[i - 1], "批量生成的ID应单调递增");
+        }
+        assertTrue(generator.nextLong() > ids[10000]);
+        assertThrows(IndexOutOfBoundsException.class, () -> generator.fill(ids, 10000, 3));
+    }
+
+    @Test
+    @DisplayName("测试高并发下的唯一性")
+    void testConcurrentUniqueness() throws InterruptedException {
+        LockFreeSnowflakeIdGenerator generator = new LockFreeSnowflakeIdGenerator(1);
+        int threadCount = 16;
+        int idsPerThread = 50000;
+        Set<Long> idSet = ConcurrentHashMap.newKeySet(threadCount * idsPerThread);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            int thread = i;
+            executor.submit(() -> {
+                try {
+                    long[] batch = new long[100];
+                    for (int j = 0; j < idsPerThread; j += batch.length) {
+                        if (thread % 2 == 0) {
+                            generator.fill(batch, 0, batch.length);
+                        } else {
+                            for (int k = 0; k < batch.length; k++) {
+                                batch[k] = generator.nextLong();
+                            }
+                        }
+                        for (long id : batch) {
+                            idSet.add(id);
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(60, TimeUnit.SECONDS), "并发测试应在60秒内完成");
+        executor.shutdown();
+        assertEquals(threadCount * idsPerThread, idSet.size(), "并发生成的所有ID应该唯一");
+    }
+
+    @Test
+    @DisplayName("测试时钟回拨")
+    void testClockBackward() {
+        MutableIdClock clock = MutableIdClock.ofMillis(1_700_000_000_000L);
+        LockFreeSnowflakeIdGenerator failFast = new LockFreeSnowflakeIdGenerator(1, clock);
+        failFast.nextLong();
+        clock.advance(-3);
+        ClockBackwardException e = assertThrows(ClockBackwardException.class, failFast::nextLong);
+        assertEquals(3, e.getBackward());
+
+        LockFreeSnowflakeIdGenerator borrowing = new LockFreeSnowflakeIdGenerator(1, clock,
+                ClockBackwardPolicy.borrow(), WaitStrategy.busySpin());
+        clock.advance(3);
+        long last = borrowing.nextLong();
+        clock.advance(-3);
+        assertTrue(borrowing.nextLong() > last, "沿用上次的时间戳时ID仍应递增");
+    }
+
+    @Test
+    @DisplayName("测试非法参数")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new LockFreeSnowflakeIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new LockFreeSnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new LockFreeSnowflakeIdGenerator(1, IdClock.system(),
+                ClockBackwardPolicy.standbyWorker(2, ClockBackwardPolicy.failFast()), WaitStrategy.busySpin()));
+    }
+}
@@ -83,6 +83,22 @@ public class SnowflakeIdGeneratorTest {
         }
     }
 
+    @Test
+    @DisplayName("测试批量填充的ID唯一且单调递增")
+    void testFill() {
+        long[] ids = new long[10002];
+        generator.fill(ids, 1, 10000);
+
+        assertEquals(0, ids[0], "填充范围之外的元素不应被修改");
+        assertEquals(0, ids[10001], "填充范围之外的元素不应被修改");
+        for (int i = 2; i <= 10000; i++) {
+            assertTrue(ids[i] > ids[i - 1], "批量生成的ID应单调递增");
+        }
+
+        assertThrows(IndexOutOfBoundsException.class, () -> generator.fill(ids, 10000, 3),
+                "越界填充应抛出异常");
+    }
+
     @Test
     @DisplayName("测试工作节点ID超出范围时抛出异常")
     void testInvalidWorkerId() {
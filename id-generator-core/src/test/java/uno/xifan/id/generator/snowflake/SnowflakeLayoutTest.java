@@ -0,0 +1,135 @@
+package uno.xifan.id.generator.snowflake;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.MutableIdClock;
+import uno.xifan.id.util.WaitStrategy;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Snowflake位布局测试类
+ */
+@DisplayName("Snowflake位布局测试")
+public class SnowflakeLayoutTest {
+
+    private static final long NOW = 1_700_000_000_123L;
+
+    @Test
+    @DisplayName("测试标准布局与Snowflake ID生成器一致")
+    void testStandardLayout() {
+        IdClock clock = MutableIdClock.ofMillis(NOW);
+        SnowflakeIdGenerator expected = new SnowflakeIdGenerator(9, clock);
+        LayoutSnowflakeIdGenerator generator = new LayoutSnowflakeIdGenerator(SnowflakeLayout.standard(), 0, 9,
+                clock, ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected.nextLong(), generator.nextLong());
+        }
+        SnowflakeLayout layout = SnowflakeLayout.standard();
+        long id = expected.nextLong();
+        assertEquals(NOW, layout.timestampMillis(id));
+        assertEquals(9, layout.workerId(id));
+        assertEquals(100, layout.sequence(id));
+        assertEquals(22, layout.getTimestampShift());
+    }
+
+    @Test
+    @DisplayName("测试10毫秒时间单位和16位序列号")
+    void testTenMillisecondUnit() {
+        SnowflakeLayout layout = SnowflakeLayout.builder()
+                .timeUnit(10, TimeUnit.MILLISECONDS)
+                .timestampBits(39)
+                .datacenterBits(2)
+                .workerBits(6)
+                .sequenceBits(16)
+                .build();
+        LayoutSnowflakeIdGenerator generator = new LayoutSnowflakeIdGenerator(layout, 3, 42,
+                MutableIdClock.ofMillis(NOW), ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+        long id = generator.nextLong();
+        assertTrue(id > 0);
+        assertEquals(NOW / 10 * 10, layout.timestampMillis(id));
+        assertEquals(3, layout.datacenterId(id));
+        assertEquals(42, layout.workerId(id));
+        assertEquals(0, layout.sequence(id));
+        assertEquals(1, layout.sequence(generator.nextLong()));
+
+        Map<String, Long> parts = layout.decompose(id);
+        assertEquals(id, (long) parts.get("id"));
+        assertEquals(3, (long) parts.get("datacenter-id"));
+        assertEquals(42, (long) parts.get("worker-id"));
+        assertEquals(layout.compose(layout.timestamp(id), 3, 42, 0), id);
+    }
+
+    @Test
+    @DisplayName("测试序列号用尽时等待下一个时间单位")
+    void testSequenceExhaustion() {
+        SnowflakeLayout layout = SnowflakeLayout.builder()
+                .timeUnit(1, TimeUnit.SECONDS)
+                .timestampBits(31)
+                .workerBits(8)
+                .sequenceBits(4)
+                .build();
+        // 每次读取时钟前进1毫秒
+        IdClock clock = MutableIdClock.ofMillis(NOW).ticking(1_000_000L);
+        LayoutSnowflakeIdGenerator generator = new LayoutSnowflakeIdGenerator(layout, 0, 1, clock,
+                ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+        Set<Long> ids = new HashSet<>();
+        Set<Long> seconds = new HashSet<>();
+        long previous = -1;
+        for (int i = 0; i < 50; i++) {
+            long id = generator.nextLong();
+            assertTrue(id > previous);
+            assertTrue(ids.add(id));
+            seconds.add(layout.timestamp(id));
+            previous = id;
+        }
+        // 每秒16个序列号，50个ID至少跨越4秒
+        assertTrue(seconds.size() >= 4);
+    }
+
+    @Test
+    @DisplayName("测试不保留符号位时可以使用全部64位")
+    void testWithoutSignBit() {
+        SnowflakeLayout layout = SnowflakeLayout.builder()
+                .signBit(false)
+                .timestampBits(42)
+                .workerBits(10)
+                .sequenceBits(12)
+                .build();
+        long id = layout.compose(layout.getMaxTimestamp(), 0, 1023, 4095);
+        assertEquals(-1L, id);
+        assertEquals(layout.getMaxTimestamp(), layout.timestamp(id));
+        assertEquals(1023, layout.workerId(id));
+        assertEquals(4095, layout.sequence(id));
+    }
+
+    @Test
+    @DisplayName("测试非法布局和参数")
+    void testInvalidLayout() {
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeLayout.builder().timestampBits(42).build());
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeLayout.builder().sequenceBits(0).build());
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeLayout.builder().workerBits(-1).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> SnowflakeLayout.builder().timeUnit(500, TimeUnit.MICROSECONDS).build());
+        // 不足1毫秒的部分不会被截断
+        assertThrows(IllegalArgumentException.class,
+                () -> SnowflakeLayout.builder().timeUnit(1500, TimeUnit.MICROSECONDS));
+        assertEquals(2L, SnowflakeLayout.builder().timeUnit(2000, TimeUnit.MICROSECONDS).build().getUnitMillis());
+        // 位数之和溢出int时也要拒绝
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeLayout.builder()
+                .timestampBits(Integer.MAX_VALUE).sequenceBits(Integer.MAX_VALUE).build());
+        assertThrows(IllegalArgumentException.class, () -> SnowflakeLayout.builder()
+                .timestampBits(41).workerBits(Integer.MIN_VALUE).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> new LayoutSnowflakeIdGenerator(SnowflakeLayout.standard(), 1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LayoutSnowflakeIdGenerator(SnowflakeLayout.standard(), 0, 1024));
+    }
+}
@@ -0,0 +1,144 @@
+package uno.xifan.id.generator.snowflake;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.util.ClockBackwardException;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.MutableIdClock;
+import uno.xifan.id.util.WaitStrategy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分道Snowflake ID生成器测试类
+ */
+@DisplayName("分道Snowflake ID生成器测试")
+public class StripedSnowflakeIdGeneratorTest {
+
+    private static final long EPOCH = 1640995200000L;
+
+    @Test
+    @DisplayName("测试ID布局")
+    void testLayout() {
+        long now = 1_700_000_000_000L;
+        StripedSnowflakeIdGenerator generator = new StripedSnowflakeIdGenerator(7, 8, MutableIdClock.ofMillis(now),
+                ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+        assertEquals(8, generator.getLanes());
+        long id = generator.nextLong();
+        assertEquals(now - EPOCH, id >>> 22);
+        assertEquals(7, (id >>> 12) & 1023);
+        // 每个车道每毫秒512个序列号，车道号位于序列号的高3位
+        assertEquals(0, id & 511);
+    }
+
+    @Test
+    @DisplayName("测试车道用尽后换车道，所有车道用尽后进入下一毫秒")
+    void testLaneExhaustion() {
+        // 每读取10000次时钟前进1毫秒
+        IdClock clock = MutableIdClock.ofMillis(1_700_000_000_000L).ticking(100);
+        StripedSnowflakeIdGenerator generator = new StripedSnowflakeIdGenerator(1, 4, clock,
+                ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+        Set<Long> ids = new HashSet<>();
+        Set<Long> lanes = new HashSet<>();
+        for (int i = 0; i < 4096 * 3; i++) {
+            long id = generator.nextLong();
+            assertTrue(ids.add(id), "生成的ID不应重复");
+            lanes.add((id >>> 10) & 3);
+        }
+        assertEquals(4, lanes.size(), "序列号用尽时应使用所有车道");
+    }
+
+    @Test
+    @DisplayName("测试批量填充的ID唯一")
+    void testFill() {
+        StripedSnowflakeIdGenerator generator = new StripedSnowflakeIdGenerator(1, 16);
+        long[] ids = new long[10002];
+        generator.fill(ids, 1, 10000);
+
+        assertEquals(0, ids[0], "填充范围之外的元素不应被修改");
+        assertEquals(0, ids[10001], "填充范围之外的元素不应被修改");
+        Set<Long> idSet = new HashSet<>();
+        for (int i = 1; i <= 10000; i++) {
+            assertTrue(idSet.add(ids[i]), "批量生成的ID不应重复");
+        }
+    }
+
+    @Test
+    @DisplayName("测试高并发下的唯一性")
+    void testConcurrentUniqueness() throws InterruptedException {
+        StripedSnowflakeIdGenerator generator = new StripedSnowflakeIdGenerator(1);
+        int threadCount = 16;
+        int idsPerThread = 50000;
+        Set<Long> idSet = ConcurrentHashMap.newKeySet(threadCount * idsPerThread);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                try {
+                    for (int j = 0; j < idsPerThread; j++) {
+                        idSet.add(generator.nextLong());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        assertTrue(latch.await(60, TimeUnit.SECONDS), "并发测试应在60秒内完成");
+        executor.shutdown();
+        assertEquals(threadCount * idsPerThread, idSet.size(), "并发生成的所有ID应该唯一");
+    }
+
+    @Test
+    @DisplayName("测试时钟回拨时空闲车道也按回拨策略处理")
+    void testClockBackwardOnIdleLanes() throws Exception {
+        MutableIdClock clock = MutableIdClock.ofMillis(1_700_000_000_000L);
+        StripedSnowflakeIdGenerator generator = new StripedSnowflakeIdGenerator(1, 8, clock,
+                ClockBackwardPolicy.failFast(), WaitStrategy.busySpin());
+        long issued = generator.nextLong();
+        clock.advance(-3);
+
+        // 新线程的探针值不同，会落到其他空闲的车道
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(generator::nextLong));
+            }
+            for (Future<Long> future : futures) {
+                ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+                assertTrue(e.getCause() instanceof ClockBackwardException);
+                assertEquals(3, ((ClockBackwardException) e.getCause()).getBackward());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        clock.advance(4);
+        assertTrue(generator.nextLong() > issued, "时钟追上后新毫秒的ID应大于之前的ID");
+    }
+
+    @Test
+    @DisplayName("测试非法参数")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedSnowflakeIdGenerator(1024, 4));
+        assertThrows(IllegalArgumentException.class, () -> new StripedSnowflakeIdGenerator(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new StripedSnowflakeIdGenerator(1, 3));
+        assertThrows(IllegalArgumentException.class, () -> new StripedSnowflakeIdGenerator(1, 8192));
+        assertDoesNotThrow(() -> new StripedSnowflakeIdGenerator(1, 4096).nextLong());
+    }
+}
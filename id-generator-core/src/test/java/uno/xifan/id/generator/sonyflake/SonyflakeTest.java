@@ -1,15 +1,19 @@
 package uno.xifan.id.generator.sonyflake;
 
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.MutableIdClock;
+import uno.xifan.id.util.WaitStrategy;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,4 +67,69 @@ public class SonyflakeTest {
         System.out.printf("生成%d个ID耗时：%d毫秒，平均每毫秒生成：%.2f个%n",
                 count, duration, count / (double) duration);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSequenceOverflowCarriesToNextUnit() throws Exception {
+        // 每次读取时钟前进1毫秒，序列号用尽时ID使用下一个10毫秒时间单位
+        Sonyflake.Settings settings = new Sonyflake.Settings();
+        settings.machineIDSupplier = () -> (short) 1;
+        settings.waitStrategy = WaitStrategy.busySpin();
+        settings.clock = MutableIdClock.ofMillis(System.currentTimeMillis() / 10 * 10).ticking(1_000_000L);
+        Sonyflake sonyflake = Sonyflake.newInstance(settings);
+        long first = sonyflake.nextID();
+        long previous = first;
+        for (int i = 0; i < 256; i++) {
+            long id = sonyflake.nextID();
+            assertTrue(id > previous);
+            assertEquals(1, Sonyflake.machineID(id));
+            previous = id;
+        }
+        assertTrue(Sonyflake.elapsedTime(previous) > Sonyflake.elapsedTime(first));
+    }
+
+    @Test
+    void testClockBackwardDoesNotWait() throws Exception {
+        // 时钟回退后序列号没有用尽，继续使用上次的时间单位，不进入等待
+        MutableIdClock clock = MutableIdClock.ofMillis(System.currentTimeMillis() / 10 * 10);
+        Sonyflake.Settings settings = new Sonyflake.Settings();
+        settings.machineIDSupplier = () -> (short) 1;
+        settings.waitStrategy = attempts -> {
+            throw new AssertionError("没有进位的调用者不应等待");
+        };
+        settings.clock = clock;
+        Sonyflake sonyflake = Sonyflake.newInstance(settings);
+        long first = sonyflake.nextID();
+        clock.advance(-2000);
+        long second = sonyflake.nextID();
+        assertTrue(second > first);
+        assertEquals(Sonyflake.elapsedTime(first), Sonyflake.elapsedTime(second));
+    }
+
+    @Test
+    void testConcurrentUniqueness() throws Exception {
+        Sonyflake.Settings settings = new Sonyflake.Settings();
+        settings.machineIDSupplier = () -> (short) 1;
+        Sonyflake sonyflake = Sonyflake.newInstance(settings);
+        int threadCount = 8;
+        int idsPerThread = 2000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet(threadCount * idsPerThread);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                try {
+                    for (int j = 0; j < idsPerThread; j++) {
+                        ids.add(sonyflake.nextID());
+                    }
+                } catch (Sonyflake.OverTimeLimitException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(threadCount * idsPerThread, ids.size());
+    }
+}
@@ -1,6 +1,7 @@
 package uno.xifan.id.generator.ulid;
 
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.util.MutableIdClock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -178,4 +179,18 @@ public class ULIDGeneratorTest {
         // 性能断言：生成10万个ID应该在1秒内完成
         assertTrue(durationMs < 1000, "生成10万个ID应在1秒内完成");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试时间戳取自注入的时钟")
+    void testClock() {
+        long now = 1_700_000_000_123L;
+        ULIDGenerator clocked = new ULIDGenerator(MutableIdClock.ofMillis(now), new SecureRandom());
+        for (String ulid : new String[]{clocked.next(), clocked.create()}) {
+            long timestamp = 0;
+            for (int i = 0; i < 10; i++) {
+                timestamp = timestamp << 5 | "0123456789ABCDEFGHJKMNPQRSTVWXYZ".indexOf(ulid.charAt(i));
+            }
+            assertEquals(now, timestamp);
+        }
+    }
+}
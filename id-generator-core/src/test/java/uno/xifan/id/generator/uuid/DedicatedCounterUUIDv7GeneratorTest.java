@@ -0,0 +1,104 @@
+package uno.xifan.id.generator.uuid;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.MutableIdClock;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 专用计数器UUIDv7生成器的测试类
+ */
+@DisplayName("DedicatedCounterUUIDv7Generator 测试")
+class DedicatedCounterUUIDv7GeneratorTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("测试版本、变体和时间戳")
+    void testLayout() {
+        DedicatedCounterUUIDv7Generator generator = new DedicatedCounterUUIDv7Generator(MutableIdClock.ofMillis(NOW),
+                EntropySource.getDefault());
+        UUID uuid = generator.nextUUID();
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(NOW, uuid.getMostSignificantBits() >>> 16);
+        // 每毫秒的计数器初值最高位为0
+        assertEquals(0, uuid.getMostSignificantBits() & 0x800);
+        assertTrue(generator.generate().matches(
+                "^[0-9a-f]{8}-[0-9a-f]{4}-7[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}$"));
+    }
+
+    @Test
+    @DisplayName("测试计数器用尽时借用下一毫秒")
+    void testCounterOverflowBorrowsNextMillisecond() {
+        MutableIdClock clock = MutableIdClock.ofMillis(NOW);
+        DedicatedCounterUUIDv7Generator generator = new DedicatedCounterUUIDv7Generator(clock,
+                EntropySource.fast());
+        String previous = generator.nextUUID().toString();
+        // 时钟停在同一毫秒，65536次必然用尽16位计数器
+        for (int i = 0; i < 65536; i++) {
+            String uuid = generator.nextUUID().toString();
+            assertTrue(uuid.compareTo(previous) > 0);
+            previous = uuid;
+        }
+        long borrowed = UUID.fromString(previous).getMostSignificantBits() >>> 16;
+        assertEquals(NOW + 1, borrowed);
+
+        // 时钟回退时沿用上次的时间戳，仍然递增
+        clock.set(NOW - 1000);
+        UUID uuid = generator.nextUUID();
+        assertTrue(uuid.toString().compareTo(previous) > 0);
+        assertEquals(borrowed, uuid.getMostSignificantBits() >>> 16);
+
+        // 时钟越过借用的时间戳后，计数器重新随机初始化
+        clock.set(NOW + 2);
+        uuid = generator.nextUUID();
+        assertEquals(NOW + 2, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    @DisplayName("测试并发时唯一且每个线程内递增")
+    void testConcurrentMonotonicity() throws InterruptedException {
+        DedicatedCounterUUIDv7Generator generator = new DedicatedCounterUUIDv7Generator();
+        int threadCount = 8;
+        int uuidsPerThread = 20000;
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet(threadCount * uuidsPerThread);
+        AtomicBoolean ordered = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                try {
+                    String previous = "";
+                    for (int j = 0; j < uuidsPerThread; j++) {
+                        UUID uuid = generator.nextUUID();
+                        String text = uuid.toString();
+                        if (text.compareTo(previous) <= 0) {
+                            ordered.set(false);
+                        }
+                        previous = text;
+                        uuids.add(uuid);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(ordered.get());
+        assertEquals(threadCount * uuidsPerThread, uuids.size());
+    }
+}
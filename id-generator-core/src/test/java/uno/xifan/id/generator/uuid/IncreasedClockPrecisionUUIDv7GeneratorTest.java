@@ -0,0 +1,100 @@
+package uno.xifan.id.generator.uuid;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.MutableIdClock;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 高精度时钟UUIDv7生成器的测试类
+ */
+@DisplayName("IncreasedClockPrecisionUUIDv7Generator 测试")
+class IncreasedClockPrecisionUUIDv7GeneratorTest {
+
+    private static final long NOW_NANOS = 1_700_000_000_000_000_000L;
+
+    @Test
+    @DisplayName("测试毫秒分数")
+    void testFraction() {
+        MutableIdClock clock = MutableIdClock.ofNanos(NOW_NANOS + 500_000);
+        IncreasedClockPrecisionUUIDv7Generator generator = new IncreasedClockPrecisionUUIDv7Generator(clock,
+                EntropySource.fast());
+        UUID uuid = generator.nextUUID();
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(NOW_NANOS / 1_000_000, uuid.getMostSignificantBits() >>> 16);
+        // 0.5毫秒对应2048/4096
+        assertEquals(2048, uuid.getMostSignificantBits() & 0xFFF);
+
+        clock.setNanos(NOW_NANOS + 999_999);
+        assertEquals(4095, generator.nextUUID().getMostSignificantBits() & 0xFFF);
+    }
+
+    @Test
+    @DisplayName("测试时钟未前进时领取下一个分数")
+    void testStrictlyIncreasingWithinTick() {
+        MutableIdClock clock = MutableIdClock.ofNanos(NOW_NANOS + 999_000);
+        IncreasedClockPrecisionUUIDv7Generator generator = new IncreasedClockPrecisionUUIDv7Generator(clock,
+                EntropySource.fast());
+        UUID previous = generator.nextUUID();
+        for (int i = 0; i < 100; i++) {
+            UUID uuid = generator.nextUUID();
+            assertTrue(uuid.toString().compareTo(previous.toString()) > 0);
+            previous = uuid;
+        }
+        // 分数用尽后进位到下一毫秒
+        assertEquals(NOW_NANOS / 1_000_000 + 1, previous.getMostSignificantBits() >>> 16);
+
+        // 时钟回退时在上次的基础上继续递增
+        clock.setNanos(NOW_NANOS - 5_000_000);
+        assertTrue(generator.nextUUID().toString().compareTo(previous.toString()) > 0);
+    }
+
+    @Test
+    @DisplayName("测试并发时唯一且每个线程内递增")
+    void testConcurrentMonotonicity() throws InterruptedException {
+        IncreasedClockPrecisionUUIDv7Generator generator = new IncreasedClockPrecisionUUIDv7Generator();
+        int threadCount = 8;
+        int uuidsPerThread = 20000;
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet(threadCount * uuidsPerThread);
+        AtomicBoolean ordered = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                try {
+                    String previous = "";
+                    for (int j = 0; j < uuidsPerThread; j++) {
+                        UUID uuid = generator.nextUUID();
+                        String text = uuid.toString();
+                        if (text.compareTo(previous) <= 0) {
+                            ordered.set(false);
+                        }
+                        previous = text;
+                        uuids.add(uuid);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(ordered.get());
+        assertEquals(threadCount * uuidsPerThread, uuids.size());
+        long millis = uuids.iterator().next().getMostSignificantBits() >>> 16;
+        assertTrue(Math.abs(millis - System.currentTimeMillis()) < 60_000);
+    }
+}
@@ -0,0 +1,129 @@
+package uno.xifan.id.generator.uuid;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NameBasedUuidGenerator 测试")
+class NameBasedUuidGeneratorTest {
+
+    @Test
+    @DisplayName("测试已知结果")
+    void testKnownVectors() {
+        assertEquals(UUID.fromString("886313e1-3b8a-5372-9b90-0c9aee199e5d"),
+                NameBasedUuidGenerator.v5(UUIDv5Generator.NAMESPACE_DNS).generate("python.org"));
+        assertEquals(UUID.fromString("6fa459ea-ee8a-3ca4-894e-db77e160355e"),
+                NameBasedUuidGenerator.v3(UUIDv3Generator.NAMESPACE_DNS).generate("python.org"));
+        assertEquals(UUID.fromString("886313e1-3b8a-5372-9b90-0c9aee199e5d"), UUIDv5Generator.fromDNS("python.org"));
+        assertEquals(UUID.fromString("6fa459ea-ee8a-3ca4-894e-db77e160355e"), UUIDv3Generator.fromDNS("python.org"));
+    }
+
+    @Test
+    @DisplayName("测试非ASCII名称与String.getBytes的UTF-8编码一致")
+    void testUtf8Encoding() throws Exception {
+        NameBasedUuidGenerator generator = NameBasedUuidGenerator.v5(UUIDv5Generator.NAMESPACE_URL);
+        String[] names = {"", "sku-001", "é", "商品-αβγ", "emoji-😀", "broken-\uD800-x", "tail-\uDC00"};
+        for (String name : names) {
+            assertEquals(reference(UUIDv5Generator.NAMESPACE_URL, name), generator.generate(name), name);
+        }
+        StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            longName.append('名');
+        }
+        assertEquals(reference(UUIDv5Generator.NAMESPACE_URL, longName.toString()), generator.generate(longName));
+        // 超过保留上限的名称使用临时数组，之后的短名称不受影响
+        String oversized = longName.toString() + longName + longName;
+        assertEquals(reference(UUIDv5Generator.NAMESPACE_URL, oversized), generator.generate(oversized));
+        assertEquals(reference(UUIDv5Generator.NAMESPACE_URL, "sku-001"), generator.generate("sku-001"));
+    }
+
+    @Test
+    @DisplayName("测试批量生成与逐个生成结果一致")
+    void testBulk() {
+        NameBasedUuidGenerator generator = NameBasedUuidGenerator.v3(UUIDv3Generator.NAMESPACE_OID);
+        String[] names = {"a", "b", "c", "a"};
+        UUID[] fromArray = generator.generate(names);
+        List<UUID> fromList = generator.generate(Arrays.asList(names));
+        assertEquals(names.length, fromArray.length);
+        for (int i = 0; i < names.length; i++) {
+            UUID expected = UUIDv3Generator.fromNamespaceAndName(UUIDv3Generator.NAMESPACE_OID, names[i]);
+            assertEquals(expected, fromArray[i]);
+            assertEquals(expected, fromList.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("测试LRU缓存不改变结果")
+    void testCache() {
+        NameBasedUuidGenerator cached = NameBasedUuidGenerator.v5(UUIDv5Generator.NAMESPACE_DNS, 2);
+        for (int round = 0; round < 3; round++) {
+            for (String name : new String[]{"a", "b", "c", "a", "a"}) {
+                assertEquals(UUIDv5Generator.fromDNS(name), cached.generate(new StringBuilder(name)));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> NameBasedUuidGenerator.v5(UUIDv5Generator.NAMESPACE_DNS, -1));
+    }
+
+    @Test
+    @DisplayName("测试多线程共用分段缓存")
+    void testConcurrentCache() throws Exception {
+        NameBasedUuidGenerator cached = NameBasedUuidGenerator.v5(UUIDv5Generator.NAMESPACE_URL, 100);
+        String[] names = new String[500];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "sku-" + i;
+        }
+        UUID[] expected = NameBasedUuidGenerator.v5(UUIDv5Generator.NAMESPACE_URL).generate(names);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UUID[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    UUID[] uuids = null;
+                    for (int round = 0; round < 20; round++) {
+                        uuids = cached.generate(names);
+                    }
+                    return uuids;
+                }));
+            }
+            for (Future<UUID[]> future : futures) {
+                assertArrayEquals(expected, future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static UUID reference(UUID namespace, String name) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        byte[] ns = new byte[16];
+        long msb = namespace.getMostSignificantBits();
+        long lsb = namespace.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            ns[i] = (byte) (msb >>> (56 - 8 * i));
+            ns[8 + i] = (byte) (lsb >>> (56 - 8 * i));
+        }
+        digest.update(ns);
+        byte[] hash = digest.digest(name.getBytes(StandardCharsets.UTF_8));
+        hash[6] = (byte) (hash[6] & 0x0f | 0x50);
+        hash[8] = (byte) (hash[8] & 0x3f | 0x80);
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 8; i++) {
+            high = (high << 8) | (hash[i] & 0xff);
+            low = (low << 8) | (hash[8 + i] & 0xff);
+        }
+        return new UUID(high, low);
+    }
+}
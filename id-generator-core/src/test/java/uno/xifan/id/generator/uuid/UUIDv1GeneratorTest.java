@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.MutableIdClock;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -95,6 +97,35 @@ public class UUIDv1GeneratorTest {
                 "Expected number of unique UUIDs not generated");
     }
 
+    /**
+     * 测试多个默认实例并发生成的UUID唯一性，同一节点的实例共用时间戳和时钟序列
+     */
+    @Test
+    public void testConcurrentUniquenessAcrossInstances() throws Exception {
+        UUIDv1Generator[] generators = {new UUIDv1Generator(), new UUIDv1Generator()};
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_THREADS);
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet();
+        try {
+            Future<?>[] futures = new Future<?>[CONCURRENT_THREADS];
+            for (int i = 0; i < CONCURRENT_THREADS; i++) {
+                UUIDv1Generator generator = generators[i % generators.length];
+                futures[i] = executor.submit(() -> {
+                    for (int j = 0; j < ITERATIONS_PER_THREAD; j++) {
+                        uuids.add(generator.nextUUID());
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(CONCURRENT_THREADS * ITERATIONS_PER_THREAD, uuids.size(), "Duplicate UUIDs across instances");
+        assertEquals(generators[0].nextUUID().clockSequence(), generators[1].nextUUID().clockSequence());
+    }
+
     /**
      * 测试时钟回拨处理
      */
@@ -126,6 +157,38 @@ public class UUIDv1GeneratorTest {
         assertEquals(1, nodeIds.size(), "Node ID should remain consistent");
     }
 
+    /**
+     * 测试同一时钟刻度内连续生成，以及只有真正的时钟回拨才更换时钟序列
+     */
+    @Test
+    public void testClockSequenceOnlyChangesOnRollback() {
+        MutableIdClock clock = MutableIdClock.ofNanos(1_700_000_000_000_000_000L);
+        UUIDv1Generator generator = new UUIDv1Generator(clock, 0x123456789ABCL);
+        UUID first = generator.nextUUID();
+        assertEquals(0x123456789ABCL, extractNodeId(first));
+
+        // 时钟不动时领取后续的100ns，时钟序列不变
+        UUID previous = first;
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = generator.nextUUID();
+            assertEquals(extractTimestamp(previous) + 1, extractTimestamp(uuid));
+            assertEquals(first.clockSequence(), uuid.clockSequence());
+            previous = uuid;
+        }
+
+        // 回退不超过1毫秒时继续领取，时钟序列不变
+        clock.advanceNanos(-50_000);
+        UUID uuid = generator.nextUUID();
+        assertEquals(extractTimestamp(previous) + 1, extractTimestamp(uuid));
+        assertEquals(first.clockSequence(), uuid.clockSequence());
+
+        // 真正的回拨回到当前时间，并更换时钟序列
+        clock.advanceNanos(-60_000_000_000L);
+        uuid = generator.nextUUID();
+        assertTrue(extractTimestamp(uuid) < extractTimestamp(first));
+        assertEquals((first.clockSequence() + 1) & 0x3FFF, uuid.clockSequence());
+    }
+
     /**
      * 从UUID中提取时间戳
      */
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import uno.xifan.id.util.EntropySource;
+import uno.xifan.id.util.MutableIdClock;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -118,4 +120,14 @@ class UUIDv7GeneratorTest {
         long random2 = uuid2.getLeastSignificantBits() & 0x0000FFFFFFFFFFFFL;
         assertNotEquals(random1, random2, "UUID的随机部分应该不相同");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试时间戳取自注入的时钟")
+    void testClock() {
+        long now = 1_700_000_000_123L;
+        MutableIdClock clock = MutableIdClock.ofMillis(now);
+        assertEquals(now, new UUIDv7Generator(clock, EntropySource.fast()).nextUUID().getMostSignificantBits() >>> 16);
+        assertEquals(now, new StandardUUIDv7Generator(clock, EntropySource.fast()).nextUUID().getMostSignificantBits() >>> 16);
+        assertEquals(now, new UUIDv8Generator(clock, EntropySource.fast()).nextUUID().getMostSignificantBits() >>> 16);
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import uno.xifan.id.util.MutableIdClock;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -107,4 +108,11 @@ class XidTest {
         assertEquals(xid1, xid2, "Xids with same value should be equal");
         assertNotEquals(xid1, new Xid(), "Different Xids should not be equal");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGeneratorClock() {
+        long now = 1_700_000_000_123L;
+        XidGenerator generator = new XidGenerator(MutableIdClock.ofMillis(now));
+        assertEquals(now / 1000 * 1000, new Xid(generator.generate()).getDate().getTime());
+    }
+}
@@ -0,0 +1,134 @@
+package uno.xifan.id.util;
+
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.generator.snowflake.SnowflakeIdGenerator;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClockBackwardPolicyTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void testFailFast() {
+        ManualClock clock = new ManualClock(NOW);
+        ClockBackwardPolicy policy = ClockBackwardPolicy.failFast();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock, policy);
+        generator.next();
+        clock.millis -= 5;
+        ClockBackwardException e = assertThrows(ClockBackwardException.class, generator::next);
+        assertEquals(5, e.getBackward());
+        assertEquals(1, policy.metrics().getEvents());
+        assertEquals(1, policy.metrics().getFailures());
+        assertEquals(5, policy.metrics().getMaxBackward());
+    }
+
+    @Test
+    void testBoundedWait() {
+        // 时钟比系统时间落后，但仍在走动，等待后应追上
+        long[] offset = {0};
+        IdClock clock = new ManualClock(0) {
+            @Override
+            public long currentTimeMillis() {
+                return System.currentTimeMillis() - offset[0];
+            }
+        };
+        ClockBackwardPolicy policy = ClockBackwardPolicy.boundedWait(100, TimeUnit.MILLISECONDS);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock, policy);
+        long before = generator.next();
+        offset[0] = 20;
+        assertTrue(generator.next() > before);
+        assertEquals(1, policy.metrics().getWaits());
+        assertTrue(policy.metrics().getWaitedNanos() > 0);
+
+        // 回拨量超过上限时不等待，直接交给降级策略
+        offset[0] = 10_000;
+        long start = System.nanoTime();
+        assertThrows(ClockBackwardException.class, generator::next);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, policy.metrics().getWaits());
+    }
+
+    @Test
+    void testBorrow() {
+        ManualClock clock = new ManualClock(NOW);
+        ClockBackwardPolicy policy = ClockBackwardPolicy.borrow();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock, policy);
+        long last = generator.next();
+        clock.millis -= 1000;
+        // 序列号用尽后逻辑时间前进，不需要等待系统时钟
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            long id = generator.next();
+            assertTrue(id > last);
+            assertTrue(ids.add(id));
+            last = id;
+        }
+        assertTrue(policy.metrics().getBorrows() > 0);
+        assertEquals(0, policy.metrics().getFailures());
+    }
+
+    @Test
+    void testStandbyWorker() {
+        ManualClock clock = new ManualClock(NOW);
+        ClockBackwardPolicy policy = ClockBackwardPolicy.standbyWorker(1023, ClockBackwardPolicy.failFast());
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock, policy);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(generator.next());
+        }
+        assertEquals(1, workerId(generator.next()));
+
+        // 回拨期间使用备用ID，不会与之前的ID重复
+        clock.millis -= 10;
+        long id = generator.next();
+        assertEquals(1023, workerId(id));
+        assertTrue(ids.add(id));
+        assertEquals(1, policy.metrics().getStandbySwitches());
+
+        // 使用备用ID期间再次回拨，备用ID不再安全
+        clock.millis -= 5;
+        assertThrows(ClockBackwardException.class, generator::next);
+
+        // 时钟越过回拨前的时间戳后切回原ID
+        clock.millis = NOW + 1;
+        assertEquals(1, workerId(generator.next()));
+    }
+
+    @Test
+    void testInvalidStandbyWorker() {
+        IdClock clock = IdClock.system();
+        assertThrows(IllegalArgumentException.class, () ->
+                new SnowflakeIdGenerator(1, clock, ClockBackwardPolicy.standbyWorker(1024, ClockBackwardPolicy.failFast())));
+        assertThrows(IllegalArgumentException.class, () ->
+                new SnowflakeIdGenerator(1, clock, ClockBackwardPolicy.standbyWorker(1, ClockBackwardPolicy.failFast())));
+        assertThrows(IllegalArgumentException.class, () ->
+                ClockBackwardPolicy.boundedWait(-1, TimeUnit.MILLISECONDS));
+    }
+
+    private static long workerId(long id) {
+        return (id >>> 12) & 0x3FF;
+    }
+
+    private static class ManualClock implements IdClock {
+        long millis;
+
+        ManualClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return millis;
+        }
+
+        @Override
+        public long currentTimeNanos() {
+            return currentTimeMillis() * 1_000_000L;
+        }
+    }
+}
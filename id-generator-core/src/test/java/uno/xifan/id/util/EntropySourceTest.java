@@ -0,0 +1,125 @@
+package uno.xifan.id.util;
+
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.generator.cuid.CUIDv1Generator;
+import uno.xifan.id.generator.cuid.CUIDv2Generator;
+import uno.xifan.id.generator.mist.SecureMistGenerator;
+import uno.xifan.id.generator.nano.NanoIdGenerator;
+import uno.xifan.id.generator.uuid.StandardUUIDv7Generator;
+import uno.xifan.id.generator.uuid.UUIDv7Generator;
+import uno.xifan.id.generator.uuid.UUIDv8Generator;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntropySourceTest {
+
+    @Test
+    void testOf() {
+        assertSame(EntropySource.getDefault(), EntropySource.of("default"));
+        assertSame(EntropySource.fast(), EntropySource.of(" FAST "));
+        assertEquals(EntropySource.DRBG, EntropySource.of("drbg").getAlgorithm());
+        assertTrue(EntropySource.getDefault().isSecure());
+        assertFalse(EntropySource.fast().isSecure());
+        assertThrows(IllegalArgumentException.class, () -> EntropySource.of("dice"));
+        assertThrows(IllegalArgumentException.class, () -> EntropySource.secure("NoSuchPRNG"));
+        assertThrows(IllegalArgumentException.class, () -> EntropySource.secure("SHA1PRNG", 63, 1024));
+        assertThrows(IllegalArgumentException.class, () -> EntropySource.secure("SHA1PRNG", 64, 0));
+    }
+
+    @Test
+    void testAcrossBlocksAndReseeds() {
+        // 64字节的缓冲区，每256字节重新播种，取出的数据跨越多次填充和重新播种
+        EntropySource entropy = EntropySource.secure("SHA1PRNG", 64, 256);
+        Set<Long> longs = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(longs.add(entropy.nextLong()));
+        }
+        Set<Integer> ints = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            ints.add(entropy.nextInt());
+        }
+        assertTrue(ints.size() > 90);
+
+        byte[] bytes = new byte[1000];
+        entropy.nextBytes(bytes, 3, 990);
+        assertEquals(0, bytes[0]);
+        assertEquals(0, bytes[999]);
+        int zeros = 0;
+        for (int i = 3; i < 993; i++) {
+            if (bytes[i] == 0) {
+                zeros++;
+            }
+        }
+        assertTrue(zeros < 30, "zeros " + zeros);
+        assertThrows(IndexOutOfBoundsException.class, () -> entropy.nextBytes(bytes, 990, 20));
+    }
+
+    @Test
+    void testFast() {
+        EntropySource entropy = EntropySource.fast();
+        byte[] bytes = new byte[13];
+        entropy.nextBytes(bytes);
+        Set<Long> longs = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(longs.add(entropy.nextLong()));
+        }
+    }
+
+    @Test
+    void testGeneratorsTakeEntropySource() throws InterruptedException {
+        EntropySource entropy = EntropySource.secure(EntropySource.DRBG, 4096, 1 << 16);
+        UUIDv7Generator uuidGenerator = new UUIDv7Generator(entropy);
+        NanoIdGenerator nanoIdGenerator = new NanoIdGenerator(entropy);
+        assertEquals(21, nanoIdGenerator.nextId().length());
+
+        int threadCount = 8;
+        int idsPerThread = 10000;
+        Set<UUID> uuids = ConcurrentHashMap.newKeySet(threadCount * idsPerThread);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            executor.submit(() -> {
+                try {
+                    for (int j = 0; j < idsPerThread; j++) {
+                        uuids.add(uuidGenerator.nextUUID());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        assertTrue(latch.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(threadCount * idsPerThread, uuids.size());
+        UUID uuid = uuids.iterator().next();
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testMoreGeneratorsTakeEntropySource() {
+        EntropySource entropy = EntropySource.secure(EntropySource.DRBG, 64, 1 << 10);
+        assertEquals(25, new CUIDv1Generator(entropy).generate().length());
+        assertEquals(24, new CUIDv2Generator(entropy).generate().length());
+        assertEquals(7, new StandardUUIDv7Generator(entropy).nextUUID().version());
+        assertEquals(8, new UUIDv8Generator(entropy).nextUUID().version());
+
+        // 自增数在锁内预留，随机因子在锁外获取，批量生成的ID仍然唯一且递增
+        SecureMistGenerator mist = new SecureMistGenerator(entropy);
+        long[] ids = new long[1000];
+        mist.fill(ids, 0, ids.length);
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] > ids[i - 1]);
+        }
+        assertTrue(mist.nextLong() > ids[ids.length - 1]);
+    }
+}
@@ -0,0 +1,62 @@
+package uno.xifan.id.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdClockTest {
+
+    @Test
+    void testSystemClock() {
+        IdClock clock = IdClock.system();
+        long before = System.currentTimeMillis();
+        long millis = clock.currentTimeMillis();
+        assertTrue(millis >= before && millis <= System.currentTimeMillis());
+        assertTrue(Math.abs(clock.currentTimeNanos() / 1_000_000L - millis) < 1000);
+        assertTrue(Math.abs(clock.currentTimeMicros() / 1_000L - millis) < 1000);
+    }
+
+    @Test
+    void testCachedClock() throws InterruptedException {
+        try (CachedIdClock clock = new CachedIdClock(1, TimeUnit.MILLISECONDS)) {
+            long first = clock.currentTimeMillis();
+            assertTrue(Math.abs(System.currentTimeMillis() - first) < 1000);
+            Thread.sleep(20);
+            // 刷新线程会推进缓存的时间
+            assertTrue(clock.currentTimeMillis() > first);
+            assertEquals(0, clock.currentTimeNanos() % 1_000_000L);
+        }
+        assertSame(IdClock.cached(), IdClock.cached());
+        assertThrows(IllegalArgumentException.class, () -> new CachedIdClock(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testCachedClockClose() throws InterruptedException {
+        CachedIdClock clock = new CachedIdClock(1, TimeUnit.MILLISECONDS);
+        clock.close();
+        Thread.sleep(10);
+        long stopped = clock.currentTimeMillis();
+        Thread.sleep(20);
+        assertEquals(stopped, clock.currentTimeMillis());
+
+        // 共享实例不能被某个使用者关闭
+        assertThrows(UnsupportedOperationException.class, ((CachedIdClock) IdClock.cached())::close);
+        long shared = IdClock.cached().currentTimeMillis();
+        Thread.sleep(20);
+        assertTrue(IdClock.cached().currentTimeMillis() > shared);
+    }
+
+    @Test
+    void testHighResolutionClock() {
+        IdClock clock = IdClock.highResolution();
+        assertTrue(Math.abs(System.currentTimeMillis() - clock.currentTimeMillis()) < 1000);
+        long last = clock.currentTimeNanos();
+        for (int i = 0; i < 10_000; i++) {
+            long now = clock.currentTimeNanos();
+            assertTrue(now >= last);
+            last = now;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package uno.xifan.id.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 测试用的可调时钟，可以设置、推进或回退时间，也可以在每次读取毫秒时间后自动前进
+ */
+public final class MutableIdClock implements IdClock {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final AtomicLong nanos;
+    private volatile long tickNanos; // 每次读取毫秒时间后前进的纳秒数
+
+    private MutableIdClock(long nanos) {
+        this.nanos = new AtomicLong(nanos);
+    }
+
+    /**
+     * 创建停在指定毫秒时间的时钟
+     */
+    public static MutableIdClock ofMillis(long millis) {
+        return new MutableIdClock(millis * NANOS_PER_MILLI);
+    }
+
+    /**
+     * 创建停在指定纳秒时间的时钟
+     */
+    public static MutableIdClock ofNanos(long nanos) {
+        return new MutableIdClock(nanos);
+    }
+
+    /**
+     * 每次读取毫秒时间后自动前进指定的纳秒数，用于模拟生成过程中流逝的时间
+     *
+     * @return 本时钟
+     */
+    public MutableIdClock ticking(long nanosPerRead) {
+        this.tickNanos = nanosPerRead;
+        return this;
+    }
+
+    public void set(long millis) {
+        nanos.set(millis * NANOS_PER_MILLI);
+    }
+
+    public void setNanos(long value) {
+        nanos.set(value);
+    }
+
+    /**
+     * 推进指定的毫秒数，负数表示时钟回退
+     */
+    public void advance(long millis) {
+        nanos.addAndGet(millis * NANOS_PER_MILLI);
+    }
+
+    /**
+     * 推进指定的纳秒数，负数表示时钟回退
+     */
+    public void advanceNanos(long delta) {
+        nanos.addAndGet(delta);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return nanos.getAndAdd(tickNanos) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long currentTimeNanos() {
+        return nanos.get();
+    }
+}
@@ -0,0 +1,127 @@
+package uno.xifan.id.util;
+
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.generator.snowflake.SnowflakeIdGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeBorrowingTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long EPOCH = 1640995200000L;
+
+    @Test
+    void testBorrowWithinMaxDrift() {
+        // 时钟不走，序列号用尽后借用未来的毫秒，领先量不超过上限
+        ManualClock clock = new ManualClock(NOW);
+        TimeBorrowing borrowing = TimeBorrowing.maxDrift(5, TimeUnit.MILLISECONDS);
+        SnowflakeIdGenerator generator = newGenerator(clock, borrowing);
+        long last = -1L;
+        for (int i = 0; i < 4096 * 6; i++) {
+            long id = generator.next();
+            assertTrue(id > last);
+            last = id;
+        }
+        assertEquals(NOW + 5, timestampOf(last));
+        assertEquals(5, borrowing.getLag());
+        assertEquals(5, borrowing.getMaxLag());
+        assertEquals(5, borrowing.getBorrows());
+
+        // 负载下降后墙上时间追上逻辑时间
+        clock.millis += 10;
+        long id = generator.next();
+        assertTrue(id > last);
+        assertEquals(NOW + 10, timestampOf(id));
+        assertEquals(0, borrowing.getLag());
+        assertEquals(5, borrowing.getMaxLag());
+    }
+
+    @Test
+    void testWaitWhenMaxDriftReached() {
+        // 领先量达到上限后等待时钟前进
+        IdClock clock = new ManualClock(NOW) {
+            private int reads;
+
+            @Override
+            public long currentTimeMillis() {
+                if (++reads % 1000 == 0) {
+                    millis++;
+                }
+                return millis;
+            }
+        };
+        TimeBorrowing borrowing = TimeBorrowing.maxDrift(2, TimeUnit.MILLISECONDS);
+        SnowflakeIdGenerator generator = newGenerator(clock, borrowing);
+        long last = -1L;
+        for (int i = 0; i < 4096 * 20; i++) {
+            long id = generator.next();
+            assertTrue(id > last);
+            last = id;
+        }
+        assertTrue(borrowing.getMaxLag() <= 2);
+        assertTrue(clock.currentTimeMillis() + 2 >= timestampOf(last));
+    }
+
+    @Test
+    void testFillBorrows() {
+        ManualClock clock = new ManualClock(NOW);
+        TimeBorrowing borrowing = TimeBorrowing.maxDrift(3, TimeUnit.MILLISECONDS);
+        SnowflakeIdGenerator generator = newGenerator(clock, borrowing);
+        long[] ids = new long[4096 * 4];
+        generator.fill(ids, 0, ids.length);
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] > ids[i - 1]);
+        }
+        assertEquals(NOW + 3, timestampOf(ids[ids.length - 1]));
+        assertEquals(3, borrowing.getLag());
+    }
+
+    @Test
+    void testClockBackwardWhileBorrowing() {
+        // 借用期间时钟回拨到读到过的墙上时间之前，仍交给回拨策略处理
+        ManualClock clock = new ManualClock(NOW);
+        SnowflakeIdGenerator generator = newGenerator(clock, TimeBorrowing.maxDrift(5, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 4096 * 2; i++) {
+            generator.next();
+        }
+        clock.millis -= 1;
+        assertThrows(ClockBackwardException.class, generator::next);
+    }
+
+    @Test
+    void testDisabled() {
+        assertFalse(TimeBorrowing.disabled().isEnabled());
+        assertSame(TimeBorrowing.disabled(), TimeBorrowing.maxDrift(0, TimeUnit.MILLISECONDS));
+        assertTrue(TimeBorrowing.maxDrift(1, TimeUnit.SECONDS).isEnabled());
+        assertEquals(1000, TimeBorrowing.maxDrift(1, TimeUnit.SECONDS).getMaxDriftMillis());
+        assertThrows(IllegalArgumentException.class, () -> TimeBorrowing.maxDrift(-1, TimeUnit.MILLISECONDS));
+    }
+
+    private static SnowflakeIdGenerator newGenerator(IdClock clock, TimeBorrowing borrowing) {
+        return new SnowflakeIdGenerator(1, clock, ClockBackwardPolicy.failFast(), WaitStrategy.busySpin(), borrowing);
+    }
+
+    private static long timestampOf(long id) {
+        return (id >>> 22) + EPOCH;
+    }
+
+    private static class ManualClock implements IdClock {
+        long millis;
+
+        ManualClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return millis;
+        }
+
+        @Override
+        public long currentTimeNanos() {
+            return currentTimeMillis() * 1_000_000L;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package uno.xifan.id.util;
+
+import org.junit.jupiter.api.Test;
+import uno.xifan.id.generator.snowflake.SnowflakeIdGenerator;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitStrategyTest {
+
+    @Test
+    void testOf() {
+        assertSame(WaitStrategy.busySpin(), WaitStrategy.of("busy-spin"));
+        assertSame(WaitStrategy.yielding(), WaitStrategy.of("yield"));
+        assertSame(WaitStrategy.parking(), WaitStrategy.of(" PARK "));
+        assertSame(WaitStrategy.virtualThreadFriendly(), WaitStrategy.of("virtual-thread"));
+        assertThrows(IllegalArgumentException.class, () -> WaitStrategy.of("sleep"));
+        assertThrows(IllegalArgumentException.class, () -> new ParkingWaitStrategy(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ParkingWaitStrategy(-1, 1000));
+    }
+
+    @Test
+    void testSequenceExhaustion() {
+        // 时钟每读取一定次数才前进1毫秒，每种策略都要等到下一毫秒，且生成的ID不重复
+        WaitStrategy[] strategies = {WaitStrategy.busySpin(), WaitStrategy.yielding(),
+                WaitStrategy.parking(), WaitStrategy.virtualThreadFriendly()};
+        for (WaitStrategy strategy : strategies) {
+            SlowClock clock = new SlowClock(1_700_000_000_000L);
+            SnowflakeIdGenerator generator =
+                    new SnowflakeIdGenerator(1, clock, ClockBackwardPolicy.failFast(), strategy);
+            Set<Long> ids = new HashSet<>();
+            for (int i = 0; i < 10_000; i++) {
+                assertTrue(ids.add(generator.nextLong()));
+            }
+            assertTrue(clock.millis > 1_700_000_000_001L);
+        }
+    }
+
+    private static class SlowClock implements IdClock {
+        long millis;
+        int reads;
+
+        SlowClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            if (++reads % 500 == 0) {
+                millis++;
+            }
+            return millis;
+        }
+
+        @Override
+        public long currentTimeNanos() {
+            return millis * 1_000_000L;
+        }
+    }
+}
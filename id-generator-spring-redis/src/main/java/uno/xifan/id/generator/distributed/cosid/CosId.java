@@ -1,11 +1,16 @@
 package uno.xifan.id.generator.distributed.cosid;
 
+import uno.xifan.id.base.Base32;
 import uno.xifan.id.base.Base36;
 import uno.xifan.id.base.Base62;
+import uno.xifan.id.base.Encoding;
 import uno.xifan.id.base.Id;
+import uno.xifan.id.util.AsciiUtils;
 
 import lombok.Data;
 
+import java.nio.ByteBuffer;
+
 @Data
 public class CosId implements Id {
 
@@ -47,13 +52,106 @@ public class CosId implements Id {
                 + Base36.encode(long2bytes(sequence));
     }
 
+    @Override
+    public String toBase32() {
+        // 80位恰好是16个字符，直接从高低两段编码，与按10字节编码的结果相同
+        byte[] ascii = AsciiUtils.buffer(Base32.LENGTH_80);
+        return AsciiUtils.newString(ascii, 0, Base32.encode80(high16(), low64(), ascii, 0));
+    }
+
+    @Override
+    public int encodeInto(char[] dst, int off, Encoding encoding) {
+        if (encoding == Encoding.BASE32) {
+            return Base32.encode80(high16(), low64(), dst, off);
+        }
+        if (encoding != Encoding.BASE62 && encoding != Encoding.BASE36) {
+            return Id.super.encodeInto(dst, off, encoding);
+        }
+        // 与toBase62/toBase36保持一致：三段分别编码后拼接
+        int pos = off;
+        pos += encoding.encode(timestamp, dst, pos);
+        pos += encoding.encode(machineId, dst, pos);
+        pos += encoding.encode(sequence, dst, pos);
+        return pos - off;
+    }
+
+    @Override
+    public int encodeInto(byte[] dst, int off, Encoding encoding) {
+        if (encoding == Encoding.BASE32) {
+            return Base32.encode80(high16(), low64(), dst, off);
+        }
+        if (encoding != Encoding.BASE62 && encoding != Encoding.BASE36) {
+            return Id.super.encodeInto(dst, off, encoding);
+        }
+        int pos = off;
+        pos += encoding.encode(timestamp, dst, pos);
+        pos += encoding.encode(machineId, dst, pos);
+        pos += encoding.encode(sequence, dst, pos);
+        return pos - off;
+    }
+
     @Override
     public byte[] toBytes() {
-        throw new UnsupportedOperationException("Not supported yet.");
+        byte[] bytes = new byte[10];
+        writeBytes(bytes, 0);
+        return bytes;
+    }
+
+    @Override
+    public int byteLength() {
+        return 10;
+    }
+
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        long hi = high16();
+        dst[off] = (byte) (hi >>> 8);
+        dst[off + 1] = (byte) hi;
+        putLong(dst, off + 2, low64());
+        return 10;
+    }
+
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        dst.putShort((short) high16()).putLong(low64());
     }
 
     @Override
     public long toLong() {
         throw new UnsupportedOperationException("Not supported yet.");
     }
+
+    // 80位按 timestamp|machineId|sequence 拼接，分为高16位和低64位两部分
+
+    private long high16() {
+        return shiftHigh(machineId & mask(machineBits), sequenceBits)
+                | shiftHigh(timestamp, machineBits + sequenceBits);
+    }
+
+    private long low64() {
+        return sequence & mask(sequenceBits)
+                | shiftLow(machineId & mask(machineBits), sequenceBits)
+                | shiftLow(timestamp, machineBits + sequenceBits);
+    }
+
+    private static long mask(int bits) {
+        return bits >= 64 ? -1L : (1L << bits) - 1;
+    }
+
+    /**
+     * 左移后落在低64位中的部分
+     */
+    private static long shiftLow(long value, int shift) {
+        return shift >= 64 ? 0 : value << shift;
+    }
+
+    /**
+     * 左移后超出低64位、落在高位中的部分
+     */
+    private static long shiftHigh(long value, int shift) {
+        if (shift == 0) {
+            return 0;
+        }
+        return shift >= 64 ? value << (shift - 64) : value >>> (64 - shift);
+    }
 }
@@ -3,7 +3,12 @@ package uno.xifan.id.generator.distributed.cosid;
 import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
 import uno.xifan.id.generator.distributor.MachineIdDistributor;
+import uno.xifan.id.util.ClockBackwardException;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.WaitStrategy;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -16,18 +21,49 @@ public class CosIdGenerator implements IdGenerator {
     private final int machineBits;
     private final int sequenceBits;
     private final long epoch;
+    private final IdClock clock;
+    private final ClockBackwardPolicy backwardPolicy;
+    private final WaitStrategy waitStrategy;
     private long currentSequence = 0L;
     private long lastTimestamp = -1L;
 
+    @Autowired
     public CosIdGenerator(RedissonClient redisson,
             @Value("${id.generator.cosid.timestamp.bits:44}") int timestampBits,
             @Value("${id.generator.cosid.machine.bits:20}") int machineBits,
             @Value("${id.generator.cosid.sequence.bits:16}") int sequenceBits,
-            @Value("${id.generator.cosid.epoch:1672502400000}") long epoch) {
+            @Value("${id.generator.cosid.epoch:1672502400000}") long epoch,
+            @Value("${id.generator.cosid.wait-strategy:busy-spin}") String waitStrategy) {
+        this(redisson, timestampBits, machineBits, sequenceBits, epoch, IdClock.system(),
+                ClockBackwardPolicy.failFast(), WaitStrategy.of(waitStrategy));
+    }
+
+    public CosIdGenerator(RedissonClient redisson, int timestampBits, int machineBits, int sequenceBits, long epoch) {
+        this(redisson, timestampBits, machineBits, sequenceBits, epoch, IdClock.system());
+    }
+
+    public CosIdGenerator(RedissonClient redisson, int timestampBits, int machineBits, int sequenceBits, long epoch,
+            IdClock clock) {
+        this(redisson, timestampBits, machineBits, sequenceBits, epoch, clock, ClockBackwardPolicy.failFast());
+    }
+
+    public CosIdGenerator(RedissonClient redisson, int timestampBits, int machineBits, int sequenceBits, long epoch,
+            IdClock clock, ClockBackwardPolicy backwardPolicy) {
+        this(redisson, timestampBits, machineBits, sequenceBits, epoch, clock, backwardPolicy, WaitStrategy.busySpin());
+    }
+
+    public CosIdGenerator(RedissonClient redisson, int timestampBits, int machineBits, int sequenceBits, long epoch,
+            IdClock clock, ClockBackwardPolicy backwardPolicy, WaitStrategy waitStrategy) {
+        if (backwardPolicy.standbyWorkerId() >= 0) {
+            throw new IllegalArgumentException("Standby worker is not supported by Redis allocated machine IDs");
+        }
         this.timestampBits = timestampBits;
         this.machineBits = machineBits;
         this.sequenceBits = sequenceBits;
         this.epoch = epoch;
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
         // 验证位数分配是否合法
         if (timestampBits + machineBits + sequenceBits != 80) {
             throw new IllegalArgumentException(
@@ -44,37 +80,53 @@ public class CosIdGenerator implements IdGenerator {
     /**
      * 等待下一个毫秒
      */
-    private void waitNextMillis(long lastTimestamp) {
+    private long waitNextMillis(long lastTimestamp) {
         long timestamp = getCurrentTimestamp();
-        while (timestamp <= lastTimestamp) {
+        for (int attempts = 0; timestamp <= lastTimestamp; attempts++) {
+            if (timestamp < lastTimestamp) {
+                // 时钟仍落后于上次的时间戳（例如回拨期间沿用了上次的时间戳），由回拨策略给出下一个时间戳
+                return onClockBackward(lastTimestamp + 1, timestamp);
+            }
+            waitStrategy.idle(attempts);
             timestamp = getCurrentTimestamp();
         }
+        return timestamp;
+    }
+
+    /**
+     * 按回拨策略处理时钟回拨
+     */
+    private long onClockBackward(long lastTimestamp, long timestamp) {
+        long resolved = backwardPolicy.onClockBackward(lastTimestamp, timestamp, this::getCurrentTimestamp);
+        if (resolved < lastTimestamp) {
+            // 机器ID由Redis分配，没有可以安全切换的备用ID
+            throw new ClockBackwardException(lastTimestamp - timestamp,
+                    String.format("时钟回拨，拒绝生成ID，回拨时间：%d毫秒", lastTimestamp - timestamp));
+        }
+        return resolved;
     }
 
     /**
      * 获取当前时间戳（相对于纪元时间）
      */
     private long getCurrentTimestamp() {
-        return System.currentTimeMillis() - epoch;
+        return clock.currentTimeMillis() - epoch;
     }
 
     @Override
     public synchronized CosId generate() {
         long timestamp = getCurrentTimestamp();
 
-        // 检查时钟回拨
+        // 检查时钟回拨，交给回拨策略处理
         if (timestamp < lastTimestamp) {
-            long backwardMillis = lastTimestamp - timestamp;
-            String errorMessage = String.format("时钟回拨，拒绝生成ID，回拨时间：%d毫秒", backwardMillis);
-            throw new RuntimeException(errorMessage);
+            timestamp = onClockBackward(lastTimestamp, timestamp);
         }
 
         // 如果是同一毫秒
         if (timestamp == lastTimestamp) {
             // 同一毫秒内序列号达到最大值
             if (currentSequence >= maxSequence) {
-                waitNextMillis(lastTimestamp);
-                timestamp = getCurrentTimestamp();
+                timestamp = waitNextMillis(lastTimestamp);
                 currentSequence = 0L;
             }
         } else {
@@ -87,6 +139,87 @@ public class CosIdGenerator implements IdGenerator {
                 sequenceBits);
     }
 
+    /**
+     * 批量生成CosId
+     * <p>
+     * 在一次加锁中预留整段连续的序列号（序列号用尽时在锁内等待下一毫秒，可跨越多个毫秒），
+     * 然后在锁外创建CosId对象。
+     * </p>
+     *
+     * @param count 要生成的ID数量，必须大于0
+     * @return 生成的CosId数组
+     */
+    @Override
+    public CosId[] generate(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        // 首个毫秒至少分到1个序列号，之后每个毫秒最多分到 maxSequence 个
+        int maxRuns = (int) (count / maxSequence) + 2;
+        long[] runTimestamps = new long[maxRuns];
+        long[] runSequences = new long[maxRuns];
+        int[] runLengths = new int[maxRuns];
+        int runs = reserve(count, runTimestamps, runSequences, runLengths);
+
+        long machineId = machineIdDistributor.get();
+        CosId[] ids = new CosId[count];
+        int index = 0;
+        for (int r = 0; r < runs; r++) {
+            long sequence = runSequences[r];
+            for (int k = runLengths[r]; k > 0; k--) {
+                ids[index++] = new CosId(runTimestamps[r], machineId, sequence++, timestampBits, machineBits,
+                        sequenceBits);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 预留 count 个连续的序列号
+     *
+     * @param count         需要预留的数量
+     * @param runTimestamps 每段的时间戳
+     * @param runSequences  每段的起始序列号
+     * @param runLengths    每段预留的数量
+     * @return 预留跨越的毫秒数
+     */
+    private synchronized int reserve(int count, long[] runTimestamps, long[] runSequences, int[] runLengths) {
+        long timestamp = getCurrentTimestamp();
+
+        // 检查时钟回拨，交给回拨策略处理
+        if (timestamp < lastTimestamp) {
+            timestamp = onClockBackward(lastTimestamp, timestamp);
+        }
+
+        if (timestamp == lastTimestamp) {
+            if (currentSequence >= maxSequence) {
+                timestamp = waitNextMillis(lastTimestamp);
+                currentSequence = 0L;
+            }
+        } else {
+            currentSequence = 0L;
+        }
+
+        int runs = 0;
+        int remaining = count;
+        while (true) {
+            int take = (int) Math.min(remaining, maxSequence - currentSequence);
+            runTimestamps[runs] = timestamp;
+            runSequences[runs] = currentSequence;
+            runLengths[runs++] = take;
+            remaining -= take;
+            currentSequence += take;
+            if (remaining == 0) {
+                break;
+            }
+            timestamp = waitNextMillis(timestamp);
+            currentSequence = 0L;
+        }
+
+        lastTimestamp = timestamp;
+        return runs;
+    }
+
     @Override
     public IdType idType() {
         return IdType.CosId;
@@ -4,6 +4,7 @@ import uno.xifan.id.base.Id;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -30,4 +31,20 @@ public class DtsId implements Id {
                         .format(dateTimeFormatter);
         return Long.parseLong(formatted) * 100000 + sequence % 100000;
     }
+
+    @Override
+    public int byteLength() {
+        return Long.BYTES;
+    }
+
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        putLong(dst, off, toLong());
+        return Long.BYTES;
+    }
+
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        dst.putLong(toLong());
+    }
 }
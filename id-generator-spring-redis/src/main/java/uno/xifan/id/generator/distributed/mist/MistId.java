@@ -3,6 +3,8 @@ package uno.xifan.id.generator.distributed.mist;
 import uno.xifan.id.base.Id;
 import lombok.Data;
 
+import java.nio.ByteBuffer;
+
 @Data
 public class MistId implements Id {
     private long increment;
@@ -22,4 +24,20 @@ public class MistId implements Id {
     public long toLong() {
         return this.increment << 16 | this.random;
     }
+
+    @Override
+    public int byteLength() {
+        return Long.BYTES;
+    }
+
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        putLong(dst, off, toLong());
+        return Long.BYTES;
+    }
+
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        dst.putLong(toLong());
+    }
 }
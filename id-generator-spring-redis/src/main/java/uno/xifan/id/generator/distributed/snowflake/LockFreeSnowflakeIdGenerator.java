@@ -1,27 +1,34 @@
 package uno.xifan.id.generator.distributed.snowflake;
 
-import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
 import uno.xifan.id.generator.distributor.MachineIdDistributor;
+import uno.xifan.id.util.ClockBackwardException;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.PaddedAtomicLong;
+import uno.xifan.id.util.WaitStrategy;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 /**
  * 雪花算法ID生成器
  *
  * <p>64位ID (42位时间戳 + 10位机器ID + 12位序列号)
  *
  * <p>整体结构： - 符号位：1位，固定为0 - 时间戳：41位，精确到毫秒，可用69年 - 机器ID：10位，最多支持1024个节点 - 序列号：12位，同一毫秒内最多生成4096个ID
+ *
+ * <p>上次的时间戳和序列号打包在同一个long中（相对起始时间的毫秒数左移序列号位数，低位为序列号），
+ * 每次生成只对这个状态做一次CAS，时间戳和序列号总是一起前进，并发下不会生成重复的ID。
  */
 @Component
-public class LockFreeSnowflakeIdGenerator implements IdGenerator {
+public class LockFreeSnowflakeIdGenerator implements LongIdGenerator {
 
 
     /** 起始时间戳 (2022-02-23) */
@@ -36,23 +43,84 @@ public class LockFreeSnowflakeIdGenerator implements IdGenerator {
     /** 序列号占用位数 */
     private final int sequenceBits;
 
-    /** 上次生成ID的时间戳 */
-    private final AtomicLong lastTimestamp = new AtomicLong(-1L);
+    /** 打包的（上次生成ID的相对时间戳, 序列号），独占一条缓存行 */
+    private final PaddedAtomicLong state = new PaddedAtomicLong();
 
 
 
     /** 机器ID服务，负责获取和维护当前节点的机器ID */
     private final MachineIdDistributor machineIdDistributor;
 
+    /** 时钟 */
+    private final IdClock clock;
+
+    /** 时钟回拨策略 */
+    private final ClockBackwardPolicy backwardPolicy;
+
+    /** 序列号用尽时等待下一毫秒的策略 */
+    private final WaitStrategy waitStrategy;
+
+    @Autowired
     public LockFreeSnowflakeIdGenerator(
             RedissonClient redissonClient,
             @Value("${id.generator.snowflake.epoch:1645557742000}") long epoch,
             @Value("${id.generator.snowflake.timestamp:41}") int timestampBits,
             @Value("${id.generator.snowflake.machine:10}") int machineIdBits,
-            @Value("${id.generator.snowflake.sequence:12}") int sequenceBits) {
+            @Value("${id.generator.snowflake.sequence:12}") int sequenceBits,
+            @Value("${id.generator.snowflake.wait-strategy:busy-spin}") String waitStrategy) {
+        this(redissonClient, epoch, timestampBits, machineIdBits, sequenceBits, IdClock.system(),
+                ClockBackwardPolicy.failFast(), WaitStrategy.of(waitStrategy));
+    }
+
+    public LockFreeSnowflakeIdGenerator(
+            RedissonClient redissonClient,
+            long epoch,
+            int timestampBits,
+            int machineIdBits,
+            int sequenceBits) {
+        this(redissonClient, epoch, timestampBits, machineIdBits, sequenceBits, IdClock.system());
+    }
+
+    public LockFreeSnowflakeIdGenerator(
+            RedissonClient redissonClient,
+            long epoch,
+            int timestampBits,
+            int machineIdBits,
+            int sequenceBits,
+            IdClock clock) {
+        this(redissonClient, epoch, timestampBits, machineIdBits, sequenceBits, clock, ClockBackwardPolicy.failFast());
+    }
+
+    public LockFreeSnowflakeIdGenerator(
+            RedissonClient redissonClient,
+            long epoch,
+            int timestampBits,
+            int machineIdBits,
+            int sequenceBits,
+            IdClock clock,
+            ClockBackwardPolicy backwardPolicy) {
+        this(redissonClient, epoch, timestampBits, machineIdBits, sequenceBits, clock, backwardPolicy,
+                WaitStrategy.busySpin());
+    }
+
+    public LockFreeSnowflakeIdGenerator(
+            RedissonClient redissonClient,
+            long epoch,
+            int timestampBits,
+            int machineIdBits,
+            int sequenceBits,
+            IdClock clock,
+            ClockBackwardPolicy backwardPolicy,
+            WaitStrategy waitStrategy) {
+        if (backwardPolicy.standbyWorkerId() >= 0) {
+            throw new IllegalArgumentException("Standby worker is not supported by Redis allocated machine IDs");
+        }
 
         // 初始化配置参数
         this.epoch = epoch;
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
         this.timestampBits = timestampBits;
         this.machineIdBits = machineIdBits;
         this.sequenceBits = sequenceBits;
@@ -65,70 +133,67 @@ public class LockFreeSnowflakeIdGenerator implements IdGenerator {
         );
     }
 
-    /** 当前毫秒内的序列号 */
-    private final AtomicLong sequence = new AtomicLong(0L);
-
-
-
     /**
      * 获取当前时间戳
      *
      * @return 当前时间戳（毫秒）
      */
     private long timeGen() {
-        return System.currentTimeMillis();
+        return clock.currentTimeMillis();
     }
 
     /**
-     * 等待下一个毫秒 当前毫秒内序列号用尽时，阻塞到下一个毫秒
+     * 按回拨策略处理时钟回拨
      *
-     * @param lastTimestamp 上次生成ID的时间戳
-     * @return 下一个毫秒的时间戳
+     * @param lastTimestamp 需要的最小时间戳
+     * @param timestamp     当前读到的时间戳
+     * @return 继续使用的时间戳
      */
-    private long tilNextMillis(long lastTimestamp) {
-        long timestamp = timeGen();
-        while (timestamp <= lastTimestamp) {
-            timestamp = timeGen();
+    private long onClockBackward(long lastTimestamp, long timestamp) {
+        long resolved = backwardPolicy.onClockBackward(lastTimestamp, timestamp, this::timeGen);
+        if (resolved < lastTimestamp) {
+            // 机器ID由Redis分配，没有可以安全切换的备用ID
+            throw new ClockBackwardException(lastTimestamp - timestamp, "时钟回拨，拒绝生成ID");
         }
-        return timestamp;
+        return resolved;
     }
 
     /**
      * 生成下一个ID
      *
      * @return 生成的ID
-     * @throws RuntimeException 当发生时钟回拨时抛出异常
+     * @throws ClockBackwardException 当发生时钟回拨且回拨策略拒绝生成时抛出异常
      */
     @Override
-    public Long generate() {
-        while (true) {
-            long currentLastTimestamp = lastTimestamp.get();
-            long timestamp = timeGen();
-
-            // 检查时钟回拨，如果发生回拨则抛出异常
-            if (timestamp < currentLastTimestamp) {
-                throw new RuntimeException("时钟回拨，拒绝生成ID");
+    public long nextLong() {
+        long sequenceMask = ~(-1L << sequenceBits);
+        for (int attempts = 0; ; ) {
+            long current = state.get();
+            long last = current >>> sequenceBits;
+            long now = timeGen() - epoch;
+
+            // 检查时钟回拨，如果发生回拨则交给回拨策略处理
+            if (now < last) {
+                now = onClockBackward(last + epoch, now + epoch) - epoch;
             }
 
-            long currentSequence;
-            if (timestamp == currentLastTimestamp) {
-                // 通过位运算计算序列号，确保不超过最大值
-                currentSequence = sequence.updateAndGet(seq -> (seq + 1) & (~(-1L << sequenceBits)));
-                // 当前毫秒内序列号用尽，等待下一毫秒
-                if (currentSequence == 0) {
-                    timestamp = tilNextMillis(currentLastTimestamp);
-                }
-            } else {
+            long next;
+            if (now > last) {
                 // 时间戳变化，重置序列号
-                sequence.set(0);
-                currentSequence = 0;
+                next = now << sequenceBits;
+            } else if ((current & sequenceMask) < sequenceMask) {
+                next = current + 1;
+            } else {
+                // 当前毫秒内序列号用尽，等待下一毫秒后重试
+                waitStrategy.idle(attempts++);
+                continue;
             }
 
-            if (lastTimestamp.compareAndSet(currentLastTimestamp, timestamp)) {
+            if (state.compareAndSet(current, next)) {
                 // 通过位运算拼接最终的ID
-                return (timestamp - epoch) << (machineIdBits + sequenceBits)
+                return (next >>> sequenceBits) << (machineIdBits + sequenceBits)
                         | machineIdDistributor.get() << sequenceBits
-                        | currentSequence;
+                        | (next & sequenceMask);
             }
         }
     }
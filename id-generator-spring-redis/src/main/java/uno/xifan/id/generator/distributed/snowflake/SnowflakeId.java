@@ -4,6 +4,8 @@ import uno.xifan.id.base.Id;
 
 import lombok.Data;
 
+import java.nio.ByteBuffer;
+
 @Data
 public class SnowflakeId implements Id {
     private long timestamp;
@@ -25,4 +27,20 @@ public class SnowflakeId implements Id {
     public long toLong() {
         return timestamp << 22 | machineId << 12 | sequence;
     }
+
+    @Override
+    public int byteLength() {
+        return Long.BYTES;
+    }
+
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        putLong(dst, off, toLong());
+        return Long.BYTES;
+    }
+
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        dst.putLong(toLong());
+    }
 }
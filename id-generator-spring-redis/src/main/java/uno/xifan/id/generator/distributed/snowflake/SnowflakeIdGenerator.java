@@ -1,12 +1,21 @@
 package uno.xifan.id.generator.distributed.snowflake;
 
-import uno.xifan.id.base.IdGenerator;
 import uno.xifan.id.base.IdType;
+import uno.xifan.id.base.LongIdGenerator;
 import uno.xifan.id.generator.distributor.MachineIdDistributor;
+import uno.xifan.id.util.ClockBackwardException;
+import uno.xifan.id.util.ClockBackwardPolicy;
+import uno.xifan.id.util.IdClock;
+import uno.xifan.id.util.IndexUtils;
+import uno.xifan.id.util.TimeBorrowing;
+import uno.xifan.id.util.WaitStrategy;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * 雪花算法ID生成器
  *
@@ -15,7 +24,7 @@ import org.springframework.stereotype.Component;
  * <p>整体结构： - 符号位：1位，固定为0 - 时间戳：41位，精确到毫秒，可用69年 - 机器ID：10位，最多支持1024个节点 - 序列号：12位，同一毫秒内最多生成4096个ID
  */
 @Component
-public class SnowflakeIdGenerator implements IdGenerator {
+public class SnowflakeIdGenerator implements LongIdGenerator {
 
     /**
      * 机器ID服务，负责获取和维护当前节点的机器ID
@@ -37,23 +46,112 @@ public class SnowflakeIdGenerator implements IdGenerator {
      * 序列号占用位数
      */
     private final int sequenceBits;
+    /**
+     * 时钟
+     */
+    private final IdClock clock;
+    /**
+     * 时钟回拨策略
+     */
+    private final ClockBackwardPolicy backwardPolicy;
+    /**
+     * 序列号用尽时等待下一毫秒的策略
+     */
+    private final WaitStrategy waitStrategy;
+    /**
+     * 序列号用尽时借用未来毫秒的设置，同时记录领先量
+     */
+    private final TimeBorrowing borrowing;
     /**
      * 上次生成ID的时间戳
      */
     private long lastTimestamp = -1L;
+    /**
+     * 读到过的最大墙上时间，借用时逻辑时间戳可能领先于它
+     */
+    private long wallTimestamp = -1L;
     /**
      * 当前毫秒内的序列号
      */
     private long sequence;
 
+    @Autowired
     public SnowflakeIdGenerator(
             RedissonClient redissonClient,
             @Value("${id.generator.snowflake.epoch:1645557742000}") long epoch,
             @Value("${id.generator.snowflake.timestamp:41}") int timestampBits,
             @Value("${id.generator.snowflake.machine:10}") int machineIdBits,
-            @Value("${id.generator.snowflake.sequence:12}") int sequenceBits) {
+            @Value("${id.generator.snowflake.sequence:12}") int sequenceBits,
+            @Value("${id.generator.snowflake.wait-strategy:busy-spin}") String waitStrategy,
+            @Value("${id.generator.snowflake.max-drift:0}") long maxDrift) {
+        this(redissonClient, epoch, timestampBits, machineIdBits, sequenceBits, IdClock.system(),
+                ClockBackwardPolicy.failFast(), WaitStrategy.of(waitStrategy),
+                TimeBorrowing.maxDrift(maxDrift, TimeUnit.MILLISECONDS));
+    }
+
+    public SnowflakeIdGenerator(
+            RedissonClient redissonClient,
+            long epoch,
+            int timestampBits,
+            int machineIdBits,
+            int sequenceBits) {
+        this(redissonClient, epoch, timestampBits, machineIdBits, sequenceBits, IdClock.system());
+    }
+
+    public SnowflakeIdGenerator(
+            RedissonClient redissonClient,
+            long epoch,
+            int timestampBits,
+            int machineIdBits,
+            int sequenceBits,
+            IdClock clock) {
+        this(redissonClient, epoch, timestampBits, machineIdBits, sequenceBits, clock, ClockBackwardPolicy.failFast());
+    }
+
+    public SnowflakeIdGenerator(
+            RedissonClient redissonClient,
+            long epoch,
+            int timestampBits,
+            int machineIdBits,
+            int sequenceBits,
+            IdClock clock,
+            ClockBackwardPolicy backwardPolicy) {
+        this(redissonClient, epoch, timestampBits, machineIdBits, sequenceBits, clock, backwardPolicy,
+                WaitStrategy.busySpin());
+    }
+
+    public SnowflakeIdGenerator(
+            RedissonClient redissonClient,
+            long epoch,
+            int timestampBits,
+            int machineIdBits,
+            int sequenceBits,
+            IdClock clock,
+            ClockBackwardPolicy backwardPolicy,
+            WaitStrategy waitStrategy) {
+        this(redissonClient, epoch, timestampBits, machineIdBits, sequenceBits, clock, backwardPolicy, waitStrategy,
+                TimeBorrowing.disabled());
+    }
+
+    public SnowflakeIdGenerator(
+            RedissonClient redissonClient,
+            long epoch,
+            int timestampBits,
+            int machineIdBits,
+            int sequenceBits,
+            IdClock clock,
+            ClockBackwardPolicy backwardPolicy,
+            WaitStrategy waitStrategy,
+            TimeBorrowing borrowing) {
+        if (backwardPolicy.standbyWorkerId() >= 0) {
+            throw new IllegalArgumentException("Standby worker is not supported by Redis allocated machine IDs");
+        }
 
         this.epoch = epoch;
+        this.clock = clock;
+        this.backwardPolicy = backwardPolicy;
+        this.waitStrategy = waitStrategy;
+        this.borrowing = borrowing;
         this.timestampBits = timestampBits;
         this.machineIdBits = machineIdBits;
         this.sequenceBits = sequenceBits;
@@ -73,36 +171,87 @@ public class SnowflakeIdGenerator implements IdGenerator {
      * @return 当前时间戳（毫秒）
      */
     private long timeGen() {
-        return System.currentTimeMillis();
+        return clock.currentTimeMillis();
     }
 
     /**
-     * 等待下一个毫秒 当前毫秒内序列号用尽时，阻塞到下一个毫秒
+     * 读取时钟，并记录读到过的最大墙上时间
+     *
+     * @return 当前时间戳（毫秒）
+     */
+    private long wallTime() {
+        long timestamp = timeGen();
+        if (timestamp > wallTimestamp) {
+            wallTimestamp = timestamp;
+        }
+        return timestamp;
+    }
+
+    /**
+     * 判断时间戳小于lastTimestamp是否只是因为逻辑时间借用了未来的毫秒，而不是时钟回拨
+     */
+    private boolean isBorrowedLead(long timestamp) {
+        return borrowing.isEnabled() && timestamp >= wallTimestamp;
+    }
+
+    private void recordLag(long timestamp) {
+        if (borrowing.isEnabled()) {
+            borrowing.recordLag(timestamp - wallTimestamp);
+        }
+    }
+
+    /**
+     * 等待下一个毫秒 当前毫秒内序列号用尽时，阻塞到下一个毫秒；开启借用时在允许的领先范围内直接使用下一毫秒
      *
      * @param lastTimestamp 上次生成ID的时间戳
      * @return 下一个毫秒的时间戳
      */
     private long tilNextMillis(long lastTimestamp) {
-        long timestamp = timeGen();
-        while (timestamp <= lastTimestamp) {
-            timestamp = timeGen();
+        long timestamp = wallTime();
+        for (int attempts = 0; timestamp <= lastTimestamp; attempts++) {
+            if (isBorrowedLead(timestamp)) {
+                if (borrowing.tryBorrow(lastTimestamp + 1, timestamp)) {
+                    return lastTimestamp + 1;
+                }
+            } else if (timestamp < lastTimestamp) {
+                // 时钟仍落后于上次的时间戳（例如回拨期间沿用了上次的时间戳），由回拨策略给出下一个时间戳
+                return onClockBackward(lastTimestamp + 1, timestamp);
+            }
+            waitStrategy.idle(attempts);
+            timestamp = wallTime();
         }
         return timestamp;
     }
 
+    /**
+     * 按回拨策略处理时钟回拨
+     *
+     * @param lastTimestamp 需要的最小时间戳
+     * @param timestamp     当前读到的时间戳
+     * @return 继续使用的时间戳
+     */
+    private long onClockBackward(long lastTimestamp, long timestamp) {
+        long resolved = backwardPolicy.onClockBackward(lastTimestamp, timestamp, this::timeGen);
+        if (resolved < lastTimestamp) {
+            // 机器ID由Redis分配，没有可以安全切换的备用ID
+            throw new ClockBackwardException(lastTimestamp - timestamp, "时钟回拨，拒绝生成ID");
+        }
+        return resolved;
+    }
+
     /**
      * 生成下一个ID
      *
      * @return 生成的ID
-     * @throws RuntimeException 当发生时钟回拨时抛出异常
+     * @throws ClockBackwardException 当发生时钟回拨且回拨策略拒绝生成时抛出异常
      */
     @Override
-    public synchronized Long generate() {
-        long timestamp = timeGen();
+    public synchronized long nextLong() {
+        long timestamp = wallTime();
 
-        // 检查时钟回拨，如果发生回拨则抛出异常
+        // 时间戳小于上次的时间戳时，区分借用的领先和时钟回拨，发生回拨则交给回拨策略处理
         if (timestamp < lastTimestamp) {
-            throw new RuntimeException("时钟回拨，拒绝生成ID");
+            timestamp = isBorrowedLead(timestamp) ? lastTimestamp : onClockBackward(lastTimestamp, timestamp);
         }
 
         // 如果是同一毫秒内，增加序列号
@@ -119,6 +268,7 @@ public class SnowflakeIdGenerator implements IdGenerator {
         }
 
         lastTimestamp = timestamp;
+        recordLag(timestamp);
         // 通过位运算拼接最终的ID
         // 1. (timestamp - epoch) << (machineIdBits + sequenceBits)：时间戳部分左移机器ID位数和序列号位数
         // 2. machineIdService.get() << sequenceBits：机器ID左移序列号位数
@@ -126,6 +276,94 @@ public class SnowflakeIdGenerator implements IdGenerator {
         return (timestamp - epoch) << (machineIdBits + sequenceBits) | machineIdDistributor.get() << sequenceBits | sequence;
     }
 
+    /**
+     * 批量生成ID
+     *
+     * <p>在一次加锁中预留整段连续的序列号（可跨越多个毫秒），然后在锁外组装ID。
+     *
+     * @param dst 目标数组
+     * @param off 起始下标
+     * @param len 写入数量
+     * @throws ClockBackwardException 当发生时钟回拨且回拨策略拒绝生成时抛出异常
+     */
+    @Override
+    public void fill(long[] dst, int off, int len) {
+        IndexUtils.checkFromIndexSize(off, len, dst.length);
+        if (len == 0) {
+            return;
+        }
+        // 首个毫秒至少分到1个序列号，之后每个毫秒最多分到 2^sequenceBits 个
+        long[] runIds = new long[(len >>> sequenceBits) + 2];
+        int[] runLengths = new int[runIds.length];
+        int runs = reserve(len, runIds, runLengths);
+
+        // 同一毫秒内序列号位于最低位，ID是连续的整数
+        int index = off;
+        for (int r = 0; r < runs; r++) {
+            long id = runIds[r];
+            for (int k = runLengths[r]; k > 0; k--) {
+                dst[index++] = id++;
+            }
+        }
+    }
+
+    /**
+     * 预留 count 个连续的序列号
+     *
+     * @param count      需要预留的数量
+     * @param runIds     每个毫秒内第一个ID
+     * @param runLengths 每个毫秒内预留的数量
+     * @return 预留跨越的毫秒数
+     */
+    private synchronized int reserve(int count, long[] runIds, int[] runLengths) {
+        long maxSequence = ~(-1L << sequenceBits);
+        long timestamp = wallTime();
+
+        // 时间戳小于上次的时间戳时，区分借用的领先和时钟回拨，发生回拨则交给回拨策略处理
+        if (timestamp < lastTimestamp) {
+            timestamp = isBorrowedLead(timestamp) ? lastTimestamp : onClockBackward(lastTimestamp, timestamp);
+        }
+
+        long seq = 0;
+        if (timestamp == lastTimestamp) {
+            seq = sequence + 1;
+            if (seq > maxSequence) {
+                timestamp = tilNextMillis(lastTimestamp);
+                seq = 0;
+            }
+        }
+
+        long machineId = machineIdDistributor.get();
+        int runs = 0;
+        int remaining = count;
+        while (true) {
+            int take = (int) Math.min(remaining, maxSequence + 1 - seq);
+            runIds[runs] = (timestamp - epoch) << (machineIdBits + sequenceBits) | machineId << sequenceBits | seq;
+            runLengths[runs++] = take;
+            remaining -= take;
+            seq += take - 1;
+            if (remaining == 0) {
+                break;
+            }
+            timestamp = tilNextMillis(timestamp);
+            seq = 0;
+        }
+
+        lastTimestamp = timestamp;
+        sequence = seq;
+        recordLag(timestamp);
+        return runs;
+    }
+
+    /**
+     * 获取逻辑时间借用的设置和指标
+     *
+     * @return 逻辑时间借用，{@link TimeBorrowing#getLag()}为逻辑时间领先墙上时间的毫秒数
+     */
+    public TimeBorrowing getTimeBorrowing() {
+        return borrowing;
+    }
+
     /**
      * 获取ID生成器类型
      *
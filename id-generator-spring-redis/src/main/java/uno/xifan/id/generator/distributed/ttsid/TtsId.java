@@ -4,6 +4,7 @@ import uno.xifan.id.base.Id;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
 
+import java.nio.ByteBuffer;
 import java.util.HexFormat;
 
 public record TtsId(long timestamp, long threadId, long sequence) implements Id {
@@ -23,6 +24,22 @@ public record TtsId(long timestamp, long threadId, long sequence) implements Id
         return timestamp << 22 | threadId << 12 | sequence;
     }
 
+    @Override
+    public int byteLength() {
+        return Long.BYTES;
+    }
+
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        putLong(dst, off, toLong());
+        return Long.BYTES;
+    }
+
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        dst.putLong(toLong());
+    }
+
     @Override
     public String toBase16() {
         return HexFormat.of().formatHex(toBytes());
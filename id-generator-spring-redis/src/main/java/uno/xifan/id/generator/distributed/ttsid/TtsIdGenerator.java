@@ -6,6 +6,10 @@ import uno.xifan.id.base.IdType;
 import org.redisson.api.RAtomicLong;
 import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Component;
+import uno.xifan.id.util.TimeBorrowing;
+import uno.xifan.id.util.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * TtsId生成器实现
@@ -19,6 +23,11 @@ public class TtsIdGenerator implements IdGenerator {
      */
     private final ThreadLocal<TtsIdThreadLocalHolder> threadLocalHolder;
 
+    /**
+     * 序列号用尽时借用未来毫秒的设置，所有线程共用，同时记录领先量
+     */
+    private final TimeBorrowing borrowing;
+
     // 2^12 - 1
 
     /**
@@ -32,11 +41,15 @@ public class TtsIdGenerator implements IdGenerator {
                         "IdGenerator:TtsIdGenerator:%s:NextThreadId"
                                 .formatted(config.getNamespace()));
 
+        WaitStrategy waitStrategy = WaitStrategy.of(config.getWaitStrategy());
+        borrowing = TimeBorrowing.maxDrift(config.getMaxDrift(), TimeUnit.MILLISECONDS);
         threadLocalHolder =
                 ThreadLocal.withInitial(
                         () ->
                                 new TtsIdThreadLocalHolder(
-                                        Math.abs(threadId.getAndIncrement() % 1024)));
+                                        Math.abs(threadId.getAndIncrement() % 1024),
+                                        waitStrategy,
+                                        borrowing));
     }
 
 
@@ -47,6 +60,15 @@ public class TtsIdGenerator implements IdGenerator {
         return holder.next();
     }
 
+    /**
+     * 获取逻辑时间借用的设置和指标
+     *
+     * @return 逻辑时间借用，{@link TimeBorrowing#getLag()}为最近一次观测到的逻辑时间领先墙上时间的毫秒数
+     */
+    public TimeBorrowing getTimeBorrowing() {
+        return borrowing;
+    }
+
     @Override
     public IdType idType() {
         return IdType.TtsId;
@@ -63,12 +85,27 @@ public class TtsIdGenerator implements IdGenerator {
 
         private long lastTimestamp = TtsId.currentTimestamp();
 
-        private TtsIdThreadLocalHolder(long threadId) {
+        // 读到过的最大墙上时间，借用时逻辑时间戳可能领先于它
+        private long wallTimestamp = lastTimestamp;
+
+        // 序列号用尽时的等待策略
+        private final WaitStrategy waitStrategy;
+
+        // 序列号用尽时借用未来毫秒的设置
+        private final TimeBorrowing borrowing;
+
+        private TtsIdThreadLocalHolder(long threadId, WaitStrategy waitStrategy, TimeBorrowing borrowing) {
             this.threadId = threadId;
+            this.waitStrategy = waitStrategy;
+            this.borrowing = borrowing;
         }
 
         private TtsId next() {
-            long timestamp = TtsId.currentTimestamp();
+            long timestamp = wallTime();
+            if (timestamp < lastTimestamp && isBorrowedLead(timestamp)) {
+                // 逻辑时间借用了未来的毫秒，时钟还没追上，继续使用逻辑时间戳
+                timestamp = lastTimestamp;
+            }
             if (timestamp < lastTimestamp) {
                 timestamp = waitNextMilli(lastTimestamp);
             } else if (timestamp == lastTimestamp) {
@@ -81,15 +118,35 @@ public class TtsIdGenerator implements IdGenerator {
                 sequence = 0;
             }
             lastTimestamp = timestamp;
+            if (borrowing.isEnabled()) {
+                borrowing.recordLag(timestamp - wallTimestamp);
+            }
             return new TtsId(timestamp, threadId, sequence);
         }
 
         private long waitNextMilli(long lastTimestamp) {
+            long timestamp = wallTime();
+            for (int attempts = 0; timestamp <= lastTimestamp; attempts++) {
+                // 在允许的领先范围内直接借用下一毫秒，超出范围或时钟回拨时等待时钟追上
+                if (isBorrowedLead(timestamp) && borrowing.tryBorrow(lastTimestamp + 1, timestamp)) {
+                    return lastTimestamp + 1;
+                }
+                waitStrategy.idle(attempts);
+                timestamp = wallTime();
+            }
+            return timestamp;
+        }
+
+        private long wallTime() {
             long timestamp = TtsId.currentTimestamp();
-            while (timestamp <= lastTimestamp) {
-                timestamp = TtsId.currentTimestamp();
+            if (timestamp > wallTimestamp) {
+                wallTimestamp = timestamp;
             }
             return timestamp;
         }
+
+        private boolean isBorrowedLead(long timestamp) {
+            return borrowing.isEnabled() && timestamp >= wallTimestamp;
+        }
     }
 }
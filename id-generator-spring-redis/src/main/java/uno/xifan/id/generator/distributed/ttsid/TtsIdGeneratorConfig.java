@@ -19,4 +19,10 @@ public class TtsIdGeneratorConfig {
 
     @Value("${IdGenerator.TtsId.timestampBits:12}")
     private Integer sequenceBits = 12;
+
+    @Value("${IdGenerator.TtsId.waitStrategy:busy-spin}")
+    private String waitStrategy = "busy-spin";
+
+    @Value("${IdGenerator.TtsId.maxDrift:0}")
+    private Long maxDrift = 0L;
 }
@@ -5,6 +5,7 @@ import uno.xifan.id.util.TimeUtils;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
 
+import java.nio.ByteBuffer;
 import java.util.HexFormat;
 
 public record TtsIdMini(long timestamp, long threadId, long sequence) implements Id {
@@ -24,6 +25,22 @@ public record TtsIdMini(long timestamp, long threadId, long sequence) implements
         return timestamp << 22 | threadId << 12 | sequence;
     }
 
+    @Override
+    public int byteLength() {
+        return Long.BYTES;
+    }
+
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        putLong(dst, off, toLong());
+        return Long.BYTES;
+    }
+
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        dst.putLong(toLong());
+    }
+
     @Override
     public String toBase16() {
         return HexFormat.of().formatHex(toBytes());
@@ -6,6 +6,7 @@ import uno.xifan.id.base.IdType;
 import org.redisson.api.RAtomicLong;
 import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Component;
+import uno.xifan.id.util.WaitStrategy;
 
 /** TtsId生成器实现 生成的ID结构：31位时间戳 + 10位线程ID + 12位序列号 */
 @Component
@@ -30,7 +31,8 @@ public class TtsIdMiniGenerator implements IdGenerator {
                 ThreadLocal.withInitial(
                         () ->
                                 new TtsIdThreadLocalHolder(
-                                        Math.abs(threadId.getAndIncrement() % 1024)));
+                                        Math.abs(threadId.getAndIncrement() % 1024),
+                                        WaitStrategy.of(config.getWaitStrategy())));
     }
 
     @Override
@@ -53,8 +55,12 @@ public class TtsIdMiniGenerator implements IdGenerator {
 
         private long lastTimestamp = TtsIdMini.currentTimestamp();
 
-        private TtsIdThreadLocalHolder(long threadId) {
+        // 序列号用尽时的等待策略
+        private final WaitStrategy waitStrategy;
+
+        private TtsIdThreadLocalHolder(long threadId, WaitStrategy waitStrategy) {
             this.threadId = threadId;
+            this.waitStrategy = waitStrategy;
         }
 
         private TtsIdMini next() {
@@ -76,7 +82,8 @@ public class TtsIdMiniGenerator implements IdGenerator {
 
         private long waitNextSecond(long lastTimestamp) {
             long timestamp = TtsIdMini.currentTimestamp();
-            while (timestamp <= lastTimestamp) {
+            for (int attempts = 0; timestamp <= lastTimestamp; attempts++) {
+                waitStrategy.idle(attempts);
                 timestamp = TtsIdMini.currentTimestamp();
             }
             return timestamp;
@@ -18,4 +18,7 @@ public class TtsIdMiniGeneratorConfig {
 
     @Value("${IdGenerator.TtsIdMini.timestampBits:12}")
     private Integer sequenceBits = 12;
+
+    @Value("${IdGenerator.TtsIdMini.waitStrategy:busy-spin}")
+    private String waitStrategy = "busy-spin";
 }
@@ -14,28 +14,43 @@ public record TtsIdPlus(long timestamp, int threadId, short sequence) implements
 
     @Override
     public byte[] toBytes() {
-        // 分配10字节缓冲区：5.5字节timestamp + 2.5字节threadId + 2字节sequence
-        ByteBuffer buffer = ByteBuffer.allocate(10);
+        byte[] bytes = new byte[10];
+        writeBytes(bytes, 0);
+        return bytes;
+    }
+
+    @Override
+    public int byteLength() {
+        return 10;
+    }
 
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        // 5.5字节timestamp + 2.5字节threadId + 2字节sequence
         // 写入44位timestamp（5.5字节）
-        buffer.put((byte) (timestamp >>> 36));
-        buffer.put((byte) (timestamp >>> 28));
-        buffer.put((byte) (timestamp >>> 20));
-        buffer.put((byte) (timestamp >>> 12));
-        buffer.put((byte) (timestamp >>> 4));
+        dst[off] = (byte) (timestamp >>> 36);
+        dst[off + 1] = (byte) (timestamp >>> 28);
+        dst[off + 2] = (byte) (timestamp >>> 20);
+        dst[off + 3] = (byte) (timestamp >>> 12);
+        dst[off + 4] = (byte) (timestamp >>> 4);
         // 高4位是timestamp的最低4位，低4位是threadId的最高4位
-        byte mixed1 = (byte) (((timestamp & 0x0F) << 4) | ((threadId >>> 16) & 0x0F));
-        buffer.put(mixed1);
+        dst[off + 5] = (byte) (((timestamp & 0x0F) << 4) | ((threadId >>> 16) & 0x0F));
 
         // 写入剩余16位threadId（2字节）
-        buffer.put((byte) (threadId >>> 8));
-        buffer.put((byte) threadId);
+        dst[off + 6] = (byte) (threadId >>> 8);
+        dst[off + 7] = (byte) threadId;
 
         // 写入16位sequence（2字节）
-        buffer.put((byte) (sequence >>> 8));
-        buffer.put((byte) sequence);
+        dst[off + 8] = (byte) (sequence >>> 8);
+        dst[off + 9] = (byte) sequence;
+        return 10;
+    }
 
-        return buffer.array();
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        // 44位timestamp与20位threadId恰好拼成一个long
+        dst.putLong(timestamp << 20 | threadId & 0xFFFFF);
+        dst.putShort(sequence);
     }
 
     @Override
@@ -1,43 +1,64 @@
 package uno.xifan.id.generator.distributed.ttsid;
 
 import uno.xifan.id.base.Id;
+import uno.xifan.id.util.IdClock;
 
 import java.nio.ByteBuffer;
-import java.time.Instant;
 import java.util.HexFormat;
 
 public record TtsIdPro(long timestamp, int threadId, short sequence) implements Id {
 
     // 微秒
     public static long currentTimestamp() {
-        Instant now = Instant.now();
-        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1000;
+        return currentTimestamp(IdClock.system());
+    }
+
+    // 微秒，由指定时钟提供
+    public static long currentTimestamp(IdClock clock) {
+        return clock.currentTimeMicros();
     }
 
     @Override
     public byte[] toBytes() {
-        // 分配12字节缓冲区：7字节timestamp + 3字节threadId + 2字节sequence
-        ByteBuffer buffer = ByteBuffer.allocate(12);
+        byte[] bytes = new byte[12];
+        writeBytes(bytes, 0);
+        return bytes;
+    }
 
+    @Override
+    public int byteLength() {
+        return 12;
+    }
+
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        // 7字节timestamp + 3字节threadId + 2字节sequence
         // 写入56位timestamp（只取低7字节）
-        buffer.put((byte) (timestamp >>> 48));
-        buffer.put((byte) (timestamp >>> 40));
-        buffer.put((byte) (timestamp >>> 32));
-        buffer.put((byte) (timestamp >>> 24));
-        buffer.put((byte) (timestamp >>> 16));
-        buffer.put((byte) (timestamp >>> 8));
-        buffer.put((byte) timestamp);
+        dst[off] = (byte) (timestamp >>> 48);
+        dst[off + 1] = (byte) (timestamp >>> 40);
+        dst[off + 2] = (byte) (timestamp >>> 32);
+        dst[off + 3] = (byte) (timestamp >>> 24);
+        dst[off + 4] = (byte) (timestamp >>> 16);
+        dst[off + 5] = (byte) (timestamp >>> 8);
+        dst[off + 6] = (byte) timestamp;
 
         // 写入24位threadId（3字节）
-        buffer.put((byte) (threadId >>> 16));
-        buffer.put((byte) (threadId >>> 8));
-        buffer.put((byte) threadId);
+        dst[off + 7] = (byte) (threadId >>> 16);
+        dst[off + 8] = (byte) (threadId >>> 8);
+        dst[off + 9] = (byte) threadId;
 
         // 写入16位sequence（2字节）
-        buffer.put((byte) (sequence >>> 8));
-        buffer.put((byte) sequence);
+        dst[off + 10] = (byte) (sequence >>> 8);
+        dst[off + 11] = (byte) sequence;
+        return 12;
+    }
 
-        return buffer.array();
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        // 低7字节timestamp与threadId的最高字节拼成一个long
+        dst.putLong(timestamp << 8 | (threadId >>> 16) & 0xFF);
+        dst.putShort((short) threadId);
+        dst.putShort(sequence);
     }
 
     @Override
@@ -5,14 +5,24 @@ import uno.xifan.id.base.IdType;
 import lombok.AllArgsConstructor;
 import org.redisson.api.RAtomicLong;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import uno.xifan.id.util.IdClock;
 
 @Component
 public class TtsIdProGenerator implements IdGenerator {
 
     private final ThreadLocal<TtsIdProThreadLocalHolder> threadLocalHolder;
 
+    private final IdClock clock;
+
+    @Autowired
     public TtsIdProGenerator(RedissonClient redisson) {
+        this(redisson, IdClock.system());
+    }
+
+    public TtsIdProGenerator(RedissonClient redisson, IdClock clock) {
+        this.clock = clock;
         RAtomicLong threadId = redisson.getAtomicLong("IdGenerator:TtsIdProGenerator:threadId");
 
         threadLocalHolder =
@@ -23,7 +33,7 @@ public class TtsIdProGenerator implements IdGenerator {
     @Override
     public TtsIdPro generate() {
         TtsIdProThreadLocalHolder holder = threadLocalHolder.get();
-        return new TtsIdPro(TtsIdPro.currentTimestamp(), holder.threadId, holder.sequence++);
+        return new TtsIdPro(TtsIdPro.currentTimestamp(clock), holder.threadId, holder.sequence++);
     }
 
     @Override
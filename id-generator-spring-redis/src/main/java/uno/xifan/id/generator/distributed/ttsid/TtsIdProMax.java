@@ -17,6 +17,23 @@ public record TtsIdProMax(long timestamp, int threadId, int sequence) implements
         return ByteBuffer.allocate(16).putLong(timestamp).putInt(threadId).putInt(sequence).array();
     }
 
+    @Override
+    public int byteLength() {
+        return 16;
+    }
+
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        putLong(dst, off, timestamp);
+        putLong(dst, off + 8, (long) threadId << 32 | sequence & 0xFFFFFFFFL);
+        return 16;
+    }
+
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        dst.putLong(timestamp).putInt(threadId).putInt(sequence);
+    }
+
     @Override
     public long toLong() {
         throw new UnsupportedOperationException();
@@ -17,17 +17,24 @@ public class UUIDv8 implements Id {
 
     @Override
     public byte[] toBytes() {
-        // 分割时间戳
-        long timeHigh = (timestamp >>> 28) & 0xFFFFFFFFL; // 最显著的 32 位
-        long timeMid = (timestamp >>> 12) & 0xFFFFL; // 接下来的 16 位
-        long timeLow = timestamp & 0xFFFL; // 最不显著的 12 位
+        return ByteBuffer.allocate(16).putLong(mostSignificantBits()).putLong(leastSignificantBits()).array();
+    }
 
-        // 版本号: 8 (0b0110)
-        int ver = 8;
+    @Override
+    public int byteLength() {
+        return 16;
+    }
 
-        // 变种: 0b10
-        long var = 0b10;
-        return ByteBuffer.allocate(16).putLong(timeHigh << 32 | timeMid << 16 | ver << 12 | timeLow).putLong(var << 62 | clockSeq << 48 | node).array();
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        putLong(dst, off, mostSignificantBits());
+        putLong(dst, off + 8, leastSignificantBits());
+        return 16;
+    }
+
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        dst.putLong(mostSignificantBits()).putLong(leastSignificantBits());
     }
 
     @Override
@@ -36,7 +43,24 @@ public class UUIDv8 implements Id {
     }
 
     public UUID toUUID() {
-        ByteBuffer wrap = ByteBuffer.wrap(toBytes());
-        return new UUID(wrap.getLong(), wrap.getLong());
+        return new UUID(mostSignificantBits(), leastSignificantBits());
+    }
+
+    private long mostSignificantBits() {
+        // 分割时间戳
+        long timeHigh = (timestamp >>> 28) & 0xFFFFFFFFL; // 最显著的 32 位
+        long timeMid = (timestamp >>> 12) & 0xFFFFL; // 接下来的 16 位
+        long timeLow = timestamp & 0xFFFL; // 最不显著的 12 位
+
+        // 版本号: 8 (0b0110)
+        int ver = 8;
+
+        return timeHigh << 32 | timeMid << 16 | ver << 12 | timeLow;
+    }
+
+    private long leastSignificantBits() {
+        // 变种: 0b10
+        long var = 0b10;
+        return var << 62 | clockSeq << 48 | node;
     }
 }
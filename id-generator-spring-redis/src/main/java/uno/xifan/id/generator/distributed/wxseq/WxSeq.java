@@ -18,6 +18,23 @@ public class WxSeq implements Id {
         return ByteBuffer.allocate(16).putLong(userId).putLong(sequence).array();
     }
 
+    @Override
+    public int byteLength() {
+        return 16;
+    }
+
+    @Override
+    public int writeBytes(byte[] dst, int off) {
+        putLong(dst, off, userId);
+        putLong(dst, off + 8, sequence);
+        return 16;
+    }
+
+    @Override
+    public void writeTo(ByteBuffer dst) {
+        dst.putLong(userId).putLong(sequence);
+    }
+
     @Override
     public long toLong() {
         throw new UnsupportedOperationException();
@@ -1,19 +1,9 @@
 package uno.xifan.id.generator.util;
 
-public class CrockfordBase32Encoder {
-    // Crockford Base32字符表（RFC 4648变体）
-    private static final char[] CROCKFORD_CHARS = {
-        '0', '1', '2', '3', '4', '5', '6', '7',
-        '8', '9', 'A', 'B', 'C', 'D', 'E', 'F',
-        'G', 'H', 'J', 'K', 'M', 'N', 'P', 'Q',
-        'R', 'S', 'T', 'V', 'W', 'X', 'Y', 'Z'
-    };
+import uno.xifan.id.base.Base32;
+import uno.xifan.id.util.AsciiUtils;
 
-    // 查找表（5位 → Crockford字符）
-    private static final char[] LOOKUP_TABLE = new char[32];
-    static {
-        System.arraycopy(CROCKFORD_CHARS, 0, LOOKUP_TABLE, 0, 32);
-    }
+public class CrockfordBase32Encoder {
 
     /**
      * 将80位(10字节)数据编码为Crockford Base32字符串
@@ -25,31 +15,14 @@ public class CrockfordBase32Encoder {
             throw new IllegalArgumentException("输入必须是10字节(80位)");
         }
 
-        char[] output = new char[16];
-        
-        // 将输入字节转换为位缓冲区（80位）
-        int buffer = 0;
-        int bufferPos = 40; // 从最高位开始填充
-        
-        for (byte b : input) {
-            // 将字节转换为无符号整数
-            int byteValue = b & 0xFF;
-            
-            // 将字节放入缓冲区的正确位置
-            buffer |= byteValue << bufferPos;
-            bufferPos -= 8;
-        }
-
-        // 处理所有5位组
-        for (int i = 0; i < 16; i++) {
-            // 提取5位组（从最高有效位开始）
-            int index = (buffer >>> (35 - i*5)) & 0x1F;
-            
-            // 查找对应的Crockford字符
-            output[i] = LOOKUP_TABLE[index];
+        // 拆成高16位和低64位，交给core中的定长编码
+        long high = (input[0] & 0xFFL) << 8 | (input[1] & 0xFFL);
+        long low = 0;
+        for (int i = 2; i < 10; i++) {
+            low = low << 8 | (input[i] & 0xFFL);
         }
-
-        return new String(output);
+        byte[] output = AsciiUtils.buffer(Base32.LENGTH_80);
+        return AsciiUtils.newString(output, 0, Base32.encode80(high, low, output, 0));
     }
 
     public static void main(String[] args) {